@@ -0,0 +1,155 @@
+package duke;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import duke.task.Task;
+import javafx.application.Platform;
+import javafx.geometry.Side;
+import javafx.scene.control.ContextMenu;
+import javafx.scene.control.MenuItem;
+import javafx.scene.control.TextField;
+
+/**
+ * Shows live suggestions below the user input field while the user types.
+ * <p>
+ * Lookups are debounced and run on a background thread. Every keystroke cancels the
+ * pending lookup and bumps a generation counter, so results of superseded queries are
+ * discarded instead of being shown.
+ * <ul>
+ *     <li>A single word is completed to a command, e.g. {@code de} suggests {@code deadline} and {@code delete}.</li>
+ *     <li>{@code find <prefix>} suggests words from task descriptions.</li>
+ *     <li>{@code mark}, {@code unmark} and {@code delete} followed by a prefix suggest matching tasks.</li>
+ * </ul>
+ */
+public class InputSuggester {
+    private static final long DEBOUNCE_MILLIS = 150;
+    private static final int MAX_SUGGESTIONS = 8;
+
+    private final TextField field;
+    private final ContextMenu menu = new ContextMenu();
+    private final AtomicLong generation = new AtomicLong();
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "sai-suggestions");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private ScheduledFuture<?> pending;
+    private Sai sai;
+
+    /**
+     * Attaches a suggester to the given input field.
+     *
+     * @param field the text field to suggest completions for
+     */
+    public InputSuggester(TextField field) {
+        this.field = field;
+        field.textProperty().addListener((observable, oldText, newText) -> onTextChanged(newText));
+    }
+
+    /** Sets the Sai instance used to look up suggestions. */
+    public void setSai(Sai sai) {
+        this.sai = sai;
+    }
+
+    /**
+     * Hides the suggestions and discards any lookup that is still in flight.
+     */
+    public void dismiss() {
+        generation.incrementAndGet();
+        cancelPending();
+        menu.hide();
+    }
+
+    private void onTextChanged(String text) {
+        long current = generation.incrementAndGet();
+        cancelPending();
+
+        if (sai == null || text == null || text.isBlank()) {
+            menu.hide();
+            return;
+        }
+        pending = executor.schedule(() -> lookUp(text, current), DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    private void cancelPending() {
+        if (pending != null) {
+            pending.cancel(true);
+            pending = null;
+        }
+    }
+
+    /**
+     * Runs on the background thread and hands the results over to the FX thread.
+     */
+    private void lookUp(String text, long requestGeneration) {
+        if (requestGeneration != generation.get()) {
+            return;
+        }
+
+        String trimmed = text.stripLeading();
+        int space = trimmed.indexOf(' ');
+        String verb = (space < 0 ? trimmed : trimmed.substring(0, space)).toLowerCase();
+        String rest = space < 0 ? "" : trimmed.substring(space + 1).trim();
+
+        List<String> words = List.of();
+        List<Task> tasks = List.of();
+        if (space < 0) {
+            words = sai.suggestCommands(verb, MAX_SUGGESTIONS);
+        } else if (rest.isEmpty()) {
+            return;
+        } else if (verb.equals("find")) {
+            words = sai.suggestWords(lastWord(rest), MAX_SUGGESTIONS);
+        } else if (verb.equals("mark") || verb.equals("unmark") || verb.equals("delete")) {
+            tasks = sai.suggestTasks(lastWord(rest), MAX_SUGGESTIONS);
+        }
+
+        List<String> foundWords = words;
+        List<Task> foundTasks = tasks;
+        Platform.runLater(() -> show(requestGeneration, verb, space < 0, foundWords, foundTasks));
+    }
+
+    private void show(long requestGeneration, String verb, boolean isCommand, List<String> words, List<Task> tasks) {
+        if (requestGeneration != generation.get()) {
+            return;
+        }
+
+        menu.getItems().clear();
+        for (String word : words) {
+            String completion = isCommand ? word + " " : verb + " " + word;
+            menu.getItems().add(createItem(completion, completion));
+        }
+        for (Task task : tasks) {
+            // Positions are resolved here, on the FX thread, because the list may have changed since the lookup
+            int number = sai.getTaskNumber(task);
+            if (number > 0) {
+                String completion = verb + " " + number;
+                menu.getItems().add(createItem(completion, completion + ": " + task));
+            }
+        }
+
+        if (menu.getItems().isEmpty()) {
+            menu.hide();
+        } else if (!menu.isShowing()) {
+            menu.show(field, Side.TOP, 0, 0);
+        }
+    }
+
+    private MenuItem createItem(String completion, String label) {
+        MenuItem item = new MenuItem(label);
+        item.setOnAction(event -> {
+            field.setText(completion);
+            field.positionCaret(completion.length());
+        });
+        return item;
+    }
+
+    private static String lastWord(String text) {
+        return text.substring(text.lastIndexOf(' ') + 1);
+    }
+}
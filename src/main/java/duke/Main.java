@@ -1,5 +1,6 @@
 package duke;
 
+import javafx.animation.AnimationTimer;
 import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
@@ -25,6 +26,15 @@ public class Main extends Application {
             stage.setTitle("S.AI Chatbot");
             fxmlLoader.<MainWindow>getController().setDuke(sai);  // inject the Duke instance
             stage.show();
+
+            // The first pulse after the stage is shown renders its first frame
+            new AnimationTimer() {
+                @Override
+                public void handle(long now) {
+                    stop();
+                    StartupClock.markFirstFrame();
+                }
+            }.start();
         } catch (IOException e) {
             e.printStackTrace();
         }
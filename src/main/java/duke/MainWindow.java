@@ -1,7 +1,16 @@
 package duke;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import duke.exceptions.InvalidTaskFormatException;
+import duke.importer.ImportResult;
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
 import javafx.scene.control.ScrollPane;
 import javafx.scene.control.TextField;
 import javafx.scene.image.Image;
@@ -12,6 +21,9 @@ import javafx.scene.layout.VBox;
  * Controller for the main GUI.
  */
 public class MainWindow extends AnchorPane {
+    /** Lists longer than this are shown as a scrollable view instead of a single message. */
+    private static final int STREAMING_THRESHOLD = 100;
+
     @FXML
     private ScrollPane scrollPane;
     @FXML
@@ -20,8 +32,13 @@ public class MainWindow extends AnchorPane {
     private TextField userInput;
     @FXML
     private Button sendButton;
+    @FXML
+    private Label summaryLabel;
 
     private Sai sai;
+    private InputSuggester suggester;
+    /** The streaming views shown in the chat, which are refreshed whenever the list may have changed. */
+    private final List<StreamingTaskList> streamingLists = new ArrayList<>();
 
     private Image userImage = new Image(this.getClass().getResourceAsStream("/images/DaUser.png"));
     private Image dukeImage = new Image(this.getClass().getResourceAsStream("/images/DaDuke.png"));
@@ -29,31 +46,152 @@ public class MainWindow extends AnchorPane {
     @FXML
     public void initialize() {
         scrollPane.vvalueProperty().bind(dialogContainer.heightProperty());
+        suggester = new InputSuggester(userInput);
     }
 
     /** Injects the Sai instance */
     public void setDuke(Sai s) {
         sai = s;
+        suggester.setSai(s);
 
         // Show Sai's welcome message immediately
         dialogContainer.getChildren().add(
                 DialogBox.getDukeDialog(sai.greet(), dukeImage)
         );
+
+        refreshSummary();
+
+        // Reminders arrive on the scheduler thread, so hand them over to the FX thread
+        sai.startReminders(reminder -> Platform.runLater(() -> {
+            dialogContainer.getChildren().add(DialogBox.getDukeDialog(reminder, dukeImage));
+            refreshSummary();
+        }));
+
+        // The window is already showing, so the tasks are loaded behind it
+        startLoading();
+
+        // Changes from a primary arrive on the replication thread, and are applied on the FX thread too
+        sai.setReplicaListener(() -> Platform.runLater(() -> {
+            sai.applyReplicatedChanges();
+            refreshSummary();
+        }));
+    }
+
+    /**
+     * Shows the current counts of the task list above the conversation, and the current tasks in the streaming
+     * views of the list.
+     */
+    private void refreshSummary() {
+        summaryLabel.setText(sai.getSummaryLine());
+        for (StreamingTaskList streamingList : streamingLists) {
+            streamingList.refresh();
+        }
     }
 
     /**
      * Creates two dialog boxes, one echoing user input and the other containing Duke's reply and then appends them to
      * the dialog container. Clears the user input after processing.
+     * A {@code list} of a long task list is shown as a {@link StreamingTaskList}, which formats tasks as they
+     * are scrolled into view. An {@code import} is read on a background thread while a progress bar is shown.
      */
     @FXML
     private void handleUserInput() {
         String input = userInput.getText();
+        // Imports that cannot run yet, or at all, are left to Sai to queue or refuse
+        if (input.trim().toLowerCase().startsWith("import ") && sai.isLoaded() && !sai.isReplica()) {
+            dialogContainer.getChildren().add(DialogBox.getUserDialog(input, userImage));
+            startImport(input);
+            userInput.clear();
+            suggester.dismiss();
+            return;
+        }
+        if (input.trim().equalsIgnoreCase("list") && sai.getTaskCount() > STREAMING_THRESHOLD) {
+            // A plain list changes nothing, so the summary stays as it is
+            StreamingTaskList streamingList = new StreamingTaskList(sai);
+            streamingLists.add(streamingList);
+            dialogContainer.getChildren().addAll(
+                    DialogBox.getUserDialog(input, userImage),
+                    streamingList
+            );
+            userInput.clear();
+            suggester.dismiss();
+            return;
+        }
+
         String response = sai.getResponse(input);
         dialogContainer.getChildren().addAll(
                 DialogBox.getUserDialog(input, userImage),
                 DialogBox.getDukeDialog(response, dukeImage)
         );
         userInput.clear();
+        suggester.dismiss();
+        refreshSummary();
     }
-}
 
+    /**
+     * Reads the file named by an {@code import} command on a background thread, then adds the tasks
+     * on the FX thread, where all other changes to the task list are made.
+     */
+    private void startImport(String input) {
+        ProgressBar progressBar = new ProgressBar(0);
+        dialogContainer.getChildren().add(progressBar);
+
+        Thread worker = new Thread(() -> {
+            try {
+                ImportResult result = sai.readImport(input, progress ->
+                        Platform.runLater(() -> progressBar.setProgress(progress)));
+                Platform.runLater(() -> finishImport(progressBar, sai.addImported(result)));
+            } catch (InvalidTaskFormatException e) {
+                Platform.runLater(() -> finishImport(progressBar, e.getMessage()));
+            } catch (IOException e) {
+                Platform.runLater(() -> finishImport(progressBar, "Error: Could not import tasks: " + e.getMessage()));
+            }
+        }, "sai-import-reader");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Loads the existing tasks on a background thread. Each batch is added on the FX thread as soon as it is
+     * read, so {@code list} shows the tasks loaded so far while commands that change the list wait.
+     */
+    private void startLoading() {
+        Thread loader = new Thread(() -> {
+            int count = sai.readTasks(batch -> Platform.runLater(() -> {
+                sai.addLoadedTasks(batch);
+                refreshSummary();
+            }));
+            // Runs after every batch, since runLater keeps the order of its calls
+            Platform.runLater(() -> finishLoading(count));
+        }, "sai-storage-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    private void finishLoading(int count) {
+        for (String response : sai.finishLoading()) {
+            dialogContainer.getChildren().add(DialogBox.getDukeDialog(response, dukeImage));
+        }
+        refreshSummary();
+        StartupClock.markLoaded(count);
+
+        // Edits to the task file by other programs are applied on the FX thread, like user commands.
+        // The file is only watched once loaded, so the tasks read so far are never taken for the whole file.
+        String watchError = sai.startWatching(() -> Platform.runLater(() -> {
+            String change = sai.reloadExternalChanges();
+            if (change != null) {
+                dialogContainer.getChildren().add(DialogBox.getDukeDialog(change, dukeImage));
+                refreshSummary();
+            }
+        }));
+        if (watchError != null) {
+            dialogContainer.getChildren().add(DialogBox.getDukeDialog(watchError, dukeImage));
+        }
+    }
+
+    private void finishImport(ProgressBar progressBar, String response) {
+        dialogContainer.getChildren().remove(progressBar);
+        dialogContainer.getChildren().add(DialogBox.getDukeDialog(response, dukeImage));
+        refreshSummary();
+    }
+}
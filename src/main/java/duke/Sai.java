@@ -5,19 +5,62 @@ package duke;
  * Slight code refactoring and Javadoc elaboration were aided by OpenAI's ChatGPT.
  */
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+import java.util.stream.IntStream;
 
+import duke.archive.TaskArchive;
 import duke.exceptions.InvalidTaskFormatException;
 import duke.exceptions.InvalidTaskNumberException;
 import duke.exceptions.InvalidTaskTypeException;
+import duke.export.TaskExporter;
+import duke.helper.CommandTokenizer;
 import duke.helper.Parser;
 import duke.helper.Storage;
 import duke.helper.Ui;
+import duke.history.Edit;
+import duke.history.EditHistory;
+import duke.importer.ImportResult;
+import duke.importer.TaskImporter;
+import duke.list.PrefixTrie;
 import duke.list.TaskList;
+import duke.query.Query;
+import duke.query.QueryParser;
+import duke.query.QueryPlan;
+import duke.query.QueryPlanner;
+import duke.query.TagExpression;
+import duke.reminder.ReminderScheduler;
+import duke.replication.LogEntry;
+import duke.replication.ReplicationClient;
+import duke.replication.ReplicationLog;
+import duke.replication.ReplicationServer;
+import duke.storage.StorageChange;
+import duke.storage.StorageWatcher;
+import duke.task.DatedTask;
 import duke.task.DeadlineTask;
 import duke.task.EventTask;
+import duke.task.Occurrence;
 import duke.task.Task;
+import duke.sync.SyncState;
+import duke.sync.TaskSync;
 import duke.task.TodoTask;
+import duke.workspace.Workspace;
+import duke.workspace.WorkspaceCache;
 
 /**
  * The main chatbot class for Sai, a task management assistant.
@@ -26,19 +69,350 @@ import duke.task.TodoTask;
  * Tasks are persisted using {@link Storage} and displayed using {@link Ui}.
  */
 public class Sai {
+    private static final String[] COMMANDS = {
+        "list", "todo", "deadline", "event", "mark", "unmark", "delete", "find", "query", "tag", "occurrences",
+        "export", "import", "storage", "replicate", "summary", "archive", "free", "undo", "redo", "workspace", "sync",
+        "bye"
+    };
+    /** The commands a read-only replica answers. */
+    private static final Set<String> REPLICA_COMMANDS = Set.of(
+        "list", "find", "query", "tag", "occurrences", "export", "replicate", "summary", "free", "bye"
+    );
+    /** The file a replica keeps its copy in, next to the storage file it was using. */
+    private static final String REPLICA_FILE_NAME = "replica.txt";
+    /** The number of tasks handed over at a time while the storage file is loaded in the background. */
+    private static final int LOAD_BATCH_SIZE = 2000;
+    /** Done tasks that finished more than this many days ago are archived by a plain {@code archive}. */
+    private static final int DEFAULT_ARCHIVE_DAYS = 30;
+    /** The shortest free slot {@code free} shows when no {@code /min} is given. */
+    private static final Duration DEFAULT_FREE_LENGTH = Duration.ofMinutes(30);
+    private static final PrefixTrie<String> COMMAND_TRIE = new PrefixTrie<>();
+
+    static {
+        for (String command : COMMANDS) {
+            COMMAND_TRIE.insert(command, command);
+        }
+    }
+
     private TaskList taskList;
-    private Storage storage = new Storage();
+    private Storage storage;
+    private TaskArchive archive;
     private Ui ui = new Ui();
+    private ReminderScheduler reminders = new ReminderScheduler();
+    private ReplicationServer replicationServer;
+    private ReplicationClient replica;
+    private Runnable replicaListener = this::applyReplicatedChanges;
+    private boolean isLoaded;
+    private final List<String> queuedInputs = new ArrayList<>();
+    private boolean isAutoSaved = true;
+    /** Splits each command into words; reused, since commands are handled one at a time. */
+    private final CommandTokenizer tokens = new CommandTokenizer();
+    private boolean hasUnsavedChanges;
+    /** Tasks that another process changed at the same time as this one, not yet shown to the user. */
+    private final List<StorageChange> saveConflicts = new ArrayList<>();
+    private EditHistory history = new EditHistory();
+    private String workspaceName = Workspace.DEFAULT_NAME;
+    private final Path defaultStoragePath;
+    private final WorkspaceCache workspaces = new WorkspaceCache();
+    private StorageWatcher watcher;
+    private Runnable watchListener;
 
     /**
-     * Constructs a new {@code Sai} instance and initialises the task list.
+     * Constructs a new {@code Sai} instance with an empty task list.
      * <p>
-     * When a {@code Sai} object is created, it loads the existing tasks from storage
-     * into the {@link #taskList}. If the storage file does not exist or is empty,
-     * the task list will be initialised as empty.
+     * The existing tasks are not loaded yet, so a window can be shown straight away. They are loaded with
+     * {@link #loadTasks()}, or in the background with {@link #readTasks(Consumer)}, {@link #addLoadedTasks(List)}
+     * and {@link #finishLoading()}. Until loading has finished, {@code list} shows the tasks loaded so far and
+     * other commands are queued. Reminders are scheduled as tasks are loaded,
+     * but are only delivered once {@link #startReminders(Consumer)} is called.
      */
     public Sai() {
-        this.taskList = this.storage.load();
+        this(new Storage());
+    }
+
+    /**
+     * Constructs a new {@code Sai} instance with an empty task list, which is kept in the given file.
+     *
+     * @param storagePath the storage file
+     * @see #Sai()
+     */
+    public Sai(Path storagePath) {
+        this(new Storage(storagePath));
+    }
+
+    private Sai(Storage storage) {
+        this.storage = storage;
+        this.defaultStoragePath = storage.getPath();
+        this.archive = TaskArchive.forStorage(storage.getPath());
+        this.taskList = new TaskList();
+        this.taskList.addIndex(reminders);
+    }
+
+    /**
+     * Loads the existing tasks from storage on the calling thread.
+     *
+     * @return the responses to commands queued while loading
+     */
+    public List<String> loadTasks() {
+        this.readTasks(this::addLoadedTasks);
+        return this.finishLoading();
+    }
+
+    /**
+     * Reads the existing tasks from storage, handing them over in batches, without changing the task list.
+     * <p>
+     * This method is safe to call from a background thread, once, before loading has finished. Each batch
+     * should be passed to {@link #addLoadedTasks(List)} on the thread that handles user input.
+     *
+     * @param batches called with each batch of tasks read, in order
+     * @return the number of tasks read
+     */
+    public int readTasks(Consumer<List<Task>> batches) {
+        return storage.load(LOAD_BATCH_SIZE, batches);
+    }
+
+    /**
+     * Appends a batch of tasks read by {@link #readTasks(Consumer)} to the task list.
+     *
+     * @param tasks the tasks to append
+     */
+    public void addLoadedTasks(List<Task> tasks) {
+        this.taskList.addAll(tasks);
+    }
+
+    /**
+     * Marks loading as finished and runs the commands that were queued while loading.
+     *
+     * @return the responses to the queued commands, in the order they were typed
+     */
+    public List<String> finishLoading() {
+        isLoaded = true;
+        List<String> responses = new ArrayList<>();
+        for (String input : queuedInputs) {
+            responses.add(this.getResponse(input));
+        }
+        queuedInputs.clear();
+        return responses;
+    }
+
+    /**
+     * Returns whether this copy is following a primary, and so only answers commands that read the list.
+     *
+     * @return true if this copy is a replica
+     */
+    public boolean isReplica() {
+        return replica != null;
+    }
+
+    /**
+     * Returns whether the existing tasks have finished loading.
+     *
+     * @return true once {@link #finishLoading()} has been called
+     */
+    public boolean isLoaded() {
+        return isLoaded;
+    }
+
+    /**
+     * Starts delivering reminders for deadlines that are about to be due and events that are about to start.
+     *
+     * @param listener called on the reminder thread with each formatted reminder message
+     */
+    public void startReminders(Consumer<String> listener) {
+        reminders.start(occurrence -> listener.accept(ui.showReminder(occurrence)));
+    }
+
+    /**
+     * Starts watching the storage file for changes made by other programs.
+     * <p>
+     * The listener is called on a background thread whenever the file may have changed. It should call
+     * {@link #reloadExternalChanges()} on the thread that handles user input. The file of whichever workspace
+     * is in use is watched.
+     *
+     * @param listener called on the watcher thread after the file has changed
+     * @return an error message if the file cannot be watched, or null if it is being watched
+     */
+    public String startWatching(Runnable listener) {
+        this.watchListener = listener;
+        return this.watchStorage();
+    }
+
+    /**
+     * Watches the file of the storage in use, instead of the file watched before.
+     *
+     * @return an error message if the file cannot be watched, or null if it is being watched
+     */
+    private String watchStorage() {
+        if (watcher != null) {
+            watcher.stop();
+        }
+        try {
+            watcher = new StorageWatcher(storage.getPath(), watchListener);
+            watcher.start();
+            return null;
+        } catch (IOException e) {
+            return ui.showError("Cannot watch the storage file for changes made elsewhere: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Applies changes that other programs made to the storage file.
+     * <p>
+     * Only the tasks on changed lines are replaced, so the indexes are updated for those tasks alone.
+     *
+     * @return a message describing the changes, or null if the file has not changed
+     */
+    public String reloadExternalChanges() {
+        if (!isLoaded) {
+            return null;
+        }
+        List<StorageChange> changes;
+        try {
+            changes = storage.readChanges(taskList);
+        } catch (IOException e) {
+            return ui.showError("Could not reload tasks: " + e.getMessage());
+        }
+        if (changes.isEmpty()) {
+            return null;
+        }
+        this.applyChanges(changes);
+        return ui.showReloaded(changes);
+    }
+
+    /**
+     * Replaces runs of tasks made elsewhere and publishes them, without saving.
+     */
+    private void applyChanges(List<StorageChange> changes) {
+        // The positions in the history no longer match the list
+        history.clear();
+        // Apply the last change first, so the positions of earlier changes stay valid
+        for (int i = changes.size() - 1; i >= 0; i--) {
+            StorageChange change = changes.get(i);
+            taskList.replaceRange(change.getFrom(), change.getFrom() + change.getRemoved().size(), change.getAdded());
+            this.publish(LogEntry.Operation.REPLACE, change.getFrom(), change.getRemoved().size(), change.getAdded());
+        }
+    }
+
+    /**
+     * Sets the listener told when changes from the primary are waiting to be applied, if this copy is a replica.
+     * <p>
+     * The listener is called on a background thread. It should call {@link #applyReplicatedChanges()} on the
+     * thread that handles user input. By default the changes are applied on the background thread itself.
+     *
+     * @param listener called on the replication thread when changes arrive
+     */
+    public void setReplicaListener(Runnable listener) {
+        this.replicaListener = listener;
+    }
+
+    /**
+     * Applies the changes received from the primary, if this copy is a replica, and saves the task list once.
+     * <p>
+     * If a change does not fit the task list, this copy has fallen out of step with the primary,
+     * so a snapshot of the primary's list is requested instead.
+     */
+    public void applyReplicatedChanges() {
+        if (replica == null) {
+            return;
+        }
+        LogEntry applied = null;
+        try {
+            for (LogEntry entry : replica.takeReceived()) {
+                entry.applyTo(taskList);
+                applied = entry;
+            }
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            replica.requestSnapshot();
+        }
+        if (applied != null) {
+            storage.save(taskList);
+            replica.markApplied(applied);
+        }
+    }
+
+    /**
+     * Publishes a change to the replicas, if this copy is a primary, then saves the task list.
+     */
+    private void save(LogEntry.Operation operation, int position, int removed, List<? extends Task> added) {
+        this.publish(operation, position, removed, added);
+        this.save();
+    }
+
+    /**
+     * Sets whether the task list is saved after every change.
+     * <p>
+     * When it is not, changes are still published to the replicas straight away, but the list is only
+     * written when {@link #saveChanges()} is called. This lets a script of many commands be saved in batches.
+     *
+     * @param isAutoSaved true to save after every change
+     */
+    public void setAutoSave(boolean isAutoSaved) {
+        this.isAutoSaved = isAutoSaved;
+    }
+
+    /**
+     * Saves the task list if it has changed since it was last saved.
+     *
+     * @return true if the list was written
+     */
+    public boolean saveChanges() {
+        if (!hasUnsavedChanges) {
+            return false;
+        }
+        this.saveMerging();
+        return true;
+    }
+
+    /**
+     * Saves the task list and publishes the changes of other processes that were merged in while saving.
+     *
+     * @return the merged changes, in the order they were applied
+     */
+    private List<StorageChange> saveMerging() {
+        hasUnsavedChanges = false;
+        List<StorageChange> merged = storage.save(taskList);
+        if (!merged.isEmpty()) {
+            history.clear();
+        }
+        // Later changes in the list were applied first, so each conflict moves by the changes before it
+        int shift = 0;
+        for (int i = merged.size() - 1; i >= 0; i--) {
+            StorageChange change = merged.get(i);
+            if (change.isConflict()) {
+                saveConflicts.add(new StorageChange(change.getFrom() + shift, change.getRemoved(), change.getAdded(),
+                        change.getUnreadableLines(), true));
+            }
+            shift += change.getAdded().size() - change.getRemoved().size();
+        }
+        for (StorageChange change : merged) {
+            if (!change.getRemoved().isEmpty() || !change.getAdded().isEmpty()) {
+                this.publish(LogEntry.Operation.REPLACE, change.getFrom(), change.getRemoved().size(),
+                        change.getAdded());
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Saves the task list, publishing the changes of other processes that were merged in while saving,
+     * unless saving has been deferred with {@link #setAutoSave(boolean)}.
+     */
+    private void save() {
+        hasUnsavedChanges = true;
+        if (isAutoSaved) {
+            this.saveChanges();
+        }
+    }
+
+    private void publish(LogEntry.Operation operation, int position, int removed, List<? extends Task> added) {
+        if (replicationServer == null) {
+            return;
+        }
+        List<String> lines = new ArrayList<>(added.size());
+        for (Task task : added) {
+            lines.add(task.toStorageString());
+        }
+        replicationServer.getLog().append(operation, position, removed, lines);
     }
 
     /**
@@ -62,43 +436,127 @@ public class Sai {
         return ui.showTaskList(this.taskList);
     }
 
+    /**
+     * Displays one page or a range of the current taskList.
+     * <p>
+     * The input is expected to follow one of the formats:
+     * <pre>
+     *     list &lt;from&gt;-&lt;to&gt;
+     *     list page &lt;n&gt;
+     * </pre>
+     * where task numbers and page numbers start at 1. Only the requested tasks are formatted.
+     *
+     * @param input the raw user input string beginning with the "list" command
+     * @return the tasks in the requested range, or a warning message if the input is invalid
+     */
+    public String displayRange(String input) {
+        CommandTokenizer tokens = this.tokenize(input);
+        String warning = ui.showError("Please format your message as \"list FROM-TO\" or \"list page N\"");
+
+        try {
+            int dash = tokens.size() == 2 ? tokens.indexOf(1, '-') : -1;
+            if (tokens.size() == 3 && tokens.isWord(1, "page")) {
+                int page = tokens.parseInt(2);
+                if (page <= 0) {
+                    return warning;
+                }
+                int from = (page - 1) * Ui.PAGE_SIZE;
+                return ui.showTaskRange(this.taskList, from, from + Ui.PAGE_SIZE);
+            } else if (dash >= 0) {
+                int from = tokens.parseIntBetween(tokens.start(1), dash);
+                int to = tokens.parseIntBetween(dash + 1, tokens.end(1));
+                if (from <= 0 || to < from) {
+                    return warning;
+                }
+                return ui.showTaskRange(this.taskList, from - 1, to);
+            }
+        } catch (NumberFormatException e) {
+            return warning;
+        }
+        return warning;
+    }
+
+    /**
+     * Summarises the task list by kind and status, with overdue deadlines and this week's events.
+     * <p>
+     * The counts are kept up to date as the list changes, so the list is not scanned.
+     *
+     * @return the summary
+     */
+    public String summary() {
+        return ui.showSummary(taskList.getCounters(), LocalDate.now());
+    }
+
+    /**
+     * Returns a one-line summary of the task list, for showing alongside the conversation.
+     *
+     * @return the summary line
+     */
+    public String getSummaryLine() {
+        return ui.showSummaryLine(taskList.getCounters(), LocalDate.now());
+    }
+
+    /**
+     * Returns the number of tasks in the current taskList.
+     *
+     * @return the number of tasks
+     */
+    public int getTaskCount() {
+        return this.taskList.size();
+    }
+
+    /**
+     * Returns the formatted line for the task at the given position, as shown by {@code list}.
+     *
+     * @param index position of the task (0-based)
+     * @return the numbered task line, or an empty string if the position is no longer valid
+     */
+    public String getTaskLine(int index) {
+        if (index < 0 || index >= this.taskList.size()) {
+            return "";
+        }
+        return (index + 1) + ". " + this.taskList.getTask(index);
+    }
+
     /**
      * Adds a new task to the task list based on the user's input.
      * <p>
-     * The input is parsed into task type and task details using the {@link Parser#extractPhrases(String)} method.
+     * The input is parsed into a task using the {@link Parser#parseTask(String)} method.
      * Supported task types are:
      * <ul>
      *     <li>{@code todo} – creates a {@link TodoTask}</li>
      *     <li>{@code deadline} – creates a {@link DeadlineTask} with a description and a due date</li>
      *     <li>{@code event} – creates an {@link EventTask} with a description, start time, and end time</li>
      * </ul>
+     * Deadlines and events may be followed by a recurrence clause.
      * After adding the task, the updated task list is saved to storage, and a confirmation message
-     * is returned via the {@link Ui#showAddedTask(TaskList)} method.
+     * is returned via the {@link Ui#showAddedTask(TaskList)} method. A new event is checked against the
+     * {@link duke.list.EventTimeline}, and the events it clashes with are listed; for a recurring event,
+     * its first occurrence is checked.
      * @param input the raw user input string representing the task to add
      * @return a formatted message confirming that the task has been added
      * @throws InvalidTaskTypeException if the task type is not recognised (not "todo", "deadline", or "event")
      * @throws InvalidTaskFormatException if the input format for the task details is invalid
      */
     public String addToList(String input) throws InvalidTaskTypeException, InvalidTaskFormatException {
-        String[] inputList = Parser.extractPhrases(input);
-        Task newTask;
-
-        switch (inputList[0]) {
-        case "todo" -> newTask = new TodoTask(inputList[1]);
-        case "deadline" -> newTask = new DeadlineTask(inputList[1], inputList[2]);
-        case "event" -> newTask = new EventTask(inputList[1], inputList[2], inputList[3]);
-        default -> throw new InvalidTaskTypeException("Invalid Task Type");
-        }
+        Task newTask = Parser.parseTask(this.tokenize(input));
 
         // Check for duplicates
         if (this.taskList.contains(newTask)) {
             return ui.showError("Duplicate task detected. Task not added.");
         }
 
+        List<Occurrence> clashes = List.of();
+        if (newTask instanceof EventTask) {
+            EventTask event = (EventTask) newTask;
+            clashes = taskList.getEventTimeline().findOverlaps(event.getStart(), event.getEnd());
+        }
+
         // Add to taskList if not duplicate
         this.taskList.addTask(newTask);
-        storage.save(taskList);
-        return ui.showAddedTask(this.taskList);
+        history.record(Edit.ofAdd(new int[] {taskList.size() - 1}, List.of(newTask)));
+        this.save(LogEntry.Operation.ADD, taskList.size() - 1, 0, List.of(newTask));
+        return ui.showAddedTask(this.taskList) + ui.showClashes(clashes);
     }
 
 
@@ -112,28 +570,33 @@ public class Sai {
      * If the input does not contain exactly one valid integer argument, or if the
      * specified task number does not exist in the current task list, a warning
      * message is returned instead of deleting a task.
+     * All the tasks matching a condition can be deleted at once with {@code delete where <condition>}.
      *
      * @param input the raw user input string beginning with the "delete" command
      * @return a confirmation message if the task is successfully deleted,
      *         or a warning message if the input is invalid
      * @throws InvalidTaskNumberException if the task number is out of range
+     * @throws InvalidTaskFormatException if the condition after {@code where} is invalid
      */
-    public String delete(String input) throws InvalidTaskNumberException {
-        String[] splitInput = input.trim().split(" ");
-
-        if (splitInput.length != 2) {
+    public String delete(String input) throws InvalidTaskNumberException, InvalidTaskFormatException {
+        CommandTokenizer tokens = this.tokenize(input);
+        if (tokens.isWord(1, "where")) {
+            return this.deleteWhere(tokens);
+        }
+        if (tokens.size() != 2) {
             return ui.formatMessageWarning("delete");
         }
 
         try {
-            int index = Integer.parseInt(splitInput[1]);
+            int index = tokens.parseInt(1);
 
             if (index <= 0 || index > this.taskList.size()) {
                 throw new InvalidTaskNumberException("Task number " + index + " does not exist");
             }
 
             Task item = this.taskList.deleteTask(index - 1);
-            storage.save(taskList);
+            history.record(Edit.ofDelete(new int[] {index - 1}, List.of(item)));
+            this.save(LogEntry.Operation.DELETE, index - 1, 1, List.of());
 
             return ui.showDeletedTask(item, this.taskList.size());
         } catch (NumberFormatException e) {
@@ -151,29 +614,43 @@ public class Sai {
      * If the input does not contain exactly one valid integer argument, or if the
      * specified task number does not exist in the current task list, a warning
      * message is returned instead of updating the task.
+     * A single occurrence of a recurring task can be marked with {@code mark <task_number> /on <date>}, and all
+     * the tasks matching a condition with {@code mark where <condition>}.
      *
      * @param input the raw user input string beginning with the "mark" command
      * @return a confirmation message if the task is successfully marked,
      *         or a warning message if the input is invalid
      * @throws InvalidTaskNumberException if the task number is out of range
+     * @throws InvalidTaskFormatException if the occurrence date is invalid
      */
-    public String mark(String input) throws InvalidTaskNumberException {
-        String[] splitInput = input.trim().split(" ");
-
-        if (splitInput.length != 2) {
+    public String mark(String input) throws InvalidTaskNumberException, InvalidTaskFormatException {
+        CommandTokenizer tokens = this.tokenize(input);
+        if (tokens.isWord(1, "where")) {
+            return this.markWhere(tokens, true);
+        }
+        if (tokens.indexOf("/on", 1) >= 0) {
+            return this.setOccurrenceStatus(tokens, true);
+        }
+        if (tokens.size() != 2) {
             return ui.formatMessageWarning("mark");
         }
 
         try {
-            int index = Integer.parseInt(splitInput[1]);
+            int index = tokens.parseInt(1);
 
             if (index <= 0 || index > this.taskList.size()) {
                 throw new InvalidTaskNumberException("Task number " + index + " does not exist");
             }
 
             Task item = this.taskList.getTask(index - 1);
-            item.mark();
-            storage.save(taskList);
+            if (item.isDone()) {
+                // Nothing changes, so there is nothing to undo or save
+                return ui.showMarked(item);
+            }
+            Edit edit = Edit.ofMark(new int[] {index - 1}, List.of(item), true);
+            this.taskList.markTask(index - 1);
+            history.record(edit);
+            this.save(LogEntry.Operation.MARK, index - 1, 1, List.of(item));
 
             return ui.showMarked(item);
         } catch (NumberFormatException e) {
@@ -191,29 +668,43 @@ public class Sai {
      * If the input does not contain exactly one valid integer argument, or if the
      * specified task number does not exist in the current task list, a warning
      * message is returned instead of updating the task.
+     * A single occurrence of a recurring task can be unmarked with {@code unmark <task_number> /on <date>}, and
+     * all the tasks matching a condition with {@code unmark where <condition>}.
      *
      * @param input the raw user input string beginning with the "unmark" command
      * @return a confirmation message if the task is successfully unmarked,
      *         or a warning message if the input is invalid
      * @throws InvalidTaskNumberException if the task number is out of range
+     * @throws InvalidTaskFormatException if the occurrence date is invalid
      */
-    public String unmark(String input) throws InvalidTaskNumberException {
-        String[] splitInput = input.trim().split(" ");
-
-        if (splitInput.length != 2) {
+    public String unmark(String input) throws InvalidTaskNumberException, InvalidTaskFormatException {
+        CommandTokenizer tokens = this.tokenize(input);
+        if (tokens.isWord(1, "where")) {
+            return this.markWhere(tokens, false);
+        }
+        if (tokens.indexOf("/on", 1) >= 0) {
+            return this.setOccurrenceStatus(tokens, false);
+        }
+        if (tokens.size() != 2) {
             return ui.formatMessageWarning("unmark");
         }
 
         try {
-            int index = Integer.parseInt(splitInput[1]);
+            int index = tokens.parseInt(1);
 
             if (index <= 0 || index > this.taskList.size()) {
                 throw new InvalidTaskNumberException("Task number " + index + " does not exist");
             }
 
             Task item = this.taskList.getTask(index - 1);
-            item.unmark();
-            storage.save(taskList);
+            if (!item.isDone()) {
+                // Nothing changes, so there is nothing to undo or save
+                return ui.showUnmarked(item);
+            }
+            Edit edit = Edit.ofMark(new int[] {index - 1}, List.of(item), false);
+            this.taskList.unmarkTask(index - 1);
+            history.record(edit);
+            this.save(LogEntry.Operation.UNMARK, index - 1, 1, List.of(item));
 
             return ui.showUnmarked(item);
         } catch (NumberFormatException e) {
@@ -222,79 +713,1092 @@ public class Sai {
     }
 
     /**
-     * Searches the task list for tasks containing the given keyword and returns the results.
+     * Deletes every task matching a condition, such as {@code delete where done}.
      * <p>
-     * The input is expected to follow the format:
-     * <pre>
-     *     find &lt;keyword&gt;
-     * </pre>
-     * If the input is missing a keyword (e.g., just {@code "find"} or {@code "find    "}),
-     * an {@link InvalidTaskFormatException} will be thrown. If no tasks match the keyword,
-     * an error message will be returned.
+     * The condition, described in {@link QueryParser#parseWhere(CommandTokenizer, int)}, is planned and run once,
+     * the list is compacted in one pass with the indexes told of the removed tasks as a batch, and the list is
+     * saved once for the whole deletion.
      *
-     * @param input the raw user input string starting with the "find" command
-     * @return a formatted string of matching tasks, or an error message if no matches are found
-     * @throws InvalidTaskFormatException if the input format is invalid or the keyword is missing
+     * @param tokens the words of the user input, starting with {@code delete where}
+     * @return a confirmation message listing the deleted tasks, or an error message if none match
+     * @throws InvalidTaskFormatException if the condition is invalid
      */
-    public String find(String input) throws InvalidTaskFormatException {
-        String[] words = input.trim().split(" ", 2);
+    private String deleteWhere(CommandTokenizer tokens) throws InvalidTaskFormatException {
+        int[] positions = this.findWhere(tokens, null);
+        if (positions.length == 0) {
+            return ui.showError("No matching tasks found.");
+        }
+        List<Task> removed = this.removeTasks(positions);
+        history.record(Edit.ofDelete(positions, removed));
+        this.save();
+        return ui.showDeletedTasks(removed, this.taskList.size());
+    }
 
-        if (words[0].equals("find")) {
-            throw new InvalidTaskFormatException("please put a space after 'find'");
-        } else if (words.length < 2 || words[1].isBlank()) {
-            throw new InvalidTaskFormatException("please input keyword to be found");
+    /**
+     * Marks or unmarks every task matching a condition, such as {@code mark where find report}.
+     * <p>
+     * Tasks that already have the new status are left alone. As with {@link #deleteWhere(CommandTokenizer)},
+     * the condition is run once, the indexes are updated as a batch and the list is saved once.
+     *
+     * @param tokens the words of the user input, starting with {@code mark where} or {@code unmark where}
+     * @param isDone the new status of the tasks
+     * @return a confirmation message listing the changed tasks, or an error message if none need changing
+     * @throws InvalidTaskFormatException if the condition is invalid
+     */
+    private String markWhere(CommandTokenizer tokens, boolean isDone) throws InvalidTaskFormatException {
+        int[] positions = this.findWhere(tokens, isDone);
+        if (positions.length == 0) {
+            return ui.showError("No matching tasks " + (isDone ? "left to mark." : "left to unmark."));
+        }
+        // Every matching task changes, and the edit is made first to keep the statuses of their occurrences
+        List<Task> matches = new ArrayList<>(positions.length);
+        for (int position : positions) {
+            matches.add(this.taskList.getTask(position));
         }
+        Edit edit = Edit.ofMark(positions, matches, isDone);
+        List<Task> changed = this.setDone(positions, isDone);
+        history.record(edit);
+        this.save();
+        return ui.showMarkedTasks(changed, isDone);
+    }
 
-        String keyword = words[1];
-        ArrayList<Task> found = taskList.findTasks(keyword);
+    /**
+     * Returns the positions of the tasks matching the condition after {@code where}, in increasing order.
+     *
+     * @param tokens    the words of the user input, with {@code where} as the second word
+     * @param isSkipped the status of tasks to leave out, or null to keep every match
+     * @return the positions of the matching tasks (0-based)
+     * @throws InvalidTaskFormatException if the condition is invalid
+     */
+    private int[] findWhere(CommandTokenizer tokens, Boolean isSkipped) throws InvalidTaskFormatException {
+        Query query = QueryParser.parseWhere(tokens, 2);
+        List<Task> found = QueryPlanner.plan(query, taskList).execute(taskList);
+        // Matches come out in list order, so their positions are already increasing
+        return found.stream()
+                .filter(task -> isSkipped == null || task.isDone() != isSkipped)
+                .mapToInt(taskList::positionOf)
+                .toArray();
+    }
 
-        if (found.isEmpty()) {
-            return ui.showError("No matching tasks found.");
-        } else {
-            StringBuilder sb = new StringBuilder("Here are the matching tasks in your list:\n");
-            for (int i = 0; i < found.size(); i++) {
-                sb.append((i + 1)).append(". ").append(found.get(i)).append("\n");
+    /**
+     * Undoes the latest change to the task list made by adding, deleting, marking or unmarking tasks.
+     * <p>
+     * The change is reversed from what the {@link EditHistory} kept of it, by putting deleted tasks back at their
+     * positions, deleting added ones or toggling their status back, and saved like any other change. The list is
+     * never copied or reloaded. Changes made before the file was changed by another program, or before an
+     * {@code archive}, cannot be undone.
+     *
+     * @return a message describing the change undone, or an error message if there is none
+     */
+    public String undo() {
+        Edit edit = history.undo();
+        if (edit == null) {
+            return ui.showError("Nothing to undo.");
+        }
+        this.apply(edit, true);
+        return ui.showUndone(edit, false, taskList.size());
+    }
+
+    /**
+     * Makes again the latest change undone by {@link #undo()}, unless another change was made since.
+     *
+     * @return a message describing the change redone, or an error message if there is none
+     */
+    public String redo() {
+        Edit edit = history.redo();
+        if (edit == null) {
+            return ui.showError("Nothing to redo.");
+        }
+        this.apply(edit, false);
+        return ui.showUndone(edit, true, taskList.size());
+    }
+
+    /**
+     * Makes or reverses an edit, publishes the changes and saves the list.
+     */
+    private void apply(Edit edit, boolean isReversed) {
+        int[] positions = edit.getPositions();
+        switch (edit.getKind()) {
+        case ADD, DELETE -> {
+            if ((edit.getKind() == Edit.Kind.ADD) == isReversed) {
+                List<Task> removed = this.removeTasks(positions);
+                assert removed.equals(edit.getTasks());
+            } else {
+                this.insertTasks(positions, edit.getTasks());
+            }
+        }
+        case MARK, UNMARK -> {
+            List<Task> changed = this.setDone(positions, edit.isDone() != isReversed);
+            if (isReversed) {
+                this.restoreOccurrences(edit, positions, changed);
             }
-            return sb.toString().trim();
         }
+        case OCCURRENCE -> {
+            DatedTask task = (DatedTask) edit.getTasks().get(0);
+            task.setOccurrenceDone(edit.getOccurrence(), edit.isDone() != isReversed);
+            this.publish(LogEntry.Operation.REPLACE, positions[0], 1, edit.getTasks());
+        }
+        default -> throw new AssertionError(edit.getKind());
+        }
+        this.save();
     }
 
     /**
-     * Processes the user input command and returns the corresponding response message.
-     * <p>
-     * This method normalises the input to lowercase and then checks the command type.
-     * Depending on the command, it will delegate the request to the appropriate handler
-     * method (e.g., {@code displayList()}, {@code mark()}, {@code delete()}, etc.).
-     * <p>
-     * Supported commands:
-     * <ul>
-     *     <li><b>list</b> – Displays the current task list.</li>
-     *     <li><b>mark &lt;index&gt;</b> – Marks a task as completed.</li>
-     *     <li><b>unmark &lt;index&gt;</b> – Marks a task as not completed.</li>
-     *     <li><b>delete &lt;index&gt;</b> – Deletes a task from the list.</li>
-     *     <li><b>find &lt;keyword&gt;</b> – Finds tasks containing the given keyword.</li>
-     *     <li><b>bye</b> – Returns a farewell message.</li>
-     *     <li><i>Any other input</i> – Attempts to add the input as a new task.</li>
-     * </ul>
+     * Deletes the tasks at several positions in one pass and publishes the deletions.
      *
-     * @param input the raw user input string
-     * @return the response message to be displayed to the user
+     * @param positions the positions (0-based), in increasing order
+     * @return the deleted tasks
      */
-    public String getResponse(String input) {
-        input = input.toLowerCase();
+    private List<Task> removeTasks(int[] positions) {
+        List<Task> removed = this.taskList.deleteTasks(positions);
+        // From the last to the first, so each position is still right when a replica applies it
+        for (int i = positions.length - 1; i >= 0; i--) {
+            this.publish(LogEntry.Operation.DELETE, positions[i], 1, List.of());
+        }
+        return removed;
+    }
 
-        try {
-            if (input.equals("list")) {
-                return this.displayList();
-            } else if (input.startsWith("mark")) {
+    /**
+     * Puts deleted tasks back at their positions in one pass and publishes the insertions.
+     *
+     * @param positions the positions (0-based), in increasing order
+     * @param tasks     the tasks, in the same order
+     */
+    private void insertTasks(int[] positions, List<Task> tasks) {
+        this.taskList.insertTasks(positions, tasks);
+        for (int i = 0; i < positions.length; i++) {
+            this.publish(LogEntry.Operation.ADD, positions[i], 0, List.of(tasks.get(i)));
+        }
+    }
+
+    /**
+     * Puts back the statuses of the single occurrences that a reversed mark or unmark cleared, and publishes the
+     * recurring tasks whose occurrences were put back.
+     */
+    private void restoreOccurrences(Edit edit, int[] positions, List<Task> tasks) {
+        for (int i = 0; i < positions.length; i++) {
+            Map<Integer, Boolean> exceptions = edit.getOccurrenceExceptions(i);
+            if (exceptions.isEmpty()) {
+                continue;
+            }
+            DatedTask task = (DatedTask) tasks.get(i);
+            for (Map.Entry<Integer, Boolean> entry : exceptions.entrySet()) {
+                task.setOccurrenceDone(entry.getKey(), entry.getValue());
+            }
+            this.publish(LogEntry.Operation.REPLACE, positions[i], 1, List.of(task));
+        }
+    }
+
+    /**
+     * Marks or unmarks the tasks at several positions and publishes the changes. Every task must change status.
+     *
+     * @param positions the positions (0-based), in increasing order
+     * @param isDone    the new status
+     * @return the changed tasks
+     */
+    private List<Task> setDone(int[] positions, boolean isDone) {
+        List<Task> changed = this.taskList.markTasks(positions, isDone);
+        assert changed.size() == positions.length;
+        LogEntry.Operation operation = isDone ? LogEntry.Operation.MARK : LogEntry.Operation.UNMARK;
+        for (int i = 0; i < positions.length; i++) {
+            this.publish(operation, positions[i], 1, List.of(changed.get(i)));
+        }
+        return changed;
+    }
+
+    /**
+     * Marks or unmarks a single occurrence of a recurring task.
+     * <p>
+     * The input is expected to follow the format:
+     * <pre>
+     *     mark|unmark &lt;task_number&gt; /on &lt;date&gt;
+     * </pre>
+     *
+     * @param tokens the words of the user input
+     * @param isDone the new status of the occurrence
+     * @return a confirmation message, or an error message if the task has no occurrence on that date
+     * @throws InvalidTaskNumberException if the task number is out of range
+     * @throws InvalidTaskFormatException if the task number or date is invalid
+     */
+    private String setOccurrenceStatus(CommandTokenizer tokens, boolean isDone)
+            throws InvalidTaskNumberException, InvalidTaskFormatException {
+        String command = isDone ? "mark" : "unmark";
+        int on = tokens.indexOf("/on", 1);
+        if (on != 2 || tokens.size() == 3) {
+            return ui.formatMessageWarning(command);
+        }
+
+        Task item = this.getTaskByNumber(tokens, 1, command);
+        if (!(item instanceof DatedTask) || !((DatedTask) item).isRecurring()) {
+            return ui.showError("Only recurring tasks have occurrences to " + command + ".");
+        }
+
+        DatedTask recurringTask = (DatedTask) item;
+        LocalDateTime date = Parser.parseDateTime(tokens.text(on + 1, tokens.size()));
+        Occurrence occurrence = recurringTask.findOccurrenceOn(date.toLocalDate());
+        if (occurrence == null) {
+            return ui.showError("This task has no occurrence on that date.");
+        }
+
+        if (occurrence.isDone() != isDone) {
+            // Otherwise nothing changes, so there is nothing to undo or save
+            recurringTask.setOccurrenceDone(occurrence.getIndex(), isDone);
+            int position = taskList.positionOf(recurringTask);
+            history.record(Edit.ofOccurrence(position, recurringTask, occurrence.getIndex(), isDone));
+            this.save(LogEntry.Operation.REPLACE, position, 1, List.of(recurringTask));
+        }
+        return isDone ? ui.showMarked(occurrence) : ui.showUnmarked(occurrence);
+    }
+
+    /**
+     * Lists the upcoming occurrences of a recurring task.
+     * <p>
+     * The input is expected to follow the format:
+     * <pre>
+     *     occurrences &lt;task_number&gt;
+     * </pre>
+     * Occurrences are generated lazily, so only the ones shown are ever computed.
+     *
+     * @param input the raw user input string beginning with the "occurrences" command
+     * @return the upcoming occurrences, or a warning message if the input is invalid
+     * @throws InvalidTaskNumberException if the task number is out of range
+     */
+    public String listOccurrences(String input) throws InvalidTaskNumberException {
+        CommandTokenizer tokens = this.tokenize(input);
+        if (tokens.size() != 2) {
+            return ui.formatMessageWarning("occurrences");
+        }
+
+        Task item = this.getTaskByNumber(tokens, 1, "occurrences");
+        if (!(item instanceof DatedTask)) {
+            return ui.showError("Only deadlines and events have occurrences.");
+        }
+
+        Iterator<Occurrence> it = ((DatedTask) item).occurrencesFrom(LocalDateTime.now());
+        List<Occurrence> upcoming = new ArrayList<>();
+        while (it.hasNext() && upcoming.size() < Ui.OCCURRENCES_SHOWN) {
+            upcoming.add(it.next());
+        }
+        return ui.showOccurrences(item, upcoming);
+    }
+
+    private Task getTaskByNumber(CommandTokenizer tokens, int token, String command)
+            throws InvalidTaskNumberException {
+        int index;
+        try {
+            index = tokens.parseInt(token);
+        } catch (NumberFormatException e) {
+            throw new InvalidTaskNumberException(ui.formatMessageWarning(command));
+        }
+        if (index <= 0 || index > this.taskList.size()) {
+            throw new InvalidTaskNumberException("Task number " + index + " does not exist");
+        }
+        return this.taskList.getTask(index - 1);
+    }
+
+    /**
+     * Searches the task list for tasks containing the given keyword and returns the results.
+     * <p>
+     * The input is expected to follow the format:
+     * <pre>
+     *     find [--all] &lt;keyword&gt;
+     * </pre>
+     * With {@code --all}, the archived tasks are searched too, reading only the archive segments whose
+     * summaries show they might hold the keyword.
+     * If the input is missing a keyword (e.g., just {@code "find"} or {@code "find    "}),
+     * an {@link InvalidTaskFormatException} will be thrown. If no tasks match the keyword,
+     * an error message will be returned.
+     *
+     * @param input the raw user input string starting with the "find" command
+     * @return a formatted string of matching tasks, or an error message if no matches are found
+     * @throws InvalidTaskFormatException if the input format is invalid or the keyword is missing
+     */
+    public String find(String input) throws InvalidTaskFormatException {
+        CommandTokenizer tokens = this.tokenize(input);
+        boolean isAll = tokens.isWord(1, "--all");
+        int keywordStart = isAll ? 2 : 1;
+
+        if (!tokens.isWord(0, "find")) {
+            throw new InvalidTaskFormatException("please put a space after 'find'");
+        } else if (tokens.size() <= keywordStart) {
+            throw new InvalidTaskFormatException("please input keyword to be found");
+        }
+
+        String keyword = tokens.lowerText(keywordStart, tokens.size());
+        ArrayList<Task> found = taskList.findTasks(keyword);
+        TaskArchive.Search archived = null;
+        if (isAll) {
+            try {
+                archived = archive.find(keyword);
+            } catch (IOException e) {
+                return ui.showError("Could not search the archive: " + e.getMessage());
+            }
+        }
+
+        if (found.isEmpty() && (archived == null || archived.getTasks().isEmpty())) {
+            return ui.showError("No matching tasks found.");
+        }
+        StringBuilder sb = new StringBuilder();
+        if (!found.isEmpty()) {
+            sb.append("Here are the matching tasks in your list:\n");
+            for (int i = 0; i < found.size(); i++) {
+                sb.append((i + 1)).append(". ").append(found.get(i)).append("\n");
+            }
+        }
+        if (archived != null) {
+            sb.append("\n").append(ui.showArchiveMatches(archived));
+        }
+        return sb.toString().trim();
+    }
+
+    /**
+     * Finds the free time between events in a range.
+     * <p>
+     * The input is expected to follow the format:
+     * <pre>
+     *     free &lt;from&gt; [/to &lt;to&gt;] [/min &lt;length&gt;]
+     * </pre>
+     * Without {@code /to}, the whole day of {@code from} is searched. A {@code from} without a time starts at
+     * midnight, and a {@code to} without a time runs to the end of that day. Only gaps of at least the given
+     * length, 30 minutes by default, are shown. The gaps are found by one sweep over the events of the
+     * {@link duke.list.EventTimeline}, which keeps them in start order as they are added and deleted.
+     *
+     * @param input the raw user input string starting with the "free" command
+     * @return a formatted string listing the free slots
+     * @throws InvalidTaskFormatException if the input does not follow the format or a date cannot be parsed
+     */
+    public String free(String input) throws InvalidTaskFormatException {
+        CommandTokenizer tokens = this.tokenize(input);
+        int min = tokens.indexOf("/min", 1);
+        int end = min < 0 ? tokens.size() : min;
+        int to = tokens.indexOf("/to", 1);
+        if (end < 2 || (to >= 0 && (to < 2 || to >= end - 1)) || (min >= 0 && min == tokens.size() - 1)) {
+            throw new InvalidTaskFormatException(
+                    "Please format your message as \"free DATE [/to DATE] [/min LENGTH]\"");
+        }
+
+        LocalDateTime from;
+        LocalDateTime until;
+        if (to < 0) {
+            LocalDate day = Parser.parseDateTime(tokens.text(1, end), LocalTime.MIDNIGHT).toLocalDate();
+            from = day.atStartOfDay();
+            until = day.plusDays(1).atStartOfDay();
+        } else {
+            from = Parser.parseDateTime(tokens.text(1, to), LocalTime.MIDNIGHT);
+            until = Parser.parseDateTime(tokens.text(to + 1, end), LocalTime.MAX);
+            if (until.toLocalTime().equals(LocalTime.MAX)) {
+                // A date without a time runs to the end of the day
+                until = until.toLocalDate().plusDays(1).atStartOfDay();
+            }
+        }
+        if (!from.isBefore(until)) {
+            throw new InvalidTaskFormatException("The end of the range must come after its start");
+        }
+        Duration minLength = min < 0 ? DEFAULT_FREE_LENGTH : Parser.parseDuration(tokens.text(min + 1, tokens.size()));
+
+        return ui.showFreeSlots(taskList.getEventTimeline().findFree(from, until, minLength), from, until, minLength);
+    }
+
+    /**
+     * Moves done tasks out of the task list into the archive.
+     * <p>
+     * The input is expected to follow the format:
+     * <pre>
+     *     archive [days]
+     * </pre>
+     * Done deadlines and events that finished more than the given number of days ago, 30 by default, are
+     * appended to the archive segment of their month, together with all done todos, since todos have no date.
+     * Recurring tasks stay in the list. The tasks are written to the archive before they leave the list.
+     *
+     * @param input the raw user input string starting with the "archive" command
+     * @return a message saying how many tasks were archived
+     * @throws InvalidTaskFormatException if the number of days is not a number, or more words follow it
+     */
+    public String archive(String input) throws InvalidTaskFormatException {
+        CommandTokenizer tokens = this.tokenize(input);
+        int days = DEFAULT_ARCHIVE_DAYS;
+        if (tokens.size() == 2) {
+            try {
+                days = tokens.parseInt(1);
+            } catch (NumberFormatException e) {
+                days = -1;
+            }
+        }
+        if (tokens.size() > 2 || days < 0) {
+            throw new InvalidTaskFormatException("Please format your message as \"archive [days]\"");
+        }
+
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(days);
+        int[] positions = IntStream.range(0, taskList.size())
+                .filter(i -> TaskArchive.isArchivable(taskList.getTask(i), cutoff))
+                .toArray();
+        if (positions.length == 0) {
+            return ui.showNothingToArchive(days);
+        }
+        List<Task> archived = new ArrayList<>(positions.length);
+        for (int position : positions) {
+            archived.add(taskList.getTask(position));
+        }
+        int segments;
+        try {
+            segments = archive.append(archived, YearMonth.now());
+        } catch (IOException e) {
+            return ui.showError("Could not archive tasks: " + e.getMessage());
+        }
+
+        this.removeTasks(positions);
+        // Undoing would leave the tasks in the archive as well, so the archive cannot be undone
+        history.clear();
+        this.save();
+        return ui.showArchived(archived.size(), segments, taskList.size());
+    }
+
+    /**
+     * Runs a filter query over the task list and returns the matching tasks.
+     * <p>
+     * The input is expected to follow the format described in {@link QueryParser}, for example:
+     * <pre>
+     *     query /type deadline /undone /before 2025-10-24 /text report
+     * </pre>
+     * The query is planned once by {@link QueryPlanner}, which picks the most selective index.
+     * If the query starts with {@code query explain}, the chosen plan is shown above the results.
+     *
+     * @param input the raw user input string starting with the "query" command
+     * @return a formatted string of matching tasks, optionally preceded by the plan
+     * @throws InvalidTaskFormatException if the query does not follow the grammar
+     */
+    public String query(String input) throws InvalidTaskFormatException {
+        // Queries have their own grammar, which reads the clauses from the words of the command
+        Query query = QueryParser.parse(this.tokenize(input));
+        QueryPlan plan = QueryPlanner.plan(query, taskList);
+        List<Task> found = plan.execute(taskList);
+
+        StringBuilder sb = new StringBuilder();
+        if (query.isExplain()) {
+            sb.append(plan.explain()).append("\n\n");
+        }
+        if (found.isEmpty()) {
+            return sb.append(ui.showError("No matching tasks found.")).toString();
+        }
+        sb.append("Here are the matching tasks in your list:\n");
+        for (int i = 0; i < found.size(); i++) {
+            sb.append((i + 1)).append(". ").append(found.get(i)).append("\n");
+        }
+        return sb.toString().trim();
+    }
+
+    /**
+     * Filters the task list by tags, kinds and completion status.
+     * <p>
+     * The input is expected to follow the format described in {@link TagExpression}, for example:
+     * <pre>
+     *     tag work &amp; !done &amp; deadline
+     * </pre>
+     * The filter is worked out on the bitmaps of the {@link duke.list.TagIndex}, so it takes time in proportion
+     * to the size of the bitmaps rather than the number of tasks. Without a filter, the tags in use are listed.
+     *
+     * @param input the raw user input string starting with the "tag" command
+     * @return a formatted string of matching tasks, numbered by their position in the list
+     * @throws InvalidTaskFormatException if the filter does not follow the grammar
+     */
+    public String tag(String input) throws InvalidTaskFormatException {
+        CommandTokenizer tokens = this.tokenize(input);
+        if (tokens.size() == 1) {
+            return ui.showTags(taskList.getTagIndex().countTags());
+        }
+        TagExpression expression = TagExpression.parse(tokens.text(1, tokens.size()));
+        return ui.showTagged(taskList, expression.evaluate(taskList.getTagIndex()));
+    }
+
+    /**
+     * Exports the task list to a file.
+     * <p>
+     * The input is expected to follow the format:
+     * <pre>
+     *     export csv|json|ics &lt;path&gt;
+     * </pre>
+     * The path is taken from the input as typed, without lower-casing.
+     * Tasks are streamed to the file by a {@link duke.export.TaskWriter}.
+     *
+     * @param input the raw user input string beginning with the "export" command
+     * @return a confirmation message, or an error message if the file cannot be written
+     * @throws InvalidTaskFormatException if the format or path is missing or unsupported
+     */
+    public String export(String input) throws InvalidTaskFormatException {
+        CommandTokenizer tokens = this.tokenize(input);
+        if (tokens.size() < 3) {
+            throw new InvalidTaskFormatException("Please format your message as \"export csv|json|ics PATH\"");
+        }
+
+        try {
+            Path path = Path.of(tokens.text(2, tokens.size()));
+            int count = TaskExporter.export(tokens.text(1, 2), path, taskList.getTasks());
+            return "Exported " + count + " tasks to " + path + ".";
+        } catch (InvalidPathException | IOException e) {
+            return ui.showError("Could not export tasks: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Imports tasks from a file and adds them to the task list.
+     * <p>
+     * The input is expected to follow the format:
+     * <pre>
+     *     import &lt;path&gt;
+     * </pre>
+     * The file may hold S.AI commands, lines of the storage file, CSV or iCalendar.
+     * This reads the file with {@link #readImport(String, DoubleConsumer)} and adds the tasks with
+     * {@link #addImported(ImportResult)}.
+     *
+     * @param input the raw user input string beginning with the "import" command
+     * @return a summary of the import, or an error message if the file cannot be read
+     * @throws InvalidTaskFormatException if the path is missing or invalid
+     */
+    public String importTasks(String input) throws InvalidTaskFormatException {
+        try {
+            return this.addImported(this.readImport(input, progress -> { }));
+        } catch (IOException e) {
+            return ui.showError("Could not import tasks: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Reads the tasks to import from the file named by an {@code import} command, without changing the task list.
+     * <p>
+     * This method is safe to call from a background thread.
+     *
+     * @param input    the raw user input string beginning with the "import" command
+     * @param progress called with the fraction of the file read so far
+     * @return the tasks read and the lines that could not be read
+     * @throws InvalidTaskFormatException if the path is missing or invalid
+     * @throws IOException                if the file cannot be read
+     */
+    public ImportResult readImport(String input, DoubleConsumer progress)
+            throws InvalidTaskFormatException, IOException {
+        // Not the shared tokenizer, since this may run on a background thread while other commands are handled
+        CommandTokenizer tokens = new CommandTokenizer().reset(input);
+        if (tokens.size() < 2) {
+            throw new InvalidTaskFormatException("Please format your message as \"import PATH\"");
+        }
+
+        String pathText = tokens.text(1, tokens.size());
+        Path path;
+        try {
+            path = Path.of(pathText);
+        } catch (InvalidPathException e) {
+            throw new InvalidTaskFormatException("Invalid path: " + pathText);
+        }
+        if (!Files.isRegularFile(path)) {
+            throw new InvalidTaskFormatException("I cannot find the file " + path);
+        }
+        return TaskImporter.read(path, progress);
+    }
+
+    /**
+     * Adds imported tasks to the task list, skipping tasks that are already in it.
+     * <p>
+     * Duplicates are found with a hash set of the existing tasks, built once for the whole import.
+     * The new tasks are appended in one step and the list is saved once at the end.
+     *
+     * @param result the tasks read by {@link #readImport(String, DoubleConsumer)}
+     * @return a summary of the import
+     */
+    public String addImported(ImportResult result) {
+        Set<Task> seen = new HashSet<>(taskList.getTasks());
+        List<Task> added = new ArrayList<>();
+        for (Task task : result.getTasks()) {
+            if (seen.add(task)) {
+                added.add(task);
+            }
+        }
+
+        if (!added.isEmpty()) {
+            this.taskList.addAll(added);
+            history.record(Edit.ofAdd(IntStream.range(taskList.size() - added.size(), taskList.size()).toArray(),
+                    added));
+            this.save(LogEntry.Operation.ADD, taskList.size() - added.size(), 0, added);
+        }
+        return ui.showImported(added.size(), result.getTasks().size() - added.size(),
+                result.getErrorCount(), result.getErrors());
+    }
+
+    /**
+     * Shows or changes the format of the storage file.
+     * <p>
+     * The input is expected to follow one of the formats:
+     * <pre>
+     *     storage
+     *     storage text|binary
+     * </pre>
+     * Changing the format saves the task list in the new format straight away.
+     *
+     * @param input the raw user input string beginning with the "storage" command
+     * @return the current format and size of the storage file
+     * @throws InvalidTaskFormatException if the format is not supported
+     */
+    public String convertStorage(String input) throws InvalidTaskFormatException {
+        CommandTokenizer tokens = this.tokenize(input);
+        if (tokens.size() > 2) {
+            throw new InvalidTaskFormatException("Please format your message as \"storage text|binary\"");
+        }
+
+        if (tokens.size() == 2) {
+            Storage.Format format;
+            if (tokens.isWord(1, "text")) {
+                format = Storage.Format.TEXT;
+            } else if (tokens.isWord(1, "binary")) {
+                format = Storage.Format.BINARY;
+            } else {
+                throw new InvalidTaskFormatException("Storage format must be text or binary");
+            }
+            storage.setFormat(format);
+            this.save();
+        }
+        return "Your tasks are stored in the " + storage.getFormat().name().toLowerCase() + " format ("
+                + storage.getFileSize() + " bytes).";
+    }
+
+    /**
+     * Sets up replication of the task list between copies of S.AI on the same machine.
+     * <p>
+     * The input is expected to follow one of the formats:
+     * <pre>
+     *     replicate [status]
+     *     replicate serve &lt;port&gt;
+     *     replicate follow &lt;port&gt;
+     *     replicate promote
+     *     replicate stop
+     * </pre>
+     * A primary ({@code serve}) streams every change to its replicas. A replica ({@code follow}) keeps its own
+     * copy of the list in {@code replica.txt} next to its storage file, answers only commands that read the list,
+     * and can take over with {@code promote}. {@code stop} stops a primary serving its replicas.
+     *
+     * @param input the raw user input string beginning with the "replicate" command
+     * @return a confirmation or status message, or an error message if the port cannot be used
+     * @throws InvalidTaskFormatException if the action or port is invalid
+     */
+    public String replicate(String input) throws InvalidTaskFormatException {
+        CommandTokenizer tokens = this.tokenize(input);
+        String action = tokens.size() > 1 ? tokens.lowerText(1, 2) : "status";
+        boolean hasPort = action.equals("serve") || action.equals("follow");
+        boolean isValid = hasPort ? tokens.size() == 3 : tokens.size() <= 2;
+        if (!isValid) {
+            throw new InvalidTaskFormatException("Please format your message as \"replicate serve|follow PORT\", "
+                    + "\"replicate status\", \"replicate promote\" or \"replicate stop\"");
+        }
+
+        switch (action) {
+        case "status":
+            return ui.showReplicationStatus(replicationServer, replica);
+        case "serve":
+            return this.serveReplicas(parsePort(tokens, 2));
+        case "follow":
+            return this.followPrimary(parsePort(tokens, 2));
+        case "promote":
+            if (replica == null) {
+                return ui.showError("This copy is not following a primary.");
+            }
+            replica.stop();
+            replica = null;
+            return "This copy is now writable and keeps its tasks in " + storage.getPath() + ".\n"
+                    + "Type \"replicate serve PORT\" to let other copies follow it.";
+        case "stop":
+            if (replicationServer == null) {
+                return ui.showError("This copy is not serving replicas.");
+            }
+            replicationServer.stop();
+            replicationServer = null;
+            return "Stopped serving replicas.";
+        default:
+            throw new InvalidTaskFormatException("Replication can only serve, follow, promote, stop or show status");
+        }
+    }
+
+    private static int parsePort(CommandTokenizer tokens, int token) throws InvalidTaskFormatException {
+        try {
+            int number = tokens.parseInt(token);
+            if (number >= 0 && number <= 65535) {
+                return number;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        throw new InvalidTaskFormatException("Port must be a number from 0 to 65535");
+    }
+
+    private String serveReplicas(int port) {
+        if (replica != null) {
+            return ui.showError("A replica cannot serve others. Type \"replicate promote\" first.");
+        }
+        if (replicationServer != null) {
+            return ui.showError("Already serving replicas on port " + replicationServer.getPort() + ".");
+        }
+
+        List<String> lines = new ArrayList<>(taskList.size());
+        for (Task task : taskList.getTasks()) {
+            lines.add(task.toStorageString());
+        }
+        try {
+            replicationServer = new ReplicationServer(new ReplicationLog(lines), port);
+        } catch (IOException e) {
+            return ui.showError("Could not serve replicas: " + e.getMessage());
+        }
+        replicationServer.start();
+        return "Serving replicas on port " + replicationServer.getPort() + ". In another copy of S.AI, "
+                + "started in its own folder, type \"replicate follow " + replicationServer.getPort() + "\".";
+    }
+
+    private String followPrimary(int port) {
+        if (replicationServer != null) {
+            return ui.showError("This copy is serving replicas. Type \"replicate stop\" first.");
+        }
+        if (replica != null) {
+            return ui.showError("Already following the primary on port " + replica.getPort() + ".");
+        }
+
+        // Start from the replica's own copy, so the list is only out of date until the primary answers
+        storage = new Storage(storage.getPath().resolveSibling(REPLICA_FILE_NAME));
+        archive = TaskArchive.forStorage(storage.getPath());
+        taskList.replaceRange(0, taskList.size(), storage.load().getTasks());
+        history.clear();
+        String watchError = watchListener == null ? null : this.watchStorage();
+        replica = new ReplicationClient(port, replicaListener);
+        replica.start();
+        String response = "Following the primary on port " + port + ". Until you type \"replicate promote\", "
+                + "this copy only answers list, find, query, tag, occurrences, free and export.";
+        return watchError == null ? response : response + "\n" + watchError;
+    }
+
+    /**
+     * Switches to another workspace, or lists the workspaces.
+     * <p>
+     * The format is:
+     * <pre>
+     *     workspace [name]
+     * </pre>
+     * Each workspace keeps its tasks, archive and undo history apart, in its own file under {@code workspaces};
+     * the tasks kept in the main storage file are the workspace {@code default}. A workspace is read from its
+     * file the first time it is used. The workspace being left is saved and stays loaded, so switching back to
+     * it takes no reading, until the loaded workspaces are estimated to take more memory than
+     * {@link WorkspaceCache#DEFAULT_BUDGET}; then the ones left longest ago are unloaded. Reminders are only
+     * delivered for the workspace in use.
+     *
+     * @param input the raw user input string beginning with the "workspace" command
+     * @return a confirmation or a list of the workspaces
+     * @throws InvalidTaskFormatException if the name is missing parts or invalid
+     */
+    public String workspace(String input) throws InvalidTaskFormatException {
+        CommandTokenizer tokens = this.tokenize(input);
+        if (tokens.size() == 1) {
+            List<String> saved = new ArrayList<>(Workspace.listSaved(defaultStoragePath));
+            saved.add(Workspace.DEFAULT_NAME);
+            saved.removeIf(name -> name.equals(workspaceName) || workspaces.contains(name));
+            saved.sort(null);
+            return ui.showWorkspaces(workspaceName, taskList.size(), workspaces.getLoaded(), saved);
+        }
+        if (tokens.size() != 2) {
+            throw new InvalidTaskFormatException("Please format your message as \"workspace [NAME]\"");
+        }
+        String name = tokens.lowerText(1, 2);
+        if (!Workspace.isValidName(name)) {
+            throw new InvalidTaskFormatException("A workspace name has 1 to 32 letters, digits, - or _");
+        }
+        if (replicationServer != null) {
+            return ui.showError("Replicas follow this workspace. Type \"replicate stop\" before switching.");
+        }
+        if (name.equals(workspaceName)) {
+            return "You are already in workspace " + name + ".";
+        }
+
+        this.saveChanges();
+        taskList.removeIndex(reminders);
+        workspaces.put(new Workspace(workspaceName, storage, archive, taskList, history,
+                Workspace.lastModifiedOf(storage.getPath())));
+
+        Workspace next = workspaces.take(name);
+        boolean isWarm = next != null;
+        if (!isWarm) {
+            next = Workspace.load(name, defaultStoragePath);
+        }
+        workspaceName = name;
+        storage = next.getStorage();
+        archive = next.getArchive();
+        taskList = next.getTaskList();
+        history = next.getHistory();
+        taskList.addIndex(reminders);
+        String watchError = watchListener == null ? null : this.watchStorage();
+
+        String reloaded = isWarm && next.isFileChanged() ? this.reloadExternalChanges() : null;
+        List<Workspace> evicted = workspaces.evict(WorkspaceCache.estimateBytes(taskList.size()));
+        String response = ui.showWorkspace(name, taskList.size(), isWarm, evicted, reloaded);
+        return watchError == null ? response : response + "\n" + watchError;
+    }
+
+    /**
+     * Reconciles the task list with another store, such as a copy of the data folder on another machine.
+     * <p>
+     * The format is:
+     * <pre>
+     *     sync PATH
+     * </pre>
+     * where {@code PATH} is the other store's storage file or the folder holding it. Each store keeps a version
+     * of every task in a sync file next to its storage file. The stores compare hashes of buckets of these
+     * versions and exchange only the tasks in buckets that differ. A task changed in only one store since the
+     * last sync is copied to the other; a task changed in both is merged field by field, keeping the latest
+     * change to each field, and reported as a conflict. The first sync between two stores compares every task.
+     *
+     * @param input the raw user input string beginning with the "sync" command
+     * @return a summary of the tasks exchanged and the conflicts, or an error message if a store cannot be read
+     * @throws InvalidTaskFormatException if the path is missing or invalid
+     */
+    public String sync(String input) throws InvalidTaskFormatException {
+        CommandTokenizer tokens = this.tokenize(input);
+        if (tokens.size() < 2) {
+            throw new InvalidTaskFormatException("Please format your message as \"sync PATH\"");
+        }
+        Path otherPath;
+        try {
+            otherPath = Path.of(tokens.text(1, tokens.size()));
+        } catch (InvalidPathException e) {
+            throw new InvalidTaskFormatException("Invalid path: " + tokens.text(1, tokens.size()));
+        }
+        if (Files.isDirectory(otherPath)) {
+            otherPath = otherPath.resolve(storage.getPath().getFileName());
+        }
+        if (!Files.isRegularFile(otherPath)) {
+            return ui.showError("There is no task file at " + otherPath + ".");
+        }
+        try {
+            if (Files.isSameFile(otherPath, storage.getPath())) {
+                return ui.showError("That is this store's own task file.");
+            }
+        } catch (IOException e) {
+            // The stores cannot be the same file if this one does not exist yet
+        }
+
+        Storage other = new Storage(otherPath);
+        TaskList otherList = other.load();
+        SyncState mine;
+        SyncState theirs;
+        try {
+            mine = SyncState.read(storage.getPath());
+            theirs = SyncState.read(otherPath);
+        } catch (IOException e) {
+            return ui.showError("Could not read the sync records: " + e.getMessage());
+        }
+        long now = System.currentTimeMillis();
+        mine.refresh(taskList, now);
+        theirs.refresh(otherList, now);
+        TaskSync.Result result = TaskSync.sync(mine, theirs);
+        List<StorageChange> here = mine.adopt(result.getToMine());
+        List<StorageChange> there = theirs.adopt(result.getToTheirs());
+
+        if (!here.isEmpty()) {
+            this.applyChanges(here);
+            hasUnsavedChanges = true;
+        }
+        // The sync records describe the list as it is now, so it is saved even when saving is deferred.
+        // Changes another process saved meanwhile are merged in while saving, so the records are brought up to
+        // date with them before they are written.
+        if (hasUnsavedChanges && !this.saveMerging().isEmpty()) {
+            mine.refresh(taskList, now);
+        }
+        if (!there.isEmpty()) {
+            TaskSync.apply(otherList, there);
+            if (!other.save(otherList).isEmpty()) {
+                theirs.refresh(otherList, now);
+            }
+        }
+        try {
+            mine.write();
+            theirs.write();
+        } catch (IOException e) {
+            return ui.showError("Could not save the sync records: " + e.getMessage());
+        }
+        return ui.showSynced(otherPath, result, here, there);
+    }
+
+    /**
+     * Returns up to {@code limit} command words that start with the given prefix.
+     * <p>
+     * This method is safe to call from a background thread.
+     *
+     * @param prefix the partially typed command word
+     * @param limit  the maximum number of commands to return
+     * @return the matching command words
+     */
+    public List<String> suggestCommands(String prefix, int limit) {
+        return COMMAND_TRIE.completeWords(prefix.toLowerCase(), limit);
+    }
+
+    /**
+     * Returns up to {@code limit} description words that start with the given prefix.
+     * <p>
+     * This method is safe to call from a background thread.
+     *
+     * @param prefix the partially typed word
+     * @param limit  the maximum number of words to return
+     * @return the matching words
+     */
+    public List<String> suggestWords(String prefix, int limit) {
+        return taskList.getDescriptionIndex().completeWord(prefix, limit);
+    }
+
+    /**
+     * Returns up to {@code limit} tasks with a description word that starts with the given prefix.
+     * <p>
+     * This method is safe to call from a background thread.
+     *
+     * @param prefix the partially typed word
+     * @param limit  the maximum number of tasks to return
+     * @return the matching tasks
+     */
+    public List<Task> suggestTasks(String prefix, int limit) {
+        return taskList.getDescriptionIndex().findByPrefix(prefix, limit);
+    }
+
+    /**
+     * Returns the 1-based number under which the given task is shown by {@code list}.
+     *
+     * @param task the task to look up
+     * @return the task number, or -1 if the task is no longer in the list
+     */
+    public int getTaskNumber(Task task) {
+        int position = taskList.positionOf(task);
+        return position < 0 ? -1 : position + 1;
+    }
+
+    /**
+     * Returns the words of the given input, splitting it only if it is not the command split last.
+     */
+    private CommandTokenizer tokenize(String input) {
+        if (tokens.getInput() != input) {
+            tokens.reset(input);
+        }
+        return tokens;
+    }
+
+    private boolean isReadOnlyCommand(CommandTokenizer tokens) {
+        for (String command : REPLICA_COMMANDS) {
+            if (tokens.isWord(0, command)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Answers {@code list} with the tasks loaded so far, and queues any other command until loading has finished.
+     */
+    private String respondWhileLoading(String input, CommandTokenizer tokens) {
+        if (tokens.isWord(0, "bye") && tokens.size() == 1) {
+            return this.farewell();
+        }
+        if (!tokens.isWord(0, "list")) {
+            queuedInputs.add(input);
+            return ui.showQueued(taskList.size());
+        }
+        String list = tokens.size() == 1 ? this.displayList() : this.displayRange(input);
+        return ui.showStillLoading(taskList.size()) + "\n" + list;
+    }
+
+    /**
+     * Processes the user input command and returns the corresponding response message.
+     * <p>
+     * This method splits the input into words once and then checks the command type, ignoring case.
+     * Depending on the command, it will delegate the request to the appropriate handler
+     * method (e.g., {@code displayList()}, {@code mark()}, {@code delete()}, etc.).
+     * <p>
+     * Supported commands:
+     * <ul>
+     *     <li><b>list</b> – Displays the current task list.</li>
+     *     <li><b>list &lt;from&gt;-&lt;to&gt;</b> or <b>list page &lt;n&gt;</b> – Displays part of the task list.</li>
+     *     <li><b>mark &lt;index&gt;</b> – Marks a task as completed.</li>
+     *     <li><b>unmark &lt;index&gt;</b> – Marks a task as not completed.</li>
+     *     <li><b>delete &lt;index&gt;</b> – Deletes a task from the list.</li>
+     *     <li><b>delete|mark|unmark where &lt;condition&gt;</b> – Deletes, marks or unmarks every task matching
+     *     the condition.</li>
+     *     <li><b>undo</b>, <b>redo</b> – Undoes or redoes the latest add, delete, mark or unmark.</li>
+     *     <li><b>find [--all] &lt;keyword&gt;</b> – Finds tasks containing the given keyword, including archived
+     *     ones with {@code --all}.</li>
+     *     <li><b>query &lt;clauses&gt;</b> – Finds tasks matching all of the given clauses.</li>
+     *     <li><b>tag [filter]</b> – Finds tasks by tag, kind and status, or lists the tags in use.</li>
+     *     <li><b>occurrences &lt;index&gt;</b> – Lists the upcoming occurrences of a task.</li>
+     *     <li><b>export &lt;format&gt; &lt;path&gt;</b> – Exports the task list to a file.</li>
+     *     <li><b>replicate &lt;action&gt;</b> – Serves, follows or shows the status of a replicated list.</li>
+     *     <li><b>summary</b> – Counts the tasks by kind and status.</li>
+     *     <li><b>free &lt;from&gt; [/to &lt;to&gt;] [/min &lt;length&gt;]</b> – Finds the free time between
+     *     events.</li>
+     *     <li><b>archive [days]</b> – Moves done tasks that finished more than the given days ago to the archive.</li>
+     *     <li><b>sync &lt;path&gt;</b> – Exchanges changed tasks with another store.</li>
+     *     <li><b>workspace [name]</b> – Switches to another workspace, or lists the workspaces.</li>
+     *     <li><b>bye</b> – Returns a farewell message.</li>
+     *     <li><i>Any other input</i> – Attempts to add the input as a new task.</li>
+     * </ul>
+     *
+     * @param input the raw user input string
+     * @return the response message to be displayed to the user
+     */
+    public String getResponse(String input) {
+        String response = this.respond(input);
+        if (saveConflicts.isEmpty()) {
+            return response;
+        }
+        String conflicts = ui.showSaveConflicts(saveConflicts);
+        saveConflicts.clear();
+        return response + "\n" + conflicts;
+    }
+
+    private String respond(String input) {
+        CommandTokenizer tokens = this.tokenize(input);
+
+        try {
+            if (!isLoaded) {
+                return this.respondWhileLoading(input, tokens);
+            }
+            if (replica != null && !this.isReadOnlyCommand(tokens)) {
+                return ui.showError("This copy is a read-only replica. "
+                        + "Type \"replicate promote\" to make it writable.");
+            }
+            if (tokens.isWord(0, "list")) {
+                return tokens.size() == 1 ? this.displayList() : this.displayRange(input);
+            } else if (tokens.startsWith(0, "mark")) {
                 return this.mark(input);
-            } else if (input.startsWith("unmark")) {
+            } else if (tokens.startsWith(0, "unmark")) {
                 return this.unmark(input);
-            } else if (input.startsWith("delete")) {
+            } else if (tokens.startsWith(0, "delete")) {
                 return this.delete(input);
-            } else if (input.startsWith("find")) {
+            } else if (tokens.startsWith(0, "find")) {
                 return this.find(input);
-            } else if (input.equals("bye")) {
+            } else if (tokens.startsWith(0, "query")) {
+                return this.query(input);
+            } else if (tokens.isWord(0, "tag")) {
+                return this.tag(input);
+            } else if (tokens.startsWith(0, "occurrences")) {
+                return this.listOccurrences(input);
+            } else if (tokens.startsWith(0, "export")) {
+                return this.export(input);
+            } else if (tokens.startsWith(0, "import")) {
+                return this.importTasks(input);
+            } else if (tokens.startsWith(0, "storage")) {
+                return this.convertStorage(input);
+            } else if (tokens.startsWith(0, "replicate")) {
+                return this.replicate(input);
+            } else if (tokens.isWord(0, "summary") && tokens.size() == 1) {
+                return this.summary();
+            } else if (tokens.isWord(0, "archive")) {
+                return this.archive(input);
+            } else if (tokens.isWord(0, "free")) {
+                return this.free(input);
+            } else if (tokens.isWord(0, "undo") && tokens.size() == 1) {
+                return this.undo();
+            } else if (tokens.isWord(0, "redo") && tokens.size() == 1) {
+                return this.redo();
+            } else if (tokens.isWord(0, "sync")) {
+                return this.sync(input);
+            } else if (tokens.isWord(0, "workspace")) {
+                return this.workspace(input);
+            } else if (tokens.isWord(0, "bye") && tokens.size() == 1) {
                 return this.farewell();
             } else {
                 return this.addToList(input);
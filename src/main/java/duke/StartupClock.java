@@ -0,0 +1,63 @@
+package duke;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import javafx.application.Platform;
+
+/**
+ * Measures how long S.AI takes to start, counting from the launch of the JVM.
+ * <p>
+ * The time to the first frame and the time until the tasks are loaded are printed to the console in a fixed
+ * format, which the {@code startupBenchmark} Gradle task reads. If the {@value #EXIT_PROPERTY} system property is
+ * true, S.AI exits once both have happened, so training and benchmark runs need no one to close the window.
+ * <p>
+ * The methods are called on the FX thread.
+ */
+public final class StartupClock {
+    /** The system property that makes S.AI exit as soon as it has started. */
+    public static final String EXIT_PROPERTY = "sai.exitAfterStartup";
+
+    private static boolean isFrameShown;
+    private static boolean isLoaded;
+
+    private StartupClock() {
+    }
+
+    /**
+     * Returns the time since the JVM was launched.
+     *
+     * @return the elapsed time in milliseconds, or -1 if the launch time is not known
+     */
+    public static long millisSinceLaunch() {
+        return ProcessHandle.current().info().startInstant()
+                .map(launch -> Duration.between(launch, Instant.now()).toMillis())
+                .orElse(-1L);
+    }
+
+    /**
+     * Records that the window has shown its first frame.
+     */
+    public static void markFirstFrame() {
+        System.out.println("Startup: first frame after " + millisSinceLaunch() + " ms");
+        isFrameShown = true;
+        exitIfStarted();
+    }
+
+    /**
+     * Records that the tasks have been loaded.
+     *
+     * @param count the number of tasks loaded
+     */
+    public static void markLoaded(int count) {
+        System.out.println("Startup: " + count + " tasks loaded after " + millisSinceLaunch() + " ms");
+        isLoaded = true;
+        exitIfStarted();
+    }
+
+    private static void exitIfStarted() {
+        if (isFrameShown && isLoaded && Boolean.getBoolean(EXIT_PROPERTY)) {
+            Platform.exit();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package duke;
+
+import java.util.AbstractList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javafx.collections.FXCollections;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListView;
+import javafx.scene.layout.VBox;
+
+/**
+ * Shows a long task list inside the chat without formatting the whole list up front.
+ * <p>
+ * The rows are displayed by a {@link ListView}, which only creates cells for the rows on screen.
+ * Rows are formatted a page at a time, when the user scrolls to them, and the most recently
+ * used pages are cached. The rows are read again from the task list whenever {@link #refresh()} is called.
+ */
+public class StreamingTaskList extends VBox {
+    private static final int PAGE_SIZE = 50;
+    private static final int MAX_CACHED_PAGES = 20;
+    private static final double LIST_HEIGHT = 300;
+
+    private final Sai sai;
+    private final Label header = new Label();
+    private final ListView<String> rows = new ListView<>();
+
+    /**
+     * Creates a streaming view of the current task list of the given Sai instance.
+     *
+     * @param sai the Sai instance whose tasks are shown
+     */
+    public StreamingTaskList(Sai sai) {
+        this.sai = sai;
+        rows.setPrefHeight(LIST_HEIGHT);
+        setSpacing(5);
+        getChildren().addAll(header, rows);
+        refresh();
+    }
+
+    /**
+     * Shows the task list as it is now, after tasks were added, changed or deleted.
+     * The row count is read again and the cached pages are dropped, so no stale or missing rows are shown.
+     */
+    public void refresh() {
+        int count = sai.getTaskCount();
+        header.setText("You have " + count + " tasks. Scroll to see more:");
+        rows.setItems(FXCollections.observableList(new PagedRows(sai, count)));
+    }
+
+    /**
+     * A read-only list that formats rows page by page on first access.
+     */
+    private static class PagedRows extends AbstractList<String> {
+        private final Sai sai;
+        private final int size;
+        private final Map<Integer, String[]> pages = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, String[]> eldest) {
+                return size() > MAX_CACHED_PAGES;
+            }
+        };
+
+        PagedRows(Sai sai, int size) {
+            this.sai = sai;
+            this.size = size;
+        }
+
+        @Override
+        public String get(int index) {
+            String[] page = pages.computeIfAbsent(index / PAGE_SIZE, this::loadPage);
+            return page[index % PAGE_SIZE];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        private String[] loadPage(int page) {
+            String[] lines = new String[PAGE_SIZE];
+            for (int i = 0; i < PAGE_SIZE; i++) {
+                lines[i] = sai.getTaskLine(page * PAGE_SIZE + i);
+            }
+            return lines;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package duke.archive;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * A fixed-size Bloom filter over 64-bit hashes.
+ * <p>
+ * A filter answers whether a value might have been added: "no" is always right, while "yes" is wrong now and then.
+ * Each value sets {@value #HASHES} bits, picked from its hash by double hashing.
+ */
+public class BloomFilter {
+    /** The number of bits in every filter; a filter takes 8 KiB. */
+    static final int BITS = 1 << 16;
+    private static final int HASHES = 4;
+
+    private final long[] words;
+
+    /**
+     * Creates an empty filter.
+     */
+    public BloomFilter() {
+        this(new long[BITS / 64]);
+    }
+
+    private BloomFilter(long[] words) {
+        this.words = words;
+    }
+
+    /**
+     * Adds a value to the filter.
+     *
+     * @param hash the hash of the value
+     */
+    public void add(long hash) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        for (int i = 0; i < HASHES; i++) {
+            int bit = (h1 + i * h2) & (BITS - 1);
+            words[bit >>> 6] |= 1L << bit;
+        }
+    }
+
+    /**
+     * Returns whether a value might have been added to the filter.
+     *
+     * @param hash the hash of the value
+     * @return false if the value was certainly not added
+     */
+    public boolean mightContain(long hash) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        for (int i = 0; i < HASHES; i++) {
+            int bit = (h1 + i * h2) & (BITS - 1);
+            if ((words[bit >>> 6] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Writes the filter.
+     *
+     * @param out the stream to write to
+     * @throws IOException if writing fails
+     */
+    public void write(DataOutputStream out) throws IOException {
+        for (long word : words) {
+            out.writeLong(word);
+        }
+    }
+
+    /**
+     * Reads a filter written by {@link #write(DataOutputStream)}.
+     *
+     * @param in the stream to read from
+     * @return the filter
+     * @throws IOException if the stream ends early or cannot be read
+     */
+    public static BloomFilter read(DataInputStream in) throws IOException {
+        long[] words = new long[BITS / 64];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = in.readLong();
+        }
+        return new BloomFilter(words);
+    }
+}
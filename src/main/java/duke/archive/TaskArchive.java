@@ -0,0 +1,299 @@
+package duke.archive;
+
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import duke.helper.Storage;
+import duke.task.DatedTask;
+import duke.task.DeadlineTask;
+import duke.task.EventTask;
+import duke.task.Task;
+
+/**
+ * Keeps done tasks out of the task list, in append-only segment files partitioned by month.
+ * <p>
+ * A deadline is filed under the month it was due and an event under the month it ended. Todos carry no date,
+ * so they are filed under the month they were archived in. Each segment, such as {@code 2025-10.txt}, holds
+ * tasks in the text storage format, one per line, and is only ever appended to.
+ * <p>
+ * Each segment has a summary next to it, such as {@code 2025-10.bloom}: a {@link BloomFilter} of the
+ * three-letter sequences in its descriptions. A search for a keyword of three letters or more only reads
+ * the segments whose summary might contain every sequence of the keyword. A summary is written before
+ * the tasks are appended to its segment, so a summary never misses a task in its segment.
+ */
+public class TaskArchive {
+    private static final String SEGMENT_SUFFIX = ".txt";
+    private static final String SUMMARY_SUFFIX = ".bloom";
+    /** Keywords shorter than this have no three-letter sequences, so every segment is read. */
+    private static final int GRAM = 3;
+
+    private final Path dir;
+    /** The summaries read or built so far, by segment name. */
+    private final Map<String, BloomFilter> summaries = new HashMap<>();
+
+    /**
+     * Creates an archive kept in the given directory. The directory is created when tasks are first archived.
+     *
+     * @param dir the directory holding the segments
+     */
+    public TaskArchive(Path dir) {
+        this.dir = dir;
+    }
+
+    /**
+     * Returns the archive kept next to a storage file, in a directory named after it;
+     * {@code data/sai.txt} is archived in {@code data/sai-archive}.
+     *
+     * @param storagePath the storage file
+     * @return the archive for that file
+     */
+    public static TaskArchive forStorage(Path storagePath) {
+        String name = storagePath.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return new TaskArchive(storagePath.resolveSibling((dot > 0 ? name.substring(0, dot) : name) + "-archive"));
+    }
+
+    public Path getDir() {
+        return dir;
+    }
+
+    /**
+     * Returns whether a task can be archived: it is done, and if it has a date, it finished before the cutoff.
+     * Recurring tasks are never archived, since later occurrences may still be to come.
+     *
+     * @param task   the task to check
+     * @param cutoff the time a dated task must have finished by
+     * @return true if the task can be archived
+     */
+    public static boolean isArchivable(Task task, LocalDateTime cutoff) {
+        if (!task.isDone()) {
+            return false;
+        }
+        if (task instanceof DatedTask) {
+            return !((DatedTask) task).isRecurring() && finishedAt((DatedTask) task).isBefore(cutoff);
+        }
+        return true;
+    }
+
+    /**
+     * Appends tasks to the segments of the months they finished in.
+     *
+     * @param tasks   the tasks to archive
+     * @param current the month todos are filed under
+     * @return the number of segments appended to
+     * @throws IOException if a segment or summary cannot be written
+     */
+    public int append(List<Task> tasks, YearMonth current) throws IOException {
+        Map<YearMonth, List<Task>> partitions = new TreeMap<>();
+        for (Task task : tasks) {
+            YearMonth month = task instanceof DatedTask
+                    ? YearMonth.from(finishedAt((DatedTask) task))
+                    : current;
+            partitions.computeIfAbsent(month, m -> new ArrayList<>()).add(task);
+        }
+        Files.createDirectories(dir);
+
+        for (Map.Entry<YearMonth, List<Task>> partition : partitions.entrySet()) {
+            String name = partition.getKey().toString();
+            BloomFilter summary = this.summaryOf(name);
+            for (Task task : partition.getValue()) {
+                addGrams(summary, task.getDescription());
+            }
+            this.writeSummary(name, summary);
+
+            try (FileOutputStream out = new FileOutputStream(dir.resolve(name + SEGMENT_SUFFIX).toFile(), true)) {
+                Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+                for (Task task : partition.getValue()) {
+                    writer.write(task.toStorageString() + System.lineSeparator());
+                }
+                writer.flush();
+                // The tasks leave the task list once this returns, so they must be on disk by then
+                out.getFD().sync();
+            }
+        }
+        return partitions.size();
+    }
+
+    /**
+     * Finds the archived tasks whose descriptions contain a keyword, reading only the segments that might hold one.
+     *
+     * @param keyword the text to look for, in lower case
+     * @return the tasks found, newest segment first, and how many segments were read
+     * @throws IOException if a segment cannot be read
+     */
+    public Search find(String keyword) throws IOException {
+        List<String> names = this.segmentNames();
+        List<Task> found = new ArrayList<>();
+        int read = 0;
+        for (String name : names) {
+            if (keyword.length() >= GRAM && !mightContain(this.summaryOf(name), keyword)) {
+                continue;
+            }
+            read++;
+            try (BufferedReader reader = Files.newBufferedReader(dir.resolve(name + SEGMENT_SUFFIX))) {
+                for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                    // Only lines holding the keyword somewhere are worth parsing
+                    if (!line.contains(keyword)) {
+                        continue;
+                    }
+                    Task task = readLineOrNull(line);
+                    if (task != null && task.getDescription().contains(keyword)) {
+                        found.add(task);
+                    }
+                }
+            }
+        }
+        return new Search(found, read, names.size());
+    }
+
+    /**
+     * Returns the names of the segments, newest month first.
+     */
+    private List<String> segmentNames() throws IOException {
+        List<String> names = new ArrayList<>();
+        if (!Files.isDirectory(dir)) {
+            return names;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, "*" + SEGMENT_SUFFIX)) {
+            for (Path path : stream) {
+                String fileName = path.getFileName().toString();
+                names.add(fileName.substring(0, fileName.length() - SEGMENT_SUFFIX.length()));
+            }
+        }
+        names.sort(Collections.reverseOrder());
+        return names;
+    }
+
+    /**
+     * Returns the summary of a segment, reading it on first use. A missing or unreadable summary is rebuilt
+     * from the segment.
+     */
+    private BloomFilter summaryOf(String name) throws IOException {
+        BloomFilter summary = summaries.get(name);
+        if (summary != null) {
+            return summary;
+        }
+        Path summaryPath = dir.resolve(name + SUMMARY_SUFFIX);
+        Path segmentPath = dir.resolve(name + SEGMENT_SUFFIX);
+        if (Files.isRegularFile(summaryPath)) {
+            try (DataInputStream in = new DataInputStream(Files.newInputStream(summaryPath))) {
+                summary = BloomFilter.read(in);
+            } catch (IOException e) {
+                summary = null;
+            }
+        }
+        if (summary == null) {
+            summary = new BloomFilter();
+            if (Files.isRegularFile(segmentPath)) {
+                try (BufferedReader reader = Files.newBufferedReader(segmentPath)) {
+                    for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                        Task task = readLineOrNull(line);
+                        if (task != null) {
+                            addGrams(summary, task.getDescription());
+                        }
+                    }
+                }
+                this.writeSummary(name, summary);
+            }
+        }
+        summaries.put(name, summary);
+        return summary;
+    }
+
+    private void writeSummary(String name, BloomFilter summary) throws IOException {
+        Path temp = Files.createTempFile(dir, name, ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(temp))) {
+                summary.write(out);
+            }
+            Files.move(temp, dir.resolve(name + SUMMARY_SUFFIX), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static LocalDateTime finishedAt(DatedTask task) {
+        if (task instanceof EventTask) {
+            return ((EventTask) task).getEnd();
+        }
+        return task instanceof DeadlineTask ? ((DeadlineTask) task).getBy() : task.getDate();
+    }
+
+    private static Task readLineOrNull(String line) {
+        try {
+            return Storage.readLine(line);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static void addGrams(BloomFilter summary, String text) {
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            summary.add(hashGram(text, i));
+        }
+    }
+
+    private static boolean mightContain(BloomFilter summary, String keyword) {
+        for (int i = 0; i + GRAM <= keyword.length(); i++) {
+            if (!summary.mightContain(hashGram(keyword, i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns a well-mixed 64-bit hash of the three characters starting at the given index.
+     */
+    private static long hashGram(String text, int i) {
+        long gram = ((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2);
+        long hash = gram * 0x9E3779B97F4A7C15L;
+        return hash ^ (hash >>> 29);
+    }
+
+    /**
+     * The result of searching the archive.
+     */
+    public static class Search {
+        private final List<Task> tasks;
+        private final int segmentsRead;
+        private final int segmentCount;
+
+        Search(List<Task> tasks, int segmentsRead, int segmentCount) {
+            this.tasks = tasks;
+            this.segmentsRead = segmentsRead;
+            this.segmentCount = segmentCount;
+        }
+
+        public List<Task> getTasks() {
+            return tasks;
+        }
+
+        public int getSegmentsRead() {
+            return segmentsRead;
+        }
+
+        public int getSegmentCount() {
+            return segmentCount;
+        }
+    }
+}
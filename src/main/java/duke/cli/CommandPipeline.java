@@ -0,0 +1,200 @@
+package duke.cli;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import duke.Sai;
+
+/**
+ * Runs a stream of commands through {@link Sai} in three stages.
+ * <p>
+ * A reader thread splits the input into commands and hands them over in chunks, so reading and decoding
+ * the next commands overlaps with running the current ones. The commands are run one at a time on the
+ * calling thread, which is the only thread that changes the task list. The list is saved on the same
+ * thread, after every given number of commands and once at the end, rather than after every change.
+ * <p>
+ * When the input is interactive, a chunk is handed over as soon as no more input is waiting, so each
+ * command is answered as soon as it is typed.
+ */
+public class CommandPipeline {
+    /** The most commands handed over in one chunk. */
+    private static final int CHUNK_SIZE = 256;
+    /** The most chunks waiting to be run before the reader thread waits. */
+    private static final int QUEUED_CHUNKS = 64;
+    private static final List<String> END_OF_INPUT = List.of();
+    private static final String DIVIDER = "-".repeat(49);
+
+    private final Sai sai;
+    private final int saveEvery;
+    private volatile IOException readError;
+
+    /**
+     * Describes how long a run of commands took.
+     */
+    public static class Report {
+        private final int commands;
+        private final int saves;
+        private final long nanos;
+
+        /**
+         * Creates a report.
+         *
+         * @param commands the number of commands run
+         * @param saves    the number of times the task list was written
+         * @param nanos    the time taken, in nanoseconds
+         */
+        public Report(int commands, int saves, long nanos) {
+            this.commands = commands;
+            this.saves = saves;
+            this.nanos = nanos;
+        }
+
+        public int getCommands() {
+            return commands;
+        }
+
+        public int getSaves() {
+            return saves;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+
+        /**
+         * Returns the number of commands run per second, including the time spent saving.
+         *
+         * @return the throughput, or 0 if no time was measured
+         */
+        public double getCommandsPerSecond() {
+            return nanos == 0 ? 0 : commands * 1e9 / nanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Ran %d commands in %.3f s (%.0f commands/s), saved %d times",
+                    commands, nanos / 1e9, this.getCommandsPerSecond(), saves);
+        }
+    }
+
+    /**
+     * Creates a pipeline that runs commands through the given assistant.
+     * <p>
+     * The assistant's tasks should already be loaded.
+     *
+     * @param sai       the assistant to run the commands through
+     * @param saveEvery the number of commands to run between saves, or 0 to save only at the end
+     */
+    public CommandPipeline(Sai sai, int saveEvery) {
+        if (saveEvery < 0) {
+            throw new IllegalArgumentException("saveEvery must not be negative: " + saveEvery);
+        }
+        this.sai = sai;
+        this.saveEvery = saveEvery;
+    }
+
+    /**
+     * Runs every command in the input, writing the greeting and each response to the output.
+     * <p>
+     * Each response is written between two divider lines and followed by a blank line. Blank lines and
+     * lines starting with {@code #} are skipped. Running stops after {@code bye}.
+     *
+     * @param input  the commands, one per line
+     * @param output receives the responses
+     * @return how long the commands took
+     * @throws IOException if the input cannot be read or the output cannot be written
+     */
+    public Report run(Reader input, Writer output) throws IOException {
+        BlockingQueue<List<String>> chunks = new ArrayBlockingQueue<>(QUEUED_CHUNKS);
+        readError = null;
+        Thread reader = new Thread(() -> this.readCommands(new BufferedReader(input), chunks), "sai-cli-reader");
+        reader.setDaemon(true);
+
+        sai.setAutoSave(false);
+        int commands = 0;
+        int saves = 0;
+        long start = System.nanoTime();
+        reader.start();
+        try {
+            writeResponse(output, sai.greet());
+            output.flush();
+            boolean isDone = false;
+            while (!isDone) {
+                List<String> chunk = chunks.take();
+                if (chunk == END_OF_INPUT) {
+                    break;
+                }
+                for (String command : chunk) {
+                    writeResponse(output, sai.getResponse(command));
+                    commands++;
+                    if (saveEvery > 0 && commands % saveEvery == 0 && sai.saveChanges()) {
+                        saves++;
+                    }
+                    if (command.equalsIgnoreCase("bye")) {
+                        isDone = true;
+                        break;
+                    }
+                }
+                if (chunks.isEmpty()) {
+                    // Nothing more to run yet, so show what has been answered so far
+                    output.flush();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            reader.interrupt();
+            if (sai.saveChanges()) {
+                saves++;
+            }
+            sai.setAutoSave(true);
+            output.flush();
+        }
+        if (readError != null) {
+            throw readError;
+        }
+        return new Report(commands, saves, System.nanoTime() - start);
+    }
+
+    private static void writeResponse(Writer output, String response) throws IOException {
+        String lineBreak = System.lineSeparator();
+        output.write(DIVIDER + lineBreak + response.replace("\n", lineBreak) + lineBreak + DIVIDER + lineBreak
+                + lineBreak);
+    }
+
+    private void readCommands(BufferedReader input, BlockingQueue<List<String>> chunks) {
+        try {
+            List<String> chunk = new ArrayList<>(CHUNK_SIZE);
+            String line;
+            while ((line = input.readLine()) != null) {
+                String command = line.strip();
+                if (!command.isEmpty() && !command.startsWith("#")) {
+                    chunk.add(command);
+                }
+                if (chunk.size() == CHUNK_SIZE || (!chunk.isEmpty() && !input.ready())) {
+                    chunks.put(chunk);
+                    chunk = new ArrayList<>(CHUNK_SIZE);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                chunks.put(chunk);
+            }
+        } catch (IOException e) {
+            readError = e;
+        } catch (InterruptedException e) {
+            // Running stopped before all of the input was read
+            return;
+        }
+        try {
+            chunks.put(END_OF_INPUT);
+        } catch (InterruptedException e) {
+            // Running already stopped
+        }
+    }
+}
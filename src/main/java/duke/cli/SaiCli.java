@@ -0,0 +1,72 @@
+package duke.cli;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import duke.Sai;
+
+/**
+ * Runs S.AI in a terminal, without a window.
+ * <p>
+ * Commands are read from a script file, or from standard input if no file is given, and the responses are
+ * written to standard output. How long the commands took is written to standard error, so the responses
+ * can be compared with an expected output.
+ * <p>
+ * Usage: {@code SaiCli [--data FILE] [--save-every N] [SCRIPT]}
+ */
+public class SaiCli {
+    private static final String USAGE = "Usage: SaiCli [--data FILE] [--save-every N] [SCRIPT]";
+
+    /**
+     * Runs the commands given on the command line.
+     *
+     * @param args the options and the script to run, as described in {@link SaiCli}
+     */
+    public static void main(String[] args) {
+        Path dataFile = null;
+        int saveEvery = 0;
+        Path script = null;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                case "--data" -> dataFile = Path.of(args[++i]);
+                case "--save-every" -> saveEvery = Integer.parseInt(args[++i]);
+                default -> {
+                    if (script != null || args[i].startsWith("--")) {
+                        throw new IllegalArgumentException("Unexpected argument: " + args[i]);
+                    }
+                    script = Path.of(args[i]);
+                }
+                }
+            }
+            if (saveEvery < 0) {
+                throw new IllegalArgumentException("--save-every must not be negative");
+            }
+        } catch (ArrayIndexOutOfBoundsException | IllegalArgumentException e) {
+            System.err.println(e instanceof ArrayIndexOutOfBoundsException ? "Missing option value" : e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+
+        Sai sai = dataFile == null ? new Sai() : new Sai(dataFile);
+        sai.loadTasks();
+        Writer output = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+        try (Reader input = script == null
+                ? new InputStreamReader(System.in, StandardCharsets.UTF_8)
+                : Files.newBufferedReader(script, StandardCharsets.UTF_8)) {
+            CommandPipeline.Report report = new CommandPipeline(sai, saveEvery).run(input, output);
+            System.err.println(report);
+        } catch (IOException e) {
+            System.err.println("Cannot run the commands: " + e.getMessage());
+            System.exit(1);
+        }
+        System.exit(0);
+    }
+}
@@ -0,0 +1,92 @@
+package duke.export;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import duke.task.DatedTask;
+import duke.task.DeadlineTask;
+import duke.task.EventTask;
+import duke.task.Recurrence;
+import duke.task.Task;
+
+/**
+ * Writes tasks as comma-separated values with the columns
+ * {@code type,done,description,start,end,recurrence}.
+ * <p>
+ * A deadline is written with its deadline in the {@code start} column. Descriptions are always quoted,
+ * with embedded quotes doubled.
+ */
+public class CsvTaskWriter extends TaskWriter {
+
+    /**
+     * Opens a CSV writer for the given file.
+     *
+     * @param path the file to write to
+     * @throws IOException if the file cannot be opened
+     */
+    public CsvTaskWriter(Path path) throws IOException {
+        super(path);
+    }
+
+    @Override
+    public void writeHeader() throws IOException {
+        putAscii("type,done,description,start,end,recurrence\r\n");
+    }
+
+    @Override
+    public void writeTask(Task task) throws IOException {
+        if (task instanceof DeadlineTask) {
+            putAscii("deadline,");
+        } else if (task instanceof EventTask) {
+            putAscii("event,");
+        } else {
+            putAscii("todo,");
+        }
+        putCodePoint(task.isDone() ? '1' : '0');
+        putAscii(",\"");
+        putText(task.getDescription());
+        putAscii("\",");
+
+        if (task instanceof DeadlineTask) {
+            putIsoDateTime(((DeadlineTask) task).getBy());
+            putCodePoint(',');
+        } else if (task instanceof EventTask) {
+            putIsoDateTime(((EventTask) task).getStart());
+            putCodePoint(',');
+            putIsoDateTime(((EventTask) task).getEnd());
+        } else {
+            putCodePoint(',');
+        }
+        putCodePoint(',');
+
+        if (task instanceof DatedTask && ((DatedTask) task).isRecurring()) {
+            putRecurrence(((DatedTask) task).getRecurrence());
+        }
+        putAscii("\r\n");
+    }
+
+    @Override
+    public void writeFooter() {
+        // CSV has no footer
+    }
+
+    @Override
+    protected void putEscaped(int codePoint) throws IOException {
+        if (codePoint == '"') {
+            putCodePoint('"');
+        }
+        putCodePoint(codePoint);
+    }
+
+    private void putRecurrence(Recurrence recurrence) throws IOException {
+        putAscii(recurrence.getFrequency().name());
+        if (recurrence.getCount() > 0) {
+            putAscii(";COUNT=");
+            putNumber(recurrence.getCount(), 1);
+        }
+        if (recurrence.getUntil() != null) {
+            putAscii(";UNTIL=");
+            putIsoDateTime(recurrence.getUntil());
+        }
+    }
+}
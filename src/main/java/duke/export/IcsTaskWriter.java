@@ -0,0 +1,109 @@
+package duke.export;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import duke.task.DatedTask;
+import duke.task.DeadlineTask;
+import duke.task.EventTask;
+import duke.task.Recurrence;
+import duke.task.Task;
+
+/**
+ * Writes tasks as an iCalendar (RFC 5545) file.
+ * <p>
+ * A {@link DeadlineTask} becomes a {@code VTODO} with a {@code DUE} date, an {@link EventTask} becomes a
+ * {@code VEVENT}, and a todo becomes a {@code VTODO} without a due date. Recurrence rules are written as
+ * {@code RRULE}s. Dates are written as floating local times, matching how S.AI stores them.
+ */
+public class IcsTaskWriter extends TaskWriter {
+    private static final int FOLD_WIDTH = 75;
+
+    private final LocalDateTime stamp = LocalDateTime.now(ZoneOffset.UTC).withNano(0);
+
+    /**
+     * Opens an iCalendar writer for the given file.
+     *
+     * @param path the file to write to
+     * @throws IOException if the file cannot be opened
+     */
+    public IcsTaskWriter(Path path) throws IOException {
+        super(path);
+        setFoldWidth(FOLD_WIDTH);
+    }
+
+    @Override
+    public void writeHeader() throws IOException {
+        putAscii("BEGIN:VCALENDAR\r\nVERSION:2.0\r\nPRODID:-//S.AI//Task Export//EN\r\n");
+    }
+
+    @Override
+    public void writeTask(Task task) throws IOException {
+        boolean isEvent = task instanceof EventTask;
+        putAscii(isEvent ? "BEGIN:VEVENT\r\nUID:sai-" : "BEGIN:VTODO\r\nUID:sai-");
+        putNumber(task.getId() < 0 ? 0 : task.getId(), 1);
+        putAscii("@sai\r\nDTSTAMP:");
+        putCompactDateTime(stamp);
+        putAscii("Z\r\nSUMMARY:");
+        putText(task.getDescription());
+        putAscii("\r\n");
+
+        if (task instanceof DeadlineTask) {
+            putAscii("DUE:");
+            putCompactDateTime(((DeadlineTask) task).getBy());
+            putAscii("\r\n");
+        } else if (isEvent) {
+            putAscii("DTSTART:");
+            putCompactDateTime(((EventTask) task).getStart());
+            putAscii("\r\nDTEND:");
+            putCompactDateTime(((EventTask) task).getEnd());
+            putAscii("\r\n");
+        }
+
+        if (task instanceof DatedTask && ((DatedTask) task).isRecurring()) {
+            putRecurrence(((DatedTask) task).getRecurrence());
+        }
+
+        if (isEvent) {
+            putAscii("END:VEVENT\r\n");
+        } else {
+            putAscii(task.isDone() ? "STATUS:COMPLETED\r\nEND:VTODO\r\n" : "STATUS:NEEDS-ACTION\r\nEND:VTODO\r\n");
+        }
+    }
+
+    @Override
+    public void writeFooter() throws IOException {
+        putAscii("END:VCALENDAR\r\n");
+    }
+
+    @Override
+    protected void putEscaped(int codePoint) throws IOException {
+        switch (codePoint) {
+        case '\\', ';', ',' -> {
+            putCodePoint('\\');
+            putCodePoint(codePoint);
+        }
+        case '\n' -> putAscii("\\n");
+        case '\r' -> {
+            // Dropped: line breaks are written as \n
+        }
+        default -> putCodePoint(codePoint);
+        }
+    }
+
+    private void putRecurrence(Recurrence recurrence) throws IOException {
+        putAscii("RRULE:FREQ=");
+        putAscii(recurrence.getFrequency().name());
+        if (recurrence.getCount() > 0) {
+            putAscii(";COUNT=");
+            putNumber(recurrence.getCount(), 1);
+        }
+        if (recurrence.getUntil() != null) {
+            putAscii(";UNTIL=");
+            putCompactDateTime(recurrence.getUntil());
+        }
+        putAscii("\r\n");
+    }
+}
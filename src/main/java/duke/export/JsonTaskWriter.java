@@ -0,0 +1,108 @@
+package duke.export;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import duke.task.DatedTask;
+import duke.task.DeadlineTask;
+import duke.task.EventTask;
+import duke.task.Recurrence;
+import duke.task.Task;
+
+/**
+ * Writes tasks as a JSON array with one object per task, e.g.
+ * <pre>
+ *     {"type":"deadline","done":false,"description":"return book","by":"2025-12-02T18:00"}
+ * </pre>
+ * Recurring tasks also have a {@code "recurrence"} object.
+ */
+public class JsonTaskWriter extends TaskWriter {
+    private boolean isFirst = true;
+
+    /**
+     * Opens a JSON writer for the given file.
+     *
+     * @param path the file to write to
+     * @throws IOException if the file cannot be opened
+     */
+    public JsonTaskWriter(Path path) throws IOException {
+        super(path);
+    }
+
+    @Override
+    public void writeHeader() throws IOException {
+        putAscii("[");
+    }
+
+    @Override
+    public void writeTask(Task task) throws IOException {
+        putAscii(isFirst ? "\n  {\"type\":\"" : ",\n  {\"type\":\"");
+        isFirst = false;
+
+        if (task instanceof DeadlineTask) {
+            putAscii("deadline");
+        } else if (task instanceof EventTask) {
+            putAscii("event");
+        } else {
+            putAscii("todo");
+        }
+        putAscii(task.isDone() ? "\",\"done\":true,\"description\":\"" : "\",\"done\":false,\"description\":\"");
+        putText(task.getDescription());
+        putCodePoint('"');
+
+        if (task instanceof DeadlineTask) {
+            putAscii(",\"by\":\"");
+            putIsoDateTime(((DeadlineTask) task).getBy());
+            putCodePoint('"');
+        } else if (task instanceof EventTask) {
+            putAscii(",\"start\":\"");
+            putIsoDateTime(((EventTask) task).getStart());
+            putAscii("\",\"end\":\"");
+            putIsoDateTime(((EventTask) task).getEnd());
+            putCodePoint('"');
+        }
+
+        if (task instanceof DatedTask && ((DatedTask) task).isRecurring()) {
+            Recurrence recurrence = ((DatedTask) task).getRecurrence();
+            putAscii(",\"recurrence\":{\"frequency\":\"");
+            putAscii(recurrence.getFrequency().name());
+            putCodePoint('"');
+            if (recurrence.getCount() > 0) {
+                putAscii(",\"count\":");
+                putNumber(recurrence.getCount(), 1);
+            }
+            if (recurrence.getUntil() != null) {
+                putAscii(",\"until\":\"");
+                putIsoDateTime(recurrence.getUntil());
+                putCodePoint('"');
+            }
+            putCodePoint('}');
+        }
+        putCodePoint('}');
+    }
+
+    @Override
+    public void writeFooter() throws IOException {
+        putAscii(isFirst ? "]\n" : "\n]\n");
+    }
+
+    @Override
+    protected void putEscaped(int codePoint) throws IOException {
+        switch (codePoint) {
+        case '"' -> putAscii("\\\"");
+        case '\\' -> putAscii("\\\\");
+        case '\n' -> putAscii("\\n");
+        case '\r' -> putAscii("\\r");
+        case '\t' -> putAscii("\\t");
+        default -> {
+            if (codePoint < 0x20) {
+                putAscii("\\u00");
+                putCodePoint(Character.forDigit(codePoint >> 4, 16));
+                putCodePoint(Character.forDigit(codePoint & 0xF, 16));
+            } else {
+                putCodePoint(codePoint);
+            }
+        }
+        }
+    }
+}
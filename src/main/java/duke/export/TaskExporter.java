@@ -0,0 +1,54 @@
+package duke.export;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import duke.exceptions.InvalidTaskFormatException;
+import duke.task.Task;
+
+/**
+ * Exports tasks to a file in one of the supported formats: {@code csv}, {@code json} or {@code ics}.
+ */
+public class TaskExporter {
+
+    /**
+     * Opens a writer for the given format.
+     *
+     * @param format one of {@code csv}, {@code json} or {@code ics}
+     * @param path   the file to write to
+     * @return a writer for the format
+     * @throws InvalidTaskFormatException if the format is not supported
+     * @throws IOException                if the file cannot be opened
+     */
+    public static TaskWriter open(String format, Path path) throws InvalidTaskFormatException, IOException {
+        return switch (format.toLowerCase()) {
+        case "csv" -> new CsvTaskWriter(path);
+        case "json" -> new JsonTaskWriter(path);
+        case "ics", "ical", "icalendar" -> new IcsTaskWriter(path);
+        default -> throw new InvalidTaskFormatException("I can only export to csv, json or ics");
+        };
+    }
+
+    /**
+     * Streams the given tasks to a file.
+     *
+     * @param format one of {@code csv}, {@code json} or {@code ics}
+     * @param path   the file to write to
+     * @param tasks  the tasks to export
+     * @return the number of tasks exported
+     * @throws InvalidTaskFormatException if the format is not supported
+     * @throws IOException                if writing fails
+     */
+    public static int export(String format, Path path, List<Task> tasks)
+            throws InvalidTaskFormatException, IOException {
+        try (TaskWriter writer = open(format, path)) {
+            writer.writeHeader();
+            for (Task task : tasks) {
+                writer.writeTask(task);
+            }
+            writer.writeFooter();
+        }
+        return tasks.size();
+    }
+}
@@ -0,0 +1,223 @@
+package duke.export;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+
+import duke.task.Task;
+
+/**
+ * Streams tasks to a file in some export format.
+ * <p>
+ * Tasks are encoded straight into a single reused {@link ByteBuffer}, which is flushed to a {@link FileChannel}
+ * whenever it fills up. Strings are encoded to UTF-8 character by character and numbers and dates digit by digit,
+ * so no intermediate strings are built per task and memory use does not grow with the number of tasks.
+ */
+public abstract class TaskWriter implements Closeable {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private int lineLength;
+    private int foldWidth;
+
+    /**
+     * Opens a writer that replaces the contents of the given file.
+     *
+     * @param path the file to write to
+     * @throws IOException if the file cannot be opened
+     */
+    protected TaskWriter(Path path) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            parent.toFile().mkdirs();
+        }
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    /**
+     * Writes anything that must come before the first task.
+     *
+     * @throws IOException if writing fails
+     */
+    public abstract void writeHeader() throws IOException;
+
+    /**
+     * Writes one task.
+     *
+     * @param task the task to write
+     * @throws IOException if writing fails
+     */
+    public abstract void writeTask(Task task) throws IOException;
+
+    /**
+     * Writes anything that must come after the last task.
+     *
+     * @throws IOException if writing fails
+     */
+    public abstract void writeFooter() throws IOException;
+
+    /**
+     * Folds lines longer than the given number of bytes by inserting a line break followed by a space,
+     * as required by iCalendar. A width of 0 disables folding.
+     *
+     * @param foldWidth the maximum number of bytes per line
+     */
+    protected void setFoldWidth(int foldWidth) {
+        this.foldWidth = foldWidth;
+    }
+
+    /**
+     * Writes a string consisting only of ASCII characters.
+     *
+     * @param text the text to write
+     * @throws IOException if writing fails
+     */
+    protected void putAscii(String text) throws IOException {
+        for (int i = 0; i < text.length(); i++) {
+            putCodePoint(text.charAt(i));
+        }
+    }
+
+    /**
+     * Writes a piece of user text, passing each code point through {@link #putEscaped(int)}.
+     *
+     * @param text the text to write
+     * @throws IOException if writing fails
+     */
+    protected void putText(String text) throws IOException {
+        for (int i = 0; i < text.length(); ) {
+            int codePoint = text.codePointAt(i);
+            putEscaped(codePoint);
+            i += Character.charCount(codePoint);
+        }
+    }
+
+    /**
+     * Writes a code point of user text, escaping it as the format requires. By default nothing is escaped.
+     *
+     * @param codePoint the code point to write
+     * @throws IOException if writing fails
+     */
+    protected void putEscaped(int codePoint) throws IOException {
+        putCodePoint(codePoint);
+    }
+
+    /**
+     * Writes a Unicode code point as UTF-8.
+     *
+     * @param codePoint the code point to write
+     * @throws IOException if writing fails
+     */
+    protected void putCodePoint(int codePoint) throws IOException {
+        int length = codePoint < 0x80 ? 1 : codePoint < 0x800 ? 2 : codePoint < 0x10000 ? 3 : 4;
+        if (buffer.remaining() < length + 3) {
+            flush();
+        }
+        if (codePoint == '\n') {
+            lineLength = 0;
+        } else if (foldWidth > 0 && codePoint != '\r' && lineLength + length > foldWidth) {
+            buffer.put((byte) '\r').put((byte) '\n').put((byte) ' ');
+            lineLength = 1;
+        }
+        lineLength += length;
+
+        switch (length) {
+        case 1 -> buffer.put((byte) codePoint);
+        case 2 -> buffer.put((byte) (0xC0 | (codePoint >> 6)))
+                .put((byte) (0x80 | (codePoint & 0x3F)));
+        case 3 -> buffer.put((byte) (0xE0 | (codePoint >> 12)))
+                .put((byte) (0x80 | ((codePoint >> 6) & 0x3F)))
+                .put((byte) (0x80 | (codePoint & 0x3F)));
+        default -> buffer.put((byte) (0xF0 | (codePoint >> 18)))
+                .put((byte) (0x80 | ((codePoint >> 12) & 0x3F)))
+                .put((byte) (0x80 | ((codePoint >> 6) & 0x3F)))
+                .put((byte) (0x80 | (codePoint & 0x3F)));
+        }
+    }
+
+    /**
+     * Writes the decimal digits of a non-negative number, padded with leading zeros to the given width.
+     *
+     * @param value the number to write
+     * @param width the minimum number of digits
+     * @throws IOException if writing fails
+     */
+    protected void putNumber(int value, int width) throws IOException {
+        int digits = 1;
+        for (int v = value / 10; v > 0; v /= 10) {
+            digits++;
+        }
+        for (int i = digits; i < width; i++) {
+            putCodePoint('0');
+        }
+        int divisor = 1;
+        for (int i = 1; i < digits; i++) {
+            divisor *= 10;
+        }
+        for (; divisor > 0; divisor /= 10) {
+            putCodePoint('0' + (value / divisor) % 10);
+        }
+    }
+
+    /**
+     * Writes a date/time in ISO-8601 form, e.g. {@code 2025-10-19T18:00}.
+     *
+     * @param dateTime the date/time to write
+     * @throws IOException if writing fails
+     */
+    protected void putIsoDateTime(LocalDateTime dateTime) throws IOException {
+        putNumber(dateTime.getYear(), 4);
+        putCodePoint('-');
+        putNumber(dateTime.getMonthValue(), 2);
+        putCodePoint('-');
+        putNumber(dateTime.getDayOfMonth(), 2);
+        putCodePoint('T');
+        putNumber(dateTime.getHour(), 2);
+        putCodePoint(':');
+        putNumber(dateTime.getMinute(), 2);
+    }
+
+    /**
+     * Writes a date/time in the compact iCalendar form, e.g. {@code 20251019T180000}.
+     *
+     * @param dateTime the date/time to write
+     * @throws IOException if writing fails
+     */
+    protected void putCompactDateTime(LocalDateTime dateTime) throws IOException {
+        putNumber(dateTime.getYear(), 4);
+        putNumber(dateTime.getMonthValue(), 2);
+        putNumber(dateTime.getDayOfMonth(), 2);
+        putCodePoint('T');
+        putNumber(dateTime.getHour(), 2);
+        putNumber(dateTime.getMinute(), 2);
+        putNumber(dateTime.getSecond(), 2);
+    }
+
+    /**
+     * Writes the contents of the buffer to the file.
+     *
+     * @throws IOException if writing fails
+     */
+    protected void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+}
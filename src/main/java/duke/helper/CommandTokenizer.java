@@ -0,0 +1,205 @@
+package duke.helper;
+
+import java.util.Arrays;
+
+/**
+ * Splits a command into words without copying it.
+ * <p>
+ * Each word is recorded as the span of the input it covers, so words can be compared with command names
+ * and parsed as numbers in place. Words are compared ignoring case. Only the parts of a command that are
+ * kept, such as a task's description or date, are copied out with {@link #text(int, int)} or
+ * {@link #lowerText(int, int)}.
+ * <p>
+ * A tokenizer can be reset with each new command, so its arrays are allocated once and reused.
+ */
+public class CommandTokenizer {
+    private CharSequence input = "";
+    private int[] starts = new int[16];
+    private int[] ends = new int[16];
+    private int count;
+
+    /**
+     * Splits a new command into words, separated by whitespace.
+     *
+     * @param input the command
+     * @return this tokenizer
+     */
+    public CommandTokenizer reset(CharSequence input) {
+        this.input = input;
+        this.count = 0;
+        int length = input.length();
+        int i = 0;
+        while (i < length) {
+            while (i < length && Character.isWhitespace(input.charAt(i))) {
+                i++;
+            }
+            if (i == length) {
+                break;
+            }
+            int start = i;
+            while (i < length && !Character.isWhitespace(input.charAt(i))) {
+                i++;
+            }
+            if (count == starts.length) {
+                starts = Arrays.copyOf(starts, count * 2);
+                ends = Arrays.copyOf(ends, count * 2);
+            }
+            starts[count] = start;
+            ends[count] = i;
+            count++;
+        }
+        return this;
+    }
+
+    /**
+     * Returns the command last split into words.
+     *
+     * @return the command, or an empty string before the first command
+     */
+    public CharSequence getInput() {
+        return input;
+    }
+
+    /**
+     * Returns the number of words in the command.
+     *
+     * @return the number of words
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Returns where a word starts in the input.
+     *
+     * @param token the word (0-based)
+     * @return the index of the word's first character
+     */
+    public int start(int token) {
+        return starts[token];
+    }
+
+    /**
+     * Returns where a word ends in the input.
+     *
+     * @param token the word (0-based)
+     * @return the index after the word's last character
+     */
+    public int end(int token) {
+        return ends[token];
+    }
+
+    /**
+     * Returns whether a word is the given word, ignoring case.
+     *
+     * @param token the word (0-based); words past the end of the command match nothing
+     * @param word  the word to compare with
+     * @return true if they are the same
+     */
+    public boolean isWord(int token, String word) {
+        return token < count && ends[token] - starts[token] == word.length() && this.matches(starts[token], word);
+    }
+
+    /**
+     * Returns whether a word starts with the given prefix, ignoring case.
+     *
+     * @param token  the word (0-based); words past the end of the command match nothing
+     * @param prefix the prefix to look for
+     * @return true if the word starts with the prefix
+     */
+    public boolean startsWith(int token, String prefix) {
+        return token < count && ends[token] - starts[token] >= prefix.length() && this.matches(starts[token], prefix);
+    }
+
+    /**
+     * Returns the first word at or after the given word that is the given word, ignoring case.
+     *
+     * @param word the word to look for
+     * @param from the word to start looking at (0-based)
+     * @return the position of the word found, or -1 if there is none
+     */
+    public int indexOf(String word, int from) {
+        for (int i = from; i < count; i++) {
+            if (this.isWord(i, word)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns where a character first appears in a word.
+     *
+     * @param token the word (0-based)
+     * @param c     the character to look for
+     * @return the index of the character in the input, or -1 if the word does not contain it
+     */
+    public int indexOf(int token, char c) {
+        for (int i = starts[token]; i < ends[token]; i++) {
+            if (input.charAt(i) == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Parses a word as a decimal number.
+     *
+     * @param token the word (0-based)
+     * @return the number
+     * @throws NumberFormatException if the word is not a number
+     */
+    public int parseInt(int token) {
+        return this.parseIntBetween(starts[token], ends[token]);
+    }
+
+    /**
+     * Parses part of the input as a decimal number.
+     *
+     * @param begin the index of the first character
+     * @param end   the index after the last character
+     * @return the number
+     * @throws NumberFormatException if that part of the input is not a number
+     */
+    public int parseIntBetween(int begin, int end) {
+        return Integer.parseInt(input, begin, end, 10);
+    }
+
+    /**
+     * Copies out a run of words, with the spacing between them kept as it is in the input.
+     *
+     * @param from the first word (0-based, inclusive)
+     * @param to   the word after the last word (exclusive)
+     * @return the words, or an empty string if the run is empty
+     */
+    public String text(int from, int to) {
+        if (from >= to) {
+            return "";
+        }
+        return input.subSequence(starts[from], ends[to - 1]).toString();
+    }
+
+    /**
+     * Copies out a run of words in lower case, with the spacing between them kept as it is in the input.
+     *
+     * @param from the first word (0-based, inclusive)
+     * @param to   the word after the last word (exclusive)
+     * @return the words in lower case, or an empty string if the run is empty
+     */
+    public String lowerText(int from, int to) {
+        // toLowerCase returns the same string when there is nothing to change, so this copies once at most
+        return this.text(from, to).toLowerCase();
+    }
+
+    private boolean matches(int start, String word) {
+        for (int i = 0; i < word.length(); i++) {
+            char c = input.charAt(start + i);
+            char w = word.charAt(i);
+            if (c != w && Character.toLowerCase(c) != Character.toLowerCase(w)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,359 @@
+package duke.helper;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A date, and the time of day if one was given, read from what the user typed.
+ * <p>
+ * Besides the numeric formats of {@link Parser}, dates can be written in words, such as {@code today},
+ * {@code tomorrow 6pm}, {@code next fri}, {@code in 3 days}, {@code oct 20 9:30am} or {@code noon sat}:
+ * <ul>
+ *     <li>a day: {@code today}, {@code tomorrow}, {@code yesterday}, a weekday ({@code fri} is the soonest
+ *     Friday, today included; {@code next fri} the soonest after today), {@code in N days|weeks|months},
+ *     or a day and month such as {@code 20 oct} or {@code oct 20th}, with an optional year;</li>
+ *     <li>a time, after the day or before it: {@code 6pm}, {@code 6:30pm}, {@code 18:30}, {@code 1800} after
+ *     a day, or {@code noon}, optionally after {@code at}.</li>
+ * </ul>
+ * A time without a day is today; a day and month without a year is the soonest such date from today.
+ * <p>
+ * {@link #recognize(CharSequence, LocalDate)} splits the input into symbols in one pass, looking each word up
+ * in a table, and runs the symbols through a finite-state machine whose transitions are a table built once.
+ * Each symbol moves the machine once, so no input makes it backtrack.
+ */
+public class NaturalDate {
+    /**
+     * The kinds of symbol the input is split into.
+     */
+    private enum Symbol {
+        RELATIVE_DAY, WEEKDAY, MONTH, IN, NEXT, THIS, UNIT, AT, NOON, MERIDIEM, COLON, NUMBER, FOUR_DIGITS, END
+    }
+
+    /**
+     * What the machine has read so far. The states starting with {@code LEAD} read a time before the day.
+     */
+    private enum State {
+        START, WEEKDAY_ONLY, IN, IN_COUNT, MONTH, DAY_MONTH, DATE, AT, HOUR, COLON, MINUTE, DONE,
+        LEAD_NUMBER, LEAD_AT, LEAD_HOUR, LEAD_COLON, LEAD_MINUTE, TIME, TIME_NEXT, ACCEPT
+    }
+
+    /**
+     * A known word: the symbol it stands for and its value, such as the day of the week of {@code fri}.
+     */
+    private static class Word {
+        private final Symbol symbol;
+        private final int value;
+
+        Word(Symbol symbol, int value) {
+            this.symbol = symbol;
+            this.value = value;
+        }
+    }
+
+    private static final Map<String, Word> WORDS = new HashMap<>();
+    private static final Map<State, EnumMap<Symbol, State>> TRANSITIONS = new EnumMap<>(State.class);
+
+    static {
+        addWords(Symbol.RELATIVE_DAY, 0, "today");
+        addWords(Symbol.RELATIVE_DAY, 1, "tomorrow", "tmr", "tmrw");
+        addWords(Symbol.RELATIVE_DAY, -1, "yesterday");
+        String[][] weekdays = {
+            {"mon", "monday"}, {"tue", "tues", "tuesday"}, {"wed", "wednesday"},
+            {"thu", "thur", "thurs", "thursday"}, {"fri", "friday"}, {"sat", "saturday"}, {"sun", "sunday"}
+        };
+        for (int i = 0; i < weekdays.length; i++) {
+            addWords(Symbol.WEEKDAY, i + 1, weekdays[i]);
+        }
+        String[][] months = {
+            {"jan", "january"}, {"feb", "february"}, {"mar", "march"}, {"apr", "april"}, {"may"},
+            {"jun", "june"}, {"jul", "july"}, {"aug", "august"}, {"sep", "sept", "september"},
+            {"oct", "october"}, {"nov", "november"}, {"dec", "december"}
+        };
+        for (int i = 0; i < months.length; i++) {
+            addWords(Symbol.MONTH, i + 1, months[i]);
+        }
+        // A unit's value is the ordinal of its ChronoUnit
+        addWords(Symbol.UNIT, ChronoUnit.DAYS.ordinal(), "day", "days");
+        addWords(Symbol.UNIT, ChronoUnit.WEEKS.ordinal(), "week", "weeks");
+        addWords(Symbol.UNIT, ChronoUnit.MONTHS.ordinal(), "month", "months");
+        addWords(Symbol.MERIDIEM, 0, "am");
+        addWords(Symbol.MERIDIEM, 12, "pm");
+        addWords(Symbol.IN, 0, "in");
+        addWords(Symbol.NEXT, 0, "next");
+        addWords(Symbol.THIS, 0, "this");
+        addWords(Symbol.AT, 0, "at");
+        addWords(Symbol.NOON, 0, "noon");
+
+        on(State.START, Symbol.RELATIVE_DAY, State.DATE);
+        on(State.START, Symbol.WEEKDAY, State.DATE);
+        on(State.START, Symbol.NEXT, State.WEEKDAY_ONLY);
+        on(State.START, Symbol.THIS, State.WEEKDAY_ONLY);
+        on(State.START, Symbol.IN, State.IN);
+        on(State.START, Symbol.MONTH, State.MONTH);
+        on(State.START, Symbol.NUMBER, State.LEAD_NUMBER);
+        on(State.START, Symbol.AT, State.LEAD_AT);
+        on(State.START, Symbol.NOON, State.TIME);
+        on(State.WEEKDAY_ONLY, Symbol.WEEKDAY, State.DATE);
+        on(State.IN, Symbol.NUMBER, State.IN_COUNT);
+        on(State.IN_COUNT, Symbol.UNIT, State.DATE);
+        on(State.MONTH, Symbol.NUMBER, State.DAY_MONTH);
+
+        // A day may be followed by a time
+        for (State day : new State[] {State.DATE, State.DAY_MONTH}) {
+            on(day, Symbol.AT, State.AT);
+            on(day, Symbol.NUMBER, State.HOUR);
+            on(day, Symbol.FOUR_DIGITS, State.DONE);
+            on(day, Symbol.NOON, State.DONE);
+            on(day, Symbol.END, State.ACCEPT);
+        }
+        // After a day and month, four digits are the year rather than a time
+        on(State.DAY_MONTH, Symbol.FOUR_DIGITS, State.DATE);
+        on(State.AT, Symbol.NUMBER, State.HOUR);
+        on(State.AT, Symbol.FOUR_DIGITS, State.DONE);
+        on(State.AT, Symbol.NOON, State.DONE);
+        on(State.HOUR, Symbol.MERIDIEM, State.DONE);
+        on(State.HOUR, Symbol.COLON, State.COLON);
+        on(State.COLON, Symbol.NUMBER, State.MINUTE);
+        on(State.MINUTE, Symbol.MERIDIEM, State.DONE);
+        on(State.MINUTE, Symbol.END, State.ACCEPT);
+        on(State.DONE, Symbol.END, State.ACCEPT);
+
+        // A time may come first, followed by a day or nothing
+        on(State.LEAD_NUMBER, Symbol.MONTH, State.DAY_MONTH);
+        on(State.LEAD_NUMBER, Symbol.MERIDIEM, State.TIME);
+        on(State.LEAD_NUMBER, Symbol.COLON, State.LEAD_COLON);
+        on(State.LEAD_AT, Symbol.NUMBER, State.LEAD_HOUR);
+        on(State.LEAD_AT, Symbol.FOUR_DIGITS, State.TIME);
+        on(State.LEAD_AT, Symbol.NOON, State.TIME);
+        on(State.LEAD_HOUR, Symbol.MERIDIEM, State.TIME);
+        on(State.LEAD_HOUR, Symbol.COLON, State.LEAD_COLON);
+        on(State.LEAD_COLON, Symbol.NUMBER, State.LEAD_MINUTE);
+        on(State.LEAD_MINUTE, Symbol.MERIDIEM, State.TIME);
+        for (State time : new State[] {State.TIME, State.LEAD_MINUTE}) {
+            on(time, Symbol.RELATIVE_DAY, State.DONE);
+            on(time, Symbol.WEEKDAY, State.DONE);
+            on(time, Symbol.NEXT, State.TIME_NEXT);
+            on(time, Symbol.THIS, State.TIME_NEXT);
+            on(time, Symbol.END, State.ACCEPT);
+        }
+        on(State.TIME_NEXT, Symbol.WEEKDAY, State.DONE);
+    }
+
+    private final LocalDate date;
+    private final LocalTime time;
+
+    /**
+     * Creates a date read from text.
+     *
+     * @param date the date
+     * @param time the time of day, or null if none was given
+     */
+    public NaturalDate(LocalDate date, LocalTime time) {
+        this.date = date;
+        this.time = time;
+    }
+
+    private static void addWords(Symbol symbol, int value, String... words) {
+        for (String word : words) {
+            WORDS.put(word, new Word(symbol, value));
+        }
+    }
+
+    private static void on(State from, Symbol symbol, State to) {
+        TRANSITIONS.computeIfAbsent(from, s -> new EnumMap<>(Symbol.class)).put(symbol, to);
+    }
+
+    /**
+     * Reads a date written in words.
+     *
+     * @param input the text, in any case
+     * @param today the day the text is relative to
+     * @return the date, or null if the text is not a date in words or names a day or time that does not exist
+     */
+    public static NaturalDate recognize(CharSequence input, LocalDate today) {
+        Machine machine = new Machine(today);
+        int length = input.length();
+        int i = 0;
+        while (i < length) {
+            char c = input.charAt(i);
+            if (Character.isWhitespace(c) || c == ',') {
+                i++;
+            } else if (c == ':' || c == '.') {
+                if (!machine.read(Symbol.COLON, 0)) {
+                    return null;
+                }
+                i++;
+            } else if (c >= '0' && c <= '9') {
+                int start = i;
+                int value = 0;
+                while (i < length && input.charAt(i) >= '0' && input.charAt(i) <= '9' && i - start < 4) {
+                    value = value * 10 + input.charAt(i++) - '0';
+                }
+                int digits = i - start;
+                boolean isValid = digits <= 2 || digits == 4 && (i == length || !isDigit(input.charAt(i)));
+                if (!isValid || !machine.read(digits == 4 ? Symbol.FOUR_DIGITS : Symbol.NUMBER, value)) {
+                    return null;
+                }
+                i = skipOrdinal(input, i);
+            } else if (Character.isLetter(c)) {
+                int start = i;
+                while (i < length && Character.isLetter(input.charAt(i))) {
+                    i++;
+                }
+                Word word = WORDS.get(input.subSequence(start, i).toString().toLowerCase());
+                if (word == null || !machine.read(word.symbol, word.value)) {
+                    return null;
+                }
+            } else {
+                return null;
+            }
+        }
+        return machine.read(Symbol.END, 0) ? machine.finish() : null;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * Skips the suffix of an ordinal such as {@code 20th}, which only follows a day of the month.
+     */
+    private static int skipOrdinal(CharSequence input, int i) {
+        if (i + 2 > input.length() || i + 2 < input.length() && Character.isLetter(input.charAt(i + 2))) {
+            return i;
+        }
+        String suffix = input.subSequence(i, i + 2).toString().toLowerCase();
+        boolean isOrdinal = suffix.equals("st") || suffix.equals("nd") || suffix.equals("rd") || suffix.equals("th");
+        return isOrdinal ? i + 2 : i;
+    }
+
+    /**
+     * Returns the date and time, using the given time if no time was given.
+     *
+     * @param defaultTime the time of day to use if none was given
+     * @return the date and time
+     */
+    public LocalDateTime atTime(LocalTime defaultTime) {
+        return date.atTime(time == null ? defaultTime : time);
+    }
+
+    /**
+     * Runs the symbols of one input through the transitions, keeping the parts of the date read so far.
+     */
+    private static class Machine {
+        private final LocalDate today;
+        private State state = State.START;
+        private LocalDate date;
+        private boolean isNext;
+        private int number;
+        private int count;
+        private int day;
+        private int month;
+        private int year;
+        private int hour = -1;
+        private int minute;
+        private boolean isValid = true;
+
+        Machine(LocalDate today) {
+            this.today = today;
+        }
+
+        /**
+         * Moves to the next state on a symbol.
+         *
+         * @return false if no transition takes the symbol, so the input is not a date
+         */
+        boolean read(Symbol symbol, int value) {
+            EnumMap<Symbol, State> row = TRANSITIONS.get(state);
+            State next = row == null ? null : row.get(symbol);
+            if (next == null) {
+                return false;
+            }
+            this.apply(symbol, value, next);
+            state = next;
+            return true;
+        }
+
+        private void apply(Symbol symbol, int value, State next) {
+            switch (symbol) {
+            case RELATIVE_DAY -> date = today.plusDays(value);
+            case WEEKDAY -> {
+                int days = Math.floorMod(value - today.getDayOfWeek().getValue(), 7);
+                date = today.plusDays(days == 0 && isNext ? 7 : days);
+            }
+            case NEXT -> isNext = true;
+            case UNIT -> date = today.plus(count, ChronoUnit.values()[value]);
+            case MONTH -> {
+                month = value;
+                if (state == State.LEAD_NUMBER) {
+                    day = number;
+                }
+            }
+            case NUMBER -> {
+                switch (next) {
+                case IN_COUNT -> count = value;
+                case DAY_MONTH -> day = value;
+                case HOUR, LEAD_HOUR -> hour = value;
+                case MINUTE, LEAD_MINUTE -> minute = value;
+                default -> number = value;
+                }
+            }
+            case COLON -> {
+                if (state == State.LEAD_NUMBER) {
+                    hour = number;
+                }
+            }
+            case MERIDIEM -> {
+                if (state == State.LEAD_NUMBER) {
+                    hour = number;
+                }
+                isValid &= hour >= 1 && hour <= 12;
+                hour = hour % 12 + value;
+            }
+            case FOUR_DIGITS -> {
+                if (next == State.DATE) {
+                    year = value;
+                } else {
+                    hour = value / 100;
+                    minute = value % 100;
+                }
+            }
+            case NOON -> {
+                hour = 12;
+                minute = 0;
+            }
+            default -> {
+                // Symbols such as "in" and "at" only move the machine on
+            }
+            }
+        }
+
+        /**
+         * Puts together the date read, once the whole input has been accepted.
+         *
+         * @return the date, or null if it names a day or time that does not exist
+         */
+        NaturalDate finish() {
+            if (!isValid || hour > 23 || minute > 59) {
+                return null;
+            }
+            try {
+                if (month != 0) {
+                    date = LocalDate.of(year != 0 ? year : today.getYear(), month, day);
+                    if (year == 0 && date.isBefore(today)) {
+                        date = LocalDate.of(today.getYear() + 1, month, day);
+                    }
+                }
+            } catch (DateTimeException e) {
+                return null;
+            }
+            return new NaturalDate(date == null ? today : date, hour < 0 ? null : LocalTime.of(hour, minute));
+        }
+    }
+}
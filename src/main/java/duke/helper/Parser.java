@@ -5,12 +5,31 @@ package duke.helper;
  * Slight code refactoring and Javadoc elaboration were aided by OpenAI's ChatGPT.
  */
 
+import java.text.ParsePosition;
+import java.time.DateTimeException;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalQueries;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import duke.exceptions.InvalidTaskFormatException;
+import duke.task.DatedTask;
+import duke.task.DeadlineTask;
+import duke.task.EventTask;
+import duke.task.Recurrence;
+import duke.task.Task;
+import duke.task.TodoTask;
 
 /**
  * The {@code Parser} class provides utility methods for parsing user input
@@ -37,39 +56,154 @@ public class Parser {
             DateTimeFormatter.ofPattern("d/M/yyyy HHmm"), // e.g. 2/12/2019 1800
             DateTimeFormatter.ofPattern("d/M/yyyy") // e.g. 2/12/2019
     };
-
+    /** Lengths of time: hours, minutes or both, such as {@code 2h}, {@code 45m}, {@code 45} or {@code 1h30m}. */
+    private static final Pattern DURATION_FORMAT = Pattern.compile("(?:(\\d{1,4})h)?(?:(\\d{1,6})m?)?",
+            Pattern.CASE_INSENSITIVE);
+    /** The number of date texts whose meaning is remembered. */
+    private static final int DATE_CACHE_SIZE = 512;
+    /**
+     * The dates most recently read, by the text they were read from, so that the same text in many commands or
+     * imported lines is only parsed once.
+     */
+    private static final Map<String, NaturalDate> DATE_CACHE = lruCache(DATE_CACHE_SIZE);
+    /** The day the cached dates were read on; words such as "tomorrow" mean another date the next day. */
+    private static LocalDate dateCacheDay;
+    /** The stored dates most recently read, by their text, as many tasks in a file share a date. */
+    private static final Map<String, LocalDateTime> STORED_DATE_CACHE = lruCache(DATE_CACHE_SIZE);
 
     /**
      * Attempts to parse a date-time string into a {@link LocalDateTime}.
      * <p>
-     * The method iterates over multiple possible date and date-time formats.
-     * If only a date is supplied (no time), it defaults to 23:59 on that day.
+     * The method iterates over multiple possible date and date-time formats, then tries dates written in words,
+     * such as {@code tomorrow 6pm} or {@code next fri} (see {@link NaturalDate}).
+     * If only a date is supplied (no time), it defaults to 23:59 on that day, when a task is due.
+     * Formats that do not fit are skipped without throwing, so trying several formats stays cheap, and
+     * recently read texts are remembered, so repeated dates are not parsed again.
      *
      * @param input the raw date-time string entered by the user
      * @return a parsed {@link LocalDateTime} representing the input
-     * @throws IllegalArgumentException if the input cannot be parsed with any supported format
+     * @throws InvalidTaskFormatException if the input cannot be parsed with any supported format
      */
-    public static LocalDateTime parseDateTime(String input) throws InvalidTaskFormatException {
-        for (DateTimeFormatter fmt : DATE_FORMATS) {
-            // Try parsing into LocalDateTime
-            try {
-                return LocalDateTime.parse(input, fmt);
-            } catch (DateTimeParseException e) {
-                // continue to next
+    public static LocalDateTime parseDateTime(CharSequence input) throws InvalidTaskFormatException {
+        return parseDateTime(input, LocalTime.of(23, 59));
+    }
+
+    /**
+     * Parses a date-time string like {@link #parseDateTime(CharSequence)}, with the given time for dates
+     * supplied without one.
+     *
+     * @param input       the raw date-time string entered by the user
+     * @param defaultTime the time to use if the input has only a date
+     * @return a parsed {@link LocalDateTime} representing the input
+     * @throws InvalidTaskFormatException if the input cannot be parsed with any supported format
+     */
+    public static LocalDateTime parseDateTime(CharSequence input, LocalTime defaultTime)
+            throws InvalidTaskFormatException {
+        String text = input.toString();
+        LocalDate today = LocalDate.now();
+        NaturalDate date;
+        synchronized (DATE_CACHE) {
+            if (!today.equals(dateCacheDay)) {
+                DATE_CACHE.clear();
+                dateCacheDay = today;
+            }
+            date = DATE_CACHE.get(text);
+        }
+        if (date == null) {
+            date = parseFormats(text);
+            if (date == null) {
+                date = NaturalDate.recognize(text, today);
+            }
+            if (date == null) {
+                throw new InvalidTaskFormatException("Unrecognised date format: "
+                        + input
+                        + "\nI recognise "
+                        + "yyyy-MM-dd HHmm OR yyyy-MM-dd OR d/M/yyyy HHmm OR d/M/yyyy, "
+                        + "or words such as tomorrow 6pm, next fri, in 3 days or oct 20 9:30am");
+            }
+            synchronized (DATE_CACHE) {
+                DATE_CACHE.put(text, date);
             }
+        }
+        return date.atTime(defaultTime);
+    }
+
+    /**
+     * Parses a date-time as it is stored, in ISO format such as {@code 2019-12-02T18:00}.
+     * Recently read texts are remembered, so loading many tasks on the same dates parses each date once.
+     *
+     * @param text the stored date-time
+     * @return the date-time
+     * @throws DateTimeParseException if the text is not an ISO date-time
+     */
+    public static LocalDateTime parseStoredDateTime(String text) {
+        LocalDateTime dateTime;
+        synchronized (STORED_DATE_CACHE) {
+            dateTime = STORED_DATE_CACHE.get(text);
+        }
+        if (dateTime == null) {
+            dateTime = LocalDateTime.parse(text);
+            synchronized (STORED_DATE_CACHE) {
+                STORED_DATE_CACHE.put(text, dateTime);
+            }
+        }
+        return dateTime;
+    }
+
+    /**
+     * Creates a map that keeps only the {@code size} entries most recently used.
+     */
+    private static <V> Map<String, V> lruCache(int size) {
+        return new LinkedHashMap<>(size, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+                return size() > size;
+            }
+        };
+    }
 
-            // Try parsing into LocalDate (if no time is provided)
+    /**
+     * Parses a date in one of the numeric {@link #DATE_FORMATS}.
+     *
+     * @return the date, with its time if it has one, or null if no format fits
+     */
+    private static NaturalDate parseFormats(CharSequence input) {
+        for (DateTimeFormatter fmt : DATE_FORMATS) {
+            ParsePosition position = new ParsePosition(0);
+            if (fmt.parseUnresolved(input, position) == null || position.getIndex() != input.length()) {
+                continue;
+            }
             try {
-                LocalDate d = LocalDate.parse(input, fmt);
-                return d.atTime(23, 59);
-            } catch (DateTimeParseException e) {
-                // continue to next iteration
+                TemporalAccessor parsed = fmt.parse(input);
+                LocalDate date = parsed.query(TemporalQueries.localDate());
+                return new NaturalDate(date, parsed.query(TemporalQueries.localTime()));
+            } catch (DateTimeException e) {
+                // The fields fit the format but not the calendar; continue to next
             }
         }
-        throw new InvalidTaskFormatException("Unrecognised date format: "
-                + input
-                + "\nI only recognise "
-                + "yyyy-MM-dd HHmm OR yyyy-MM-dd OR d/M/yyyy HHmm OR d/M/yyyy");
+        return null;
+    }
+
+    /**
+     * Parses a length of time such as {@code 90}, {@code 45m}, {@code 2h} or {@code 1h30m}.
+     * A number without a unit is taken as minutes.
+     *
+     * @param input the length entered by the user
+     * @return the parsed length
+     * @throws InvalidTaskFormatException if the input is not a positive length of time
+     */
+    public static Duration parseDuration(CharSequence input) throws InvalidTaskFormatException {
+        Matcher matcher = DURATION_FORMAT.matcher(input);
+        long minutes = 0;
+        if (matcher.matches()) {
+            minutes = (matcher.group(1) == null ? 0 : Long.parseLong(matcher.group(1)) * 60)
+                    + (matcher.group(2) == null ? 0 : Long.parseLong(matcher.group(2)));
+        }
+        if (minutes <= 0) {
+            throw new InvalidTaskFormatException("Unrecognised length of time: " + input
+                    + "\nTry minutes like 45 or 45m, hours like 2h, or both like 1h30m");
+        }
+        return Duration.ofMinutes(minutes);
     }
 
     /**
@@ -81,6 +215,9 @@ public class Parser {
      *     <li><b>deadline</b>: requires a description and a {@code /by} clause</li>
      *     <li><b>event</b>: requires a description, a {@code /from} clause, and a {@code /to} clause</li>
      * </ul>
+     * Any recurrence clause starting with {@code /every} is ignored here; see {@link #parseRecurrence(String)}.
+     * Tags in the description are left out of it; see {@link #parseTags(String)}.
+     * The phrases are returned in lower case.
      *
      * @param input the raw user input string
      * @return an array of extracted components:
@@ -92,66 +229,270 @@ public class Parser {
      * @throws InvalidTaskFormatException if the input is missing required parts or has invalid structure
      */
     public static String[] extractPhrases(String input) throws InvalidTaskFormatException {
-        String[] words = input.trim().toLowerCase().split(" ", 2);
-        if (words.length == 0) {
+        return extractPhrases(new CommandTokenizer().reset(input));
+    }
+
+    /**
+     * Extracts task-related phrases from a command that has already been split into words.
+     *
+     * @param tokens the words of the command
+     * @return the extracted components, as described in {@link #extractPhrases(String)}
+     * @throws InvalidTaskFormatException if the input is missing required parts or has invalid structure
+     */
+    public static String[] extractPhrases(CommandTokenizer tokens) throws InvalidTaskFormatException {
+        if (tokens.size() == 0) {
             throw new InvalidTaskFormatException("Unaccepted Input");
         }
+        int every = tokens.indexOf("/every", 1);
+        int end = every < 0 ? tokens.size() : every;
 
-        String firstWord = words[0];
+        if (tokens.isWord(0, "todo")) {
+            return parseTodo(tokens, end);
+        } else if (tokens.isWord(0, "deadline")) {
+            return parseDeadline(tokens, end);
+        } else if (tokens.isWord(0, "event")) {
+            return parseEvent(tokens, end);
+        }
+        throw new InvalidTaskFormatException("Inputted task does not fall under todo, deadline or event");
+    }
 
-        return switch (firstWord) {
-        case "todo" -> parseTodo(words);
-        case "deadline" -> parseDeadline(input, words, firstWord);
-        case "event" -> parseEvent(input, words, firstWord);
-        default -> throw new InvalidTaskFormatException("Inputted task does not fall under todo, deadline or event");
+    /**
+     * Parses a {@code todo}, {@code deadline} or {@code event} command into a new {@link Task},
+     * including its recurrence rule, if any.
+     *
+     * @param input the raw user input string
+     * @return the task described by the input
+     * @throws InvalidTaskFormatException if the input is not a valid task command
+     */
+    public static Task parseTask(String input) throws InvalidTaskFormatException {
+        return parseTask(new CommandTokenizer().reset(input));
+    }
+
+    /**
+     * Parses a command that has already been split into words into a new {@link Task}.
+     *
+     * @param tokens the words of the command
+     * @return the task described by the command
+     * @throws InvalidTaskFormatException if the command is not a valid task command
+     */
+    public static Task parseTask(CommandTokenizer tokens) throws InvalidTaskFormatException {
+        String[] inputList = extractPhrases(tokens);
+        Task task = switch (inputList[0]) {
+        case "todo" -> new TodoTask(inputList[1]);
+        case "deadline" -> new DeadlineTask(inputList[1], inputList[2]);
+        default -> new EventTask(inputList[1], inputList[2], inputList[3]);
         };
+
+        Recurrence recurrence = parseRecurrence(tokens);
+        if (recurrence != null) {
+            if (!(task instanceof DatedTask)) {
+                throw new InvalidTaskFormatException("Only deadlines and events can recur");
+            }
+            ((DatedTask) task).setRecurrence(recurrence);
+        }
+        task.setTags(parseTags(tokens));
+        return task;
+    }
+
+    /**
+     * Extracts the recurrence rule from a {@code deadline} or {@code event} command, if any.
+     * <p>
+     * The rule follows the dates of the task:
+     * <pre>
+     *     /every daily|weekly|monthly [/count N | /until DATE]
+     * </pre>
+     *
+     * @param input the raw user input string
+     * @return the recurrence rule, or null if the input has no {@code /every} clause
+     * @throws InvalidTaskFormatException if the recurrence clause is malformed
+     */
+    public static Recurrence parseRecurrence(String input) throws InvalidTaskFormatException {
+        return parseRecurrence(new CommandTokenizer().reset(input));
+    }
+
+    /**
+     * Extracts the recurrence rule from a command that has already been split into words, if any.
+     *
+     * @param tokens the words of the command
+     * @return the recurrence rule, or null if the command has no {@code /every} clause
+     * @throws InvalidTaskFormatException if the recurrence clause is malformed
+     */
+    public static Recurrence parseRecurrence(CommandTokenizer tokens) throws InvalidTaskFormatException {
+        int every = tokens.indexOf("/every", 1);
+        if (every < 0) {
+            return null;
+        }
+
+        int next = every + 2;
+        Recurrence.Frequency frequency;
+        if (tokens.isWord(every + 1, "daily") || tokens.isWord(every + 1, "day")) {
+            frequency = Recurrence.Frequency.DAILY;
+        } else if (tokens.isWord(every + 1, "weekly") || tokens.isWord(every + 1, "week")) {
+            frequency = Recurrence.Frequency.WEEKLY;
+        } else if (tokens.isWord(every + 1, "monthly") || tokens.isWord(every + 1, "month")) {
+            frequency = Recurrence.Frequency.MONTHLY;
+        } else {
+            throw new InvalidTaskFormatException("/every needs daily, weekly or monthly");
+        }
+        if (next < tokens.size() && !tokens.startsWith(next, "/")) {
+            throw new InvalidTaskFormatException("/every needs daily, weekly or monthly");
+        }
+
+        int count = 0;
+        LocalDateTime until = null;
+        while (next < tokens.size()) {
+            int clause = next;
+            next = clauseEnd(tokens, clause + 1);
+            if (tokens.isWord(clause, "/count") && next > clause + 1) {
+                try {
+                    count = tokens.parseIntBetween(tokens.start(clause + 1), tokens.end(next - 1));
+                } catch (NumberFormatException e) {
+                    throw new InvalidTaskFormatException("/count needs a number");
+                }
+                if (count <= 0) {
+                    throw new InvalidTaskFormatException("/count needs a positive number");
+                }
+            } else if (tokens.isWord(clause, "/until") && next > clause + 1) {
+                until = parseDateTime(tokens.text(clause + 1, next));
+            } else {
+                throw new InvalidTaskFormatException("A recurrence can only be limited by /count or /until");
+            }
+        }
+        return new Recurrence(frequency, count, until);
+    }
+
+    /**
+     * Extracts the tags from the description of a {@code todo}, {@code deadline} or {@code event} command.
+     * <p>
+     * A tag is a word of the description starting with {@code #}, followed by letters, digits, {@code _} or
+     * {@code -}, such as {@code #work}. Tags are returned in lower case, without the {@code #}.
+     *
+     * @param input the raw user input string
+     * @return the tags, in the order they appear; empty if the description has none
+     */
+    public static List<String> parseTags(String input) {
+        return parseTags(new CommandTokenizer().reset(input));
+    }
+
+    /**
+     * Extracts the tags from the description of a command that has already been split into words.
+     *
+     * @param tokens the words of the command
+     * @return the tags, in the order they appear; empty if the description has none
+     */
+    public static List<String> parseTags(CommandTokenizer tokens) {
+        List<String> tags = new ArrayList<>();
+        int end = descriptionEnd(tokens);
+        for (int i = 1; i < end; i++) {
+            if (isTag(tokens, i)) {
+                tags.add(tokens.getInput().subSequence(tokens.start(i) + 1, tokens.end(i)).toString().toLowerCase());
+            }
+        }
+        return tags;
+    }
+
+    /**
+     * Returns the word after the description of a task command.
+     */
+    private static int descriptionEnd(CommandTokenizer tokens) {
+        String clause = tokens.isWord(0, "deadline") ? "/by" : tokens.isWord(0, "event") ? "/from" : "/every";
+        int end = tokens.indexOf(clause, 1);
+        return end < 0 ? tokens.size() : end;
     }
 
-    private static String[] parseTodo(String[] words) throws InvalidTaskFormatException {
-        if (words.length < 2 || words[1].isBlank()) {
+    private static boolean isTag(CommandTokenizer tokens, int token) {
+        CharSequence input = tokens.getInput();
+        int start = tokens.start(token);
+        if (input.charAt(start) != '#' || tokens.end(token) - start < 2) {
+            return false;
+        }
+        for (int i = start + 1; i < tokens.end(token); i++) {
+            char c = input.charAt(i);
+            if (!Character.isLetterOrDigit(c) && c != '_' && c != '-') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Copies out the description between two words in lower case, leaving out its tags.
+     */
+    private static String description(CommandTokenizer tokens, int from, int to) throws InvalidTaskFormatException {
+        int firstTag = from;
+        while (firstTag < to && !isTag(tokens, firstTag)) {
+            firstTag++;
+        }
+        String description;
+        if (firstTag == to) {
+            description = tokens.lowerText(from, to);
+        } else {
+            // Runs of words between tags keep their spacing; the runs are joined by single spaces
+            StringJoiner joiner = new StringJoiner(" ");
+            int run = from;
+            for (int i = from; i <= to; i++) {
+                if (i == to || isTag(tokens, i)) {
+                    if (run < i) {
+                        joiner.add(tokens.lowerText(run, i));
+                    }
+                    run = i + 1;
+                }
+            }
+            description = joiner.toString();
+        }
+        if (description.isEmpty()) {
+            throw new InvalidTaskFormatException("Task description cannot be empty");
+        }
+        return description;
+    }
+
+    /**
+     * Returns the first word at or after {@code from} that starts a new clause, or the end of the command.
+     */
+    private static int clauseEnd(CommandTokenizer tokens, int from) {
+        int i = from;
+        while (i < tokens.size() && !tokens.startsWith(i, "/")) {
+            i++;
+        }
+        return i;
+    }
+
+    private static String[] parseTodo(CommandTokenizer tokens, int end) throws InvalidTaskFormatException {
+        if (end < 2) {
             throw new InvalidTaskFormatException("Todo Task cannot be empty");
         }
-        return new String[]{"todo", words[1].trim()};
+        return new String[]{"todo", description(tokens, 1, end)};
     }
 
-    private static String[] parseDeadline(String input, String[] words, String firstWord)
-            throws InvalidTaskFormatException {
-        if (words.length < 2) {
+    private static String[] parseDeadline(CommandTokenizer tokens, int end) throws InvalidTaskFormatException {
+        if (tokens.size() < 2) {
             throw new InvalidTaskFormatException("Deadline Task cannot be empty");
         }
 
-        int byIndex = input.indexOf("/by ");
-        if (byIndex == -1) {
+        int by = tokens.indexOf("/by", 1);
+        if (by < 0 || by >= end - 1) {
             throw new InvalidTaskFormatException("Deadline Task needs a /by statement");
         }
 
-        String task = input.substring(firstWord.length(), byIndex).trim();
-        String by = input.substring(byIndex + 4).trim();
-
-        return new String[]{"deadline", task, by};
+        return new String[]{"deadline", description(tokens, 1, by), tokens.text(by + 1, end)};
     }
 
-    private static String[] parseEvent(String input, String[] words, String firstWord)
-            throws InvalidTaskFormatException {
-        if (words.length < 2) {
+    private static String[] parseEvent(CommandTokenizer tokens, int end) throws InvalidTaskFormatException {
+        if (tokens.size() < 2) {
             throw new InvalidTaskFormatException("Event Task cannot be empty");
         }
 
-        int fromIndex = input.indexOf("/from ");
-        if (fromIndex == -1) {
+        int from = tokens.indexOf("/from", 1);
+        if (from < 0 || from >= end - 1) {
             throw new InvalidTaskFormatException("Event Task needs a /from statement");
         }
 
-        int toIndex = input.indexOf("/to ");
-        if (toIndex == -1 || fromIndex > toIndex) {
+        int to = tokens.indexOf("/to", 1);
+        if (to < 0 || from > to || to >= end - 1) {
             throw new InvalidTaskFormatException("Event Task needs a /to statement that comes after /from");
         }
 
-        String task = input.substring(firstWord.length(), fromIndex).trim();
-        String from = input.substring(fromIndex + 6, toIndex).trim();
-        String to = input.substring(toIndex + 4).trim();
-
-        return new String[]{"event", task, from, to};
+        return new String[]{"event", description(tokens, 1, from), tokens.text(from + 1, to),
+                tokens.text(to + 1, end)};
     }
 }
-
@@ -5,16 +5,28 @@ package duke.helper;
  * Slight code refactoring and Javadoc elaboration were aided by OpenAI's ChatGPT.
  */
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
 
-import duke.exceptions.InvalidTaskFormatException;
 import duke.list.TaskList;
+import duke.storage.BinaryTaskFormat;
+import duke.storage.LineDiff;
+import duke.storage.StorageChange;
+import duke.storage.StorageLock;
 import duke.task.DeadlineTask;
 import duke.task.EventTask;
 import duke.task.Task;
@@ -29,9 +41,60 @@ import duke.task.TodoTask;
  *     <li>Deadline: {@code D | isDone | description | by}</li>
  *     <li>Event: {@code E | isDone | description | start | end}</li>
  * </ul>
+ * Recurring deadlines and events are followed by optional {@code key=value} fields holding
+ * their recurrence rule and per-occurrence exceptions, so a series takes one line however often it repeats.
+ * Any task may end with a {@code tags=a,b} field holding its tags.
+ * <p>
+ * The file may instead be in the compact {@link BinaryTaskFormat}. The format is detected when loading,
+ * and the file is saved in the format it was loaded in until {@link #setFormat(Format)} changes it.
+ * <p>
+ * For the text format, a hash of every line last read or written is kept together with the task read from it,
+ * so that edits made by other programs can be found with {@link #readChanges(TaskList)} without parsing
+ * unchanged lines again.
+ * <p>
+ * Several processes may share the file. The text format starts with a {@code # version=N} line that every save
+ * increments. A save takes a {@link StorageLock} only to compare versions and move a prepared file into place;
+ * if another process saved in the meantime, its changes are merged into the task list and the save is retried.
  */
 public class Storage {
     private static final String FILE_PATH = "./data/sai.txt";
+    /** Files differing in more lines than this are reloaded from the first to the last difference. */
+    private static final int MAX_DIFF_EDITS = 1000;
+    private static final String VERSION_PREFIX = "# version=";
+    /** Saves that keep losing the race to other processes finally merge while holding the lock. */
+    private static final int MAX_SAVE_ATTEMPTS = 3;
+
+    /**
+     * The formats the storage file can be written in.
+     */
+    public enum Format {
+        /** One human-readable line per task. */
+        TEXT,
+        /** The compressed binary format of {@link BinaryTaskFormat}. */
+        BINARY
+    }
+
+    private final Path path;
+    private Format format = Format.TEXT;
+    private long version;
+    private long[] lineHashes = new long[0];
+    private Task[] lineTasks = new Task[0];
+
+    /**
+     * Creates a storage for the default file, {@code ./data/sai.txt}.
+     */
+    public Storage() {
+        this(Path.of(FILE_PATH));
+    }
+
+    /**
+     * Creates a storage for the given file.
+     *
+     * @param path the storage file
+     */
+    public Storage(Path path) {
+        this.path = path;
+    }
 
     /**
      * Loads tasks from the storage file.
@@ -44,11 +107,27 @@ public class Storage {
      */
     public TaskList load() {
         ArrayList<Task> taskList = new ArrayList<>();
-        File file = new File(FILE_PATH);
+        this.load(Integer.MAX_VALUE, taskList::addAll);
+        return new TaskList(taskList);
+    }
+
+    /**
+     * Loads tasks from the storage file, handing them over in batches while the rest of the file is read.
+     * <p>
+     * This behaves like {@link #load()}, but lets a caller show the first tasks before a large file has been
+     * read. It may be called from a background thread, provided the storage is not used elsewhere until it returns.
+     *
+     * @param batchSize the largest number of tasks in a batch
+     * @param batches   called with each batch of tasks, in file order
+     * @return the number of tasks loaded
+     */
+    public int load(int batchSize, Consumer<List<Task>> batches) {
+        File file = path.toFile();
+        int loaded = 0;
 
         try {
             // Create directory and file if they do not exist yet
-            File parentDir = file.getParentFile();
+            File parentDir = file.getAbsoluteFile().getParentFile();
 
             if (!parentDir.exists()) {
                 parentDir.mkdirs();
@@ -56,44 +135,471 @@ public class Storage {
 
             if (!file.exists()) {
                 file.createNewFile();
-                return new TaskList(); // empty list if first run
+                return 0; // empty list if first run
             }
 
-            List<String> lines = Files.readAllLines(Path.of(FILE_PATH));
-            for (String line : lines) {
-                try {
-                    taskList.add(readLine(line));
-                } catch (Exception e) {
-                    System.out.println("Warning: This line cannot be read: " + line);
+            if (BinaryTaskFormat.isBinary(path)) {
+                format = Format.BINARY;
+                return this.loadBinary(batchSize, batches);
+            }
+
+            try (BufferedReader reader = Files.newBufferedReader(path)) {
+                String line = reader.readLine();
+                version = 0;
+                if (line != null && line.startsWith(VERSION_PREFIX)) {
+                    version = readVersion(List.of(line));
+                    line = reader.readLine();
+                }
+
+                long[] hashes = new long[64];
+                Task[] tasks = new Task[64];
+                int lines = 0;
+                List<Task> batch = new ArrayList<>();
+                for (; line != null; line = reader.readLine(), lines++) {
+                    if (lines == hashes.length) {
+                        hashes = Arrays.copyOf(hashes, lines * 2);
+                        tasks = Arrays.copyOf(tasks, lines * 2);
+                    }
+                    hashes[lines] = hashLine(line);
+                    tasks[lines] = readLineOrWarn(line);
+                    if (tasks[lines] == null) {
+                        continue;
+                    }
+                    batch.add(tasks[lines]);
+                    loaded++;
+                    if (batch.size() == batchSize) {
+                        batches.accept(batch);
+                        batch = new ArrayList<>();
+                    }
                 }
+                if (!batch.isEmpty()) {
+                    batches.accept(batch);
+                }
+                lineHashes = Arrays.copyOf(hashes, lines);
+                lineTasks = Arrays.copyOf(tasks, lines);
             }
         } catch (IOException e) {
             System.out.println("Error reading file: " + e.getMessage());
         }
 
-        return new TaskList(taskList);
+        return loaded;
+    }
+
+    private int loadBinary(int batchSize, Consumer<List<Task>> batches) throws IOException {
+        List<Task> tasks;
+        try {
+            // Read in full first, so a corrupted file hands over no tasks at all
+            tasks = BinaryTaskFormat.read(path);
+        } catch (IOException e) {
+            // Keep a copy, since the next save replaces the unreadable file
+            Files.copy(path, Path.of(path + ".bak"), StandardCopyOption.REPLACE_EXISTING);
+            System.out.println("Error reading file: " + e.getMessage() + ". A copy was kept in " + path + ".bak");
+            return 0;
+        }
+        for (int from = 0; from < tasks.size(); from += batchSize) {
+            batches.accept(new ArrayList<>(tasks.subList(from, (int) Math.min(tasks.size(), (long) from + batchSize))));
+        }
+        return tasks.size();
     }
 
     /**
      * Saves the given {@link TaskList} to the storage file.
      * <p>
-     * Each task is formatted according to its type and written on a new line.
+     * Each task is formatted according to its type and written on a new line,
+     * or written as a binary record if the file is in the binary format.
+     * <p>
+     * If another process saved the text format since this storage last read or wrote it, that process's changes
+     * are first merged into the task list. Where both changed the same tasks, both versions are kept and the
+     * change is returned as a conflict (see {@link StorageChange#isConflict()}), so neither side's changes are
+     * lost without the user being told.
+     * The binary format is not versioned, so the last process to save it wins.
      *
      * @param taskList The {@link TaskList} to save.
+     * @return the changes of other processes that were merged into the task list, including conflicts, in the
+     *         order they were applied
      */
-    public void save(TaskList taskList) {
+    public List<StorageChange> save(TaskList taskList) {
+        List<StorageChange> merged = new ArrayList<>();
         try {
-            FileWriter fw = new FileWriter(FILE_PATH);
-            ArrayList<Task> innerList = taskList.getTasks();
-
-            for (Task task : innerList) {
-                fw.write(formatTask(task) + System.lineSeparator());
+            if (format == Format.BINARY) {
+                Path temp = BinaryTaskFormat.writeTemp(path, taskList.getTasks());
+                StorageLock lock = StorageLock.acquire(path);
+                try {
+                    replaceFile(temp);
+                } finally {
+                    lock.close();
+                }
+                return merged;
             }
 
-            fw.close();
+            for (int attempt = 1; ; attempt++) {
+                ArrayList<Task> innerList = taskList.getTasks();
+                long[] hashes = new long[innerList.size()];
+                // Written before taking the lock, so the lock is only held to compare versions and rename the file
+                Path temp = writeTemp(innerList, hashes, version + 1);
+                boolean isSaved;
+                try {
+                    StorageLock lock = StorageLock.acquire(path);
+                    try {
+                        isSaved = readFileVersion() == version;
+                        if (!isSaved && attempt == MAX_SAVE_ATTEMPTS) {
+                            // Merge while holding the lock, so a busy writer cannot keep this save from finishing
+                            merged.addAll(rebase(taskList, Files.readAllLines(path)));
+                            Files.delete(temp);
+                            innerList = taskList.getTasks();
+                            hashes = new long[innerList.size()];
+                            temp = writeTemp(innerList, hashes, version + 1);
+                            isSaved = true;
+                        }
+                        if (isSaved) {
+                            replaceFile(temp);
+                        }
+                    } finally {
+                        lock.close();
+                    }
+                } finally {
+                    Files.deleteIfExists(temp);
+                }
+
+                if (isSaved) {
+                    version++;
+                    lineHashes = hashes;
+                    lineTasks = innerList.toArray(new Task[0]);
+                    return merged;
+                }
+                merged.addAll(rebase(taskList, Files.readAllLines(path)));
+            }
         } catch (IOException e) {
             System.out.println("Error writing to file: " + e.getMessage());
         }
+        return merged;
+    }
+
+    /**
+     * Writes the version line and the given tasks to a temporary file next to the storage file.
+     *
+     * @param tasks      the tasks to write
+     * @param hashes     filled with the hash of each task's line
+     * @param newVersion the version to write
+     * @return the temporary file
+     */
+    private Path writeTemp(List<Task> tasks, long[] hashes, long newVersion) throws IOException {
+        Path temp = Files.createTempFile(path.toAbsolutePath().getParent(), "sai", ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(temp)) {
+            writer.write(VERSION_PREFIX + newVersion + System.lineSeparator());
+            for (int i = 0; i < tasks.size(); i++) {
+                String line = formatTask(tasks.get(i));
+                hashes[i] = hashLine(line);
+                writer.write(line + System.lineSeparator());
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        return temp;
+    }
+
+    private void replaceFile(Path temp) throws IOException {
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Returns the version of the storage file, reading only its first line.
+     * A missing or binary file is taken to be at the version last read or written, since there is nothing to merge.
+     */
+    private long readFileVersion() throws IOException {
+        if (!Files.exists(path) || BinaryTaskFormat.isBinary(path)) {
+            return version;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(path)) {
+            String firstLine = reader.readLine();
+            return firstLine == null ? 0 : readVersion(List.of(firstLine));
+        }
+    }
+
+    /**
+     * Merges the changes another process saved since this storage last read or wrote the file into the task list.
+     * <p>
+     * The tasks last read or written are the common base. The task list's own changes since then are kept, and
+     * the other process's changes to the remaining tasks are applied on top of them. Where both changed the same
+     * tasks, the task list's version is kept and the other process's versions that differ from it are inserted
+     * after it, as a conflict; a task the other process deleted stays. Afterwards the file's lines are the new
+     * base.
+     *
+     * @param taskList  the task list holding this process's unsaved changes
+     * @param fileLines the lines of the file as the other process saved it
+     * @return the changes that were applied to the task list, including conflicts, in the order they were applied
+     */
+    private List<StorageChange> rebase(TaskList taskList, List<String> fileLines) {
+        List<String> lines = taskLines(fileLines);
+        long[] theirs = hashLines(lines);
+        Task[] baseTasks = Arrays.stream(lineTasks).filter(Objects::nonNull).toArray(Task[]::new);
+        long[] base = new long[baseTasks.length];
+        for (int i = 0, j = 0; i < lineTasks.length; i++) {
+            if (lineTasks[i] != null) {
+                base[j++] = lineHashes[i];
+            }
+        }
+        ArrayList<Task> tasks = taskList.getTasks();
+        long[] ours = new long[tasks.size()];
+        for (int i = 0; i < tasks.size(); i++) {
+            ours[i] = hashLine(formatTask(tasks.get(i)));
+        }
+
+        List<LineDiff.Hunk> ourHunks = LineDiff.diff(base, ours, MAX_DIFF_EDITS);
+        List<LineDiff.Hunk> theirHunks = LineDiff.diff(base, theirs, MAX_DIFF_EDITS);
+        List<StorageChange> changes = new ArrayList<>();
+        Task[] fileTasks = new Task[lines.size()];
+        int baseLine = 0;
+        int fileLine = 0;
+        for (LineDiff.Hunk their : theirHunks) {
+            System.arraycopy(baseTasks, baseLine, fileTasks, fileLine, their.getOldFrom() - baseLine);
+
+            List<Task> added = new ArrayList<>();
+            int unreadable = 0;
+            for (int i = their.getNewFrom(); i < their.getNewTo(); i++) {
+                fileTasks[i] = readLineOrWarn(lines.get(i));
+                if (fileTasks[i] == null) {
+                    unreadable++;
+                } else {
+                    added.add(fileTasks[i]);
+                }
+            }
+            int position = positionAfter(ourHunks, their);
+            if (position >= 0) {
+                int end = position + their.getOldTo() - their.getOldFrom();
+                changes.add(new StorageChange(position, new ArrayList<>(tasks.subList(position, end)), added,
+                        unreadable));
+            } else {
+                StorageChange conflict = conflict(ourHunks, their, tasks, added, unreadable);
+                if (conflict != null) {
+                    changes.add(conflict);
+                }
+            }
+            baseLine = their.getOldTo();
+            fileLine = their.getNewTo();
+        }
+        System.arraycopy(baseTasks, baseLine, fileTasks, fileLine, baseTasks.length - baseLine);
+
+        // Apply the last change first, so the positions of earlier changes stay valid
+        for (int i = changes.size() - 1; i >= 0; i--) {
+            StorageChange change = changes.get(i);
+            taskList.replaceRange(change.getFrom(), change.getFrom() + change.getRemoved().size(), change.getAdded());
+        }
+        Collections.reverse(changes);
+        version = readVersion(fileLines);
+        lineHashes = theirs;
+        lineTasks = fileTasks;
+        return changes;
+    }
+
+    /**
+     * Returns the position in the task list that a change to the base tasks moved to after the task list's own
+     * changes, or -1 if the task list changed some of the same tasks.
+     */
+    private static int positionAfter(List<LineDiff.Hunk> ourHunks, LineDiff.Hunk their) {
+        int shift = 0;
+        for (LineDiff.Hunk our : ourHunks) {
+            if (our.getOldTo() <= their.getOldFrom()) {
+                shift += (our.getNewTo() - our.getNewFrom()) - (our.getOldTo() - our.getOldFrom());
+            } else if (our.getOldFrom() < their.getOldTo()) {
+                return -1;
+            }
+        }
+        return their.getOldFrom() + shift;
+    }
+
+    /**
+     * Returns a change that keeps both versions of tasks that the task list and another process both changed.
+     * The other process's tasks that the task list does not already have are inserted after the task list's
+     * changes that overlap theirs.
+     *
+     * @param ourHunks the task list's changes to the base tasks
+     * @param their    the other process's change, which overlaps some of the task list's changes
+     * @param tasks    the tasks of the task list
+     * @param added    the other process's tasks in place of the changed base tasks
+     * @return the conflict, or null if both made the same change
+     */
+    private StorageChange conflict(List<LineDiff.Hunk> ourHunks, LineDiff.Hunk their, List<Task> tasks,
+            List<Task> added, int unreadable) {
+        int shift = 0;
+        int start = 0;
+        boolean isOverlapping = false;
+        for (LineDiff.Hunk our : ourHunks) {
+            boolean isBefore = our.getOldTo() <= their.getOldFrom();
+            if (!isBefore && our.getOldFrom() >= their.getOldTo()) {
+                break;
+            }
+            if (!isBefore && !isOverlapping) {
+                start = Math.min(our.getNewFrom(), their.getOldFrom() + shift);
+                isOverlapping = true;
+            }
+            shift += (our.getNewTo() - our.getNewFrom()) - (our.getOldTo() - our.getOldFrom());
+        }
+        int position = their.getOldTo() + shift;
+        Set<String> ours = new HashSet<>();
+        for (Task task : tasks.subList(start, position)) {
+            ours.add(formatTask(task));
+        }
+        List<Task> kept = new ArrayList<>();
+        for (Task task : added) {
+            if (!ours.contains(formatTask(task))) {
+                kept.add(task);
+            }
+        }
+        if (kept.isEmpty() && !added.isEmpty()) {
+            // Both made the same change
+            return null;
+        }
+        return new StorageChange(position, new ArrayList<>(), kept, unreadable, true);
+    }
+
+    /**
+     * Finds the tasks that another program changed in the storage file since it was last read or written.
+     * <p>
+     * The lines of the file are hashed and compared with the hashes kept from the last read or write using
+     * {@link LineDiff}, and only the changed lines are parsed. If the kept lines no longer match the given task
+     * list, for example because a save failed, the whole file is treated as changed.
+     * Only the text format is supported.
+     *
+     * @param taskList the task list last saved to or loaded from the file
+     * @return the changes to apply to the task list, in list order; empty if the file is unchanged
+     *         or not in the text format
+     * @throws IOException if the file cannot be read
+     */
+    public List<StorageChange> readChanges(TaskList taskList) throws IOException {
+        List<StorageChange> changes = new ArrayList<>();
+        if (format != Format.TEXT || BinaryTaskFormat.isBinary(path)) {
+            return changes;
+        }
+        List<String> fileLines = Files.readAllLines(path);
+        long fileVersion = readVersion(fileLines);
+        List<String> lines = taskLines(fileLines);
+        long[] hashes = hashLines(lines);
+
+        List<LineDiff.Hunk> hunks = LineDiff.diff(lineHashes, hashes, MAX_DIFF_EDITS);
+        version = fileVersion;
+        if (hunks.isEmpty()) {
+            return changes;
+        }
+        if (!isInStep(taskList, hunks)) {
+            // The kept lines are out of step with the list, so replace everything
+            hunks = List.of(new LineDiff.Hunk(0, lineTasks.length, 0, lines.size()));
+        }
+
+        Task[] tasks = new Task[lines.size()];
+        int oldLine = 0;
+        int newLine = 0;
+        for (LineDiff.Hunk hunk : hunks) {
+            // Unchanged lines keep their tasks
+            System.arraycopy(lineTasks, oldLine, tasks, newLine, hunk.getOldFrom() - oldLine);
+
+            List<Task> removed = new ArrayList<>();
+            for (int i = hunk.getOldFrom(); i < hunk.getOldTo(); i++) {
+                if (lineTasks[i] != null) {
+                    removed.add(lineTasks[i]);
+                }
+            }
+            List<Task> added = new ArrayList<>();
+            int unreadable = 0;
+            for (int i = hunk.getNewFrom(); i < hunk.getNewTo(); i++) {
+                tasks[i] = readLineOrWarn(lines.get(i));
+                if (tasks[i] == null) {
+                    unreadable++;
+                } else {
+                    added.add(tasks[i]);
+                }
+            }
+            changes.add(new StorageChange(positionAt(taskList, hunk.getOldFrom()), removed, added, unreadable));
+            oldLine = hunk.getOldTo();
+            newLine = hunk.getNewTo();
+        }
+        System.arraycopy(lineTasks, oldLine, tasks, newLine, lineTasks.length - oldLine);
+
+        lineHashes = hashes;
+        lineTasks = tasks;
+        return changes;
+    }
+
+    /**
+     * Returns the position in the task list of the first task read from the given line or a later one.
+     */
+    private int positionAt(TaskList taskList, int line) {
+        for (int i = line - 1; i >= 0; i--) {
+            if (lineTasks[i] != null) {
+                return taskList.positionOf(lineTasks[i]) + 1;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Returns whether the tasks kept for each line are still the tasks of the list, in the same order.
+     * Only the tasks next to each change are looked at.
+     */
+    private boolean isInStep(TaskList taskList, List<LineDiff.Hunk> hunks) {
+        int count = 0;
+        for (Task task : lineTasks) {
+            if (task != null) {
+                count++;
+            }
+        }
+        if (count != taskList.size()) {
+            return false;
+        }
+        for (LineDiff.Hunk hunk : hunks) {
+            int position = positionAt(taskList, hunk.getOldFrom());
+            for (int i = hunk.getOldFrom(); i < hunk.getOldTo(); i++) {
+                if (lineTasks[i] == null) {
+                    continue;
+                }
+                if (position >= taskList.size() || taskList.getTask(position) != lineTasks[i]) {
+                    return false;
+                }
+                position++;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the path of the storage file.
+     *
+     * @return the path of the storage file
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Returns the format the storage file is saved in.
+     *
+     * @return the current format
+     */
+    public Format getFormat() {
+        return format;
+    }
+
+    /**
+     * Sets the format the storage file is saved in from the next {@link #save(TaskList)} onwards.
+     *
+     * @param format the new format
+     */
+    public void setFormat(Format format) {
+        this.format = format;
+    }
+
+    /**
+     * Returns the size of the storage file.
+     *
+     * @return the size in bytes, or -1 if it cannot be determined
+     */
+    public long getFileSize() {
+        try {
+            return Files.size(path);
+        } catch (IOException e) {
+            return -1;
+        }
     }
 
     /**
@@ -101,23 +607,30 @@ public class Storage {
      *
      * @param line A formatted string representing a task.
      * @return A {@link Task} object corresponding to the line.
-     * @throws IllegalArgumentException If the task type is invalid.
+     * @throws IllegalArgumentException If the task type or an optional field is invalid.
+     * @throws IndexOutOfBoundsException If the line has too few fields.
      */
-    private Task readLine(String line) throws InvalidTaskFormatException {
+    public static Task readLine(String line) {
         String[] parts = line.split(" \\| ");
         String type = parts[0];
         boolean isDone = parts[1].equals("1");
         String description = parts[2];
 
+        int fixedFields;
         Task task = switch (type) {
-        case "T" -> new TodoTask(description);
+        case "T" -> {
+            fixedFields = 3;
+            yield new TodoTask(description);
+        }
         case "D" -> {
-            String by = parts[3];
+            fixedFields = 4;
+            LocalDateTime by = Parser.parseStoredDateTime(parts[3]);
             yield new DeadlineTask(description, by);
         }
         case "E" -> {
-            String start = parts[3];
-            String end = parts[4];
+            fixedFields = 5;
+            LocalDateTime start = Parser.parseStoredDateTime(parts[3]);
+            LocalDateTime end = Parser.parseStoredDateTime(parts[4]);
             yield new EventTask(description, start, end);
         }
         default -> throw new IllegalArgumentException("Invalid task type: " + type);
@@ -126,9 +639,69 @@ public class Storage {
         if (isDone) {
             task.mark();
         }
+
+        // Optional fields are applied after marking, since marking a series resets its exceptions
+        for (int i = fixedFields; i < parts.length; i++) {
+            int eq = parts[i].indexOf('=');
+            if (eq < 0) {
+                throw new IllegalArgumentException("Unexpected field: " + parts[i]);
+            }
+            task.applyStorageField(parts[i].substring(0, eq), parts[i].substring(eq + 1));
+        }
         return task;
     }
 
+    private static Task readLineOrWarn(String line) {
+        try {
+            return readLine(line);
+        } catch (Exception e) {
+            System.out.println("Warning: This line cannot be read: " + line);
+            return null;
+        }
+    }
+
+    /**
+     * Returns the version in the first of the given lines, or 0 if the file has no version line.
+     */
+    private static long readVersion(List<String> fileLines) {
+        if (fileLines.isEmpty() || !fileLines.get(0).startsWith(VERSION_PREFIX)) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(fileLines.get(0).substring(VERSION_PREFIX.length()).trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Returns the lines of the file that hold tasks, leaving out the version line.
+     */
+    private static List<String> taskLines(List<String> fileLines) {
+        boolean hasVersion = !fileLines.isEmpty() && fileLines.get(0).startsWith(VERSION_PREFIX);
+        return hasVersion ? fileLines.subList(1, fileLines.size()) : fileLines;
+    }
+
+    private static long[] hashLines(List<String> lines) {
+        long[] hashes = new long[lines.size()];
+        for (int i = 0; i < lines.size(); i++) {
+            hashes[i] = hashLine(lines.get(i));
+        }
+        return hashes;
+    }
+
+    /**
+     * Returns a 64-bit FNV-1a hash of a line, used to find lines that have changed.
+     */
+    private static long hashLine(String line) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < line.length(); i++) {
+            hash ^= line.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
     /**
      * Converts a {@link Task} into its storage-friendly string representation.
      * <p>
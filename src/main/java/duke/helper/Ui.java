@@ -5,14 +5,46 @@ package duke.helper;
  * Slight code refactoring and Javadoc elaboration were aided by OpenAI's ChatGPT.
  */
 
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import duke.archive.TaskArchive;
+import duke.history.Edit;
+import duke.list.RoaringBitmap;
+import duke.list.TaskCounters;
 import duke.list.TaskList;
+import duke.list.TimeSlot;
+import duke.replication.ReplicationClient;
+import duke.replication.ReplicationServer;
+import duke.storage.StorageChange;
+import duke.sync.SyncRecord;
+import duke.sync.TaskSync;
+import duke.task.EventTask;
+import duke.task.Occurrence;
 import duke.task.Task;
+import duke.workspace.Workspace;
 
 /**
  * Handles interactions with the user.
  * All messages printed to the console are wrapped for formatting.
  */
 public class Ui {
+    /** The number of tasks shown on each page by {@code list page}. */
+    public static final int PAGE_SIZE = 20;
+    /** The number of upcoming occurrences shown for a recurring task. */
+    public static final int OCCURRENCES_SHOWN = 5;
+    /** The number of tasks listed after a command that changes many tasks at once. */
+    public static final int BULK_SHOWN = 10;
+
+    private static final DateTimeFormatter DATE_TIME_FORMAT = DateTimeFormatter.ofPattern("MMM d yyyy, h:mma");
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("h:mma");
 
     /**
      * Returns the welcome message displayed to the user when the program starts.
@@ -71,6 +103,62 @@ public class Ui {
                 + "Now you have " + (size) + " tasks in the list.";
     }
 
+    /**
+     * Returns a confirmation message after several tasks have been deleted at once.
+     * Only the first few tasks are listed.
+     *
+     * @param tasks the deleted tasks, in list order
+     * @param size  the number of tasks left in the list
+     * @return a formatted string confirming the deletion
+     */
+    public String showDeletedTasks(List<Task> tasks, int size) {
+        return "Noted. I have removed these " + tasks.size() + " tasks:" + listSome(tasks) + "\n"
+                + "Now you have " + size + " tasks in the list.";
+    }
+
+    /**
+     * Returns a confirmation message after several tasks have been marked or unmarked at once.
+     * Only the first few tasks are listed.
+     *
+     * @param tasks  the tasks whose status changed, in list order
+     * @param isDone whether the tasks were marked as done
+     * @return a formatted string confirming the change
+     */
+    public String showMarkedTasks(List<Task> tasks, boolean isDone) {
+        String header = isDone ? "Nice! I've marked these " + tasks.size() + " tasks as done:"
+                : "OK, I've marked these " + tasks.size() + " tasks as not done yet:";
+        return header + listSome(tasks);
+    }
+
+    /**
+     * Returns a confirmation message after a change has been undone or redone.
+     *
+     * @param edit   the change
+     * @param isRedo whether the change was made again rather than undone
+     * @param size   the number of tasks in the list now
+     * @return a formatted string describing the change
+     */
+    public String showUndone(Edit edit, boolean isRedo, int size) {
+        int count = edit.getTasks().size();
+        String what = count == 1 ? "1 task" : count + " tasks";
+        if (edit.getKind() == Edit.Kind.OCCURRENCE) {
+            what = "an occurrence of";
+        }
+        return (isRedo ? "Redone: " : "Undone: ") + edit.getCommand() + " of " + what + ":"
+                + listSome(edit.getTasks()) + "\nNow you have " + size + " tasks in the list.";
+    }
+
+    private static String listSome(List<Task> tasks) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < Math.min(tasks.size(), BULK_SHOWN); i++) {
+            sb.append("\n- ").append(tasks.get(i));
+        }
+        if (tasks.size() > BULK_SHOWN) {
+            sb.append("\n... and ").append(tasks.size() - BULK_SHOWN).append(" more");
+        }
+        return sb.toString();
+    }
+
     /**
      * Returns a formatted string representation of all tasks in the task list.
      * <p>
@@ -88,6 +176,23 @@ public class Ui {
         }
     }
 
+    /**
+     * Returns a formatted string of the tasks in the given range of positions.
+     *
+     * @param taskList the {@link TaskList} containing all tasks
+     * @param from     position of the first task to show (0-based, inclusive)
+     * @param to       position after the last task to show (0-based, exclusive)
+     * @return a header naming the range followed by the tasks in it, or a message if the range is empty
+     */
+    public String showTaskRange(TaskList taskList, int from, int to) {
+        int end = Math.min(to, taskList.size());
+        if (from >= end) {
+            return "No tasks in that range. You have " + taskList.size() + " tasks in the list.";
+        }
+        return "Showing tasks " + (from + 1) + "-" + end + " of " + taskList.size() + ":\n"
+                + taskList.listTasks(from, end);
+    }
+
     /**
      * Returns a confirmation message after a task has been marked as completed.
      * <p>
@@ -112,6 +217,146 @@ public class Ui {
         return "OK, I've marked this task as not done yet: \n" + task;
     }
 
+    /**
+     * Returns a confirmation message after a single occurrence of a recurring task has been marked as completed.
+     *
+     * @param occurrence the {@link Occurrence} that was marked as completed
+     * @return a formatted string confirming that the occurrence has been marked as done
+     */
+    public String showMarked(Occurrence occurrence) {
+        return "Nice! I've marked this occurrence as done:\n" + occurrence;
+    }
+
+    /**
+     * Returns a confirmation message after a single occurrence of a recurring task has been marked as not completed.
+     *
+     * @param occurrence the {@link Occurrence} that was marked as not done
+     * @return a formatted string confirming that the occurrence has been unmarked
+     */
+    public String showUnmarked(Occurrence occurrence) {
+        return "OK, I've marked this occurrence as not done yet: \n" + occurrence;
+    }
+
+    /**
+     * Returns the upcoming occurrences of a task.
+     *
+     * @param task        the task whose occurrences are shown
+     * @param occurrences the upcoming occurrences, in chronological order
+     * @return a formatted string listing the occurrences, or a message if there are none
+     */
+    public String showOccurrences(Task task, List<Occurrence> occurrences) {
+        if (occurrences.isEmpty()) {
+            return "There are no upcoming occurrences of:\n" + task;
+        }
+        StringBuilder sb = new StringBuilder("Upcoming occurrences of:\n").append(task).append("\n");
+        for (int i = 0; i < occurrences.size(); i++) {
+            sb.append((i + 1)).append(". ").append(occurrences.get(i)).append("\n");
+        }
+        return sb.toString().trim();
+    }
+
+    /**
+     * Returns a reminder that a deadline is about to be due or an event is about to start.
+     *
+     * @param occurrence the occurrence of the task that is coming up
+     * @return a formatted reminder string
+     */
+    public String showReminder(Occurrence occurrence) {
+        String when = occurrence.getStart().format(DateTimeFormatter.ofPattern("MMM d yyyy, h:mma"));
+        String what = occurrence.getTask() instanceof EventTask ? "starts at " : "is due at ";
+        return "Reminder: \"" + occurrence.getTask().getDescription() + "\" " + what + when + "!";
+    }
+
+    /**
+     * Returns a summary of a bulk import.
+     *
+     * @param added      the number of tasks added to the list
+     * @param duplicates the number of tasks skipped because they were already in the list
+     * @param errorCount the number of lines that could not be read
+     * @param errors     messages for the first lines that could not be read
+     * @return a formatted string summarising the import
+     */
+    public String showImported(int added, int duplicates, int errorCount, List<String> errors) {
+        StringBuilder sb = new StringBuilder("Imported ").append(added).append(" tasks.");
+        if (duplicates > 0) {
+            sb.append(" Skipped ").append(duplicates).append(" duplicates.");
+        }
+        if (errorCount > 0) {
+            sb.append("\n").append(errorCount).append(" lines could not be read:");
+            for (String error : errors) {
+                sb.append("\n").append(error);
+            }
+            if (errorCount > errors.size()) {
+                sb.append("\n...and ").append(errorCount - errors.size()).append(" more.");
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Returns a summary of changes made to the storage file by another program.
+     *
+     * @param changes the changes that were applied, in list order
+     * @return a formatted string listing the tasks that were added or replaced, numbered by their new positions
+     */
+    public String showReloaded(List<StorageChange> changes) {
+        int removed = 0;
+        int unreadable = 0;
+        int shown = 0;
+        int shift = 0;
+        StringBuilder lines = new StringBuilder();
+        for (StorageChange change : changes) {
+            List<Task> added = change.getAdded();
+            for (int i = 0; i < added.size() && shown < PAGE_SIZE; i++, shown++) {
+                lines.append("\n").append(change.getFrom() + shift + i + 1).append(". ").append(added.get(i));
+            }
+            shift += added.size() - change.getRemoved().size();
+            removed += change.getRemoved().size();
+            unreadable += change.getUnreadableLines();
+        }
+
+        int addedCount = shift + removed;
+        StringBuilder sb = new StringBuilder("Your task file was changed outside S.AI, so I updated your list: ")
+                .append(removed).append(" tasks removed, ").append(addedCount).append(" tasks added.")
+                .append(lines);
+        if (addedCount > shown) {
+            sb.append("\n...and ").append(addedCount - shown).append(" more.");
+        }
+        if (unreadable > 0) {
+            sb.append("\n").append(unreadable).append(" changed lines could not be read.");
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Returns a message telling the user that another S.AI changed the same tasks while saving, and that both
+     * versions were kept.
+     *
+     * @param conflicts the conflicting changes merged into the list, in the order they were applied
+     * @return the message
+     */
+    public String showSaveConflicts(List<StorageChange> conflicts) {
+        int kept = 0;
+        int shown = 0;
+        StringBuilder lines = new StringBuilder();
+        for (StorageChange conflict : conflicts) {
+            List<Task> added = conflict.getAdded();
+            for (int i = 0; i < added.size() && shown < PAGE_SIZE; i++, shown++) {
+                lines.append("\n").append(conflict.getFrom() + i + 1).append(". ").append(added.get(i));
+            }
+            kept += added.size();
+        }
+        StringBuilder sb = new StringBuilder("Another S.AI changed some of the same tasks as you at the same time. ");
+        if (kept == 0) {
+            return sb.append("I kept your version of the tasks it deleted.").toString();
+        }
+        sb.append("I kept your version and added theirs as ").append(kept).append(" more tasks:").append(lines);
+        if (kept > shown) {
+            sb.append("\n...and ").append(kept - shown).append(" more.");
+        }
+        return sb.toString();
+    }
+
     /**
      * Returns a warning message indicating the correct format for a user command.
      * <p>
@@ -124,5 +369,333 @@ public class Ui {
     public String formatMessageWarning(String format) {
         return "Please format your message as \"" + format + " [task number]\"";
     }
-}
 
+    /**
+     * Returns the reply to a command typed while the task list is still loading.
+     *
+     * @param loaded the number of tasks loaded so far
+     * @return a message saying the command will run once loading has finished
+     */
+    public String showQueued(int loaded) {
+        return "I'm still loading your tasks (" + loaded + " so far). I'll do that as soon as they're all loaded.";
+    }
+
+    /**
+     * Returns the note shown above a list while the task list is still loading.
+     *
+     * @param loaded the number of tasks loaded so far
+     * @return a message saying that more tasks are on the way
+     */
+    public String showStillLoading(int loaded) {
+        return "I'm still loading your tasks, so this shows the " + loaded + " loaded so far.";
+    }
+
+    /**
+     * Returns the state of replication, with the lag of each replica or of this replica.
+     *
+     * @param server  the server streaming changes to replicas, or null if this copy is not a primary
+     * @param replica the client following a primary, or null if this copy is not a replica
+     * @return a formatted string describing the replication state
+     */
+    public String showReplicationStatus(ReplicationServer server, ReplicationClient replica) {
+        if (server != null) {
+            long last = server.getLog().getLastSequence();
+            StringBuilder sb = new StringBuilder("Serving replicas on port ").append(server.getPort())
+                    .append(", at change #").append(last).append(".");
+            List<ReplicationServer.Follower> followers = server.getFollowers();
+            if (followers.isEmpty()) {
+                sb.append("\nNo replicas are connected.");
+            }
+            for (int i = 0; i < followers.size(); i++) {
+                ReplicationServer.Follower follower = followers.get(i);
+                sb.append("\n").append(i + 1).append(". ").append(follower.getAddress()).append(": ");
+                if (follower.getAcknowledged() < 0) {
+                    sb.append("loading a snapshot");
+                } else {
+                    sb.append(last - follower.getAcknowledged()).append(" changes behind");
+                }
+            }
+            return sb.toString();
+        }
+        if (replica != null) {
+            return "Following the primary on port " + replica.getPort()
+                    + (replica.isConnected() ? "." : ", which cannot be reached right now.")
+                    + "\nApplied change #" + replica.getAppliedSequence() + " of #" + replica.getPrimarySequence()
+                    + " (" + Math.max(0, replica.getPrimarySequence() - replica.getAppliedSequence())
+                    + " behind). The last change was applied " + replica.getLastDelayMillis()
+                    + " ms after the primary made it.";
+        }
+        return "Replication is off. Type \"replicate serve PORT\" or \"replicate follow PORT\" to start it.";
+    }
+
+    /**
+     * Returns the tasks matching a tag filter, numbered by their position in the list.
+     *
+     * @param taskList the {@link TaskList} holding the tasks
+     * @param ids      the identifiers of the matching tasks, in increasing order
+     * @return a header with the number of matches followed by the tasks, or a message if nothing matched
+     */
+    public String showTagged(TaskList taskList, RoaringBitmap ids) {
+        if (ids.isEmpty()) {
+            return showError("No matching tasks found.");
+        }
+        StringBuilder sb = new StringBuilder("Here are the ").append(ids.cardinality())
+                .append(" matching tasks in your list:");
+        ids.forEach(id -> {
+            int position = taskList.positionOfId(id);
+            sb.append("\n").append(position + 1).append(". ").append(taskList.getTask(position));
+        });
+        return sb.toString();
+    }
+
+    /**
+     * Returns the tags in use, with the number of tasks carrying each.
+     *
+     * @param tagCounts the number of tasks per tag, sorted by tag
+     * @return a formatted string listing the tags, or a message if no task has a tag
+     */
+    public String showTags(Map<String, Integer> tagCounts) {
+        if (tagCounts.isEmpty()) {
+            return "No tasks have tags yet. Add one by writing #tag in a task's description.";
+        }
+        StringBuilder sb = new StringBuilder("Here are the tags in your list:");
+        for (Map.Entry<String, Integer> entry : tagCounts.entrySet()) {
+            sb.append("\n#").append(entry.getKey()).append(" (").append(entry.getValue()).append(")");
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Returns the reply to an {@code archive} that found no tasks to move.
+     *
+     * @param days the number of days since which done tasks must have finished
+     * @return a message saying there is nothing to archive
+     */
+    public String showNothingToArchive(int days) {
+        return "There are no done tasks that finished more than " + days + " days ago to archive.";
+    }
+
+    /**
+     * Returns a confirmation message after done tasks have been moved to the archive.
+     *
+     * @param archived  the number of tasks archived
+     * @param segments  the number of archive segments they were appended to
+     * @param remaining the number of tasks left in the list
+     * @return a formatted string with the counts
+     */
+    public String showArchived(int archived, int segments, int remaining) {
+        return "Archived " + archived + " done tasks into " + segments + " monthly segments.\n"
+                + "Now you have " + remaining + " tasks in the list. "
+                + "Type \"find --all KEYWORD\" to search the archive.";
+    }
+
+    /**
+     * Returns a summary of a sync with another store.
+     *
+     * @param path   the other store's storage file
+     * @param result the records exchanged and the work done to find them
+     * @param here   the changes made to this store's task list
+     * @param there  the changes made to the other store's task list
+     * @return a formatted string with the counts and the conflicts
+     */
+    public String showSynced(Path path, TaskSync.Result result, List<StorageChange> here,
+            List<StorageChange> there) {
+        StringBuilder sb = new StringBuilder("Synced with ").append(path).append(".\n")
+                .append("Compared ").append(result.getHashesCompared()).append(" hashes and ")
+                .append(result.getRecordsCompared()).append(" tasks in ").append(result.getBucketsDiffering())
+                .append(" differing buckets.\n")
+                .append("Received ").append(result.getToMine().size()).append(" and sent ")
+                .append(result.getToTheirs().size()).append(" task records; changed ").append(countTasks(here))
+                .append(" tasks here and ").append(countTasks(there)).append(" there.");
+        List<SyncRecord> conflicts = result.getConflicts();
+        if (!conflicts.isEmpty()) {
+            sb.append("\n").append(conflicts.size())
+                    .append(" tasks were changed in both stores; the latest change to each field was kept:");
+            for (int i = 0; i < Math.min(conflicts.size(), BULK_SHOWN); i++) {
+                SyncRecord conflict = conflicts.get(i);
+                sb.append("\n- ").append(Storage.readLine(conflict.getLine()))
+                        .append(conflict.isDeleted() ? " (deleted)" : "");
+            }
+            if (conflicts.size() > BULK_SHOWN) {
+                sb.append("\n... and ").append(conflicts.size() - BULK_SHOWN).append(" more");
+            }
+        }
+        return sb.toString();
+    }
+
+    private static int countTasks(List<StorageChange> changes) {
+        int count = 0;
+        for (StorageChange change : changes) {
+            count += Math.max(change.getRemoved().size(), change.getAdded().size());
+        }
+        return count;
+    }
+
+    /**
+     * Returns a confirmation that another workspace is in use.
+     *
+     * @param name     the name of the workspace now in use
+     * @param size     the number of tasks in it
+     * @param isWarm   true if it was still loaded, false if it was read from its file
+     * @param evicted  the workspaces unloaded to stay within the memory budget
+     * @param reloaded the changes made to its file while it was not in use, or null if there were none
+     * @return a formatted string describing the switch
+     */
+    public String showWorkspace(String name, int size, boolean isWarm, List<Workspace> evicted, String reloaded) {
+        StringBuilder sb = new StringBuilder("Now in workspace " + name + " (" + size + " tasks, "
+                + (isWarm ? "already loaded" : "loaded from file") + ").");
+        if (reloaded != null) {
+            sb.append("\n").append(reloaded);
+        }
+        if (!evicted.isEmpty()) {
+            sb.append("\nUnloaded to save memory:");
+            for (Workspace workspace : evicted) {
+                sb.append(" ").append(workspace.getName());
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Returns the workspace in use, the other loaded workspaces and the ones only saved to file.
+     *
+     * @param name   the name of the workspace in use
+     * @param size   the number of tasks in it
+     * @param loaded the other loaded workspaces
+     * @param saved  the names of the workspaces with a file that are not loaded
+     * @return a formatted string listing the workspaces
+     */
+    public String showWorkspaces(String name, int size, Collection<Workspace> loaded, List<String> saved) {
+        StringBuilder sb = new StringBuilder("You are in workspace " + name + " (" + size + " tasks).");
+        if (!loaded.isEmpty()) {
+            sb.append("\nLoaded:");
+            for (Workspace workspace : loaded) {
+                sb.append(" ").append(workspace.getName())
+                        .append(" (").append(workspace.getTaskList().size()).append(" tasks)");
+            }
+        }
+        if (!saved.isEmpty()) {
+            sb.append("\nSaved: ").append(String.join(" ", saved));
+        }
+        return sb.append("\nType \"workspace NAME\" to switch.").toString();
+    }
+
+    /**
+     * Returns the archived tasks found by a search, with how much of the archive was read to find them.
+     *
+     * @param search the result of searching the archive
+     * @return a formatted string listing the archived tasks, which have no task numbers
+     */
+    public String showArchiveMatches(TaskArchive.Search search) {
+        String read = "(read " + search.getSegmentsRead() + " of " + search.getSegmentCount() + " segments)";
+        if (search.getTasks().isEmpty()) {
+            return "No matching tasks in the archive " + read + ".";
+        }
+        StringBuilder sb = new StringBuilder("Here are the matching tasks in the archive ").append(read).append(":");
+        for (Task task : search.getTasks()) {
+            sb.append("\n- ").append(task);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Returns the free slots found between events in a range.
+     *
+     * @param slots     the free slots, in chronological order
+     * @param from      the start of the range searched
+     * @param to        the end of the range searched
+     * @param minLength the shortest slot shown
+     * @return a formatted string listing the slots, or a message if there are none
+     */
+    public String showFreeSlots(List<TimeSlot> slots, LocalDateTime from, LocalDateTime to, Duration minLength) {
+        String range = "between " + from.format(DATE_TIME_FORMAT) + " and " + to.format(DATE_TIME_FORMAT);
+        if (slots.isEmpty()) {
+            return "You have no free slots of at least " + formatDuration(minLength) + " " + range + ".";
+        }
+        StringBuilder sb = new StringBuilder("Here are your free slots of at least ")
+                .append(formatDuration(minLength)).append(" ").append(range).append(":");
+        for (int i = 0; i < slots.size(); i++) {
+            TimeSlot slot = slots.get(i);
+            boolean isSameDay = slot.getStart().toLocalDate().equals(slot.getEnd().toLocalDate());
+            sb.append("\n").append(i + 1).append(". ").append(slot.getStart().format(DATE_TIME_FORMAT))
+                    .append(" to ").append(slot.getEnd().format(isSameDay ? TIME_FORMAT : DATE_TIME_FORMAT))
+                    .append(" (").append(formatDuration(slot.getDuration())).append(")");
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Returns a warning listing the events a newly added event clashes with.
+     *
+     * @param clashes the overlapping event occurrences, in chronological order
+     * @return a formatted warning starting on a new line, or an empty string if there are no clashes
+     */
+    public String showClashes(List<Occurrence> clashes) {
+        if (clashes.isEmpty()) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder("\nHeads up, it clashes with:");
+        for (Occurrence clash : clashes) {
+            sb.append("\n- ").append(clash);
+        }
+        return sb.toString();
+    }
+
+    private static String formatDuration(Duration duration) {
+        long hours = duration.toHours();
+        int minutes = duration.toMinutesPart();
+        if (hours == 0) {
+            return minutes + "m";
+        }
+        return minutes == 0 ? hours + "h" : hours + "h " + minutes + "m";
+    }
+
+    /**
+     * Returns a summary of the task list, counted by kind and status.
+     * <p>
+     * Overdue deadlines are those due before today. The week runs from Monday to Sunday.
+     *
+     * @param counters the running counts of the task list
+     * @param today    the current day
+     * @return a formatted string with the counts
+     */
+    public String showSummary(TaskCounters counters, LocalDate today) {
+        LocalDate monday = today.with(DayOfWeek.MONDAY);
+        StringBuilder sb = new StringBuilder("Here is a summary of your ").append(counters.total())
+                .append(" tasks:");
+        sb.append("\nTodos: ").append(showDoneCounts(counters, TaskCounters.Kind.TODO));
+        sb.append("\nDeadlines: ").append(showDoneCounts(counters, TaskCounters.Kind.DEADLINE))
+                .append(" (").append(counters.countOverdue(today)).append(" overdue, ")
+                .append(counters.countOn(today, TaskCounters.Kind.DEADLINE, false)).append(" due today)");
+        sb.append("\nEvents: ").append(showDoneCounts(counters, TaskCounters.Kind.EVENT))
+                .append(" (").append(counters.countBetween(monday, monday.plusDays(6), TaskCounters.Kind.EVENT))
+                .append(" this week)");
+        if (counters.countRecurring() > 0) {
+            sb.append("\n").append(counters.countRecurring())
+                    .append(" repeating deadlines and events are counted once, not by day.");
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Returns a one-line summary of the task list, short enough to be shown at all times.
+     *
+     * @param counters the running counts of the task list
+     * @param today    the current day
+     * @return the number of undone tasks, overdue deadlines, deadlines due today and events this week
+     */
+    public String showSummaryLine(TaskCounters counters, LocalDate today) {
+        int undone = 0;
+        for (TaskCounters.Kind kind : TaskCounters.Kind.values()) {
+            undone += counters.count(kind, false);
+        }
+        LocalDate monday = today.with(DayOfWeek.MONDAY);
+        return undone + " to do · " + counters.countOverdue(today) + " overdue · "
+                + counters.countOn(today, TaskCounters.Kind.DEADLINE, false) + " due today · "
+                + counters.countBetween(monday, monday.plusDays(6), TaskCounters.Kind.EVENT) + " events this week";
+    }
+
+    private static String showDoneCounts(TaskCounters counters, TaskCounters.Kind kind) {
+        return counters.count(kind, false) + " not done, " + counters.count(kind, true) + " done";
+    }
+}
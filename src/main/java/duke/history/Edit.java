@@ -0,0 +1,151 @@
+package duke.history;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import duke.task.DatedTask;
+import duke.task.Task;
+
+/**
+ * One change to the task list that can be undone and redone.
+ * <p>
+ * An edit keeps the tasks it changed and their positions, which is all it takes to reverse it: added tasks are
+ * deleted again from their positions, deleted tasks are put back at theirs, and marked tasks are unmarked, with
+ * the statuses of the occurrences that marking cleared put back. No copy of the list is kept.
+ */
+public class Edit {
+
+    /**
+     * The kinds of change that can be undone.
+     */
+    public enum Kind {
+        ADD, DELETE, MARK, UNMARK, OCCURRENCE
+    }
+
+    private final Kind kind;
+    private final int[] positions;
+    private final List<Task> tasks;
+    private final int occurrence;
+    private final boolean isDone;
+    /** For a mark or unmark, the occurrences of each task whose status differed from the task's, before. */
+    private final List<Map<Integer, Boolean>> occurrenceExceptions;
+
+    private Edit(Kind kind, int[] positions, List<Task> tasks, int occurrence, boolean isDone) {
+        assert positions.length == tasks.size();
+        this.kind = kind;
+        this.positions = positions;
+        this.tasks = List.copyOf(tasks);
+        this.occurrence = occurrence;
+        this.isDone = isDone;
+        this.occurrenceExceptions = new ArrayList<>();
+        if (kind == Kind.MARK || kind == Kind.UNMARK) {
+            for (Task task : tasks) {
+                occurrenceExceptions.add(task instanceof DatedTask datedTask
+                        ? new TreeMap<>(datedTask.getOccurrenceExceptions())
+                        : Map.of());
+            }
+        }
+    }
+
+    /**
+     * Creates an edit for tasks added to the list.
+     *
+     * @param positions the positions the tasks were added at (0-based), in increasing order
+     * @param tasks     the added tasks, in the same order
+     * @return the edit
+     */
+    public static Edit ofAdd(int[] positions, List<Task> tasks) {
+        return new Edit(Kind.ADD, positions, tasks, -1, false);
+    }
+
+    /**
+     * Creates an edit for tasks deleted from the list.
+     *
+     * @param positions the positions the tasks were deleted from (0-based), in increasing order
+     * @param tasks     the deleted tasks, in the same order
+     * @return the edit
+     */
+    public static Edit ofDelete(int[] positions, List<Task> tasks) {
+        return new Edit(Kind.DELETE, positions, tasks, -1, false);
+    }
+
+    /**
+     * Creates an edit for tasks marked as done or not done. Only tasks whose status changes should be given.
+     * <p>
+     * The edit must be created before the tasks are marked, since marking a recurring task clears the statuses
+     * of its single occurrences, which the edit keeps so that they can be put back.
+     *
+     * @param positions the positions of the tasks (0-based), in increasing order
+     * @param tasks     the tasks, in the same order
+     * @param isDone    the status the tasks were given
+     * @return the edit
+     */
+    public static Edit ofMark(int[] positions, List<Task> tasks, boolean isDone) {
+        return new Edit(isDone ? Kind.MARK : Kind.UNMARK, positions, tasks, -1, isDone);
+    }
+
+    /**
+     * Creates an edit for one occurrence of a recurring task marked as done or not done.
+     *
+     * @param position   the position of the task (0-based)
+     * @param task       the recurring task
+     * @param occurrence the number of the occurrence, counting from 0
+     * @param isDone     the status the occurrence was given
+     * @return the edit
+     */
+    public static Edit ofOccurrence(int position, Task task, int occurrence, boolean isDone) {
+        return new Edit(Kind.OCCURRENCE, new int[] {position}, List.of(task), occurrence, isDone);
+    }
+
+    /** Returns the kind of change. */
+    public Kind getKind() {
+        return kind;
+    }
+
+    /** Returns the positions of the changed tasks (0-based), in increasing order. */
+    public int[] getPositions() {
+        return positions.clone();
+    }
+
+    /** Returns the changed tasks, in list order. */
+    public List<Task> getTasks() {
+        return tasks;
+    }
+
+    /** Returns the number of the occurrence changed by an {@link Kind#OCCURRENCE} edit. */
+    public int getOccurrence() {
+        return occurrence;
+    }
+
+    /**
+     * Returns the occurrences of a task changed by a {@link Kind#MARK} or {@link Kind#UNMARK} edit whose status
+     * differed from the task's before the edit.
+     *
+     * @param i the index of the task in {@link #getTasks()}
+     * @return a read-only map from occurrence number to completion status, empty if the task is not recurring
+     */
+    public Map<Integer, Boolean> getOccurrenceExceptions(int i) {
+        return Collections.unmodifiableMap(occurrenceExceptions.get(i));
+    }
+
+    /** Returns the status given by a {@link Kind#MARK}, {@link Kind#UNMARK} or {@link Kind#OCCURRENCE} edit. */
+    public boolean isDone() {
+        return isDone;
+    }
+
+    /**
+     * Returns the command that made this change.
+     *
+     * @return one of {@code add}, {@code delete}, {@code mark} or {@code unmark}
+     */
+    public String getCommand() {
+        return switch (kind) {
+        case ADD -> "add";
+        case DELETE -> "delete";
+        case MARK, UNMARK, OCCURRENCE -> isDone ? "mark" : "unmark";
+        };
+    }
+}
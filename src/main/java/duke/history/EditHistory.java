@@ -0,0 +1,97 @@
+package duke.history;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * The recent edits to a task list, for {@code undo} and {@code redo}.
+ * <p>
+ * Edits are kept in two stacks. Undoing moves the latest edit from the undo stack to the redo stack and redoing
+ * moves it back, so each step takes constant time. A new edit empties the redo stack, and once the undo stack
+ * holds its limit, the oldest edit is forgotten.
+ * <p>
+ * The positions in an edit are only right while every change to the list goes through this history. A change
+ * that does not, such as a reload of the storage file, must {@link #clear()} it.
+ */
+public class EditHistory {
+    /** The number of edits kept by default. */
+    public static final int DEFAULT_LIMIT = 100;
+
+    private final Deque<Edit> undoStack = new ArrayDeque<>();
+    private final Deque<Edit> redoStack = new ArrayDeque<>();
+    private final int limit;
+
+    /**
+     * Creates an empty history keeping the default number of edits.
+     */
+    public EditHistory() {
+        this(DEFAULT_LIMIT);
+    }
+
+    /**
+     * Creates an empty history.
+     *
+     * @param limit the number of edits kept for undoing
+     */
+    public EditHistory(int limit) {
+        assert limit > 0;
+        this.limit = limit;
+    }
+
+    /**
+     * Records an edit that was just made, forgetting any edits that were undone before it.
+     *
+     * @param edit the edit
+     */
+    public void record(Edit edit) {
+        redoStack.clear();
+        undoStack.push(edit);
+        if (undoStack.size() > limit) {
+            undoStack.removeLast();
+        }
+    }
+
+    /**
+     * Takes the latest edit to undo. The caller must then reverse it.
+     *
+     * @return the edit, or null if there is nothing to undo
+     */
+    public Edit undo() {
+        Edit edit = undoStack.poll();
+        if (edit != null) {
+            redoStack.push(edit);
+        }
+        return edit;
+    }
+
+    /**
+     * Takes the latest undone edit to make again. The caller must then repeat it.
+     *
+     * @return the edit, or null if there is nothing to redo
+     */
+    public Edit redo() {
+        Edit edit = redoStack.poll();
+        if (edit != null) {
+            undoStack.push(edit);
+        }
+        return edit;
+    }
+
+    /**
+     * Forgets every edit.
+     */
+    public void clear() {
+        undoStack.clear();
+        redoStack.clear();
+    }
+
+    /** Returns the number of edits that can be undone. */
+    public int countUndoable() {
+        return undoStack.size();
+    }
+
+    /** Returns the number of edits that can be redone. */
+    public int countRedoable() {
+        return redoStack.size();
+    }
+}
@@ -0,0 +1,124 @@
+package duke.importer;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+import duke.exceptions.InvalidTaskFormatException;
+import duke.helper.Parser;
+import duke.task.DatedTask;
+import duke.task.DeadlineTask;
+import duke.task.EventTask;
+import duke.task.Recurrence;
+import duke.task.Task;
+import duke.task.TodoTask;
+
+/**
+ * Reads tasks from lines with the columns {@code type,done,description,start,end,recurrence},
+ * as written by {@link duke.export.CsvTaskWriter}.
+ * <p>
+ * Fields may be quoted, with embedded quotes doubled. Trailing empty columns may be left out.
+ */
+class CsvTaskReader {
+    private static final String HEADER = "type,done,description";
+
+    /**
+     * Returns whether the given line is the header row of a task CSV file.
+     *
+     * @param line the line to check
+     * @return true if the line is a header row
+     */
+    static boolean isHeader(String line) {
+        return line.toLowerCase().startsWith(HEADER);
+    }
+
+    /**
+     * Parses one CSV row into a task.
+     *
+     * @param line the row to parse
+     * @return the task described by the row
+     * @throws InvalidTaskFormatException if the row is not a valid task
+     */
+    static Task parse(String line) throws InvalidTaskFormatException {
+        List<String> fields = splitFields(line);
+        if (fields.size() < 3 || fields.get(2).isBlank()) {
+            throw new InvalidTaskFormatException("Expected type, done and description columns");
+        }
+
+        String description = fields.get(2).trim();
+        Task task = switch (fields.get(0).trim().toLowerCase()) {
+        case "todo" -> new TodoTask(description);
+        case "deadline" -> new DeadlineTask(description, parseDate(field(fields, 3), "start"));
+        case "event" -> new EventTask(description, parseDate(field(fields, 3), "start"),
+                parseDate(field(fields, 4), "end"));
+        default -> throw new InvalidTaskFormatException("Unknown task type: " + fields.get(0));
+        };
+
+        String done = field(fields, 1).trim();
+        if (done.equals("1") || done.equalsIgnoreCase("true")) {
+            task.mark();
+        }
+
+        String recurrence = field(fields, 5).trim();
+        if (!recurrence.isEmpty()) {
+            if (!(task instanceof DatedTask)) {
+                throw new InvalidTaskFormatException("Only deadlines and events can recur");
+            }
+            try {
+                ((DatedTask) task).setRecurrence(Recurrence.fromStorageString(recurrence.toUpperCase()));
+            } catch (IllegalArgumentException e) {
+                throw new InvalidTaskFormatException("Invalid recurrence: " + recurrence);
+            }
+        }
+        return task;
+    }
+
+    private static String field(List<String> fields, int index) {
+        return index < fields.size() ? fields.get(index) : "";
+    }
+
+    private static LocalDateTime parseDate(String value, String column) throws InvalidTaskFormatException {
+        if (value.isBlank()) {
+            throw new InvalidTaskFormatException("Missing " + column + " date");
+        }
+        try {
+            return LocalDateTime.parse(value.trim());
+        } catch (DateTimeParseException e) {
+            return Parser.parseDateTime(value.trim());
+        }
+    }
+
+    private static List<String> splitFields(String line) throws InvalidTaskFormatException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean isQuoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (isQuoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    isQuoted = false;
+                }
+            } else if (c == '"') {
+                isQuoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+
+        if (isQuoted) {
+            throw new InvalidTaskFormatException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
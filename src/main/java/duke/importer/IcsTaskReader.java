@@ -0,0 +1,211 @@
+package duke.importer;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+import duke.exceptions.InvalidTaskFormatException;
+import duke.task.DatedTask;
+import duke.task.DeadlineTask;
+import duke.task.EventTask;
+import duke.task.Recurrence;
+import duke.task.Task;
+import duke.task.TodoTask;
+
+/**
+ * Reads tasks from iCalendar (RFC 5545) components.
+ * <p>
+ * A {@code VTODO} with a {@code DUE} date becomes a {@link DeadlineTask}, one without becomes a
+ * {@link TodoTask}, and a {@code VEVENT} becomes an {@link EventTask}. Daily, weekly and monthly
+ * {@code RRULE}s are kept; other repeat rules are reported as errors.
+ */
+class IcsTaskReader {
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final DateTimeFormatter DATE = DateTimeFormatter.BASIC_ISO_DATE;
+
+    /**
+     * Returns whether the given line starts a component that holds a task.
+     *
+     * @param line an unfolded content line
+     * @return true if the line begins a {@code VTODO} or {@code VEVENT}
+     */
+    static boolean isTaskBegin(String line) {
+        return line.equalsIgnoreCase("BEGIN:VTODO") || line.equalsIgnoreCase("BEGIN:VEVENT");
+    }
+
+    /**
+     * Returns whether the given line ends a component that holds a task.
+     *
+     * @param line an unfolded content line
+     * @return true if the line ends a {@code VTODO} or {@code VEVENT}
+     */
+    static boolean isTaskEnd(String line) {
+        return line.equalsIgnoreCase("END:VTODO") || line.equalsIgnoreCase("END:VEVENT");
+    }
+
+    /**
+     * Parses one component into a task.
+     *
+     * @param component the unfolded lines of the component, from {@code BEGIN} to {@code END}, joined by newlines
+     * @return the task described by the component
+     * @throws InvalidTaskFormatException if the component is not a valid task
+     */
+    static Task parse(String component) throws InvalidTaskFormatException {
+        String[] lines = component.split("\n");
+        boolean isEvent = lines[0].equalsIgnoreCase("BEGIN:VEVENT");
+        String summary = null;
+        String due = null;
+        String start = null;
+        String end = null;
+        String rule = null;
+        boolean isCompleted = false;
+        int depth = 0;
+
+        for (int i = 1; i < lines.length; i++) {
+            String line = lines[i];
+            int colon = line.indexOf(':');
+            if (colon < 0) {
+                continue;
+            }
+            String name = line.substring(0, colon).toUpperCase();
+            String value = line.substring(colon + 1);
+
+            // Properties of nested components such as alarms are skipped
+            if (name.equals("BEGIN")) {
+                depth++;
+            } else if (name.equals("END")) {
+                depth--;
+            }
+            if (depth > 0 || name.equals("END")) {
+                continue;
+            }
+
+            int semicolon = name.indexOf(';');
+            switch (semicolon < 0 ? name : name.substring(0, semicolon)) {
+            case "SUMMARY" -> summary = unescape(value).trim();
+            case "DUE" -> due = value;
+            case "DTSTART" -> start = value;
+            case "DTEND" -> end = value;
+            case "RRULE" -> rule = value;
+            case "STATUS" -> isCompleted = value.equalsIgnoreCase("COMPLETED");
+            default -> {
+                // Other properties are not used by S.AI
+            }
+            }
+        }
+
+        if (summary == null || summary.isEmpty()) {
+            throw new InvalidTaskFormatException("Calendar entry has no SUMMARY");
+        }
+
+        Task task;
+        if (isEvent) {
+            if (start == null) {
+                throw new InvalidTaskFormatException("Event has no DTSTART");
+            }
+            LocalDateTime from = parseDate(start, false);
+            task = new EventTask(summary, from, end == null ? from : parseDate(end, false));
+        } else if (due != null) {
+            task = new DeadlineTask(summary, parseDate(due, true));
+        } else {
+            task = new TodoTask(summary);
+        }
+
+        if (isCompleted) {
+            task.mark();
+        }
+        if (rule != null) {
+            if (!(task instanceof DatedTask)) {
+                throw new InvalidTaskFormatException("Only deadlines and events can recur");
+            }
+            ((DatedTask) task).setRecurrence(parseRule(rule));
+        }
+        return task;
+    }
+
+    /**
+     * Parses the value of a date property.
+     * <p>
+     * A date without a time means the end of that day for a due date, following S.AI's own convention,
+     * and the start of that day for the start or end of an event. UTC times are converted to local time.
+     */
+    private static LocalDateTime parseDate(String value, boolean isDue) throws InvalidTaskFormatException {
+        value = value.trim();
+        try {
+            if (value.length() == 8) {
+                LocalDate date = LocalDate.parse(value, DATE);
+                return isDue ? date.atTime(23, 59) : date.atStartOfDay();
+            } else if (value.endsWith("Z")) {
+                LocalDateTime utc = LocalDateTime.parse(value.substring(0, value.length() - 1), DATE_TIME);
+                return utc.atOffset(ZoneOffset.UTC).atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+            }
+            return LocalDateTime.parse(value, DATE_TIME);
+        } catch (DateTimeParseException e) {
+            throw new InvalidTaskFormatException("Unrecognised calendar date: " + value);
+        }
+    }
+
+    private static Recurrence parseRule(String rule) throws InvalidTaskFormatException {
+        Recurrence.Frequency frequency = null;
+        int count = 0;
+        LocalDateTime until = null;
+
+        for (String part : rule.toUpperCase().split(";")) {
+            int eq = part.indexOf('=');
+            String key = eq < 0 ? part : part.substring(0, eq);
+            String value = eq < 0 ? "" : part.substring(eq + 1);
+            switch (key) {
+            case "FREQ" -> {
+                try {
+                    frequency = Recurrence.Frequency.valueOf(value);
+                } catch (IllegalArgumentException e) {
+                    throw new InvalidTaskFormatException("Unsupported repeat rule: " + rule);
+                }
+            }
+            case "COUNT" -> {
+                try {
+                    count = Integer.parseInt(value);
+                } catch (NumberFormatException e) {
+                    throw new InvalidTaskFormatException("Unsupported repeat rule: " + rule);
+                }
+                if (count <= 0) {
+                    throw new InvalidTaskFormatException("Unsupported repeat rule: " + rule);
+                }
+            }
+            case "UNTIL" -> until = parseDate(value, true);
+            case "INTERVAL" -> {
+                if (!value.equals("1")) {
+                    throw new InvalidTaskFormatException("Unsupported repeat rule: " + rule);
+                }
+            }
+            case "WKST" -> {
+                // The week start does not affect simple daily, weekly or monthly rules
+            }
+            default -> throw new InvalidTaskFormatException("Unsupported repeat rule: " + rule);
+            }
+        }
+
+        if (frequency == null) {
+            throw new InvalidTaskFormatException("Repeat rule has no FREQ: " + rule);
+        }
+        return new Recurrence(frequency, count, until);
+    }
+
+    private static String unescape(String text) {
+        StringBuilder sb = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\\' && i + 1 < text.length()) {
+                char next = text.charAt(++i);
+                // Line breaks would split the task across lines in storage
+                sb.append(next == 'n' || next == 'N' ? ' ' : next);
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,74 @@
+package duke.importer;
+
+import java.nio.file.Path;
+
+import duke.exceptions.InvalidTaskFormatException;
+import duke.helper.Parser;
+import duke.helper.Storage;
+import duke.task.Task;
+
+/**
+ * The file formats that {@link TaskImporter} can read.
+ */
+public enum ImportFormat {
+    /** One {@code todo}, {@code deadline} or {@code event} command per line, as typed into S.AI. */
+    COMMANDS,
+    /** The format of the {@code data/sai.txt} storage file. */
+    STORAGE,
+    /** The comma-separated format written by {@code export csv}. */
+    CSV,
+    /** iCalendar, where every {@code VTODO} and {@code VEVENT} becomes a task. */
+    ICS;
+
+    /**
+     * Returns the format implied by the file extension of the given path.
+     *
+     * @param path the file to import
+     * @return the format, or null if the extension does not identify one
+     */
+    public static ImportFormat fromPath(Path path) {
+        String name = path.getFileName() == null ? "" : path.getFileName().toString().toLowerCase();
+        if (name.endsWith(".csv")) {
+            return CSV;
+        } else if (name.endsWith(".ics") || name.endsWith(".ical")) {
+            return ICS;
+        }
+        return null;
+    }
+
+    /**
+     * Guesses the format of a file from its first non-blank line.
+     *
+     * @param firstLine the first non-blank line of the file
+     * @return the detected format; {@link #COMMANDS} if no other format matches
+     */
+    public static ImportFormat detect(String firstLine) {
+        String line = firstLine.trim();
+        if (line.equalsIgnoreCase("BEGIN:VCALENDAR")) {
+            return ICS;
+        } else if (CsvTaskReader.isHeader(line)) {
+            return CSV;
+        } else if (line.matches("[TDE] \\| [01] \\| .*")) {
+            return STORAGE;
+        }
+        return COMMANDS;
+    }
+
+    /**
+     * Parses one record of this format into a task.
+     * <p>
+     * A record is a single line, except for iCalendar, where it is one unfolded component.
+     *
+     * @param record the record to parse
+     * @return the task described by the record
+     * @throws InvalidTaskFormatException if the record is not a valid task
+     */
+    Task parse(String record) throws InvalidTaskFormatException {
+        return switch (this) {
+        case COMMANDS -> Parser.parseTask(record);
+        case STORAGE -> Storage.readLine(record);
+        case CSV -> CsvTaskReader.parse(record);
+        case ICS -> IcsTaskReader.parse(record);
+        };
+    }
+}
@@ -0,0 +1,72 @@
+package duke.importer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import duke.task.Task;
+
+/**
+ * Holds the tasks read from an import file, in file order, together with the records that could not be read.
+ * <p>
+ * Only the first few error messages are kept, so a file full of bad lines does not fill memory with messages.
+ */
+public class ImportResult {
+    /** The number of error messages kept for display. */
+    public static final int ERRORS_KEPT = 10;
+
+    private final List<Task> tasks = new ArrayList<>();
+    private final List<String> errors = new ArrayList<>();
+    private int errorCount = 0;
+    private ImportFormat format;
+
+    void addTask(Task task) {
+        tasks.add(task);
+    }
+
+    void addError(int line, String message) {
+        errorCount++;
+        if (errors.size() < ERRORS_KEPT) {
+            errors.add("Line " + line + ": " + message);
+        }
+    }
+
+    void setFormat(ImportFormat format) {
+        this.format = format;
+    }
+
+    /**
+     * Returns the tasks that were read successfully, in the order they appear in the file.
+     *
+     * @return the tasks read
+     */
+    public List<Task> getTasks() {
+        return tasks;
+    }
+
+    /**
+     * Returns the first {@value #ERRORS_KEPT} error messages, each naming the line it refers to.
+     *
+     * @return the kept error messages
+     */
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    /**
+     * Returns the number of records that could not be read.
+     *
+     * @return the number of errors
+     */
+    public int getErrorCount() {
+        return errorCount;
+    }
+
+    /**
+     * Returns the format the file was read as.
+     *
+     * @return the format, or null if the file was empty
+     */
+    public ImportFormat getFormat() {
+        return format;
+    }
+}
@@ -0,0 +1,155 @@
+package duke.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+/**
+ * Splits an import file into records, one per task, while reading it sequentially.
+ * <p>
+ * Line-based formats have one record per non-blank line. For iCalendar, folded lines are joined
+ * and each {@code VTODO} or {@code VEVENT} component becomes one record. The format is detected
+ * from the first non-blank line unless it is given up front.
+ */
+class RecordReader {
+    private final BufferedReader reader;
+    private ImportFormat format;
+    private boolean isFirstLine = true;
+    private String lookahead;
+    private int lineNumber;
+    private long charsRead;
+
+    private String record;
+    private int recordLine;
+
+    /**
+     * Creates a record reader.
+     *
+     * @param reader the file to read
+     * @param format the format of the file, or null to detect it from the content
+     */
+    RecordReader(BufferedReader reader, ImportFormat format) {
+        this.reader = reader;
+        this.format = format;
+    }
+
+    /**
+     * Advances to the next record.
+     *
+     * @return false if the end of the file has been reached
+     * @throws IOException if reading fails
+     */
+    boolean next() throws IOException {
+        String line;
+        while ((line = readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            if (isFirstLine) {
+                isFirstLine = false;
+                if (format == null) {
+                    format = ImportFormat.detect(line);
+                }
+                if (format == ImportFormat.CSV && CsvTaskReader.isHeader(line.trim())) {
+                    continue;
+                }
+            }
+
+            if (format != ImportFormat.ICS) {
+                record = line;
+                recordLine = lineNumber;
+                return true;
+            } else if (IcsTaskReader.isTaskBegin(line.trim())) {
+                recordLine = lineNumber;
+                record = readComponent(line.trim());
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String readComponent(String begin) throws IOException {
+        StringBuilder sb = new StringBuilder(begin);
+        String line;
+        while ((line = readUnfoldedLine()) != null) {
+            sb.append('\n').append(line);
+            if (IcsTaskReader.isTaskEnd(line.trim())) {
+                break;
+            }
+        }
+        return sb.toString();
+    }
+
+    private String readUnfoldedLine() throws IOException {
+        String line = readLine();
+        if (line == null) {
+            return null;
+        }
+        StringBuilder sb = null;
+        String next;
+        // A line starting with a space or tab continues the previous one
+        while ((next = readLine()) != null && !next.isEmpty() && (next.charAt(0) == ' ' || next.charAt(0) == '\t')) {
+            if (sb == null) {
+                sb = new StringBuilder(line);
+            }
+            sb.append(next, 1, next.length());
+        }
+        lookahead = next;
+        if (next != null) {
+            // The look-ahead line has not been consumed yet
+            lineNumber--;
+        }
+        return sb == null ? line : sb.toString();
+    }
+
+    private String readLine() throws IOException {
+        String line;
+        if (lookahead != null) {
+            line = lookahead;
+            lookahead = null;
+        } else {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+            charsRead += line.length() + 1;
+        }
+        lineNumber++;
+        return line;
+    }
+
+    /**
+     * Returns the current record.
+     *
+     * @return the text of the record
+     */
+    String getRecord() {
+        return record;
+    }
+
+    /**
+     * Returns the line the current record starts on.
+     *
+     * @return the 1-based line number
+     */
+    int getRecordLine() {
+        return recordLine;
+    }
+
+    /**
+     * Returns the format of the file, once it is known.
+     *
+     * @return the format, or null if no non-blank line has been read yet
+     */
+    ImportFormat getFormat() {
+        return format;
+    }
+
+    /**
+     * Returns the number of characters read so far, for reporting progress.
+     *
+     * @return the number of characters read, including line breaks
+     */
+    long getCharsRead() {
+        return charsRead;
+    }
+}
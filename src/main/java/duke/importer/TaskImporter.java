@@ -0,0 +1,155 @@
+package duke.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.DoubleConsumer;
+
+import duke.exceptions.InvalidTaskFormatException;
+import duke.task.Task;
+
+/**
+ * Reads tasks in bulk from a file in any of the {@link ImportFormat}s.
+ * <p>
+ * The file is read sequentially and split into batches of records, which are parsed on a pool of
+ * worker threads. Only a bounded number of batches is in flight at a time, and batches are collected
+ * in file order, so the tasks come out in the order they appear in the file while memory use stays
+ * proportional to the number of tasks rather than the size of the file.
+ * <p>
+ * Importing does not touch the task list; the caller appends the returned tasks in one step.
+ */
+public class TaskImporter {
+    private static final int BATCH_SIZE = 1000;
+    private static final int WORKERS = Math.max(1, Runtime.getRuntime().availableProcessors());
+    private static final int MAX_IN_FLIGHT = WORKERS * 2;
+
+    /**
+     * Reads all tasks from the given file.
+     * <p>
+     * Records that cannot be parsed are reported in the result instead of aborting the import.
+     *
+     * @param path     the file to read
+     * @param progress called on the calling thread with the fraction of the file read so far, from 0 to 1
+     * @return the tasks read and the errors found
+     * @throws IOException if the file cannot be read
+     */
+    public static ImportResult read(Path path, DoubleConsumer progress) throws IOException {
+        long size = Math.max(1, Files.size(path));
+        ImportResult result = new ImportResult();
+        ArrayDeque<Future<Batch>> inFlight = new ArrayDeque<>();
+        ExecutorService workers = Executors.newFixedThreadPool(WORKERS, runnable -> {
+            Thread thread = new Thread(runnable, "sai-import");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            RecordReader records = new RecordReader(reader, ImportFormat.fromPath(path));
+            Batch batch = new Batch();
+            while (records.next()) {
+                batch.add(records.getRecordLine(), records.getRecord());
+                if (batch.size() == BATCH_SIZE) {
+                    batch.charsRead = records.getCharsRead();
+                    submit(workers, inFlight, batch, records.getFormat());
+                    batch = new Batch();
+                    if (inFlight.size() >= MAX_IN_FLIGHT) {
+                        collect(inFlight.poll(), result, progress, size);
+                    }
+                }
+            }
+            batch.charsRead = records.getCharsRead();
+            submit(workers, inFlight, batch, records.getFormat());
+            result.setFormat(records.getFormat());
+
+            while (!inFlight.isEmpty()) {
+                collect(inFlight.poll(), result, progress, size);
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+        progress.accept(1.0);
+        return result;
+    }
+
+    private static void submit(ExecutorService workers, ArrayDeque<Future<Batch>> inFlight, Batch batch,
+            ImportFormat format) {
+        if (batch.size() > 0) {
+            inFlight.add(workers.submit(() -> batch.parse(format)));
+        }
+    }
+
+    private static void collect(Future<Batch> future, ImportResult result, DoubleConsumer progress, long size)
+            throws IOException {
+        Batch batch;
+        try {
+            batch = future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Import was interrupted");
+        } catch (ExecutionException e) {
+            throw new IOException("Import failed: " + e.getCause(), e.getCause());
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            if (batch.tasks[i] != null) {
+                result.addTask(batch.tasks[i]);
+            } else {
+                result.addError(batch.lines.get(i), batch.errors[i]);
+            }
+        }
+        progress.accept(Math.min(1.0, (double) batch.charsRead / size));
+    }
+
+    /**
+     * A run of consecutive records, parsed together by one worker.
+     */
+    private static class Batch {
+        private final List<Integer> lines = new ArrayList<>();
+        private final List<String> records = new ArrayList<>();
+        private Task[] tasks;
+        private String[] errors;
+        private long charsRead;
+
+        void add(int line, String record) {
+            lines.add(line);
+            records.add(record);
+        }
+
+        int size() {
+            return records.size();
+        }
+
+        Batch parse(ImportFormat format) {
+            tasks = new Task[records.size()];
+            errors = new String[records.size()];
+            for (int i = 0; i < records.size(); i++) {
+                try {
+                    tasks[i] = format.parse(records.get(i));
+                } catch (InvalidTaskFormatException | RuntimeException e) {
+                    errors[i] = describe(e);
+                }
+            }
+            return this;
+        }
+
+        private static String describe(Exception e) {
+            String message = e.getMessage();
+            if (message == null || message.isBlank()) {
+                return "This line cannot be read";
+            }
+            // Keep only the first line of multi-line messages such as the list of date formats
+            int newline = message.indexOf('\n');
+            return newline < 0 ? message : message.substring(0, newline);
+        }
+    }
+}
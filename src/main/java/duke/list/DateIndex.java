@@ -0,0 +1,113 @@
+package duke.list;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+import duke.task.DatedTask;
+import duke.task.DeadlineTask;
+import duke.task.EventTask;
+import duke.task.Task;
+
+/**
+ * Indexes dated tasks by their date so that range lookups do not have to scan the whole list.
+ * <p>
+ * A {@link DeadlineTask} is indexed by its deadline and an {@link EventTask} by its start.
+ * Tasks without a date are not indexed. Recurring tasks are kept apart, one entry per rule,
+ * and are returned as candidates for every range; callers check their occurrences lazily.
+ */
+public class DateIndex implements TaskIndex {
+    private final TreeMap<LocalDateTime, Set<Task>> byDate = new TreeMap<>();
+    private final Set<Task> recurring = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    @Override
+    public void onAdd(Task task) {
+        LocalDateTime date = dateOf(task);
+        if (isRecurring(task)) {
+            recurring.add(task);
+        } else if (date != null) {
+            byDate.computeIfAbsent(date, d -> Collections.newSetFromMap(new IdentityHashMap<>())).add(task);
+        }
+    }
+
+    @Override
+    public void onRemove(Task task) {
+        LocalDateTime date = dateOf(task);
+        if (date == null || recurring.remove(task)) {
+            return;
+        }
+        Set<Task> tasks = byDate.get(date);
+        if (tasks != null) {
+            tasks.remove(task);
+            if (tasks.isEmpty()) {
+                byDate.remove(date);
+            }
+        }
+    }
+
+    /**
+     * Counts the tasks dated within the given range, giving up once the count exceeds {@code cap}.
+     * <p>
+     * Capping the count lets a caller that only needs to know whether this range is smaller
+     * than some other candidate stop early.
+     *
+     * @param range the date range to count
+     * @param cap   the count at which to stop
+     * @return the number of tasks in the range, or a number greater than {@code cap}
+     */
+    public int countRange(DateRange range, int cap) {
+        int count = recurring.size();
+        for (Set<Task> tasks : slice(range).values()) {
+            count += tasks.size();
+            if (count > cap) {
+                break;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the one-off tasks dated within the given range, in date order,
+     * followed by every recurring task.
+     *
+     * @param range the date range to look up
+     * @return the candidate tasks for the range
+     */
+    public List<Task> findRange(DateRange range) {
+        List<Task> results = new ArrayList<>(recurring);
+        for (Set<Task> tasks : slice(range).values()) {
+            results.addAll(tasks);
+        }
+        return results;
+    }
+
+    private NavigableMap<LocalDateTime, Set<Task>> slice(DateRange range) {
+        NavigableMap<LocalDateTime, Set<Task>> map = byDate;
+        if (range.getFrom() != null) {
+            map = map.tailMap(range.getFrom(), range.isFromInclusive());
+        }
+        if (range.getTo() != null) {
+            map = map.headMap(range.getTo(), range.isToInclusive());
+        }
+        return map;
+    }
+
+    /**
+     * Returns the date under which a task is indexed.
+     *
+     * @param task the task to inspect
+     * @return the deadline of a {@link DeadlineTask}, the start of an {@link EventTask}, or null otherwise
+     */
+    public static LocalDateTime dateOf(Task task) {
+        return task instanceof DatedTask ? ((DatedTask) task).getDate() : null;
+    }
+
+    private static boolean isRecurring(Task task) {
+        return task instanceof DatedTask && ((DatedTask) task).isRecurring();
+    }
+}
@@ -0,0 +1,120 @@
+package duke.list;
+
+import java.time.LocalDateTime;
+
+/**
+ * Represents a range of dates whose bounds may be open, closed or missing.
+ */
+public class DateRange {
+    private final LocalDateTime from;
+    private final boolean isFromInclusive;
+    private final LocalDateTime to;
+    private final boolean isToInclusive;
+
+    /**
+     * Creates a date range.
+     *
+     * @param from            lower bound, or null if unbounded below
+     * @param isFromInclusive whether the lower bound is part of the range
+     * @param to              upper bound, or null if unbounded above
+     * @param isToInclusive   whether the upper bound is part of the range
+     */
+    public DateRange(LocalDateTime from, boolean isFromInclusive, LocalDateTime to, boolean isToInclusive) {
+        this.from = from;
+        this.isFromInclusive = isFromInclusive;
+        this.to = to;
+        this.isToInclusive = isToInclusive;
+    }
+
+    /**
+     * Returns a range covering every date.
+     *
+     * @return an unbounded range
+     */
+    public static DateRange all() {
+        return new DateRange(null, false, null, false);
+    }
+
+    /** Returns the lower bound of the range, or null if it is unbounded below. */
+    public LocalDateTime getFrom() {
+        return from;
+    }
+
+    /** Returns whether the lower bound is part of the range. */
+    public boolean isFromInclusive() {
+        return isFromInclusive;
+    }
+
+    /** Returns the upper bound of the range, or null if it is unbounded above. */
+    public LocalDateTime getTo() {
+        return to;
+    }
+
+    /** Returns whether the upper bound is part of the range. */
+    public boolean isToInclusive() {
+        return isToInclusive;
+    }
+
+    /**
+     * Returns whether the range has at least one bound.
+     *
+     * @return true if the range is bounded on either side
+     */
+    public boolean isBounded() {
+        return from != null || to != null;
+    }
+
+    /**
+     * Returns the intersection of this range with another.
+     *
+     * @param other the range to intersect with
+     * @return a range containing the dates that lie in both ranges
+     */
+    public DateRange intersect(DateRange other) {
+        LocalDateTime newFrom = from;
+        boolean newFromInclusive = isFromInclusive;
+        if (other.from != null && (from == null || other.from.isAfter(from)
+                || (other.from.equals(from) && !other.isFromInclusive))) {
+            newFrom = other.from;
+            newFromInclusive = other.isFromInclusive;
+        }
+
+        LocalDateTime newTo = to;
+        boolean newToInclusive = isToInclusive;
+        if (other.to != null && (to == null || other.to.isBefore(to)
+                || (other.to.equals(to) && !other.isToInclusive))) {
+            newTo = other.to;
+            newToInclusive = other.isToInclusive;
+        }
+        return new DateRange(newFrom, newFromInclusive, newTo, newToInclusive);
+    }
+
+    /**
+     * Returns whether the given date lies within this range.
+     *
+     * @param date the date to test
+     * @return true if the date is within the range
+     */
+    public boolean contains(LocalDateTime date) {
+        if (from != null) {
+            int cmp = date.compareTo(from);
+            if (cmp < 0 || (cmp == 0 && !isFromInclusive)) {
+                return false;
+            }
+        }
+        if (to != null) {
+            int cmp = date.compareTo(to);
+            if (cmp > 0 || (cmp == 0 && !isToInclusive)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return (from == null ? "(-inf" : (isFromInclusive ? "[" : "(") + from)
+                + ", "
+                + (to == null ? "+inf)" : to + (isToInclusive ? "]" : ")"));
+    }
+}
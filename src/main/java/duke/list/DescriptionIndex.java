@@ -0,0 +1,83 @@
+package duke.list;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import duke.task.Task;
+
+/**
+ * Indexes tasks by the words in their descriptions using a {@link PrefixTrie}.
+ * <p>
+ * Words are lower-cased and split on any character that is not a letter or digit,
+ * so {@code "Return book!"} is indexed under {@code "return"} and {@code "book"}.
+ */
+public class DescriptionIndex implements TaskIndex {
+    private final PrefixTrie<Task> trie = new PrefixTrie<>();
+
+    @Override
+    public void onAdd(Task task) {
+        for (String word : splitWords(task.getDescription())) {
+            trie.insert(word, task);
+        }
+    }
+
+    @Override
+    public void onRemove(Task task) {
+        for (String word : splitWords(task.getDescription())) {
+            trie.remove(word, task);
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} tasks having a description word that starts with the given prefix.
+     *
+     * @param prefix the word prefix to look up
+     * @param limit  the maximum number of tasks to return
+     * @return the matching tasks
+     */
+    public List<Task> findByPrefix(String prefix, int limit) {
+        return trie.findValues(prefix.toLowerCase(), limit);
+    }
+
+    /**
+     * Returns up to {@code limit} indexed words that start with the given prefix.
+     *
+     * @param prefix the word prefix to complete
+     * @param limit  the maximum number of words to return
+     * @return the matching words in lexicographic order
+     */
+    public List<String> completeWord(String prefix, int limit) {
+        return trie.completeWords(prefix.toLowerCase(), limit);
+    }
+
+    /**
+     * Returns the number of indexed (word, task) pairs whose word starts with the given prefix.
+     *
+     * @param prefix the word prefix to count
+     * @return the number of matching entries
+     */
+    public int countByPrefix(String prefix) {
+        return trie.countPrefix(prefix.toLowerCase());
+    }
+
+    /**
+     * Splits a description into lower-cased words.
+     *
+     * @param description the text to split
+     * @return the words contained in the text
+     */
+    public static List<String> splitWords(String description) {
+        List<String> words = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= description.length(); i++) {
+            boolean isWordChar = i < description.length() && Character.isLetterOrDigit(description.charAt(i));
+            if (isWordChar && start < 0) {
+                start = i;
+            } else if (!isWordChar && start >= 0) {
+                words.add(description.substring(start, i).toLowerCase());
+                start = -1;
+            }
+        }
+        return words;
+    }
+}
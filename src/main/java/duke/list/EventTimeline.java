@@ -0,0 +1,176 @@
+package duke.list;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import duke.task.EventTask;
+import duke.task.Occurrence;
+import duke.task.Task;
+
+/**
+ * Keeps the events of a list in start order, so free time and clashes can be found by one sweep.
+ * <p>
+ * One-off events are kept sorted by start as they are added and removed, together with the longest event
+ * length. The events that may overlap a range are then those starting between the range's start less the
+ * longest length and the range's end, already in order, and a single sweep over them, keeping the latest end
+ * seen so far, finds the gaps between them. Recurring events are kept apart, one entry per rule, and their
+ * occurrences in the range are merged in at query time.
+ */
+public class EventTimeline implements TaskIndex {
+    private final TreeMap<LocalDateTime, List<EventTask>> byStart = new TreeMap<>();
+    /** The lengths of the one-off events, counted, so the longest is known after removals too. */
+    private final TreeMap<Duration, Integer> lengths = new TreeMap<>();
+    private final Set<EventTask> recurring = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    @Override
+    public void onAdd(Task task) {
+        if (!(task instanceof EventTask)) {
+            return;
+        }
+        EventTask event = (EventTask) task;
+        if (event.isRecurring()) {
+            recurring.add(event);
+            return;
+        }
+        byStart.computeIfAbsent(event.getStart(), s -> new ArrayList<>(1)).add(event);
+        lengths.merge(lengthOf(event), 1, Integer::sum);
+    }
+
+    @Override
+    public void onRemove(Task task) {
+        if (!(task instanceof EventTask) || recurring.remove(task)) {
+            return;
+        }
+        EventTask event = (EventTask) task;
+        List<EventTask> events = byStart.get(event.getStart());
+        if (events == null || !events.removeIf(e -> e == event)) {
+            return;
+        }
+        if (events.isEmpty()) {
+            byStart.remove(event.getStart());
+        }
+        lengths.computeIfPresent(lengthOf(event), (length, count) -> count == 1 ? null : count - 1);
+    }
+
+    /**
+     * Returns the gaps between events within a range that are at least a given length.
+     *
+     * @param from      the start of the range (inclusive)
+     * @param to        the end of the range (exclusive)
+     * @param minLength the shortest gap to return
+     * @return the free slots, in order
+     */
+    public List<TimeSlot> findFree(LocalDateTime from, LocalDateTime to, Duration minLength) {
+        List<TimeSlot> free = new ArrayList<>();
+        LocalDateTime cursor = from;
+        for (TimeSlot busy : this.findBusy(from, to)) {
+            if (isAtLeast(cursor, busy.getStart(), minLength)) {
+                free.add(new TimeSlot(cursor, busy.getStart()));
+            }
+            if (busy.getEnd().isAfter(cursor)) {
+                cursor = busy.getEnd();
+            }
+            if (!cursor.isBefore(to)) {
+                return free;
+            }
+        }
+        if (isAtLeast(cursor, to, minLength)) {
+            free.add(new TimeSlot(cursor, to));
+        }
+        return free;
+    }
+
+    /**
+     * Returns the event occurrences that overlap a span of time, in start order.
+     * Occurrences that only touch the span, ending as it starts or starting as it ends, do not overlap it.
+     *
+     * @param start the start of the span (inclusive)
+     * @param end   the end of the span (exclusive)
+     * @return the overlapping occurrences
+     */
+    public List<Occurrence> findOverlaps(LocalDateTime start, LocalDateTime end) {
+        List<Occurrence> overlaps = new ArrayList<>();
+        for (Map.Entry<LocalDateTime, List<EventTask>> entry : this.candidates(start, end).entrySet()) {
+            for (EventTask event : entry.getValue()) {
+                if (event.getEnd().isAfter(start)) {
+                    overlaps.add(new Occurrence(event, 0, event.getStart()));
+                }
+            }
+        }
+        for (EventTask event : recurring) {
+            Duration length = lengthOf(event);
+            Iterator<Occurrence> it = event.occurrencesFrom(start.minus(length));
+            while (it.hasNext()) {
+                Occurrence occurrence = it.next();
+                if (!occurrence.getStart().isBefore(end)) {
+                    break;
+                }
+                if (occurrence.getStart().plus(length).isAfter(start)) {
+                    overlaps.add(occurrence);
+                }
+            }
+        }
+        overlaps.sort(Comparator.comparing(Occurrence::getStart));
+        return overlaps;
+    }
+
+    /**
+     * Returns the busy spans that may overlap a range, sorted by start.
+     */
+    private List<TimeSlot> findBusy(LocalDateTime from, LocalDateTime to) {
+        List<TimeSlot> busy = new ArrayList<>();
+        for (List<EventTask> events : this.candidates(from, to).values()) {
+            for (EventTask event : events) {
+                busy.add(new TimeSlot(event.getStart(), event.getEnd()));
+            }
+        }
+        if (recurring.isEmpty()) {
+            // One-off events come out of the map already in start order
+            return busy;
+        }
+        for (EventTask event : recurring) {
+            Duration length = lengthOf(event);
+            Iterator<Occurrence> it = event.occurrencesFrom(from.minus(length));
+            while (it.hasNext()) {
+                LocalDateTime start = it.next().getStart();
+                if (!start.isBefore(to)) {
+                    break;
+                }
+                busy.add(new TimeSlot(start, start.plus(length)));
+            }
+        }
+        busy.sort(Comparator.comparing(TimeSlot::getStart));
+        return busy;
+    }
+
+    /**
+     * Returns the one-off events that start early enough to reach into a range and before it ends.
+     */
+    private Map<LocalDateTime, List<EventTask>> candidates(LocalDateTime from, LocalDateTime to) {
+        if (byStart.isEmpty() || !from.isBefore(to)) {
+            return Map.of();
+        }
+        return byStart.subMap(from.minus(lengths.lastKey()), true, to, false);
+    }
+
+    /**
+     * Returns whether a gap from one time to a later one is not empty and at least the given length.
+     */
+    private static boolean isAtLeast(LocalDateTime from, LocalDateTime to, Duration minLength) {
+        return from.isBefore(to) && Duration.between(from, to).compareTo(minLength) >= 0;
+    }
+
+    private static Duration lengthOf(EventTask event) {
+        Duration length = Duration.between(event.getStart(), event.getEnd());
+        return length.isNegative() ? Duration.ZERO : length;
+    }
+}
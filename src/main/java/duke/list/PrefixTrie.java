@@ -0,0 +1,179 @@
+package duke.list;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * A character trie mapping words to the values that contain them.
+ * <p>
+ * Each node keeps the number of values stored in its subtree, so the size of a prefix match
+ * is known without walking the subtree. Values are compared by identity.
+ * All operations are synchronised, so lookups may run on a background thread
+ * while the owning thread keeps inserting and removing words.
+ *
+ * @param <V> the type of value associated with each word
+ */
+public class PrefixTrie<V> {
+    private final Node<V> root = new Node<>();
+
+    private static class Node<V> {
+        private final TreeMap<Character, Node<V>> children = new TreeMap<>();
+        private Set<V> values;
+        private int subtreeCount;
+
+        private boolean isTerminal() {
+            return values != null && !values.isEmpty();
+        }
+    }
+
+    /**
+     * Associates the given value with a word.
+     *
+     * @param word  the word to insert
+     * @param value the value to associate with the word
+     */
+    public synchronized void insert(String word, V value) {
+        if (word.isEmpty()) {
+            return;
+        }
+        Node<V> node = root;
+        List<Node<V>> path = new ArrayList<>(word.length() + 1);
+        path.add(node);
+        for (int i = 0; i < word.length(); i++) {
+            node = node.children.computeIfAbsent(word.charAt(i), c -> new Node<>());
+            path.add(node);
+        }
+        if (node.values == null) {
+            node.values = Collections.newSetFromMap(new IdentityHashMap<>());
+        }
+        if (node.values.add(value)) {
+            for (Node<V> n : path) {
+                n.subtreeCount++;
+            }
+        }
+    }
+
+    /**
+     * Removes the association between the given value and a word, pruning nodes that become empty.
+     *
+     * @param word  the word to remove the value from
+     * @param value the value to disassociate
+     */
+    public synchronized void remove(String word, V value) {
+        Node<V> node = root;
+        List<Node<V>> path = new ArrayList<>(word.length() + 1);
+        path.add(node);
+        for (int i = 0; i < word.length() && node != null; i++) {
+            node = node.children.get(word.charAt(i));
+            path.add(node);
+        }
+        if (node == null || node.values == null || !node.values.remove(value)) {
+            return;
+        }
+        for (int i = path.size() - 1; i >= 0; i--) {
+            Node<V> n = path.get(i);
+            n.subtreeCount--;
+            if (i > 0 && n.subtreeCount == 0) {
+                path.get(i - 1).children.remove(word.charAt(i - 1));
+            }
+        }
+    }
+
+    /**
+     * Returns the number of (word, value) pairs whose word starts with the given prefix.
+     *
+     * @param prefix the prefix to count
+     * @return the number of matching entries
+     */
+    public synchronized int countPrefix(String prefix) {
+        Node<V> node = find(prefix);
+        return node == null ? 0 : node.subtreeCount;
+    }
+
+    /**
+     * Returns up to {@code limit} distinct words starting with the given prefix, in lexicographic order.
+     *
+     * @param prefix the prefix to complete
+     * @param limit  the maximum number of words to return
+     * @return the matching words
+     */
+    public synchronized List<String> completeWords(String prefix, int limit) {
+        List<String> words = new ArrayList<>();
+        Node<V> start = find(prefix);
+        if (start != null) {
+            collectWords(start, new StringBuilder(prefix), words, limit);
+        }
+        return words;
+    }
+
+    /**
+     * Returns up to {@code limit} distinct values associated with any word starting with the given prefix.
+     * <p>
+     * The walk stops as soon as enough values have been found, so the cost is bounded by the limit
+     * rather than by the size of the matching subtree.
+     *
+     * @param prefix the prefix to look up
+     * @param limit  the maximum number of values to return
+     * @return the matching values
+     */
+    public synchronized List<V> findValues(String prefix, int limit) {
+        Set<V> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<V> results = new ArrayList<>();
+        Node<V> start = find(prefix);
+        if (start == null) {
+            return results;
+        }
+
+        Deque<Node<V>> stack = new ArrayDeque<>();
+        stack.push(start);
+        while (!stack.isEmpty() && results.size() < limit) {
+            Node<V> node = stack.pop();
+            if (node.isTerminal()) {
+                for (V value : node.values) {
+                    if (results.size() >= limit) {
+                        break;
+                    }
+                    if (seen.add(value)) {
+                        results.add(value);
+                    }
+                }
+            }
+            for (Node<V> child : node.children.descendingMap().values()) {
+                stack.push(child);
+            }
+        }
+        return results;
+    }
+
+    private Node<V> find(String prefix) {
+        Node<V> node = root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.children.get(prefix.charAt(i));
+        }
+        return node;
+    }
+
+    private void collectWords(Node<V> node, StringBuilder sb, List<String> words, int limit) {
+        if (words.size() >= limit) {
+            return;
+        }
+        if (node.isTerminal()) {
+            words.add(sb.toString());
+        }
+        for (Map.Entry<Character, Node<V>> entry : node.children.entrySet()) {
+            if (words.size() >= limit) {
+                return;
+            }
+            sb.append(entry.getKey());
+            collectWords(entry.getValue(), sb, words, limit);
+            sb.setLength(sb.length() - 1);
+        }
+    }
+}
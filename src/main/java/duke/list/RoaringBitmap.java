@@ -0,0 +1,536 @@
+package duke.list;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * A compressed set of non-negative integers, split into chunks of 65536 values by their high 16 bits.
+ * <p>
+ * Each chunk keeps its low 16 bits in whichever container is smaller: a sorted array while it holds at
+ * most {@value #ARRAY_LIMIT} values, or a bitmap of 1024 words once it holds more. Intersections, unions
+ * and differences work chunk by chunk, so dense chunks are combined a 64-bit word at a time and sparse
+ * ones by merging their arrays.
+ */
+public class RoaringBitmap {
+    /** The most values a chunk keeps in an array before switching to a bitmap. */
+    static final int ARRAY_LIMIT = 4096;
+    private static final int WORDS = 1024;
+
+    private char[] keys = new char[4];
+    private Container[] containers = new Container[4];
+    private int size;
+
+    /**
+     * Adds a value to the set.
+     *
+     * @param value the value to add
+     * @throws IllegalArgumentException if the value is negative
+     */
+    public void add(int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Negative value: " + value);
+        }
+        char key = (char) (value >>> 16);
+        int i = this.find(key);
+        if (i < 0) {
+            i = -i - 1;
+            this.insert(i, key, new ArrayContainer());
+        }
+        containers[i] = containers[i].add((char) value);
+    }
+
+    /**
+     * Removes a value from the set, if it is there.
+     *
+     * @param value the value to remove
+     */
+    public void remove(int value) {
+        if (value < 0) {
+            return;
+        }
+        int i = this.find((char) (value >>> 16));
+        if (i < 0) {
+            return;
+        }
+        containers[i] = containers[i].remove((char) value);
+        if (containers[i].cardinality() == 0) {
+            System.arraycopy(keys, i + 1, keys, i, size - i - 1);
+            System.arraycopy(containers, i + 1, containers, i, size - i - 1);
+            size--;
+            containers[size] = null;
+        }
+    }
+
+    /**
+     * Returns whether the set holds a value.
+     *
+     * @param value the value to look for
+     * @return true if the value is in the set
+     */
+    public boolean contains(int value) {
+        if (value < 0) {
+            return false;
+        }
+        int i = this.find((char) (value >>> 16));
+        return i >= 0 && containers[i].contains((char) value);
+    }
+
+    /**
+     * Returns the number of values in the set.
+     *
+     * @return the number of values
+     */
+    public int cardinality() {
+        int cardinality = 0;
+        for (int i = 0; i < size; i++) {
+            cardinality += containers[i].cardinality();
+        }
+        return cardinality;
+    }
+
+    /**
+     * Returns whether the set is empty.
+     *
+     * @return true if the set holds no values
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Calls the consumer with every value in the set, in increasing order.
+     *
+     * @param consumer called with each value
+     */
+    public void forEach(IntConsumer consumer) {
+        for (int i = 0; i < size; i++) {
+            containers[i].forEach(keys[i] << 16, consumer);
+        }
+    }
+
+    /**
+     * Returns the values in the set, in increasing order.
+     *
+     * @return the values
+     */
+    public int[] toArray() {
+        int[] values = new int[this.cardinality()];
+        int[] next = new int[1];
+        this.forEach(value -> values[next[0]++] = value);
+        return values;
+    }
+
+    /**
+     * Returns the values in both sets.
+     *
+     * @param a the first set
+     * @param b the second set
+     * @return a new set holding the intersection
+     */
+    public static RoaringBitmap and(RoaringBitmap a, RoaringBitmap b) {
+        RoaringBitmap result = new RoaringBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < a.size && j < b.size) {
+            if (a.keys[i] < b.keys[j]) {
+                i++;
+            } else if (a.keys[i] > b.keys[j]) {
+                j++;
+            } else {
+                result.append(a.keys[i], a.containers[i].and(b.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the values in either set.
+     *
+     * @param a the first set
+     * @param b the second set
+     * @return a new set holding the union
+     */
+    public static RoaringBitmap or(RoaringBitmap a, RoaringBitmap b) {
+        RoaringBitmap result = new RoaringBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < a.size || j < b.size) {
+            if (j == b.size || (i < a.size && a.keys[i] < b.keys[j])) {
+                result.append(a.keys[i], a.containers[i].copy());
+                i++;
+            } else if (i == a.size || a.keys[i] > b.keys[j]) {
+                result.append(b.keys[j], b.containers[j].copy());
+                j++;
+            } else {
+                result.append(a.keys[i], a.containers[i].or(b.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the values in the first set that are not in the second.
+     *
+     * @param a the set to take values from
+     * @param b the set of values to leave out
+     * @return a new set holding the difference
+     */
+    public static RoaringBitmap andNot(RoaringBitmap a, RoaringBitmap b) {
+        RoaringBitmap result = new RoaringBitmap();
+        int j = 0;
+        for (int i = 0; i < a.size; i++) {
+            while (j < b.size && b.keys[j] < a.keys[i]) {
+                j++;
+            }
+            boolean isShared = j < b.size && b.keys[j] == a.keys[i];
+            result.append(a.keys[i], isShared ? a.containers[i].andNot(b.containers[j]) : a.containers[i].copy());
+        }
+        return result;
+    }
+
+    private int find(char key) {
+        // Appends are the common case, since task identifiers only grow
+        if (size > 0 && keys[size - 1] == key) {
+            return size - 1;
+        }
+        return Arrays.binarySearch(keys, 0, size, key);
+    }
+
+    private void insert(int i, char key, Container container) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            containers = Arrays.copyOf(containers, size * 2);
+        }
+        System.arraycopy(keys, i, keys, i + 1, size - i);
+        System.arraycopy(containers, i, containers, i + 1, size - i);
+        keys[i] = key;
+        containers[i] = container;
+        size++;
+    }
+
+    /**
+     * Adds a chunk after all chunks so far, leaving out empty ones.
+     */
+    private void append(char key, Container container) {
+        if (container.cardinality() > 0) {
+            this.insert(size, key, container);
+        }
+    }
+
+    /**
+     * The low 16 bits of the values in one chunk.
+     */
+    private abstract static class Container {
+        abstract Container add(char value);
+
+        abstract Container remove(char value);
+
+        abstract boolean contains(char value);
+
+        abstract int cardinality();
+
+        abstract void forEach(int high, IntConsumer consumer);
+
+        abstract Container copy();
+
+        abstract Container and(Container other);
+
+        abstract Container or(Container other);
+
+        abstract Container andNot(Container other);
+
+        /**
+         * Returns the given words, holding the given number of set bits, as the smaller of the two containers.
+         */
+        static Container of(long[] words, int cardinality) {
+            if (cardinality > ARRAY_LIMIT) {
+                return new BitmapContainer(words, cardinality);
+            }
+            char[] values = new char[cardinality];
+            int n = 0;
+            for (int w = 0; w < WORDS; w++) {
+                long word = words[w];
+                while (word != 0) {
+                    values[n++] = (char) (w * 64 + Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+            return new ArrayContainer(values, cardinality);
+        }
+    }
+
+    /**
+     * A sparse chunk, kept as a sorted array.
+     */
+    private static class ArrayContainer extends Container {
+        private char[] values;
+        private int cardinality;
+
+        ArrayContainer() {
+            this(new char[4], 0);
+        }
+
+        ArrayContainer(char[] values, int cardinality) {
+            this.values = values;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        Container add(char value) {
+            int i = this.indexOf(value);
+            if (i >= 0) {
+                return this;
+            }
+            if (cardinality == ARRAY_LIMIT) {
+                return this.toBitmap().add(value);
+            }
+            i = -i - 1;
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, Math.min(ARRAY_LIMIT, cardinality * 2));
+            }
+            System.arraycopy(values, i, values, i + 1, cardinality - i);
+            values[i] = value;
+            cardinality++;
+            return this;
+        }
+
+        @Override
+        Container remove(char value) {
+            int i = this.indexOf(value);
+            if (i >= 0) {
+                System.arraycopy(values, i + 1, values, i, cardinality - i - 1);
+                cardinality--;
+            }
+            return this;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return this.indexOf(value) >= 0;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        void forEach(int high, IntConsumer consumer) {
+            for (int i = 0; i < cardinality; i++) {
+                consumer.accept(high | values[i]);
+            }
+        }
+
+        @Override
+        Container copy() {
+            return new ArrayContainer(Arrays.copyOf(values, Math.max(cardinality, 1)), cardinality);
+        }
+
+        @Override
+        Container and(Container other) {
+            char[] result = new char[cardinality];
+            int n = 0;
+            if (other instanceof BitmapContainer) {
+                for (int i = 0; i < cardinality; i++) {
+                    if (other.contains(values[i])) {
+                        result[n++] = values[i];
+                    }
+                }
+                return new ArrayContainer(result, n);
+            }
+            ArrayContainer array = (ArrayContainer) other;
+            int j = 0;
+            for (int i = 0; i < cardinality && j < array.cardinality; ) {
+                if (values[i] < array.values[j]) {
+                    i++;
+                } else if (values[i] > array.values[j]) {
+                    j++;
+                } else {
+                    result[n++] = values[i];
+                    i++;
+                    j++;
+                }
+            }
+            return new ArrayContainer(result, n);
+        }
+
+        @Override
+        Container or(Container other) {
+            if (other instanceof BitmapContainer) {
+                return other.or(this);
+            }
+            ArrayContainer array = (ArrayContainer) other;
+            if (cardinality + array.cardinality > ARRAY_LIMIT) {
+                return this.toBitmap().or(array);
+            }
+            char[] result = new char[cardinality + array.cardinality];
+            int n = 0;
+            int i = 0;
+            int j = 0;
+            while (i < cardinality || j < array.cardinality) {
+                if (j == array.cardinality || (i < cardinality && values[i] < array.values[j])) {
+                    result[n++] = values[i++];
+                } else if (i == cardinality || values[i] > array.values[j]) {
+                    result[n++] = array.values[j++];
+                } else {
+                    result[n++] = values[i++];
+                    j++;
+                }
+            }
+            return new ArrayContainer(result, n);
+        }
+
+        @Override
+        Container andNot(Container other) {
+            char[] result = new char[cardinality];
+            int n = 0;
+            for (int i = 0; i < cardinality; i++) {
+                if (!other.contains(values[i])) {
+                    result[n++] = values[i];
+                }
+            }
+            return new ArrayContainer(result, n);
+        }
+
+        private int indexOf(char value) {
+            return Arrays.binarySearch(values, 0, cardinality, value);
+        }
+
+        private BitmapContainer toBitmap() {
+            long[] words = new long[WORDS];
+            for (int i = 0; i < cardinality; i++) {
+                words[values[i] >>> 6] |= 1L << values[i];
+            }
+            return new BitmapContainer(words, cardinality);
+        }
+    }
+
+    /**
+     * A dense chunk, kept as one bit per value.
+     */
+    private static class BitmapContainer extends Container {
+        private final long[] words;
+        private int cardinality;
+
+        BitmapContainer(long[] words, int cardinality) {
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        Container add(char value) {
+            long bit = 1L << value;
+            if ((words[value >>> 6] & bit) == 0) {
+                words[value >>> 6] |= bit;
+                cardinality++;
+            }
+            return this;
+        }
+
+        @Override
+        Container remove(char value) {
+            long bit = 1L << value;
+            if ((words[value >>> 6] & bit) != 0) {
+                words[value >>> 6] &= ~bit;
+                cardinality--;
+                if (cardinality <= ARRAY_LIMIT) {
+                    return Container.of(words, cardinality);
+                }
+            }
+            return this;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return (words[value >>> 6] & (1L << value)) != 0;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        void forEach(int high, IntConsumer consumer) {
+            for (int w = 0; w < WORDS; w++) {
+                long word = words[w];
+                while (word != 0) {
+                    consumer.accept(high | (w * 64 + Long.numberOfTrailingZeros(word)));
+                    word &= word - 1;
+                }
+            }
+        }
+
+        @Override
+        Container copy() {
+            return new BitmapContainer(words.clone(), cardinality);
+        }
+
+        @Override
+        Container and(Container other) {
+            if (other instanceof ArrayContainer) {
+                return other.and(this);
+            }
+            long[] otherWords = ((BitmapContainer) other).words;
+            long[] result = new long[WORDS];
+            int count = 0;
+            for (int w = 0; w < WORDS; w++) {
+                result[w] = words[w] & otherWords[w];
+                count += Long.bitCount(result[w]);
+            }
+            return Container.of(result, count);
+        }
+
+        @Override
+        Container or(Container other) {
+            long[] result = words.clone();
+            int count = cardinality;
+            if (other instanceof ArrayContainer) {
+                ArrayContainer array = (ArrayContainer) other;
+                for (int i = 0; i < array.cardinality; i++) {
+                    long bit = 1L << array.values[i];
+                    if ((result[array.values[i] >>> 6] & bit) == 0) {
+                        result[array.values[i] >>> 6] |= bit;
+                        count++;
+                    }
+                }
+            } else {
+                long[] otherWords = ((BitmapContainer) other).words;
+                count = 0;
+                for (int w = 0; w < WORDS; w++) {
+                    result[w] |= otherWords[w];
+                    count += Long.bitCount(result[w]);
+                }
+            }
+            return Container.of(result, count);
+        }
+
+        @Override
+        Container andNot(Container other) {
+            long[] result = words.clone();
+            int count = cardinality;
+            if (other instanceof ArrayContainer) {
+                ArrayContainer array = (ArrayContainer) other;
+                for (int i = 0; i < array.cardinality; i++) {
+                    long bit = 1L << array.values[i];
+                    if ((result[array.values[i] >>> 6] & bit) != 0) {
+                        result[array.values[i] >>> 6] &= ~bit;
+                        count--;
+                    }
+                }
+            } else {
+                long[] otherWords = ((BitmapContainer) other).words;
+                count = 0;
+                for (int w = 0; w < WORDS; w++) {
+                    result[w] &= ~otherWords[w];
+                    count += Long.bitCount(result[w]);
+                }
+            }
+            return Container.of(result, count);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package duke.list;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import duke.task.Task;
+
+/**
+ * Indexes tasks by completion status.
+ */
+public class StatusIndex implements TaskIndex {
+    private final Set<Task> done = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Set<Task> undone = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    @Override
+    public void onAdd(Task task) {
+        (task.isDone() ? done : undone).add(task);
+    }
+
+    @Override
+    public void onRemove(Task task) {
+        done.remove(task);
+        undone.remove(task);
+    }
+
+    @Override
+    public void onStatusChange(Task task) {
+        onRemove(task);
+        onAdd(task);
+    }
+
+    /**
+     * Returns the number of tasks with the given status.
+     *
+     * @param isDone the status to count
+     * @return the number of tasks with that status
+     */
+    public int count(boolean isDone) {
+        return (isDone ? done : undone).size();
+    }
+
+    /**
+     * Returns the tasks with the given status, in no particular order.
+     *
+     * @param isDone the status to look up
+     * @return the tasks with that status
+     */
+    public List<Task> find(boolean isDone) {
+        return new ArrayList<>(isDone ? done : undone);
+    }
+}
@@ -0,0 +1,167 @@
+package duke.list;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import duke.task.Task;
+
+/**
+ * Indexes tasks by tag, kind and completion status as compressed bitmaps of task identifiers.
+ * <p>
+ * Since every set is a {@link RoaringBitmap}, a filter such as "tagged work, not done and a deadline"
+ * is worked out by intersecting and subtracting whole bitmaps rather than by looking at each task.
+ * Identifiers increase in list order, so the tasks in a bitmap come out in list order too.
+ */
+public class TagIndex implements TaskIndex {
+    private final Map<String, RoaringBitmap> tags = new HashMap<>();
+    private RoaringBitmap all = new RoaringBitmap();
+    private RoaringBitmap done = new RoaringBitmap();
+    private final RoaringBitmap[] kinds = new RoaringBitmap[TaskCounters.Kind.values().length];
+
+    /**
+     * Creates an empty tag index.
+     */
+    public TagIndex() {
+        for (int i = 0; i < kinds.length; i++) {
+            kinds[i] = new RoaringBitmap();
+        }
+    }
+
+    @Override
+    public void onAdd(Task task) {
+        int id = task.getId();
+        all.add(id);
+        kinds[TaskCounters.Kind.of(task).ordinal()].add(id);
+        if (task.isDone()) {
+            done.add(id);
+        }
+        for (String tag : task.getTags()) {
+            tags.computeIfAbsent(tag, t -> new RoaringBitmap()).add(id);
+        }
+    }
+
+    @Override
+    public void onRemove(Task task) {
+        int id = task.getId();
+        all.remove(id);
+        kinds[TaskCounters.Kind.of(task).ordinal()].remove(id);
+        done.remove(id);
+        for (String tag : task.getTags()) {
+            RoaringBitmap bitmap = tags.get(tag);
+            if (bitmap != null) {
+                bitmap.remove(id);
+                if (bitmap.isEmpty()) {
+                    tags.remove(tag);
+                }
+            }
+        }
+    }
+
+    /**
+     * Drops the removed tasks by subtracting one bitmap of their identifiers from each set, rather than
+     * removing them one at a time.
+     */
+    @Override
+    public void onRemoveAll(List<Task> removed) {
+        RoaringBitmap ids = new RoaringBitmap();
+        Set<String> touched = new HashSet<>();
+        for (Task task : removed) {
+            ids.add(task.getId());
+            touched.addAll(task.getTags());
+        }
+        all = RoaringBitmap.andNot(all, ids);
+        done = RoaringBitmap.andNot(done, ids);
+        for (int i = 0; i < kinds.length; i++) {
+            kinds[i] = RoaringBitmap.andNot(kinds[i], ids);
+        }
+        for (String tag : touched) {
+            RoaringBitmap bitmap = RoaringBitmap.andNot(tags.get(tag), ids);
+            if (bitmap.isEmpty()) {
+                tags.remove(tag);
+            } else {
+                tags.put(tag, bitmap);
+            }
+        }
+    }
+
+    @Override
+    public void onStatusChangeAll(List<Task> changed, boolean wasDone) {
+        RoaringBitmap ids = new RoaringBitmap();
+        for (Task task : changed) {
+            ids.add(task.getId());
+        }
+        done = wasDone ? RoaringBitmap.andNot(done, ids) : RoaringBitmap.or(done, ids);
+    }
+
+    @Override
+    public void onStatusChange(Task task) {
+        if (task.isDone()) {
+            done.add(task.getId());
+        } else {
+            done.remove(task.getId());
+        }
+    }
+
+    /**
+     * Returns the tasks with the given tag.
+     * <p>
+     * The returned bitmap is owned by this index and must not be changed.
+     *
+     * @param tag the tag, in lower case and without its {@code #}
+     * @return the identifiers of the tasks with the tag; empty if there are none
+     */
+    public RoaringBitmap getTag(String tag) {
+        return tags.getOrDefault(tag, new RoaringBitmap());
+    }
+
+    /**
+     * Returns every task in the list.
+     * <p>
+     * The returned bitmap is owned by this index and must not be changed.
+     *
+     * @return the identifiers of all tasks
+     */
+    public RoaringBitmap getAll() {
+        return all;
+    }
+
+    /**
+     * Returns the tasks that are done.
+     * <p>
+     * The returned bitmap is owned by this index and must not be changed.
+     *
+     * @return the identifiers of the done tasks
+     */
+    public RoaringBitmap getDone() {
+        return done;
+    }
+
+    /**
+     * Returns the tasks of the given kind.
+     * <p>
+     * The returned bitmap is owned by this index and must not be changed.
+     *
+     * @param kind the kind of task
+     * @return the identifiers of the tasks of that kind
+     */
+    public RoaringBitmap getKind(TaskCounters.Kind kind) {
+        return kinds[kind.ordinal()];
+    }
+
+    /**
+     * Returns every tag in use with the number of tasks carrying it.
+     *
+     * @return the number of tasks per tag, sorted by tag
+     */
+    public Map<String, Integer> countTags() {
+        Map<String, Integer> counts = new TreeMap<>();
+        for (Map.Entry<String, RoaringBitmap> entry : tags.entrySet()) {
+            counts.put(entry.getKey(), entry.getValue().cardinality());
+        }
+        return counts;
+    }
+}
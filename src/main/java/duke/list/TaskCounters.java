@@ -0,0 +1,194 @@
+package duke.list;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+import duke.task.DatedTask;
+import duke.task.DeadlineTask;
+import duke.task.EventTask;
+import duke.task.Task;
+
+/**
+ * Keeps running counts of the tasks in a list, so summaries do not have to scan the whole list.
+ * <p>
+ * Tasks are counted by kind and completion status. Dated tasks are also counted per day, by the day of
+ * their deadline or start, so a count for a day or a week only adds up a few numbers. Every change to the
+ * list updates the counts in constant time. Recurring tasks are counted by kind and status, and apart, but
+ * not per day, since they fall on many days.
+ */
+public class TaskCounters implements TaskIndex {
+
+    /**
+     * The kinds of task that are counted.
+     */
+    public enum Kind {
+        TODO, DEADLINE, EVENT;
+
+        /**
+         * Returns the kind of the given task.
+         *
+         * @param task the task
+         * @return its kind
+         */
+        public static Kind of(Task task) {
+            if (task instanceof DeadlineTask) {
+                return DEADLINE;
+            }
+            return task instanceof EventTask ? EVENT : TODO;
+        }
+    }
+
+    private final int[] counts = new int[Kind.values().length * 2];
+    /** Counts of non-recurring dated tasks per day, indexed like {@link #counts}. */
+    private final Map<LocalDate, int[]> byDay = new HashMap<>();
+    private int recurring;
+    /** The day before which {@link #overdue} counts undone deadlines, or null if it has not been counted yet. */
+    private LocalDate overdueBefore;
+    private int overdue;
+
+    @Override
+    public void onAdd(Task task) {
+        this.update(task, task.isDone(), 1);
+    }
+
+    @Override
+    public void onRemove(Task task) {
+        this.update(task, task.isDone(), -1);
+    }
+
+    @Override
+    public void onStatusChange(Task task, boolean wasDone) {
+        if (wasDone != task.isDone()) {
+            this.update(task, wasDone, -1);
+            this.update(task, task.isDone(), 1);
+        }
+    }
+
+    private void update(Task task, boolean isDone, int delta) {
+        Kind kind = Kind.of(task);
+        int slot = slot(kind, isDone);
+        counts[slot] += delta;
+        if (!(task instanceof DatedTask)) {
+            return;
+        }
+        DatedTask datedTask = (DatedTask) task;
+        if (datedTask.isRecurring()) {
+            recurring += delta;
+            return;
+        }
+
+        LocalDate day = datedTask.getDate().toLocalDate();
+        int[] dayCounts = byDay.computeIfAbsent(day, d -> new int[counts.length]);
+        dayCounts[slot] += delta;
+        if (isEmpty(dayCounts)) {
+            byDay.remove(day);
+        }
+        if (kind == Kind.DEADLINE && !isDone && overdueBefore != null && day.isBefore(overdueBefore)) {
+            overdue += delta;
+        }
+    }
+
+    /**
+     * Returns the number of tasks of the given kind and status.
+     *
+     * @param kind   the kind of task
+     * @param isDone the status to count
+     * @return the number of such tasks
+     */
+    public int count(Kind kind, boolean isDone) {
+        return counts[slot(kind, isDone)];
+    }
+
+    /**
+     * Returns the number of tasks in the list.
+     *
+     * @return the number of tasks
+     */
+    public int total() {
+        int total = 0;
+        for (int count : counts) {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * Returns the number of non-recurring tasks of the given kind and status dated on the given day.
+     *
+     * @param day    the day of the deadline or start
+     * @param kind   the kind of task
+     * @param isDone the status to count
+     * @return the number of such tasks
+     */
+    public int countOn(LocalDate day, Kind kind, boolean isDone) {
+        int[] dayCounts = byDay.get(day);
+        return dayCounts == null ? 0 : dayCounts[slot(kind, isDone)];
+    }
+
+    /**
+     * Returns the number of non-recurring tasks of the given kind, of either status, dated between two days.
+     *
+     * @param from the first day (inclusive)
+     * @param to   the last day (inclusive)
+     * @param kind the kind of task
+     * @return the number of such tasks
+     */
+    public int countBetween(LocalDate from, LocalDate to, Kind kind) {
+        int count = 0;
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            count += this.countOn(day, kind, false) + this.countOn(day, kind, true);
+        }
+        return count;
+    }
+
+    /**
+     * Returns the number of undone, non-recurring deadlines due before the given day.
+     * <p>
+     * The count is kept up to date as the list changes. When the day moves on, only the days in between
+     * are added up.
+     *
+     * @param today the current day
+     * @return the number of overdue deadlines
+     */
+    public int countOverdue(LocalDate today) {
+        if (overdueBefore == null || today.isBefore(overdueBefore)
+                || overdueBefore.plusDays(byDay.size()).isBefore(today)) {
+            // Counting every day with tasks is cheaper than stepping through the days in between
+            overdue = 0;
+            for (Map.Entry<LocalDate, int[]> entry : byDay.entrySet()) {
+                if (entry.getKey().isBefore(today)) {
+                    overdue += entry.getValue()[slot(Kind.DEADLINE, false)];
+                }
+            }
+        } else {
+            for (LocalDate day = overdueBefore; day.isBefore(today); day = day.plusDays(1)) {
+                overdue += this.countOn(day, Kind.DEADLINE, false);
+            }
+        }
+        overdueBefore = today;
+        return overdue;
+    }
+
+    /**
+     * Returns the number of recurring deadlines and events.
+     *
+     * @return the number of recurring tasks
+     */
+    public int countRecurring() {
+        return recurring;
+    }
+
+    private static int slot(Kind kind, boolean isDone) {
+        return kind.ordinal() * 2 + (isDone ? 1 : 0);
+    }
+
+    private static boolean isEmpty(int[] dayCounts) {
+        for (int count : dayCounts) {
+            if (count != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
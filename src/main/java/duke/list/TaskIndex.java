@@ -0,0 +1,77 @@
+package duke.list;
+
+import java.util.List;
+
+import duke.task.Task;
+
+/**
+ * Represents a secondary lookup structure over the tasks of a {@link TaskList}.
+ * <p>
+ * Indexes registered with a {@link TaskList} are notified of every change to the list,
+ * so they can be maintained incrementally instead of being rebuilt from scratch.
+ */
+public interface TaskIndex {
+
+    /**
+     * Called after a task has been added to the list.
+     *
+     * @param task the task that was added
+     */
+    void onAdd(Task task);
+
+    /**
+     * Called after a task has been removed from the list.
+     *
+     * @param task the task that was removed
+     */
+    void onRemove(Task task);
+
+    /**
+     * Called after a task in the list has been marked or unmarked.
+     *
+     * @param task the task whose completion status changed
+     */
+    default void onStatusChange(Task task) {
+    }
+
+    /**
+     * Called after a task in the list has been marked or unmarked, with the status it had before.
+     * <p>
+     * Indexes that keep counts need the old status to know which count to take the task from.
+     * By default this calls {@link #onStatusChange(Task)}.
+     *
+     * @param task    the task whose completion status changed
+     * @param wasDone whether the task was done before
+     */
+    default void onStatusChange(Task task, boolean wasDone) {
+        onStatusChange(task);
+    }
+
+    /**
+     * Called after several tasks have been removed from the list in one step.
+     * <p>
+     * By default this calls {@link #onRemove(Task)} for each task; indexes that can drop a whole batch more
+     * cheaply than one task at a time override it.
+     *
+     * @param tasks the tasks that were removed
+     */
+    default void onRemoveAll(List<Task> tasks) {
+        for (Task task : tasks) {
+            onRemove(task);
+        }
+    }
+
+    /**
+     * Called after several tasks in the list have been marked or unmarked in one step.
+     * <p>
+     * By default this calls {@link #onStatusChange(Task, boolean)} for each task.
+     *
+     * @param tasks   the tasks whose completion status changed
+     * @param wasDone whether the tasks were done before; all of them had the same status
+     */
+    default void onStatusChangeAll(List<Task> tasks, boolean wasDone) {
+        for (Task task : tasks) {
+            onStatusChange(task, wasDone);
+        }
+    }
+}
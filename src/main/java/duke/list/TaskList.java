@@ -6,6 +6,7 @@ package duke.list;
  */
 
 import java.util.ArrayList;
+import java.util.List;
 
 import duke.task.Task;
 
@@ -15,12 +16,20 @@ import duke.task.Task;
  */
 public class TaskList {
     private ArrayList<Task> tasks;
+    private final List<TaskIndex> indexes = new ArrayList<>();
+    private final DescriptionIndex descriptionIndex = new DescriptionIndex();
+    private final DateIndex dateIndex = new DateIndex();
+    private final StatusIndex statusIndex = new StatusIndex();
+    private final TaskCounters counters = new TaskCounters();
+    private final TagIndex tagIndex = new TagIndex();
+    private final EventTimeline eventTimeline = new EventTimeline();
+    private int nextId = 0;
 
     /**
      * Creates a new empty TaskList.
      */
     public TaskList() {
-        this.tasks = new ArrayList<>();
+        this(new ArrayList<>());
     }
 
     /**
@@ -30,6 +39,96 @@ public class TaskList {
      */
     public TaskList(ArrayList<Task> tasks) {
         this.tasks = tasks;
+        for (Task task : tasks) {
+            task.setId(nextId++);
+        }
+        addIndex(descriptionIndex);
+        addIndex(dateIndex);
+        addIndex(statusIndex);
+        addIndex(counters);
+        addIndex(tagIndex);
+        addIndex(eventTimeline);
+    }
+
+    /**
+     * Registers an index to be kept up to date with this list.
+     * <p>
+     * The index is immediately populated with the tasks already in the list.
+     *
+     * @param index the index to register
+     */
+    public void addIndex(TaskIndex index) {
+        for (Task task : tasks) {
+            index.onAdd(task);
+        }
+        indexes.add(index);
+    }
+
+    /**
+     * Stops keeping an index up to date with this list.
+     * <p>
+     * The index is told that every task in the list has been removed, undoing {@link #addIndex(TaskIndex)}.
+     *
+     * @param index the index to unregister
+     */
+    public void removeIndex(TaskIndex index) {
+        if (indexes.remove(index)) {
+            index.onRemoveAll(new ArrayList<>(tasks));
+        }
+    }
+
+    /**
+     * Returns the index of description words maintained for this list.
+     *
+     * @return the description index
+     */
+    public DescriptionIndex getDescriptionIndex() {
+        return descriptionIndex;
+    }
+
+    /**
+     * Returns the index of task dates maintained for this list.
+     *
+     * @return the date index
+     */
+    public DateIndex getDateIndex() {
+        return dateIndex;
+    }
+
+    /**
+     * Returns the index of completion statuses maintained for this list.
+     *
+     * @return the status index
+     */
+    public StatusIndex getStatusIndex() {
+        return statusIndex;
+    }
+
+    /**
+     * Returns the running counts of tasks maintained for this list.
+     *
+     * @return the task counters
+     */
+    public TaskCounters getCounters() {
+        return counters;
+    }
+
+    /**
+     * Returns the index of tags, kinds and statuses maintained for this list.
+     *
+     * @return the tag index
+     */
+    public TagIndex getTagIndex() {
+        return tagIndex;
+    }
+
+    /**
+     * Returns the events of this list in start order, maintained for finding free time and clashes.
+     *
+     * @return the event timeline
+     */
+    public EventTimeline getEventTimeline() {
+        return eventTimeline;
     }
 
     /**
@@ -38,7 +137,87 @@ public class TaskList {
      * @param task Task to be added
      */
     public void addTask(Task task) {
+        task.setId(nextId++);
         tasks.add(task);
+        for (TaskIndex index : indexes) {
+            index.onAdd(task);
+        }
+    }
+
+    /**
+     * Appends several tasks to the end of the list in one step.
+     * <p>
+     * The backing list grows once for the whole batch rather than once per task.
+     *
+     * @param newTasks tasks to be added, in order
+     */
+    public void addAll(List<? extends Task> newTasks) {
+        tasks.ensureCapacity(tasks.size() + newTasks.size());
+        for (Task task : newTasks) {
+            task.setId(nextId++);
+            tasks.add(task);
+        }
+        for (TaskIndex index : indexes) {
+            for (Task task : newTasks) {
+                index.onAdd(task);
+            }
+        }
+    }
+
+    /**
+     * Replaces the tasks in a range of positions with other tasks, updating the indexes only for the tasks
+     * that change.
+     * <p>
+     * The replacements reuse the identifiers of the removed tasks where possible, so list order still matches
+     * identifier order. If more tasks are inserted than removed in the middle of the list, the tasks after the
+     * range are given new identifiers.
+     *
+     * @param from         position of the first task to replace (0-based, inclusive)
+     * @param to           position after the last task to replace (0-based, exclusive)
+     * @param replacements tasks to insert in place of the range, in order
+     * @return the removed tasks
+     * @throws IndexOutOfBoundsException if the range is invalid
+     */
+    public List<Task> replaceRange(int from, int to, List<? extends Task> replacements) {
+        if (from < 0 || to > tasks.size() || from > to) {
+            throw new IndexOutOfBoundsException("Invalid task range");
+        }
+        List<Task> range = tasks.subList(from, to);
+        List<Task> removed = new ArrayList<>(range);
+        range.clear();
+        tasks.addAll(from, replacements);
+
+        boolean isAtEnd = from + replacements.size() == tasks.size();
+        List<Task> renumbered = List.of();
+        if (replacements.size() <= removed.size() || isAtEnd) {
+            for (int i = 0; i < replacements.size(); i++) {
+                replacements.get(i).setId(i < removed.size() ? removed.get(i).getId() : nextId++);
+            }
+        } else {
+            // Indexes keyed by identifier see the tasks after the range leave and come back with new ones
+            renumbered = tasks.subList(from + replacements.size(), tasks.size());
+            for (TaskIndex index : indexes) {
+                for (Task task : renumbered) {
+                    index.onRemove(task);
+                }
+            }
+            for (int i = from; i < tasks.size(); i++) {
+                tasks.get(i).setId(nextId++);
+            }
+        }
+
+        for (TaskIndex index : indexes) {
+            for (Task task : removed) {
+                index.onRemove(task);
+            }
+            for (Task task : replacements) {
+                index.onAdd(task);
+            }
+            for (Task task : renumbered) {
+                index.onAdd(task);
+            }
+        }
+        return removed;
     }
 
     /**
@@ -52,7 +231,82 @@ public class TaskList {
         if (index < 0 || index >= tasks.size()) {
             throw new IndexOutOfBoundsException("Invalid task index");
         }
-        return tasks.remove(index);
+        Task removed = tasks.remove(index);
+        for (TaskIndex taskIndex : indexes) {
+            taskIndex.onRemove(removed);
+        }
+        return removed;
+    }
+
+    /**
+     * Deletes the tasks at several positions in one pass.
+     * <p>
+     * The remaining tasks are moved up once, so this takes time in proportion to the size of the list
+     * however many tasks are deleted. The remaining tasks keep their identifiers, and the indexes are told
+     * of the removed tasks as one batch.
+     *
+     * @param positions positions of the tasks to delete (0-based), in increasing order
+     * @return the removed tasks, in list order
+     * @throws IndexOutOfBoundsException if a position is invalid or the positions are not increasing
+     */
+    public List<Task> deleteTasks(int[] positions) {
+        for (int i = 0; i < positions.length; i++) {
+            if (positions[i] < 0 || positions[i] >= tasks.size() || (i > 0 && positions[i] <= positions[i - 1])) {
+                throw new IndexOutOfBoundsException("Invalid task index");
+            }
+        }
+        List<Task> removed = new ArrayList<>(positions.length);
+        int kept = positions.length == 0 ? tasks.size() : positions[0];
+        for (int i = kept, next = 0; i < tasks.size(); i++) {
+            if (next < positions.length && positions[next] == i) {
+                removed.add(tasks.get(i));
+                next++;
+            } else {
+                tasks.set(kept++, tasks.get(i));
+            }
+        }
+        tasks.subList(kept, tasks.size()).clear();
+        for (TaskIndex index : indexes) {
+            index.onRemoveAll(removed);
+        }
+        return removed;
+    }
+
+    /**
+     * Puts tasks back at several positions in one pass, the reverse of {@link #deleteTasks(int[])}.
+     * <p>
+     * The tasks keep their identifiers, so they must be tasks deleted from these positions with no other change
+     * to the list since; identifiers then stay in list order. The tasks after each position move down once.
+     *
+     * @param positions the positions the tasks end up at (0-based), in increasing order
+     * @param inserted  the tasks to put back, in the same order
+     * @throws IndexOutOfBoundsException if a position is invalid or the positions are not increasing
+     */
+    public void insertTasks(int[] positions, List<? extends Task> inserted) {
+        int newSize = tasks.size() + positions.length;
+        for (int i = 0; i < positions.length; i++) {
+            if (positions[i] < 0 || positions[i] >= newSize || (i > 0 && positions[i] <= positions[i - 1])) {
+                throw new IndexOutOfBoundsException("Invalid task index");
+            }
+        }
+        tasks.ensureCapacity(newSize);
+        int read = tasks.size() - 1;
+        for (int i = 0; i < positions.length; i++) {
+            tasks.add(null);
+        }
+        // Fill from the end, so each task that moves is copied once
+        for (int write = newSize - 1, next = positions.length - 1; next >= 0; write--) {
+            tasks.set(write, write == positions[next] ? inserted.get(next--) : tasks.get(read--));
+        }
+        for (int position : positions) {
+            assert position == 0 || tasks.get(position - 1).getId() < tasks.get(position).getId();
+            assert position == newSize - 1 || tasks.get(position).getId() < tasks.get(position + 1).getId();
+        }
+        for (TaskIndex index : indexes) {
+            for (Task task : inserted) {
+                index.onAdd(task);
+            }
+        }
     }
 
     /**
@@ -65,6 +319,105 @@ public class TaskList {
         return tasks.get(index);
     }
 
+    /**
+     * Marks the task at the given index as done and updates the indexes.
+     *
+     * @param index index of the task to mark (0-based)
+     * @return the marked Task
+     */
+    public Task markTask(int index) {
+        Task task = tasks.get(index);
+        boolean wasDone = task.isDone();
+        task.mark();
+        notifyStatusChange(task, wasDone);
+        return task;
+    }
+
+    /**
+     * Marks the task at the given index as not done and updates the indexes.
+     *
+     * @param index index of the task to unmark (0-based)
+     * @return the unmarked Task
+     */
+    public Task unmarkTask(int index) {
+        Task task = tasks.get(index);
+        boolean wasDone = task.isDone();
+        task.unmark();
+        notifyStatusChange(task, wasDone);
+        return task;
+    }
+
+    /**
+     * Marks the tasks at several positions as done or not done, and updates the indexes once for the batch.
+     * Tasks that already have that status are left alone.
+     *
+     * @param positions positions of the tasks (0-based)
+     * @param isDone    the status to give the tasks
+     * @return the tasks whose status changed, in the order of the positions
+     * @throws IndexOutOfBoundsException if a position is invalid
+     */
+    public List<Task> markTasks(int[] positions, boolean isDone) {
+        List<Task> changed = new ArrayList<>(positions.length);
+        for (int position : positions) {
+            Task task = tasks.get(position);
+            if (task.isDone() == isDone) {
+                continue;
+            }
+            if (isDone) {
+                task.mark();
+            } else {
+                task.unmark();
+            }
+            changed.add(task);
+        }
+        for (TaskIndex index : indexes) {
+            index.onStatusChangeAll(changed, !isDone);
+        }
+        return changed;
+    }
+
+    private void notifyStatusChange(Task task, boolean wasDone) {
+        for (TaskIndex index : indexes) {
+            index.onStatusChange(task, wasDone);
+        }
+    }
+
+    /**
+     * Returns the 0-based position of the given task in the list.
+     * <p>
+     * Since identifiers increase in list order, the position is found by binary search on the identifier.
+     *
+     * @param task the task to locate
+     * @return the position of the task, or -1 if it is not in the list
+     */
+    public int positionOf(Task task) {
+        int position = positionOfId(task.getId());
+        return position >= 0 && tasks.get(position) == task ? position : -1;
+    }
+
+    /**
+     * Returns the 0-based position of the task with the given identifier.
+     *
+     * @param id the identifier of the task
+     * @return the position of the task, or -1 if no task in the list has that identifier
+     */
+    public int positionOfId(int id) {
+        int low = 0;
+        int high = tasks.size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int midId = tasks.get(mid).getId();
+            if (midId < id) {
+                low = mid + 1;
+            } else if (midId > id) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
     /**
      * Returns the number of tasks in the list.
      *
@@ -111,8 +464,22 @@ public class TaskList {
      * @return string representation of all tasks
      */
     public String listTasks() {
+        return listTasks(0, tasks.size());
+    }
+
+    /**
+     * Returns a formatted string listing the tasks in the given range of positions.
+     * <p>
+     * Only the requested tasks are formatted, so the cost depends on the size of the range
+     * rather than on the size of the list.
+     *
+     * @param from position of the first task to list (0-based, inclusive)
+     * @param to   position after the last task to list (0-based, exclusive)
+     * @return string representation of the tasks in the range, numbered by their position in the list
+     */
+    public String listTasks(int from, int to) {
         StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < tasks.size(); i++) {
+        for (int i = Math.max(0, from); i < Math.min(to, tasks.size()); i++) {
             sb.append((i + 1)).append(". ").append(tasks.get(i)).append("\n");
         }
         return sb.toString().trim();
@@ -0,0 +1,59 @@
+package duke.list;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * A span of time from a start (inclusive) to an end (exclusive).
+ */
+public class TimeSlot {
+    private final LocalDateTime start;
+    private final LocalDateTime end;
+
+    /**
+     * Creates a time slot.
+     *
+     * @param start the start of the slot (inclusive)
+     * @param end   the end of the slot (exclusive)
+     */
+    public TimeSlot(LocalDateTime start, LocalDateTime end) {
+        assert !end.isBefore(start) : "A time slot must not end before it starts";
+        this.start = start;
+        this.end = end;
+    }
+
+    public LocalDateTime getStart() {
+        return start;
+    }
+
+    public LocalDateTime getEnd() {
+        return end;
+    }
+
+    /**
+     * Returns the length of the slot.
+     *
+     * @return the time from the start to the end
+     */
+    public Duration getDuration() {
+        return Duration.between(start, end);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o instanceof TimeSlot) {
+            return ((TimeSlot) o).start.equals(start) && ((TimeSlot) o).end.equals(end);
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return start.hashCode() * 31 + end.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return start + " to " + end;
+    }
+}
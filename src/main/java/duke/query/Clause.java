@@ -0,0 +1,173 @@
+package duke.query;
+
+import java.time.LocalDateTime;
+import java.util.Iterator;
+
+import duke.list.DateIndex;
+import duke.list.DateRange;
+import duke.list.DescriptionIndex;
+import duke.task.DatedTask;
+import duke.task.DeadlineTask;
+import duke.task.EventTask;
+import duke.task.Occurrence;
+import duke.task.Task;
+import duke.task.TodoTask;
+
+/**
+ * Represents a single condition of a {@link Query}, such as {@code /undone} or {@code /before 2025-10-24}.
+ */
+public class Clause {
+
+    /**
+     * The kinds of condition supported by the query language.
+     */
+    public enum Kind {
+        TYPE, STATUS, DATE, TEXT, SUBSTRING
+    }
+
+    private final Kind kind;
+    private final String type;
+    private final boolean isDone;
+    private final DateRange range;
+    private final String text;
+
+    private Clause(Kind kind, String type, boolean isDone, DateRange range, String text) {
+        this.kind = kind;
+        this.type = type;
+        this.isDone = isDone;
+        this.range = range;
+        this.text = text;
+    }
+
+    /**
+     * Creates a clause matching tasks of the given type.
+     *
+     * @param type one of {@code todo}, {@code deadline} or {@code event}
+     * @return the clause
+     */
+    public static Clause ofType(String type) {
+        return new Clause(Kind.TYPE, type, false, null, null);
+    }
+
+    /**
+     * Creates a clause matching tasks with the given completion status.
+     *
+     * @param isDone the status to match
+     * @return the clause
+     */
+    public static Clause ofStatus(boolean isDone) {
+        return new Clause(Kind.STATUS, null, isDone, null, null);
+    }
+
+    /**
+     * Creates a clause matching dated tasks whose date lies in the given range.
+     *
+     * @param range the range to match
+     * @return the clause
+     */
+    public static Clause ofDate(DateRange range) {
+        return new Clause(Kind.DATE, null, false, range, null);
+    }
+
+    /**
+     * Creates a clause matching tasks with a description word starting with the given text.
+     *
+     * @param text the word prefix to match
+     * @return the clause
+     */
+    public static Clause ofText(String text) {
+        return new Clause(Kind.TEXT, null, false, null, text.toLowerCase());
+    }
+
+    /**
+     * Creates a clause matching tasks whose description contains the given text anywhere, as {@code find} does.
+     *
+     * @param text the text to look for
+     * @return the clause
+     */
+    public static Clause ofSubstring(String text) {
+        return new Clause(Kind.SUBSTRING, null, false, null, text.toLowerCase());
+    }
+
+    /** Returns the kind of condition this clause expresses. */
+    public Kind getKind() {
+        return kind;
+    }
+
+    /** Returns the status matched by a {@link Kind#STATUS} clause. */
+    public boolean isDone() {
+        return isDone;
+    }
+
+    /** Returns the range matched by a {@link Kind#DATE} clause. */
+    public DateRange getRange() {
+        return range;
+    }
+
+    /** Returns the word prefix matched by a {@link Kind#TEXT} clause, or the text of a {@link Kind#SUBSTRING} one. */
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * Returns whether the given task satisfies this clause.
+     *
+     * @param task the task to test
+     * @return true if the task matches
+     */
+    public boolean test(Task task) {
+        return switch (kind) {
+        case TYPE -> typeOf(task).equals(type);
+        case STATUS -> task.isDone() == isDone;
+        case DATE -> {
+            if (task instanceof DatedTask && ((DatedTask) task).isRecurring()) {
+                yield hasOccurrenceInRange((DatedTask) task);
+            }
+            LocalDateTime date = DateIndex.dateOf(task);
+            yield date != null && range.contains(date);
+        }
+        case TEXT -> DescriptionIndex.splitWords(task.getDescription()).stream().anyMatch(w -> w.startsWith(text));
+        case SUBSTRING -> task.getDescription().contains(text);
+        };
+    }
+
+    /**
+     * Checks the occurrences of a recurring task lazily: only the first occurrence at or after the
+     * lower bound needs to be generated, since later ones can only lie further from the range.
+     */
+    private boolean hasOccurrenceInRange(DatedTask task) {
+        Iterator<Occurrence> it = task.occurrencesFrom(range.getFrom() == null ? task.getDate() : range.getFrom());
+        while (it.hasNext()) {
+            LocalDateTime start = it.next().getStart();
+            if (range.contains(start)) {
+                return true;
+            } else if (range.getTo() != null && start.isAfter(range.getTo())) {
+                return false;
+            }
+            // Otherwise the start sits on an exclusive lower bound, so the next occurrence decides
+        }
+        return false;
+    }
+
+    private static String typeOf(Task task) {
+        if (task instanceof TodoTask) {
+            return "todo";
+        } else if (task instanceof DeadlineTask) {
+            return "deadline";
+        } else if (task instanceof EventTask) {
+            return "event";
+        }
+        return "";
+    }
+
+    @Override
+    public String toString() {
+        return switch (kind) {
+        case TYPE -> "type = " + type;
+        case STATUS -> isDone ? "done" : "undone";
+        case DATE -> "date in " + range;
+        case TEXT -> "text ^= " + text;
+        case SUBSTRING -> "text contains " + text;
+        };
+    }
+}
@@ -0,0 +1,74 @@
+package duke.query;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import duke.list.DateRange;
+import duke.task.Task;
+
+/**
+ * Represents a parsed {@code query} command: a conjunction of {@link Clause}s.
+ */
+public class Query {
+    private final List<Clause> clauses;
+    private final boolean isExplain;
+
+    /**
+     * Creates a query from its clauses.
+     *
+     * @param clauses   the conditions a task must all satisfy
+     * @param isExplain whether the plan should be shown instead of only the results
+     */
+    public Query(List<Clause> clauses, boolean isExplain) {
+        this.clauses = new ArrayList<>(clauses);
+        this.isExplain = isExplain;
+    }
+
+    /** Returns the clauses of this query. */
+    public List<Clause> getClauses() {
+        return clauses;
+    }
+
+    /** Returns whether the query plan should be shown. */
+    public boolean isExplain() {
+        return isExplain;
+    }
+
+    /**
+     * Returns the intersection of all date clauses, or an unbounded range if there are none.
+     *
+     * @return the combined date range
+     */
+    public DateRange getDateRange() {
+        DateRange range = DateRange.all();
+        for (Clause clause : clauses) {
+            if (clause.getKind() == Clause.Kind.DATE) {
+                range = range.intersect(clause.getRange());
+            }
+        }
+        return range;
+    }
+
+    /**
+     * Returns whether the given task satisfies every clause.
+     *
+     * @param task the task to test
+     * @return true if the task matches the query
+     */
+    public boolean test(Task task) {
+        for (Clause clause : clauses) {
+            if (!clause.test(task)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return clauses.isEmpty()
+                ? "true"
+                : clauses.stream().map(Clause::toString).collect(Collectors.joining(" AND "));
+    }
+}
@@ -0,0 +1,196 @@
+package duke.query;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import duke.exceptions.InvalidTaskFormatException;
+import duke.helper.CommandTokenizer;
+import duke.helper.Parser;
+import duke.list.DateRange;
+
+/**
+ * Parses the arguments of a {@code query} command into a {@link Query}.
+ * <p>
+ * The grammar is a sequence of clauses, each introduced by a slash like the other commands:
+ * <pre>
+ *     query [explain] clause...
+ *     clause := /type todo|deadline|event
+ *             | /done | /undone
+ *             | /before DATE | /after DATE
+ *             | /between DATE /and DATE
+ *             | /text WORD
+ * </pre>
+ * All clauses must hold for a task to match.
+ */
+public class QueryParser {
+    private static final String USAGE = "Please format your query as \"query [explain] /type TYPE /done /undone "
+            + "/before DATE /after DATE /between DATE /and DATE /text WORD\"";
+    private static final String WHERE_USAGE = "Please give the tasks to change as \"where CONDITION and ...\", "
+            + "with conditions done, undone, type TYPE, before DATE, after DATE or find KEYWORD";
+
+    /**
+     * Parses a full {@code query} command.
+     *
+     * @param input the raw user input starting with {@code query}
+     * @return the parsed query
+     * @throws InvalidTaskFormatException if the input does not follow the grammar
+     */
+    public static Query parse(String input) throws InvalidTaskFormatException {
+        return parse(new CommandTokenizer().reset(input));
+    }
+
+    /**
+     * Parses a full {@code query} command from its words.
+     * <p>
+     * Each clause starts at a word beginning with a slash and runs to the next such word. Only the arguments of
+     * the clauses are copied out of the input.
+     *
+     * @param tokens the words of the user input, starting with {@code query}
+     * @return the parsed query
+     * @throws InvalidTaskFormatException if the input does not follow the grammar
+     */
+    public static Query parse(CommandTokenizer tokens) throws InvalidTaskFormatException {
+        if (!tokens.isWord(0, "query")) {
+            throw new InvalidTaskFormatException(USAGE);
+        }
+        boolean isExplain = tokens.isWord(1, "explain");
+        int i = isExplain ? 2 : 1;
+        if (i >= tokens.size() || !isClauseStart(tokens, i)) {
+            throw new InvalidTaskFormatException(USAGE);
+        }
+
+        List<Clause> clauses = new ArrayList<>();
+        while (i < tokens.size()) {
+            String keyword = tokens.lowerText(i, i + 1).substring(1);
+            int end = nextClause(tokens, i + 1);
+            String argument = tokens.lowerText(i + 1, end);
+
+            switch (keyword) {
+            case "type" -> clauses.add(parseType(argument));
+            case "done", "undone" -> {
+                requireEmpty(keyword, argument);
+                clauses.add(Clause.ofStatus(keyword.equals("done")));
+            }
+            case "before" -> clauses.add(Clause.ofDate(new DateRange(null, false, parseDate(argument), false)));
+            case "after" -> clauses.add(Clause.ofDate(new DateRange(parseDate(argument), false, null, false)));
+            case "between" -> {
+                if (!tokens.isWord(end, "/and") || end + 1 == tokens.size()) {
+                    throw new InvalidTaskFormatException("/between needs a matching /and DATE");
+                }
+                int andEnd = nextClause(tokens, end + 1);
+                LocalDateTime from = parseDate(argument);
+                LocalDateTime to = parseDate(tokens.lowerText(end + 1, andEnd));
+                clauses.add(Clause.ofDate(new DateRange(from, true, to, true)));
+                end = andEnd;
+            }
+            case "text" -> {
+                if (argument.isEmpty()) {
+                    throw new InvalidTaskFormatException("/text needs a word to look for");
+                }
+                for (int word = i + 1; word < end; word++) {
+                    clauses.add(Clause.ofText(tokens.lowerText(word, word + 1)));
+                }
+            }
+            default -> throw new InvalidTaskFormatException("Unknown query clause: /" + keyword + "\n" + USAGE);
+            }
+            i = end;
+        }
+        return new Query(clauses, isExplain);
+    }
+
+    private static boolean isClauseStart(CommandTokenizer tokens, int token) {
+        return tokens.indexOf(token, '/') == tokens.start(token);
+    }
+
+    /**
+     * Returns the first word at or after the given word that starts a clause, or the number of words if none does.
+     */
+    private static int nextClause(CommandTokenizer tokens, int from) {
+        for (int i = from; i < tokens.size(); i++) {
+            if (isClauseStart(tokens, i)) {
+                return i;
+            }
+        }
+        return tokens.size();
+    }
+
+    /**
+     * Parses the conditions after {@code where}, as in {@code delete where done}, into a {@link Query}.
+     * <p>
+     * The grammar is one or more conditions joined by {@code and}:
+     * <pre>
+     *     where condition (and condition)*
+     *     condition := done | undone
+     *                | type todo|deadline|event
+     *                | before DATE | after DATE
+     *                | find KEYWORD
+     * </pre>
+     * {@code find} matches like the {@code find} command and takes the rest of the input, so it comes last. The
+     * other conditions mean the same as the {@code query} clauses of the same name, so a {@code query} shows the
+     * tasks a {@code where} would change.
+     *
+     * @param tokens the words of the user input
+     * @param from   the word after {@code where} (0-based)
+     * @return the parsed conditions
+     * @throws InvalidTaskFormatException if the conditions do not follow the grammar
+     */
+    public static Query parseWhere(CommandTokenizer tokens, int from) throws InvalidTaskFormatException {
+        if (from >= tokens.size()) {
+            throw new InvalidTaskFormatException(WHERE_USAGE);
+        }
+        List<Clause> clauses = new ArrayList<>();
+        int i = from;
+        while (i < tokens.size()) {
+            String keyword = tokens.lowerText(i, i + 1);
+            int end = keyword.equals("find") ? -1 : tokens.indexOf("and", i + 1);
+            if (end < 0) {
+                end = tokens.size();
+            } else if (end == tokens.size() - 1) {
+                throw new InvalidTaskFormatException(WHERE_USAGE);
+            }
+            String argument = tokens.lowerText(i + 1, end);
+
+            switch (keyword) {
+            case "done", "undone" -> {
+                if (!argument.isEmpty()) {
+                    throw new InvalidTaskFormatException(keyword + " does not take an argument");
+                }
+                clauses.add(Clause.ofStatus(keyword.equals("done")));
+            }
+            case "type" -> clauses.add(parseType(argument));
+            case "before" -> clauses.add(Clause.ofDate(new DateRange(null, false, parseDate(argument), false)));
+            case "after" -> clauses.add(Clause.ofDate(new DateRange(parseDate(argument), false, null, false)));
+            case "find" -> {
+                if (argument.isEmpty()) {
+                    throw new InvalidTaskFormatException("find needs a keyword to look for");
+                }
+                clauses.add(Clause.ofSubstring(argument));
+            }
+            default -> throw new InvalidTaskFormatException("Unknown condition: " + keyword + "\n" + WHERE_USAGE);
+            }
+            i = end + 1;
+        }
+        return new Query(clauses, false);
+    }
+
+    private static Clause parseType(String argument) throws InvalidTaskFormatException {
+        return switch (argument) {
+        case "todo", "deadline", "event" -> Clause.ofType(argument);
+        default -> throw new InvalidTaskFormatException("/type must be todo, deadline or event");
+        };
+    }
+
+    private static LocalDateTime parseDate(String argument) throws InvalidTaskFormatException {
+        if (argument.isEmpty()) {
+            throw new InvalidTaskFormatException("Date clauses need a date");
+        }
+        return Parser.parseDateTime(argument);
+    }
+
+    private static void requireEmpty(String keyword, String argument) throws InvalidTaskFormatException {
+        if (!argument.isEmpty()) {
+            throw new InvalidTaskFormatException("/" + keyword + " does not take an argument");
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package duke.query;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import duke.list.TaskList;
+import duke.task.Task;
+
+/**
+ * Represents how a {@link Query} will be executed: which access path produces the candidate
+ * tasks and which clauses are then checked against each candidate.
+ */
+public class QueryPlan {
+
+    /**
+     * The ways candidate tasks can be produced.
+     */
+    public enum Access {
+        TEXT_INDEX("text index"),
+        DATE_INDEX("date index"),
+        STATUS_INDEX("status index"),
+        FULL_SCAN("full scan");
+
+        private final String label;
+
+        Access(String label) {
+            this.label = label;
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    private final Query query;
+    private final Access access;
+    private final Clause accessClause;
+    private final int estimate;
+    private final List<String> considered;
+
+    /**
+     * Creates a plan.
+     *
+     * @param query        the query being planned
+     * @param access       the chosen access path
+     * @param accessClause the clause served by the access path, or null for a full scan
+     * @param estimate     the estimated number of candidates produced by the access path
+     * @param considered   a description of every access path that was costed
+     */
+    public QueryPlan(Query query, Access access, Clause accessClause, int estimate, List<String> considered) {
+        this.query = query;
+        this.access = access;
+        this.accessClause = accessClause;
+        this.estimate = estimate;
+        this.considered = considered;
+    }
+
+    /** Returns the chosen access path. */
+    public Access getAccess() {
+        return access;
+    }
+
+    /**
+     * Runs the plan against a task list.
+     *
+     * @param taskList the list to query
+     * @return the matching tasks, in list order
+     */
+    public List<Task> execute(TaskList taskList) {
+        List<Task> candidates = switch (access) {
+        case TEXT_INDEX -> taskList.getDescriptionIndex().findByPrefix(accessClause.getText(), Integer.MAX_VALUE);
+        case DATE_INDEX -> taskList.getDateIndex().findRange(query.getDateRange());
+        case STATUS_INDEX -> taskList.getStatusIndex().find(accessClause.isDone());
+        case FULL_SCAN -> taskList.getTasks();
+        };
+
+        List<Task> results = new ArrayList<>();
+        for (Task task : candidates) {
+            if (query.test(task)) {
+                results.add(task);
+            }
+        }
+        if (access != Access.FULL_SCAN) {
+            results.sort(Comparator.comparingInt(Task::getId));
+        }
+        return results;
+    }
+
+    /**
+     * Returns a human-readable description of the plan.
+     *
+     * @return the plan description
+     */
+    public String explain() {
+        StringBuilder sb = new StringBuilder("Query plan:\n");
+        sb.append("  access: ").append(access);
+        if (access == Access.DATE_INDEX) {
+            sb.append(" on ").append(query.getDateRange());
+        } else if (accessClause != null) {
+            sb.append(" on ").append(accessClause);
+        }
+        sb.append(" (~").append(estimate).append(" candidates)\n");
+        sb.append("  filter: ").append(query).append("\n");
+        sb.append("  considered: ").append(String.join(", ", considered));
+        return sb.toString();
+    }
+}
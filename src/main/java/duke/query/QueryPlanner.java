@@ -0,0 +1,67 @@
+package duke.query;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import duke.list.DateRange;
+import duke.list.TaskList;
+
+/**
+ * Chooses the cheapest way to execute a {@link Query} against a {@link TaskList}.
+ * <p>
+ * Every index that can serve one of the query's clauses is costed by the number of candidates
+ * it would produce, and the most selective one is used. A full scan is only chosen when no index applies
+ * or when every index would produce more candidates than there are tasks.
+ */
+public class QueryPlanner {
+
+    /**
+     * Plans the given query.
+     *
+     * @param query    the query to plan
+     * @param taskList the list the query will run against
+     * @return the cheapest plan found
+     */
+    public static QueryPlan plan(Query query, TaskList taskList) {
+        List<String> considered = new ArrayList<>();
+        QueryPlan.Access bestAccess = QueryPlan.Access.FULL_SCAN;
+        Clause bestClause = null;
+        int best = taskList.size();
+
+        for (Clause clause : query.getClauses()) {
+            if (clause.getKind() == Clause.Kind.TEXT) {
+                int estimate = taskList.getDescriptionIndex().countByPrefix(clause.getText());
+                considered.add(QueryPlan.Access.TEXT_INDEX + " on " + clause + " (~" + estimate + ")");
+                if (estimate < best) {
+                    best = estimate;
+                    bestAccess = QueryPlan.Access.TEXT_INDEX;
+                    bestClause = clause;
+                }
+            } else if (clause.getKind() == Clause.Kind.STATUS) {
+                int estimate = taskList.getStatusIndex().count(clause.isDone());
+                considered.add(QueryPlan.Access.STATUS_INDEX + " on " + clause + " (~" + estimate + ")");
+                if (estimate < best) {
+                    best = estimate;
+                    bestAccess = QueryPlan.Access.STATUS_INDEX;
+                    bestClause = clause;
+                }
+            }
+        }
+
+        DateRange range = query.getDateRange();
+        if (range.isBounded()) {
+            // The date count is capped at the best estimate so far, since counting further cannot change the choice
+            int estimate = taskList.getDateIndex().countRange(range, best);
+            considered.add(QueryPlan.Access.DATE_INDEX + " on " + range
+                    + (estimate > best ? " (>" + best + ")" : " (~" + estimate + ")"));
+            if (estimate < best) {
+                best = estimate;
+                bestAccess = QueryPlan.Access.DATE_INDEX;
+                bestClause = null;
+            }
+        }
+
+        considered.add(QueryPlan.Access.FULL_SCAN + " (" + taskList.size() + ")");
+        return new QueryPlan(query, bestAccess, bestClause, best, considered);
+    }
+}
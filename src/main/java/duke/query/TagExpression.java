@@ -0,0 +1,162 @@
+package duke.query;
+
+import java.util.function.Function;
+
+import duke.exceptions.InvalidTaskFormatException;
+import duke.list.RoaringBitmap;
+import duke.list.TagIndex;
+import duke.list.TaskCounters;
+
+/**
+ * A filter over tags, kinds and completion status, combined with and, or and not.
+ * <p>
+ * The grammar of the argument of a {@code tag} command is:
+ * <pre>
+ *     expression := term ('|' term)*
+ *     term       := factor ('&amp;'? factor)*
+ *     factor     := '!' factor | '(' expression ')' | word
+ * </pre>
+ * {@code !} binds tightest and {@code |} loosest; factors written next to each other are and-ed. The words
+ * {@code done}, {@code undone}, {@code todo}, {@code deadline} and {@code event} stand for the status or kind
+ * of a task. Any other word is a tag, with or without its {@code #}; {@code #done} is the tag "done".
+ * <p>
+ * An expression is evaluated against a {@link TagIndex} as whole-bitmap operations, for example:
+ * <pre>
+ *     tag work &amp; !done &amp; deadline
+ * </pre>
+ */
+public class TagExpression {
+    private static final String USAGE = "Please format your filter as \"tag EXPRESSION\", for example "
+            + "\"tag work & !done & deadline\" or \"tag (home | errands) & todo\"";
+
+    private final Function<TagIndex, RoaringBitmap> root;
+
+    private TagExpression(Function<TagIndex, RoaringBitmap> root) {
+        this.root = root;
+    }
+
+    /**
+     * Parses a filter expression.
+     *
+     * @param input the expression, without the {@code tag} command
+     * @return the parsed expression
+     * @throws InvalidTaskFormatException if the input does not follow the grammar
+     */
+    public static TagExpression parse(String input) throws InvalidTaskFormatException {
+        Reader reader = new Reader(input.toLowerCase());
+        if (reader.peek() == 0) {
+            throw new InvalidTaskFormatException(USAGE);
+        }
+        Function<TagIndex, RoaringBitmap> root = reader.expression();
+        if (reader.peek() != 0) {
+            throw new InvalidTaskFormatException(USAGE);
+        }
+        return new TagExpression(root);
+    }
+
+    /**
+     * Returns the tasks matching this expression.
+     *
+     * @param index the index to evaluate against
+     * @return the identifiers of the matching tasks, as a new bitmap the caller may change
+     */
+    public RoaringBitmap evaluate(TagIndex index) {
+        // And-ing with every task copies the result, so the index's own bitmaps are never handed out
+        return RoaringBitmap.and(root.apply(index), index.getAll());
+    }
+
+    /**
+     * A recursive-descent reader over the characters of an expression.
+     */
+    private static class Reader {
+        private final String input;
+        private int position;
+
+        Reader(String input) {
+            this.input = input;
+        }
+
+        /**
+         * Skips whitespace and returns the next character, or 0 at the end of the input.
+         */
+        char peek() {
+            while (position < input.length() && Character.isWhitespace(input.charAt(position))) {
+                position++;
+            }
+            return position < input.length() ? input.charAt(position) : 0;
+        }
+
+        Function<TagIndex, RoaringBitmap> expression() throws InvalidTaskFormatException {
+            Function<TagIndex, RoaringBitmap> left = this.term();
+            while (this.peek() == '|') {
+                position++;
+                Function<TagIndex, RoaringBitmap> l = left;
+                Function<TagIndex, RoaringBitmap> r = this.term();
+                left = index -> RoaringBitmap.or(l.apply(index), r.apply(index));
+            }
+            return left;
+        }
+
+        Function<TagIndex, RoaringBitmap> term() throws InvalidTaskFormatException {
+            Function<TagIndex, RoaringBitmap> left = this.factor();
+            for (char c = this.peek(); c != 0 && c != '|' && c != ')'; c = this.peek()) {
+                if (c == '&') {
+                    position++;
+                }
+                Function<TagIndex, RoaringBitmap> l = left;
+                Function<TagIndex, RoaringBitmap> r = this.factor();
+                left = index -> RoaringBitmap.and(l.apply(index), r.apply(index));
+            }
+            return left;
+        }
+
+        Function<TagIndex, RoaringBitmap> factor() throws InvalidTaskFormatException {
+            char c = this.peek();
+            if (c == '!') {
+                position++;
+                Function<TagIndex, RoaringBitmap> operand = this.factor();
+                return index -> RoaringBitmap.andNot(index.getAll(), operand.apply(index));
+            }
+            if (c == '(') {
+                position++;
+                Function<TagIndex, RoaringBitmap> inner = this.expression();
+                if (this.peek() != ')') {
+                    throw new InvalidTaskFormatException("A \"(\" in the filter has no matching \")\"");
+                }
+                position++;
+                return inner;
+            }
+            return this.word();
+        }
+
+        Function<TagIndex, RoaringBitmap> word() throws InvalidTaskFormatException {
+            int start = position;
+            boolean isTag = position < input.length() && input.charAt(position) == '#';
+            if (isTag) {
+                position++;
+            }
+            while (position < input.length() && isWordChar(input.charAt(position))) {
+                position++;
+            }
+            String word = input.substring(isTag ? start + 1 : start, position);
+            if (word.isEmpty()) {
+                throw new InvalidTaskFormatException(USAGE);
+            }
+            if (isTag) {
+                return index -> index.getTag(word);
+            }
+            return switch (word) {
+            case "done" -> TagIndex::getDone;
+            case "undone" -> index -> RoaringBitmap.andNot(index.getAll(), index.getDone());
+            case "todo" -> index -> index.getKind(TaskCounters.Kind.TODO);
+            case "deadline" -> index -> index.getKind(TaskCounters.Kind.DEADLINE);
+            case "event" -> index -> index.getKind(TaskCounters.Kind.EVENT);
+            default -> index -> index.getTag(word);
+            };
+        }
+
+        private static boolean isWordChar(char c) {
+            return Character.isLetterOrDigit(c) || c == '_' || c == '-';
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package duke.reminder;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import duke.list.TaskIndex;
+import duke.task.DatedTask;
+import duke.task.Occurrence;
+import duke.task.Task;
+
+/**
+ * Schedules reminders for upcoming deadlines and event starts on a {@link TimingWheel}.
+ * <p>
+ * The scheduler is registered as a {@link TaskIndex}, so reminders are created when tasks are loaded or added,
+ * cancelled when tasks are deleted or marked as done, and re-created when tasks are unmarked.
+ * A single daemon thread advances the wheel once per second; no tick ever scans the task list.
+ * Recurring tasks have one pending reminder at a time, for their next pending occurrence.
+ */
+public class ReminderScheduler implements TaskIndex {
+    /** How long before a deadline or event start the reminder fires. */
+    public static final Duration LEAD_TIME = Duration.ofMinutes(15);
+
+    private final TimingWheel<Occurrence> wheel = new TimingWheel<>(nowTick());
+    private final Map<Task, TimingWheel.Timer<Occurrence>> timers = new IdentityHashMap<>();
+    private ScheduledExecutorService executor;
+    private Consumer<Occurrence> listener;
+
+    /**
+     * Starts the scheduler thread.
+     *
+     * @param listener called on the scheduler thread with each occurrence that is due soon
+     */
+    public synchronized void start(Consumer<Occurrence> listener) {
+        this.listener = listener;
+        if (executor != null) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "sai-reminders");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleAtFixedRate(this::tick, 1, 1, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Stops the scheduler thread. Pending reminders are kept.
+     */
+    public synchronized void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    /**
+     * Returns the number of pending reminders.
+     *
+     * @return the number of pending reminders
+     */
+    public int pendingCount() {
+        return wheel.size();
+    }
+
+    @Override
+    public synchronized void onAdd(Task task) {
+        schedule(task, LocalDateTime.now());
+    }
+
+    @Override
+    public synchronized void onRemove(Task task) {
+        TimingWheel.Timer<Occurrence> timer = timers.remove(task);
+        if (timer != null) {
+            wheel.cancel(timer);
+        }
+    }
+
+    @Override
+    public synchronized void onStatusChange(Task task) {
+        onRemove(task);
+        onAdd(task);
+    }
+
+    /**
+     * Advances the wheel to the current time and notifies the listener of every reminder that fired.
+     */
+    void tick() {
+        List<TimingWheel.Timer<Occurrence>> fired = wheel.advanceTo(nowTick());
+        for (TimingWheel.Timer<Occurrence> timer : fired) {
+            Occurrence occurrence = timer.getPayload();
+            synchronized (this) {
+                if (timers.get(occurrence.getTask()) != timer) {
+                    continue;
+                }
+                timers.remove(occurrence.getTask());
+                // Recurring tasks get a reminder for their following occurrence
+                schedule(occurrence.getTask(), occurrence.getStart().plusSeconds(1));
+            }
+            if (listener != null) {
+                listener.accept(occurrence);
+            }
+        }
+    }
+
+    private void schedule(Task task, LocalDateTime from) {
+        if (!(task instanceof DatedTask)) {
+            return;
+        }
+        Occurrence next = ((DatedTask) task).nextPendingOccurrence(from);
+        if (next == null) {
+            return;
+        }
+        long deadline = toTick(next.getStart().minus(LEAD_TIME));
+        timers.put(task, wheel.schedule(next, deadline));
+    }
+
+    private static long nowTick() {
+        return toTick(LocalDateTime.now());
+    }
+
+    private static long toTick(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toEpochSecond();
+    }
+}
@@ -0,0 +1,205 @@
+package duke.reminder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A hierarchical timing wheel holding timers keyed by an absolute tick.
+ * <p>
+ * The wheel has {@value #LEVELS} levels of {@value #SLOTS} slots each. Level {@code L} covers
+ * {@code 64^(L+1)} ticks, so with one-second ticks the wheel spans decades. Each slot is an intrusive
+ * doubly-linked list, so scheduling and cancelling a timer are O(1). Timers on higher levels are
+ * moved down a level when the wheel reaches their slot, which happens at most {@value #LEVELS}
+ * times per timer, so firing is O(1) amortised.
+ * <p>
+ * All methods are synchronised, so timers may be scheduled from one thread while another advances the wheel.
+ *
+ * @param <T> the type of payload carried by each timer
+ */
+public class TimingWheel<T> {
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 5;
+
+    private final List<Timer<T>> heads;
+    private long currentTick;
+    private int size;
+
+    /**
+     * Represents a timer scheduled on a {@link TimingWheel}.
+     *
+     * @param <T> the type of payload carried by the timer
+     */
+    public static final class Timer<T> {
+        private final T payload;
+        private long deadline;
+        private Timer<T> prev;
+        private Timer<T> next;
+        private int bucket = -1;
+
+        private Timer(T payload, long deadline) {
+            this.payload = payload;
+            this.deadline = deadline;
+        }
+
+        /** Returns the payload of this timer. */
+        public T getPayload() {
+            return payload;
+        }
+
+        /** Returns the tick at which this timer fires. */
+        public long getDeadline() {
+            return deadline;
+        }
+
+        /**
+         * Returns whether this timer is still waiting to fire.
+         *
+         * @return true if the timer has neither fired nor been cancelled
+         */
+        public boolean isPending() {
+            return bucket >= 0;
+        }
+    }
+
+    /**
+     * Creates an empty wheel positioned at the given tick.
+     *
+     * @param startTick the current tick
+     */
+    public TimingWheel(long startTick) {
+        this.currentTick = startTick;
+        this.heads = new ArrayList<>(LEVELS * SLOTS);
+        for (int i = 0; i < LEVELS * SLOTS; i++) {
+            heads.add(null);
+        }
+    }
+
+    /**
+     * Schedules a timer. A deadline that is not after the current tick fires on the next advance.
+     *
+     * @param payload  the payload of the timer
+     * @param deadline the tick at which the timer should fire
+     * @return the scheduled timer, which can be passed to {@link #cancel(Timer)}
+     */
+    public synchronized Timer<T> schedule(T payload, long deadline) {
+        Timer<T> timer = new Timer<>(payload, deadline);
+        insert(timer);
+        size++;
+        return timer;
+    }
+
+    /**
+     * Cancels a pending timer.
+     *
+     * @param timer the timer to cancel
+     * @return true if the timer was pending, false if it had already fired or been cancelled
+     */
+    public synchronized boolean cancel(Timer<T> timer) {
+        if (!timer.isPending()) {
+            return false;
+        }
+        unlink(timer);
+        size--;
+        return true;
+    }
+
+    /**
+     * Advances the wheel to the given tick and returns the timers that fired, in deadline order.
+     *
+     * @param tick the tick to advance to
+     * @return the timers whose deadline has been reached
+     */
+    public synchronized List<Timer<T>> advanceTo(long tick) {
+        List<Timer<T>> fired = new ArrayList<>();
+        while (currentTick < tick) {
+            if (size == 0) {
+                currentTick = tick;
+                break;
+            }
+            currentTick++;
+            cascade();
+
+            int bucket = (int) (currentTick & SLOT_MASK);
+            Timer<T> timer = heads.get(bucket);
+            while (timer != null) {
+                Timer<T> next = timer.next;
+                unlink(timer);
+                size--;
+                fired.add(timer);
+                timer = next;
+            }
+        }
+        return fired;
+    }
+
+    /**
+     * Returns the number of pending timers.
+     *
+     * @return the number of pending timers
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Moves the timers of every higher-level slot that the wheel has just reached down a level.
+     * Higher levels are handled first, since their timers may land in a lower slot that is also due.
+     */
+    private void cascade() {
+        int level = 1;
+        while (level < LEVELS && (currentTick & ((1L << (SLOT_BITS * level)) - 1)) == 0) {
+            level++;
+        }
+        for (int l = level - 1; l >= 1; l--) {
+            int bucket = l * SLOTS + (int) ((currentTick >>> (SLOT_BITS * l)) & SLOT_MASK);
+            Timer<T> timer = heads.get(bucket);
+            heads.set(bucket, null);
+            while (timer != null) {
+                Timer<T> next = timer.next;
+                timer.prev = null;
+                timer.next = null;
+                timer.bucket = -1;
+                insert(timer);
+                timer = next;
+            }
+        }
+    }
+
+    private void insert(Timer<T> timer) {
+        if (timer.deadline <= currentTick) {
+            timer.deadline = currentTick + 1;
+        }
+        long delay = timer.deadline - currentTick;
+
+        int level = 0;
+        while (level < LEVELS - 1 && delay >= (1L << (SLOT_BITS * (level + 1)))) {
+            level++;
+        }
+        int bucket = level * SLOTS + (int) ((timer.deadline >>> (SLOT_BITS * level)) & SLOT_MASK);
+
+        Timer<T> head = heads.get(bucket);
+        timer.next = head;
+        timer.prev = null;
+        if (head != null) {
+            head.prev = timer;
+        }
+        heads.set(bucket, timer);
+        timer.bucket = bucket;
+    }
+
+    private void unlink(Timer<T> timer) {
+        if (timer.prev != null) {
+            timer.prev.next = timer.next;
+        } else {
+            heads.set(timer.bucket, timer.next);
+        }
+        if (timer.next != null) {
+            timer.next.prev = timer.prev;
+        }
+        timer.prev = null;
+        timer.next = null;
+        timer.bucket = -1;
+    }
+}
@@ -0,0 +1,173 @@
+package duke.replication;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import duke.helper.Storage;
+import duke.list.TaskList;
+import duke.task.Task;
+
+/**
+ * One change in the replication log of a primary.
+ * <p>
+ * Every change replaces {@link #getRemoved()} tasks starting at {@link #getPosition()} with the tasks on
+ * {@link #getLines()}, given as lines of the storage file. A snapshot replaces the whole list.
+ */
+public class LogEntry {
+
+    /**
+     * The kinds of change in the log.
+     */
+    public enum Operation {
+        /** Tasks inserted at a position. */
+        ADD,
+        /** A task deleted. */
+        DELETE,
+        /** A task marked as done. */
+        MARK,
+        /** A task marked as not done. */
+        UNMARK,
+        /** Any other change to a run of tasks, such as marking one occurrence or a reload. */
+        REPLACE,
+        /** The whole list, sent to a replica that is too far behind to catch up from the log. */
+        SNAPSHOT
+    }
+
+    private final long sequence;
+    private final long timestamp;
+    private final Operation operation;
+    private final int position;
+    private final int removed;
+    private final List<String> lines;
+
+    /**
+     * Creates a log entry.
+     *
+     * @param sequence  the number of the entry in the log, starting from 1
+     * @param timestamp the time the primary made the change, in milliseconds since the epoch
+     * @param operation the kind of change
+     * @param position  position of the first changed task (0-based)
+     * @param removed   the number of tasks removed
+     * @param lines     the storage lines of the tasks inserted in their place
+     */
+    public LogEntry(long sequence, long timestamp, Operation operation, int position, int removed,
+            List<String> lines) {
+        this.sequence = sequence;
+        this.timestamp = timestamp;
+        this.operation = operation;
+        this.position = position;
+        this.removed = removed;
+        this.lines = lines;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public Operation getOperation() {
+        return operation;
+    }
+
+    public int getPosition() {
+        return position;
+    }
+
+    public int getRemoved() {
+        return removed;
+    }
+
+    public List<String> getLines() {
+        return lines;
+    }
+
+    /**
+     * Applies this change to a task list holding the same tasks as the primary had before the change.
+     * <p>
+     * Marking and unmarking change the existing task, so only the status index is updated.
+     *
+     * @param taskList the task list of a replica
+     * @throws IllegalArgumentException if a line cannot be read
+     */
+    public void applyTo(TaskList taskList) {
+        switch (operation) {
+        case DELETE -> taskList.deleteTask(position);
+        case MARK -> taskList.markTask(position);
+        case UNMARK -> taskList.unmarkTask(position);
+        case SNAPSHOT -> taskList.replaceRange(0, taskList.size(), readTasks());
+        default -> taskList.replaceRange(position, position + removed, readTasks());
+        }
+    }
+
+    private List<Task> readTasks() {
+        List<Task> tasks = new ArrayList<>(lines.size());
+        for (String line : lines) {
+            try {
+                tasks.add(Storage.readLine(line));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Cannot read replicated task: " + line, e);
+            }
+        }
+        return tasks;
+    }
+
+    /**
+     * Writes this entry to a stream.
+     *
+     * @param out the stream to write to
+     * @throws IOException if writing fails
+     */
+    public void write(DataOutputStream out) throws IOException {
+        out.writeLong(sequence);
+        out.writeLong(timestamp);
+        out.writeByte(operation.ordinal());
+        out.writeInt(position);
+        out.writeInt(removed);
+        out.writeInt(lines.size());
+        for (String line : lines) {
+            byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * Reads an entry written by {@link #write(DataOutputStream)}.
+     *
+     * @param in the stream to read from
+     * @return the entry
+     * @throws IOException if reading fails or the entry is malformed
+     */
+    public static LogEntry read(DataInputStream in) throws IOException {
+        long sequence = in.readLong();
+        long timestamp = in.readLong();
+        int operation = in.readUnsignedByte();
+        if (operation >= Operation.values().length) {
+            throw new IOException("Unknown operation " + operation);
+        }
+        int position = in.readInt();
+        int removed = in.readInt();
+        int count = in.readInt();
+        if (count < 0) {
+            throw new IOException("Malformed entry " + sequence);
+        }
+        List<String> lines = new ArrayList<>(Math.min(count, 1024));
+        for (int i = 0; i < count; i++) {
+            int length = in.readInt();
+            if (length < 0) {
+                throw new IOException("Malformed entry " + sequence);
+            }
+            byte[] bytes = new byte[length];
+            in.readFully(bytes);
+            lines.add(new String(bytes, StandardCharsets.UTF_8));
+        }
+        return new LogEntry(sequence, timestamp, Operation.values()[operation], position, removed, lines);
+    }
+}
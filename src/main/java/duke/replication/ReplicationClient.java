@@ -0,0 +1,214 @@
+package duke.replication;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Follows a primary on the same machine, receiving its replication log.
+ * <p>
+ * Entries are received on a background daemon thread and queued. The listener is told when entries are waiting,
+ * and the thread that owns the task list takes them with {@link #takeReceived()}, applies them and reports back
+ * with {@link #markApplied(LogEntry)}. If the connection is lost, the client reconnects and asks for the entries
+ * after the last one it received, so a short outage is caught up from the primary's log.
+ */
+public class ReplicationClient {
+    private static final long RETRY_MILLIS = 1000;
+
+    private final int port;
+    private final Runnable listener;
+    private final ConcurrentLinkedQueue<LogEntry> received = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean isListenerDue = new AtomicBoolean();
+
+    // Only used by the receiving thread
+    private long epoch;
+    private long receivedSequence = -1;
+
+    private volatile boolean isRunning;
+    private volatile boolean isConnected;
+    private volatile boolean isSnapshotWanted;
+    private volatile Socket socket;
+    private volatile long primarySequence;
+    private volatile long appliedSequence = -1;
+    private volatile long lastDelayMillis;
+
+    /**
+     * Creates a client for the primary listening on the given port of the loopback address.
+     *
+     * @param port     the primary's port
+     * @param listener called on the receiving thread when entries are waiting to be taken
+     */
+    public ReplicationClient(int port, Runnable listener) {
+        this.port = port;
+        this.listener = listener;
+    }
+
+    /**
+     * Starts following the primary.
+     */
+    public void start() {
+        isRunning = true;
+        Thread thread = new Thread(this::run, "sai-replication-replica");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops following the primary. Entries received but not yet taken are dropped.
+     */
+    public void stop() {
+        isRunning = false;
+        closeSocket();
+        received.clear();
+    }
+
+    /**
+     * Asks the primary for a snapshot, for when the task list has fallen out of step with it.
+     * Entries received but not yet taken are dropped.
+     */
+    public void requestSnapshot() {
+        isSnapshotWanted = true;
+        received.clear();
+        closeSocket();
+    }
+
+    /**
+     * Takes the entries received since the last call, in log order.
+     *
+     * @return the entries to apply, possibly none
+     */
+    public List<LogEntry> takeReceived() {
+        // Cleared before taking, so an entry queued while taking calls the listener again
+        isListenerDue.set(false);
+        List<LogEntry> entries = new ArrayList<>();
+        LogEntry entry;
+        while ((entry = received.poll()) != null) {
+            entries.add(entry);
+        }
+        return entries;
+    }
+
+    /**
+     * Records that the entries up to the given one have been applied.
+     *
+     * @param entry the last entry applied
+     */
+    public void markApplied(LogEntry entry) {
+        appliedSequence = entry.getSequence();
+        lastDelayMillis = System.currentTimeMillis() - entry.getTimestamp();
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    public boolean isConnected() {
+        return isConnected;
+    }
+
+    public long getPrimarySequence() {
+        return primarySequence;
+    }
+
+    public long getAppliedSequence() {
+        return appliedSequence;
+    }
+
+    /**
+     * Returns how long after the primary made it the last applied change was applied here.
+     *
+     * @return the delay in milliseconds
+     */
+    public long getLastDelayMillis() {
+        return lastDelayMillis;
+    }
+
+    private void run() {
+        while (isRunning) {
+            try (Socket connection = new Socket(InetAddress.getLoopbackAddress(), port)) {
+                socket = connection;
+                if (!isRunning) {
+                    return;
+                }
+                isConnected = true;
+                follow(connection);
+            } catch (IOException e) {
+                // The primary is down or went away; try again shortly
+            } finally {
+                isConnected = false;
+            }
+            try {
+                Thread.sleep(RETRY_MILLIS);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private void follow(Socket connection) throws IOException {
+        connection.setTcpNoDelay(true);
+        DataInputStream in = new DataInputStream(new BufferedInputStream(connection.getInputStream()));
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(connection.getOutputStream()));
+        if (isSnapshotWanted) {
+            isSnapshotWanted = false;
+            receivedSequence = -1;
+            epoch = 0;
+        }
+        out.writeByte(ReplicationProtocol.HELLO);
+        out.writeInt(ReplicationProtocol.VERSION);
+        out.writeLong(epoch);
+        out.writeLong(receivedSequence);
+        out.flush();
+        if (in.readUnsignedByte() != ReplicationProtocol.HELLO) {
+            throw new IOException("Unexpected reply from primary");
+        }
+        long primaryEpoch = in.readLong();
+
+        long acknowledged = -1;
+        while (true) {
+            int type = in.readUnsignedByte();
+            if (type == ReplicationProtocol.ENTRY) {
+                LogEntry entry = LogEntry.read(in);
+                // The primary only sends entries that follow on from ours, or a snapshot, in its own epoch
+                epoch = primaryEpoch;
+                receivedSequence = entry.getSequence();
+                primarySequence = entry.getSequence();
+                received.add(entry);
+                if (isListenerDue.compareAndSet(false, true)) {
+                    listener.run();
+                }
+            } else if (type == ReplicationProtocol.HEARTBEAT) {
+                primarySequence = in.readLong();
+            } else {
+                throw new IOException("Unexpected message " + type);
+            }
+
+            long applied = appliedSequence;
+            if (applied != acknowledged) {
+                out.writeByte(ReplicationProtocol.ACK);
+                out.writeLong(applied);
+                out.flush();
+                acknowledged = applied;
+            }
+        }
+    }
+
+    private void closeSocket() {
+        try {
+            Socket current = socket;
+            if (current != null) {
+                current.close();
+            }
+        } catch (IOException e) {
+            // Nothing left to release
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package duke.replication;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The log of changes made by a primary, kept for replicas to read.
+ * <p>
+ * The most recent entries are kept, so a replica that was briefly disconnected can catch up by reading the
+ * entries it missed. A replica that is further behind is sent a snapshot instead. Snapshots are taken from a
+ * copy of the storage lines that every entry is applied to, so they never wait for the thread making changes.
+ * <p>
+ * Entries are appended by the thread making changes and read by one sender thread per replica.
+ */
+public class ReplicationLog {
+    private static final int DEFAULT_ENTRIES_KEPT = 10_000;
+
+    private final long epoch = ThreadLocalRandom.current().nextLong();
+    private final int entriesKept;
+    private final List<String> lines;
+    private final ArrayDeque<LogEntry> recent = new ArrayDeque<>();
+    private long lastSequence;
+
+    /**
+     * Creates a log for a task list with the given storage lines.
+     *
+     * @param lines the storage lines of the tasks before the first change
+     */
+    public ReplicationLog(List<String> lines) {
+        this(lines, DEFAULT_ENTRIES_KEPT);
+    }
+
+    ReplicationLog(List<String> lines, int entriesKept) {
+        this.lines = new ArrayList<>(lines);
+        this.entriesKept = entriesKept;
+    }
+
+    /**
+     * Returns a number identifying this log, so replicas notice when a primary restarts and numbers its
+     * entries from 1 again.
+     *
+     * @return the epoch of this log
+     */
+    public long getEpoch() {
+        return epoch;
+    }
+
+    /**
+     * Returns the number of the last entry appended.
+     *
+     * @return the last sequence number, or 0 if nothing has been appended
+     */
+    public synchronized long getLastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * Appends a change and wakes the replicas' senders.
+     *
+     * @param operation the kind of change
+     * @param position  position of the first changed task (0-based)
+     * @param removed   the number of tasks removed
+     * @param added     the storage lines of the tasks inserted in their place
+     * @return the entry appended
+     */
+    public synchronized LogEntry append(LogEntry.Operation operation, int position, int removed,
+            List<String> added) {
+        LogEntry entry = new LogEntry(++lastSequence, System.currentTimeMillis(), operation, position, removed,
+                List.copyOf(added));
+        lines.subList(position, position + removed).clear();
+        lines.addAll(position, added);
+        recent.addLast(entry);
+        if (recent.size() > entriesKept) {
+            recent.removeFirst();
+        }
+        notifyAll();
+        return entry;
+    }
+
+    /**
+     * Returns a snapshot of the whole list as of the last entry appended.
+     *
+     * @return a snapshot entry numbered like the last entry
+     */
+    public synchronized LogEntry snapshot() {
+        return new LogEntry(lastSequence, System.currentTimeMillis(), LogEntry.Operation.SNAPSHOT, 0, 0,
+                List.copyOf(lines));
+    }
+
+    /**
+     * Waits until there are entries after the given one, or until the timeout passes.
+     *
+     * @param sequence      the number of the last entry the caller has
+     * @param timeoutMillis how long to wait for new entries, or 0 not to wait
+     * @return the entries after the given one, possibly none; or null if some of them are no longer kept
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public synchronized List<LogEntry> awaitEntriesAfter(long sequence, long timeoutMillis)
+            throws InterruptedException {
+        // wait(0) would wait forever, so a zero timeout does not wait at all
+        if (lastSequence == sequence && timeoutMillis > 0) {
+            wait(timeoutMillis);
+        }
+        if (lastSequence - sequence > recent.size() || sequence > lastSequence) {
+            return null;
+        }
+        // The wanted entries are the newest ones, so walk back from the end
+        int count = (int) (lastSequence - sequence);
+        List<LogEntry> entries = new ArrayList<>(count);
+        Iterator<LogEntry> it = recent.descendingIterator();
+        for (int i = 0; i < count; i++) {
+            entries.add(it.next());
+        }
+        Collections.reverse(entries);
+        return entries;
+    }
+}
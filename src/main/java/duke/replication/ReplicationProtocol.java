@@ -0,0 +1,26 @@
+package duke.replication;
+
+/**
+ * The messages exchanged between a primary and its replicas over a local socket.
+ * <p>
+ * A replica opens the connection and sends {@link #HELLO} with the epoch and sequence number of the last entry
+ * it received. The primary answers with {@link #ENTRY} messages, starting with a snapshot if the replica cannot
+ * catch up from the log, and sends {@link #HEARTBEAT} when there is nothing new. The replica sends {@link #ACK}
+ * with the last entry it applied, so the primary can report each replica's lag.
+ */
+final class ReplicationProtocol {
+    /** Replica to primary: protocol version, epoch and last sequence number received. */
+    static final int HELLO = 1;
+    /** Primary to replica: a {@link LogEntry}. */
+    static final int ENTRY = 2;
+    /** Primary to replica: the primary's last sequence number and current time. */
+    static final int HEARTBEAT = 3;
+    /** Replica to primary: the last sequence number applied. */
+    static final int ACK = 4;
+
+    static final int VERSION = 1;
+    static final long HEARTBEAT_MILLIS = 1000;
+
+    private ReplicationProtocol() {
+    }
+}
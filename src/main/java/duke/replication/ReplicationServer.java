@@ -0,0 +1,182 @@
+package duke.replication;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Streams the replication log of a primary to replicas on the same machine.
+ * <p>
+ * The server listens on the loopback address only. Each replica gets a sender thread, which waits for new
+ * entries in the {@link ReplicationLog} and writes them out, and a thread reading the replica's
+ * acknowledgements. Both are daemon threads, so they never keep S.AI running.
+ */
+public class ReplicationServer {
+
+    /**
+     * A replica connected to this server.
+     */
+    public static class Follower {
+        private final Socket socket;
+        private final long connectedAt = System.currentTimeMillis();
+        private volatile long acknowledged = -1;
+
+        Follower(Socket socket) {
+            this.socket = socket;
+        }
+
+        /**
+         * Returns the address the replica connected from.
+         *
+         * @return the replica's address and port
+         */
+        public String getAddress() {
+            return socket.getInetAddress().getHostAddress() + ":" + socket.getPort();
+        }
+
+        public long getConnectedAt() {
+            return connectedAt;
+        }
+
+        /**
+         * Returns the number of the last entry the replica has applied.
+         *
+         * @return the sequence number, or -1 if the replica has not applied anything yet
+         */
+        public long getAcknowledged() {
+            return acknowledged;
+        }
+    }
+
+    private final ReplicationLog log;
+    private final ServerSocket serverSocket;
+    private final List<Follower> followers = new CopyOnWriteArrayList<>();
+
+    /**
+     * Creates a server for the given log, listening on the given port of the loopback address.
+     *
+     * @param log  the log to stream
+     * @param port the port to listen on, or 0 for any free port
+     * @throws IOException if the port cannot be opened
+     */
+    public ReplicationServer(ReplicationLog log, int port) throws IOException {
+        this.log = log;
+        this.serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+    }
+
+    /**
+     * Starts accepting replicas.
+     */
+    public void start() {
+        Thread thread = new Thread(this::acceptReplicas, "sai-replication-primary");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops accepting replicas and disconnects the connected ones.
+     */
+    public void stop() {
+        try {
+            serverSocket.close();
+            for (Follower follower : followers) {
+                follower.socket.close();
+            }
+        } catch (IOException e) {
+            // Nothing left to release
+        }
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public ReplicationLog getLog() {
+        return log;
+    }
+
+    public List<Follower> getFollowers() {
+        return List.copyOf(followers);
+    }
+
+    private void acceptReplicas() {
+        try {
+            while (true) {
+                Follower follower = new Follower(serverSocket.accept());
+                followers.add(follower);
+                Thread sender = new Thread(() -> serve(follower), "sai-replication-sender");
+                sender.setDaemon(true);
+                sender.start();
+            }
+        } catch (IOException e) {
+            // The server was stopped
+        }
+    }
+
+    private void serve(Follower follower) {
+        try (Socket socket = follower.socket) {
+            socket.setTcpNoDelay(true);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            if (in.readUnsignedByte() != ReplicationProtocol.HELLO || in.readInt() != ReplicationProtocol.VERSION) {
+                return;
+            }
+            long epoch = in.readLong();
+            long sequence = in.readLong();
+            out.writeByte(ReplicationProtocol.HELLO);
+            out.writeLong(log.getEpoch());
+            out.flush();
+
+            Thread acks = new Thread(() -> readAcks(follower, in), "sai-replication-acks");
+            acks.setDaemon(true);
+            acks.start();
+
+            // Entries of another epoch are numbered independently, so such a replica starts from a snapshot
+            boolean needsSnapshot = epoch != log.getEpoch();
+            while (true) {
+                List<LogEntry> entries = needsSnapshot
+                        ? null
+                        : log.awaitEntriesAfter(sequence, ReplicationProtocol.HEARTBEAT_MILLIS);
+                if (entries == null) {
+                    LogEntry snapshot = log.snapshot();
+                    out.writeByte(ReplicationProtocol.ENTRY);
+                    snapshot.write(out);
+                    sequence = snapshot.getSequence();
+                    needsSnapshot = false;
+                } else if (entries.isEmpty()) {
+                    out.writeByte(ReplicationProtocol.HEARTBEAT);
+                    out.writeLong(log.getLastSequence());
+                } else {
+                    for (LogEntry entry : entries) {
+                        out.writeByte(ReplicationProtocol.ENTRY);
+                        entry.write(out);
+                    }
+                    sequence = entries.get(entries.size() - 1).getSequence();
+                }
+                out.flush();
+            }
+        } catch (IOException | InterruptedException e) {
+            // The replica disconnected or the server was stopped
+        } finally {
+            followers.remove(follower);
+        }
+    }
+
+    private void readAcks(Follower follower, DataInputStream in) {
+        try {
+            while (in.readUnsignedByte() == ReplicationProtocol.ACK) {
+                follower.acknowledged = in.readLong();
+            }
+            follower.socket.close();
+        } catch (IOException e) {
+            // The replica disconnected; the sender notices when it next writes
+        }
+    }
+}
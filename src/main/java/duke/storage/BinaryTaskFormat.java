@@ -0,0 +1,325 @@
+package duke.storage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import duke.task.Task;
+
+/**
+ * Reads and writes tasks in S.AI's binary storage format.
+ * <p>
+ * The file is laid out as:
+ * <pre>
+ *     header      magic "SAIB", version (2 bytes), reserved (2 bytes), task count (4 bytes), index offset (8 bytes)
+ *     dictionary  every distinct description and tag once, compressed
+ *     blocks      up to {@value #TASKS_PER_BLOCK} task records each, each compressed on its own
+ *     index       the offset and sizes of the dictionary and of every block
+ * </pre>
+ * Since blocks are compressed independently, a single block can be read with {@link #readBlock(Path, int)}
+ * by decompressing only the dictionary and that block. Records are encoded by {@link TaskRecordCodec}.
+ */
+public class BinaryTaskFormat {
+    /**
+     * The version written by this class. Files with a newer version are rejected.
+     * Version 2 added tags, so files without tags read the same as version 1.
+     */
+    public static final int VERSION = 2;
+
+    private static final byte[] MAGIC = {'S', 'A', 'I', 'B'};
+    private static final int HEADER_SIZE = 20;
+    private static final int TASKS_PER_BLOCK = 1024;
+
+    /**
+     * Returns whether the given file is in the binary format.
+     *
+     * @param path the file to check
+     * @return true if the file starts with the binary format's magic bytes
+     * @throws IOException if the file cannot be read
+     */
+    public static boolean isBinary(Path path) throws IOException {
+        if (!Files.isRegularFile(path)) {
+            return false;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer magic = ByteBuffer.allocate(MAGIC.length);
+            while (magic.hasRemaining() && channel.read(magic) >= 0) {
+                // Keep reading until the magic bytes are in or the file ends
+            }
+            return !magic.hasRemaining() && Arrays.equals(magic.array(), MAGIC);
+        }
+    }
+
+    /**
+     * Writes the given tasks to a file, replacing it.
+     * <p>
+     * The file is first written under a temporary name and then moved into place,
+     * so a failed write leaves the previous file intact.
+     *
+     * @param path  the file to write
+     * @param tasks the tasks to write, in order
+     * @throws IOException if writing fails
+     */
+    public static void write(Path path, List<Task> tasks) throws IOException {
+        Path temp = writeTemp(path, tasks);
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Writes the given tasks to a temporary file next to the given file, for the caller to move into place.
+     *
+     * @param path  the file that will be replaced
+     * @param tasks the tasks to write, in order
+     * @return the temporary file
+     * @throws IOException if writing fails
+     */
+    public static Path writeTemp(Path path, List<Task> tasks) throws IOException {
+        Map<String, Integer> dictionary = new LinkedHashMap<>();
+        for (Task task : tasks) {
+            dictionary.putIfAbsent(task.getDescription(), dictionary.size());
+            for (String tag : task.getTags()) {
+                dictionary.putIfAbsent(tag, dictionary.size());
+            }
+        }
+
+        Path parent = path.toAbsolutePath().getParent();
+        Path temp = Files.createTempFile(parent, "sai", ".tmp");
+        Deflater deflater = new Deflater();
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            ByteArrayOutputStream index = new ByteArrayOutputStream();
+            channel.position(HEADER_SIZE);
+
+            ByteArrayOutputStream raw = new ByteArrayOutputStream();
+            for (String description : dictionary.keySet()) {
+                VarInt.writeString(raw, description);
+            }
+            writeBlock(channel, raw, deflater, index);
+
+            int blocks = (tasks.size() + TASKS_PER_BLOCK - 1) / TASKS_PER_BLOCK;
+            VarInt.write(index, blocks);
+            for (int block = 0; block < blocks; block++) {
+                raw.reset();
+                int end = Math.min(tasks.size(), (block + 1) * TASKS_PER_BLOCK);
+                for (int i = block * TASKS_PER_BLOCK; i < end; i++) {
+                    TaskRecordCodec.write(raw, tasks.get(i), dictionary);
+                }
+                writeBlock(channel, raw, deflater, index);
+            }
+
+            long indexOffset = channel.position();
+            writeFully(channel, ByteBuffer.wrap(index.toByteArray()));
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.put(MAGIC).putShort((short) VERSION).putShort((short) 0).putInt(tasks.size()).putLong(indexOffset);
+            header.flip();
+            channel.position(0);
+            writeFully(channel, header);
+            channel.force(false);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        } finally {
+            deflater.end();
+        }
+        return temp;
+    }
+
+    /**
+     * Reads all tasks from a file.
+     *
+     * @param path the file to read
+     * @return the tasks, in order
+     * @throws IOException if the file cannot be read, is corrupted or has an unsupported version
+     */
+    public static List<Task> read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            Layout layout = readLayout(channel);
+            List<String> descriptions = readDictionary(channel, layout);
+            List<Task> tasks = new ArrayList<>(Math.min(layout.taskCount, TASKS_PER_BLOCK * layout.blockCount()));
+            for (int block = 0; block < layout.blockCount(); block++) {
+                readRecords(channel, layout, block, descriptions, tasks);
+            }
+            if (tasks.size() != layout.taskCount) {
+                throw new IOException("Storage file is corrupted");
+            }
+            return tasks;
+        }
+    }
+
+    /**
+     * Reads the tasks in a single block, without decompressing the other blocks.
+     *
+     * @param path  the file to read
+     * @param block the block number, starting at 0; block {@code n} holds the tasks from
+     *              position {@code n * 1024} onwards
+     * @return the tasks in the block, in order
+     * @throws IOException if the file cannot be read, is corrupted or has no such block
+     */
+    public static List<Task> readBlock(Path path, int block) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            Layout layout = readLayout(channel);
+            if (block < 0 || block >= layout.blockCount()) {
+                throw new IOException("No block " + block + " in storage file");
+            }
+            List<Task> tasks = new ArrayList<>();
+            readRecords(channel, layout, block, readDictionary(channel, layout), tasks);
+            return tasks;
+        }
+    }
+
+    private static void writeBlock(FileChannel channel, ByteArrayOutputStream raw, Deflater deflater,
+            ByteArrayOutputStream index) throws IOException {
+        byte[] input = raw.toByteArray();
+        deflater.reset();
+        deflater.setInput(input);
+        deflater.finish();
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(input.length / 2 + 64);
+        byte[] chunk = new byte[8192];
+        while (!deflater.finished()) {
+            int n = deflater.deflate(chunk);
+            compressed.write(chunk, 0, n);
+        }
+
+        VarInt.write(index, channel.position());
+        VarInt.write(index, compressed.size());
+        VarInt.write(index, input.length);
+        writeFully(channel, ByteBuffer.wrap(compressed.toByteArray()));
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static Layout readLayout(FileChannel channel) throws IOException {
+        ByteBuffer header = readFully(channel, 0, HEADER_SIZE);
+        byte[] magic = new byte[MAGIC.length];
+        header.get(magic);
+        if (!Arrays.equals(magic, MAGIC)) {
+            throw new IOException("Not a binary storage file");
+        }
+        int version = header.getShort() & 0xFFFF;
+        if (version > VERSION) {
+            throw new IOException("Storage file version " + version + " is newer than this version of S.AI");
+        }
+        header.getShort();
+        int taskCount = header.getInt();
+        long indexOffset = header.getLong();
+        if (taskCount < 0 || indexOffset < HEADER_SIZE || indexOffset > channel.size()) {
+            throw new IOException("Storage file is corrupted");
+        }
+
+        ByteBuffer index = readFully(channel, indexOffset, (int) (channel.size() - indexOffset));
+        Layout layout = new Layout(taskCount);
+        layout.add(readBlockEntry(index));
+        int blocks = VarInt.readInt(index);
+        for (int i = 0; i < blocks; i++) {
+            layout.add(readBlockEntry(index));
+        }
+        return layout;
+    }
+
+    private static long[] readBlockEntry(ByteBuffer index) throws IOException {
+        return new long[] {VarInt.read(index), VarInt.readInt(index), VarInt.readInt(index)};
+    }
+
+    private static List<String> readDictionary(FileChannel channel, Layout layout) throws IOException {
+        ByteBuffer raw = inflate(channel, layout.entries.get(0));
+        List<String> descriptions = new ArrayList<>();
+        while (raw.hasRemaining()) {
+            descriptions.add(VarInt.readString(raw));
+        }
+        return descriptions;
+    }
+
+    private static void readRecords(FileChannel channel, Layout layout, int block, List<String> descriptions,
+            List<Task> tasks) throws IOException {
+        ByteBuffer raw = inflate(channel, layout.entries.get(block + 1));
+        try {
+            while (raw.hasRemaining()) {
+                tasks.add(TaskRecordCodec.read(raw, descriptions));
+            }
+        } catch (DateTimeException | IllegalArgumentException e) {
+            throw new IOException("Storage file is corrupted", e);
+        }
+    }
+
+    private static ByteBuffer inflate(FileChannel channel, long[] entry) throws IOException {
+        long offset = entry[0];
+        int compressedSize = (int) entry[1];
+        int rawSize = (int) entry[2];
+        if (offset + compressedSize > channel.size()) {
+            throw new IOException("Storage file is truncated");
+        }
+
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(readFully(channel, offset, compressedSize).array());
+            byte[] raw = new byte[rawSize];
+            int n = 0;
+            while (n < rawSize && !inflater.finished()) {
+                int read = inflater.inflate(raw, n, rawSize - n);
+                if (read == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                n += read;
+            }
+            if (n != rawSize) {
+                throw new IOException("Storage file is corrupted");
+            }
+            return ByteBuffer.wrap(raw);
+        } catch (DataFormatException e) {
+            throw new IOException("Storage file is corrupted", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, long position, int size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Storage file is truncated");
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * The header and index of a file. Entry 0 locates the dictionary and entry {@code n + 1} locates block {@code n};
+     * each entry holds the offset, the compressed size and the uncompressed size.
+     */
+    private static class Layout {
+        private final int taskCount;
+        private final List<long[]> entries;
+
+        Layout(int taskCount) {
+            this.taskCount = taskCount;
+            this.entries = new ArrayList<>();
+        }
+
+        void add(long[] entry) {
+            entries.add(entry);
+        }
+
+        int blockCount() {
+            return entries.size() - 1;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package duke.storage;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Finds the runs of lines that differ between two versions of a file, given a hash of every line.
+ * <p>
+ * Lines matching at the start and at the end are skipped first. The rest is compared with Myers'
+ * algorithm, which takes time proportional to the number of lines times the number of edits, so a few
+ * edits to a long file are cheap. If the files differ in more than a given number of lines, the whole
+ * differing middle is reported as one run instead.
+ */
+public class LineDiff {
+
+    /**
+     * A run of lines {@code [oldFrom, oldTo)} of the old file that became lines {@code [newFrom, newTo)}
+     * of the new file.
+     */
+    public static class Hunk {
+        private final int oldFrom;
+        private final int oldTo;
+        private final int newFrom;
+        private final int newTo;
+
+        /**
+         * Creates a run of changed lines.
+         *
+         * @param oldFrom first changed line of the old file (0-based, inclusive)
+         * @param oldTo   line after the last changed line of the old file (exclusive)
+         * @param newFrom first changed line of the new file (0-based, inclusive)
+         * @param newTo   line after the last changed line of the new file (exclusive)
+         */
+        public Hunk(int oldFrom, int oldTo, int newFrom, int newTo) {
+            this.oldFrom = oldFrom;
+            this.oldTo = oldTo;
+            this.newFrom = newFrom;
+            this.newTo = newTo;
+        }
+
+        public int getOldFrom() {
+            return oldFrom;
+        }
+
+        public int getOldTo() {
+            return oldTo;
+        }
+
+        public int getNewFrom() {
+            return newFrom;
+        }
+
+        public int getNewTo() {
+            return newTo;
+        }
+    }
+
+    /**
+     * Returns the runs of lines that differ between two files.
+     *
+     * @param oldHashes hashes of the lines of the old file
+     * @param newHashes hashes of the lines of the new file
+     * @param maxEdits  the largest number of inserted and deleted lines to look for individually
+     * @return the differing runs, in file order; empty if the files are the same
+     */
+    public static List<Hunk> diff(long[] oldHashes, long[] newHashes, int maxEdits) {
+        int prefix = 0;
+        int maxCommon = Math.min(oldHashes.length, newHashes.length);
+        while (prefix < maxCommon && oldHashes[prefix] == newHashes[prefix]) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < maxCommon - prefix
+                && oldHashes[oldHashes.length - 1 - suffix] == newHashes[newHashes.length - 1 - suffix]) {
+            suffix++;
+        }
+
+        long[] a = Arrays.copyOfRange(oldHashes, prefix, oldHashes.length - suffix);
+        long[] b = Arrays.copyOfRange(newHashes, prefix, newHashes.length - suffix);
+        List<Hunk> hunks = new ArrayList<>();
+        if (a.length == 0 && b.length == 0) {
+            return hunks;
+        }
+
+        List<int[]> matches = findMatches(a, b, maxEdits);
+        if (matches == null) {
+            hunks.add(new Hunk(prefix, prefix + a.length, prefix, prefix + b.length));
+            return hunks;
+        }
+
+        // Every gap between consecutive matching lines is a run of changed lines
+        int lastA = -1;
+        int lastB = -1;
+        matches.add(new int[] {a.length, b.length});
+        for (int[] match : matches) {
+            if (match[0] > lastA + 1 || match[1] > lastB + 1) {
+                hunks.add(new Hunk(prefix + lastA + 1, prefix + match[0], prefix + lastB + 1, prefix + match[1]));
+            }
+            lastA = match[0];
+            lastB = match[1];
+        }
+        return hunks;
+    }
+
+    /**
+     * Returns the pairs of matching line numbers in a shortest edit script from {@code a} to {@code b},
+     * in order, or null if more than {@code maxEdits} edits are needed.
+     */
+    private static List<int[]> findMatches(long[] a, long[] b, int maxEdits) {
+        int n = a.length;
+        int m = b.length;
+        int max = Math.min(n + m, maxEdits);
+        int offset = max + 1;
+        int[] v = new int[2 * max + 3];
+        List<int[]> trace = new ArrayList<>();
+
+        for (int d = 0; d <= max; d++) {
+            for (int k = -d; k <= d; k += 2) {
+                int x = k == -d || (k != d && v[offset + k - 1] < v[offset + k + 1])
+                        ? v[offset + k + 1]
+                        : v[offset + k - 1] + 1;
+                int y = x - k;
+                while (x < n && y < m && a[x] == b[y]) {
+                    x++;
+                    y++;
+                }
+                v[offset + k] = x;
+                if (x >= n && y >= m) {
+                    trace.add(Arrays.copyOfRange(v, offset - d, offset + d + 1));
+                    return backtrack(a, b, trace, d);
+                }
+            }
+            // Only diagonals -d..d are reachable after d edits
+            trace.add(Arrays.copyOfRange(v, offset - d, offset + d + 1));
+        }
+        return null;
+    }
+
+    private static List<int[]> backtrack(long[] a, long[] b, List<int[]> trace, int edits) {
+        List<int[]> matches = new ArrayList<>();
+        int x = a.length;
+        int y = b.length;
+        for (int d = edits; d > 0; d--) {
+            int[] previous = trace.get(d - 1);
+            int k = x - y;
+            boolean isInsertion = k == -d || (k != d && at(previous, d - 1, k - 1) < at(previous, d - 1, k + 1));
+            int prevK = isInsertion ? k + 1 : k - 1;
+            int prevX = at(previous, d - 1, prevK);
+            int prevY = prevX - prevK;
+            int snakeX = isInsertion ? prevX : prevX + 1;
+            while (x > snakeX) {
+                x--;
+                y--;
+                matches.add(new int[] {x, y});
+            }
+            x = prevX;
+            y = prevY;
+        }
+        while (x > 0) {
+            x--;
+            y--;
+            matches.add(new int[] {x, y});
+        }
+        Collections.reverse(matches);
+        return matches;
+    }
+
+    private static int at(int[] v, int d, int k) {
+        return v[k + d];
+    }
+}
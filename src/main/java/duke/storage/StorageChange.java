@@ -0,0 +1,71 @@
+package duke.storage;
+
+import java.util.List;
+
+import duke.task.Task;
+
+/**
+ * Describes how the storage file was changed by another program, as a run of tasks to replace.
+ * <p>
+ * Applying the change replaces the {@link #getRemoved()} tasks, which start at position {@link #getFrom()}
+ * of the task list, with the {@link #getAdded()} tasks.
+ * <p>
+ * A conflict is a change another program made to tasks that this program also changed. Both versions are kept:
+ * a conflict removes nothing and inserts the other program's versions after this program's.
+ */
+public class StorageChange {
+    private final int from;
+    private final List<Task> removed;
+    private final List<Task> added;
+    private final int unreadableLines;
+    private final boolean isConflict;
+
+    /**
+     * Creates a change.
+     *
+     * @param from            position of the first replaced task in the task list (0-based)
+     * @param removed         the tasks to remove, in list order
+     * @param added           the tasks to insert in their place, in file order
+     * @param unreadableLines the number of changed lines that could not be read
+     */
+    public StorageChange(int from, List<Task> removed, List<Task> added, int unreadableLines) {
+        this(from, removed, added, unreadableLines, false);
+    }
+
+    /**
+     * Creates a change that may be a conflict.
+     *
+     * @param from            position of the first replaced task in the task list (0-based)
+     * @param removed         the tasks to remove, in list order
+     * @param added           the tasks to insert in their place, in file order
+     * @param unreadableLines the number of changed lines that could not be read
+     * @param isConflict      true if this program changed the same tasks
+     */
+    public StorageChange(int from, List<Task> removed, List<Task> added, int unreadableLines, boolean isConflict) {
+        this.from = from;
+        this.removed = removed;
+        this.added = added;
+        this.unreadableLines = unreadableLines;
+        this.isConflict = isConflict;
+    }
+
+    public int getFrom() {
+        return from;
+    }
+
+    public List<Task> getRemoved() {
+        return removed;
+    }
+
+    public List<Task> getAdded() {
+        return added;
+    }
+
+    public int getUnreadableLines() {
+        return unreadableLines;
+    }
+
+    public boolean isConflict() {
+        return isConflict;
+    }
+}
@@ -0,0 +1,51 @@
+package duke.storage;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * An exclusive lock on a storage file, shared by every process that writes it.
+ * <p>
+ * The lock is taken on a separate {@code .lock} file next to the storage file. Saving replaces the storage
+ * file with a new one, so a lock on the storage file itself would stop excluding other processes after the
+ * first save. Readers do not need the lock, since a file is only ever replaced as a whole.
+ */
+public class StorageLock implements AutoCloseable {
+    private final FileChannel channel;
+
+    private StorageLock(FileChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * Waits until no other process holds the lock for the given file, then takes it.
+     *
+     * @param file the storage file to lock
+     * @return the lock, to be closed as soon as the file has been written
+     * @throws IOException if the lock file cannot be opened or locked
+     */
+    public static StorageLock acquire(Path file) throws IOException {
+        Path lockFile = file.resolveSibling(file.getFileName() + ".lock");
+        FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        try {
+            channel.lock();
+            return new StorageLock(channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Releases the lock.
+     *
+     * @throws IOException if the lock file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        // Closing the channel releases its lock
+        channel.close();
+    }
+}
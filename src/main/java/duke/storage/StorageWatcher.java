@@ -0,0 +1,96 @@
+package duke.storage;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches the storage file for changes made by other programs.
+ * <p>
+ * The directory holding the file is watched on a background daemon thread. Bursts of events, such as
+ * a script writing the file in several steps, are collapsed into one notification once the file has
+ * been quiet for a short while. Changes made by S.AI itself are reported too; the listener is expected
+ * to find that nothing has changed.
+ */
+public class StorageWatcher {
+    private static final long QUIET_MILLIS = 200;
+
+    private final Path file;
+    private final Runnable listener;
+    private WatchService watchService;
+
+    /**
+     * Creates a watcher for the given file.
+     *
+     * @param file     the file to watch
+     * @param listener called on the watcher thread after the file has changed
+     */
+    public StorageWatcher(Path file, Runnable listener) {
+        this.file = file.toAbsolutePath().normalize();
+        this.listener = listener;
+    }
+
+    /**
+     * Starts watching the file.
+     *
+     * @throws IOException if the directory cannot be watched
+     */
+    public void start() throws IOException {
+        watchService = FileSystems.getDefault().newWatchService();
+        file.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY);
+
+        Thread thread = new Thread(this::run, "sai-storage-watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops watching the file.
+     */
+    public void stop() {
+        try {
+            if (watchService != null) {
+                watchService.close();
+            }
+        } catch (IOException e) {
+            // Nothing left to release
+        }
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean isChanged = handleEvents(key);
+                // Wait until the file has been quiet, so a file being written is not read half-way
+                while ((key = watchService.poll(QUIET_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    isChanged |= handleEvents(key);
+                }
+                if (isChanged) {
+                    listener.run();
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // The watcher was stopped
+        }
+    }
+
+    private boolean handleEvents(WatchKey key) {
+        boolean isChanged = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW
+                    || file.getFileName().equals(event.context())) {
+                isChanged = true;
+            }
+        }
+        key.reset();
+        return isChanged;
+    }
+}
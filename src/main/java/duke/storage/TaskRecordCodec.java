@@ -0,0 +1,176 @@
+package duke.storage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import duke.task.DatedTask;
+import duke.task.DeadlineTask;
+import duke.task.EventTask;
+import duke.task.Recurrence;
+import duke.task.Task;
+import duke.task.TodoTask;
+
+/**
+ * Encodes single tasks as compact binary records.
+ * <p>
+ * A record starts with a flags byte holding the task type, whether it is done and whether it repeats.
+ * The description is written as its number in the shared description dictionary. Dates are written as
+ * signed minutes since 1970-01-01T00:00, and the end of an event as its length in minutes, so typical
+ * records take a handful of bytes. Dates are kept to the minute, the precision S.AI works in.
+ * Tags share the dictionary with descriptions, so each tag is written as a number too.
+ */
+class TaskRecordCodec {
+    private static final int TYPE_MASK = 0x03;
+    private static final int TODO = 0;
+    private static final int DEADLINE = 1;
+    private static final int EVENT = 2;
+    private static final int DONE = 0x04;
+    private static final int RECURRING = 0x08;
+    private static final int HAS_UNTIL = 0x10;
+    private static final int HAS_TAGS = 0x20;
+
+    /**
+     * Writes a task as a record.
+     *
+     * @param out          the buffer to write to
+     * @param task         the task to write
+     * @param descriptions the dictionary, mapping each description and tag to its number
+     */
+    static void write(ByteArrayOutputStream out, Task task, Map<String, Integer> descriptions) {
+        int flags = task instanceof DeadlineTask ? DEADLINE : task instanceof EventTask ? EVENT : TODO;
+        if (task.isDone()) {
+            flags |= DONE;
+        }
+        Recurrence recurrence = task instanceof DatedTask ? ((DatedTask) task).getRecurrence() : null;
+        if (recurrence != null) {
+            flags |= RECURRING;
+            if (recurrence.getUntil() != null) {
+                flags |= HAS_UNTIL;
+            }
+        }
+
+        if (!task.getTags().isEmpty()) {
+            flags |= HAS_TAGS;
+        }
+
+        out.write(flags);
+        VarInt.write(out, descriptions.get(task.getDescription()));
+        if (task instanceof DeadlineTask) {
+            VarInt.writeSigned(out, toMinutes(((DeadlineTask) task).getBy()));
+        } else if (task instanceof EventTask) {
+            long start = toMinutes(((EventTask) task).getStart());
+            VarInt.writeSigned(out, start);
+            VarInt.writeSigned(out, toMinutes(((EventTask) task).getEnd()) - start);
+        }
+
+        if (recurrence != null) {
+            out.write(recurrence.getFrequency().ordinal());
+            VarInt.write(out, recurrence.getCount());
+            if (recurrence.getUntil() != null) {
+                VarInt.writeSigned(out, toMinutes(recurrence.getUntil()));
+            }
+            Map<Integer, Boolean> exceptions = ((DatedTask) task).getOccurrenceExceptions();
+            VarInt.write(out, exceptions.size());
+            int previous = 0;
+            for (Map.Entry<Integer, Boolean> entry : exceptions.entrySet()) {
+                // Occurrence numbers are written as gaps from the previous one
+                VarInt.write(out, entry.getKey() - previous);
+                out.write(entry.getValue() ? 1 : 0);
+                previous = entry.getKey();
+            }
+        }
+
+        if (!task.getTags().isEmpty()) {
+            VarInt.write(out, task.getTags().size());
+            for (String tag : task.getTags()) {
+                VarInt.write(out, descriptions.get(tag));
+            }
+        }
+    }
+
+    /**
+     * Reads a record written by {@link #write(ByteArrayOutputStream, Task, Map)}.
+     *
+     * @param in           the buffer to read from
+     * @param descriptions the dictionary, listing the descriptions and tags by number
+     * @return the task
+     * @throws IOException if the record is malformed
+     */
+    static Task read(ByteBuffer in, List<String> descriptions) throws IOException {
+        if (!in.hasRemaining()) {
+            throw new IOException("Storage file is truncated");
+        }
+        int flags = in.get() & 0xFF;
+        int descriptionId = VarInt.readInt(in);
+        if (descriptionId >= descriptions.size()) {
+            throw new IOException("Storage file is corrupted");
+        }
+        String description = descriptions.get(descriptionId);
+
+        Task task = switch (flags & TYPE_MASK) {
+        case TODO -> new TodoTask(description);
+        case DEADLINE -> new DeadlineTask(description, fromMinutes(VarInt.readSigned(in)));
+        case EVENT -> {
+            long start = VarInt.readSigned(in);
+            yield new EventTask(description, fromMinutes(start), fromMinutes(start + VarInt.readSigned(in)));
+        }
+        default -> throw new IOException("Storage file is corrupted");
+        };
+
+        if ((flags & DONE) != 0) {
+            task.mark();
+        }
+
+        if ((flags & RECURRING) != 0) {
+            if (!(task instanceof DatedTask) || !in.hasRemaining()) {
+                throw new IOException("Storage file is corrupted");
+            }
+            int frequency = in.get();
+            if (frequency < 0 || frequency >= Recurrence.Frequency.values().length) {
+                throw new IOException("Storage file is corrupted");
+            }
+            int count = VarInt.readInt(in);
+            LocalDateTime until = (flags & HAS_UNTIL) != 0 ? fromMinutes(VarInt.readSigned(in)) : null;
+            DatedTask datedTask = (DatedTask) task;
+            datedTask.setRecurrence(new Recurrence(Recurrence.Frequency.values()[frequency], count, until));
+
+            int exceptionCount = VarInt.readInt(in);
+            int occurrence = 0;
+            for (int i = 0; i < exceptionCount; i++) {
+                occurrence += VarInt.readInt(in);
+                if (!in.hasRemaining()) {
+                    throw new IOException("Storage file is truncated");
+                }
+                datedTask.setOccurrenceDone(occurrence, in.get() == 1);
+            }
+        }
+
+        if ((flags & HAS_TAGS) != 0) {
+            int tagCount = VarInt.readInt(in);
+            List<String> tags = new ArrayList<>();
+            for (int i = 0; i < tagCount; i++) {
+                int tagId = VarInt.readInt(in);
+                if (tagId >= descriptions.size()) {
+                    throw new IOException("Storage file is corrupted");
+                }
+                tags.add(descriptions.get(tagId));
+            }
+            task.setTags(tags);
+        }
+        return task;
+    }
+
+    private static long toMinutes(LocalDateTime dateTime) {
+        return Math.floorDiv(dateTime.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+
+    private static LocalDateTime fromMinutes(long minutes) {
+        return LocalDateTime.ofEpochSecond(minutes * 60, 0, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,121 @@
+package duke.storage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads and writes variable-length integers and strings.
+ * <p>
+ * Unsigned values are written 7 bits per byte, least significant group first, with the high bit set
+ * on every byte but the last, so small values take a single byte. Signed values are zig-zag encoded
+ * first, so small negative values stay small too.
+ */
+class VarInt {
+    private static final int MAX_BYTES = 10;
+
+    /**
+     * Writes an unsigned variable-length integer.
+     *
+     * @param out   the buffer to write to
+     * @param value the value, treated as unsigned
+     */
+    static void write(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    /**
+     * Writes a signed variable-length integer.
+     *
+     * @param out   the buffer to write to
+     * @param value the value
+     */
+    static void writeSigned(ByteArrayOutputStream out, long value) {
+        write(out, (value << 1) ^ (value >> 63));
+    }
+
+    /**
+     * Writes a string as its UTF-8 length followed by its UTF-8 bytes.
+     *
+     * @param out   the buffer to write to
+     * @param value the string
+     */
+    static void writeString(ByteArrayOutputStream out, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        write(out, bytes.length);
+        out.write(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Reads an unsigned variable-length integer.
+     *
+     * @param in the buffer to read from
+     * @return the value
+     * @throws IOException if the buffer ends early or the value is too long
+     */
+    static long read(ByteBuffer in) throws IOException {
+        long value = 0;
+        try {
+            for (int i = 0; i < MAX_BYTES; i++) {
+                byte b = in.get();
+                value |= (long) (b & 0x7F) << (7 * i);
+                if (b >= 0) {
+                    return value;
+                }
+            }
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Storage file is truncated");
+        }
+        throw new IOException("Storage file is corrupted");
+    }
+
+    /**
+     * Reads an unsigned variable-length integer that must fit in an {@code int}.
+     *
+     * @param in the buffer to read from
+     * @return the value
+     * @throws IOException if the buffer ends early or the value is out of range
+     */
+    static int readInt(ByteBuffer in) throws IOException {
+        long value = read(in);
+        if (value < 0 || value > Integer.MAX_VALUE) {
+            throw new IOException("Storage file is corrupted");
+        }
+        return (int) value;
+    }
+
+    /**
+     * Reads a signed variable-length integer.
+     *
+     * @param in the buffer to read from
+     * @return the value
+     * @throws IOException if the buffer ends early or the value is too long
+     */
+    static long readSigned(ByteBuffer in) throws IOException {
+        long value = read(in);
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Reads a string written by {@link #writeString(ByteArrayOutputStream, String)}.
+     *
+     * @param in the buffer to read from
+     * @return the string
+     * @throws IOException if the buffer ends early
+     */
+    static String readString(ByteBuffer in) throws IOException {
+        int length = readInt(in);
+        if (length > in.remaining()) {
+            throw new IOException("Storage file is truncated");
+        }
+        String value = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+        in.position(in.position() + length);
+        return value;
+    }
+}
@@ -0,0 +1,112 @@
+package duke.sync;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * A two-level hash tree over the records of a store, so two stores can find the few records they disagree on
+ * by comparing a few hashes rather than every record.
+ * <p>
+ * Records are spread over {@value #BUCKETS} buckets by the hash of their key. The hash of a bucket sums the
+ * digests of its records, so it does not depend on their order; each group of {@value #FANOUT} buckets is
+ * hashed again, and the groups are hashed into the root. Two stores compare the roots, then the groups that
+ * differ, then the buckets that differ, and only then the records in those buckets.
+ */
+public class BucketTree {
+    /** The number of buckets records are spread over. */
+    public static final int BUCKETS = 1024;
+    private static final int FANOUT = 32;
+    private static final long MIX = 0x9e3779b97f4a7c15L;
+
+    private final long[] buckets = new long[BUCKETS];
+    private final long[] groups = new long[BUCKETS / FANOUT];
+    private final long root;
+    private final List<List<SyncRecord>> records = new ArrayList<>(BUCKETS);
+    private int hashesCompared;
+
+    /**
+     * Builds the tree over a store's records.
+     *
+     * @param all every record of the store, including deleted tasks
+     */
+    public BucketTree(Collection<SyncRecord> all) {
+        for (int i = 0; i < BUCKETS; i++) {
+            records.add(new ArrayList<>());
+        }
+        for (SyncRecord record : all) {
+            int bucket = bucketOf(record.getKey());
+            buckets[bucket] += record.digest();
+            records.get(bucket).add(record);
+        }
+        for (int i = 0; i < groups.length; i++) {
+            groups[i] = combine(buckets, i * FANOUT, FANOUT);
+        }
+        root = combine(groups, 0, groups.length);
+    }
+
+    /**
+     * Returns the bucket a key is kept in.
+     *
+     * @param key the key of a task
+     * @return the bucket, from 0 to {@value #BUCKETS} - 1
+     */
+    public static int bucketOf(String key) {
+        int hash = key.hashCode() * 0x9e3779b9;
+        return (hash >>> 16) % BUCKETS;
+    }
+
+    private static long combine(long[] hashes, int from, int count) {
+        long hash = 0;
+        for (int i = from; i < from + count; i++) {
+            hash = (hash ^ hashes[i]) * MIX + i;
+        }
+        return hash;
+    }
+
+    /**
+     * Finds the buckets whose records differ from those of another store.
+     *
+     * @param other the other store's tree
+     * @return the differing buckets, in order
+     */
+    public List<Integer> diff(BucketTree other) {
+        List<Integer> differing = new ArrayList<>();
+        hashesCompared = 1;
+        if (root == other.root) {
+            return differing;
+        }
+        for (int group = 0; group < groups.length; group++) {
+            hashesCompared++;
+            if (groups[group] == other.groups[group]) {
+                continue;
+            }
+            for (int bucket = group * FANOUT; bucket < (group + 1) * FANOUT; bucket++) {
+                hashesCompared++;
+                if (buckets[bucket] != other.buckets[bucket]) {
+                    differing.add(bucket);
+                }
+            }
+        }
+        return differing;
+    }
+
+    /**
+     * Returns the records in a bucket.
+     *
+     * @param bucket the bucket
+     * @return the records, in no particular order
+     */
+    public List<SyncRecord> getRecords(int bucket) {
+        return records.get(bucket);
+    }
+
+    /**
+     * Returns the number of hashes compared by the last {@link #diff(BucketTree)}.
+     *
+     * @return the number of root, group and bucket hashes compared
+     */
+    public int getHashesCompared() {
+        return hashesCompared;
+    }
+}
@@ -0,0 +1,297 @@
+package duke.sync;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import duke.helper.Storage;
+
+/**
+ * What one store knows about one task: its last storage line, whether it was deleted, its version, and when
+ * each of its fields last changed.
+ * <p>
+ * A task is known by its key, the fields that make two tasks the same task: its kind, description and dates.
+ * The other fields can change and are merged one by one when two stores changed the task concurrently, the
+ * latest change to each field winning.
+ */
+public class SyncRecord {
+    /**
+     * The fields of a task that can change, including whether it was deleted.
+     */
+    public enum Field {
+        DONE, EVERY, EXCEPT, TAGS, DELETED
+    }
+
+    private static final String SEPARATOR = " | ";
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final String key;
+    private final VersionVector version;
+    private final long[] stamps;
+    private final String line;
+    private final boolean isDeleted;
+
+    private SyncRecord(String key, VersionVector version, long[] stamps, String line, boolean isDeleted) {
+        this.key = key;
+        this.version = version;
+        this.stamps = stamps;
+        this.line = line;
+        this.isDeleted = isDeleted;
+    }
+
+    /**
+     * Creates the record of a task a store has not seen before.
+     *
+     * @param line the storage line of the task
+     * @param node the store that has the task
+     * @param now  the time the task was found, in milliseconds
+     * @return the record, with every field stamped with the given time
+     */
+    public static SyncRecord create(String line, String node, long now) {
+        long[] stamps = new long[Field.values().length];
+        Arrays.fill(stamps, now);
+        return new SyncRecord(keyOf(line), VersionVector.empty().increment(node), stamps, line, false);
+    }
+
+    /**
+     * Returns the record after a store changed or deleted the task, with the changed fields stamped.
+     *
+     * @param newLine      the new storage line, or the last one if the task was deleted
+     * @param isNowDeleted whether the task is now deleted
+     * @param node         the store that made the change
+     * @param now          the time the change was found, in milliseconds
+     * @return the new record, or this one if nothing changed
+     */
+    public SyncRecord withChange(String newLine, boolean isNowDeleted, String node, long now) {
+        if (isNowDeleted == isDeleted && newLine.equals(line)) {
+            return this;
+        }
+        String[] before = valuesOf(line, isDeleted);
+        String[] after = valuesOf(newLine, isNowDeleted);
+        if (Arrays.equals(before, after)) {
+            return this;
+        }
+        long[] newStamps = stamps.clone();
+        for (int i = 0; i < newStamps.length; i++) {
+            if (!before[i].equals(after[i])) {
+                newStamps[i] = now;
+            }
+        }
+        return new SyncRecord(key, version.increment(node), newStamps, newLine, isNowDeleted);
+    }
+
+    /**
+     * Merges two records of the same task that were changed concurrently, taking each field from the record
+     * that changed it last. Ties go to the larger value, so every store merges the same way.
+     *
+     * @param a one record
+     * @param b the other record
+     * @return the merged record, which has seen the changes of both
+     */
+    public static SyncRecord merge(SyncRecord a, SyncRecord b) {
+        VersionVector version = a.version.merge(b.version);
+        if (a.isDeleted == b.isDeleted && a.line.equals(b.line)) {
+            long[] stamps = a.stamps.clone();
+            for (int i = 0; i < stamps.length; i++) {
+                stamps[i] = Math.max(stamps[i], b.stamps[i]);
+            }
+            return new SyncRecord(a.key, version, stamps, a.line, a.isDeleted);
+        }
+        String[] valuesA = valuesOf(a.line, a.isDeleted);
+        String[] valuesB = valuesOf(b.line, b.isDeleted);
+        String[] values = new String[valuesA.length];
+        long[] stamps = new long[valuesA.length];
+        for (int i = 0; i < values.length; i++) {
+            int order = Long.compare(a.stamps[i], b.stamps[i]);
+            boolean isA = order > 0 || order == 0 && valuesA[i].compareTo(valuesB[i]) >= 0;
+            values[i] = isA ? valuesA[i] : valuesB[i];
+            stamps[i] = Math.max(a.stamps[i], b.stamps[i]);
+        }
+        String line = buildLine(a.key, values);
+        if (line == null) {
+            // The fields do not make a valid task together, so the record changed last is taken whole
+            SyncRecord latest = max(a.stamps) >= max(b.stamps) ? a : b;
+            return new SyncRecord(a.key, version, latest.stamps, latest.line, latest.isDeleted);
+        }
+        boolean isMergedDeleted = values[Field.DELETED.ordinal()].equals("1");
+        return new SyncRecord(a.key, version, stamps, line, isMergedDeleted);
+    }
+
+    /**
+     * Returns whether two records of the same task disagree on any field.
+     *
+     * @param other the other record
+     * @return true if a field has a different value
+     */
+    public boolean differsFrom(SyncRecord other) {
+        return !Arrays.equals(valuesOf(line, isDeleted), valuesOf(other.line, other.isDeleted));
+    }
+
+    /**
+     * Returns the key of the task on a storage line: its kind, description and dates.
+     *
+     * @param line the storage line
+     * @return the key
+     * @throws IllegalArgumentException if the line is not a task
+     */
+    public static String keyOf(String line) {
+        String[] parts = split(line);
+        int fixedFields = countFixedFields(parts);
+        StringBuilder sb = new StringBuilder(parts[0]);
+        for (int i = 2; i < fixedFields; i++) {
+            sb.append(SEPARATOR).append(parts[i]);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Splits a storage line into its fields without a regular expression, since every task is split on each sync.
+     */
+    private static String[] split(String line) {
+        List<String> parts = new ArrayList<>(6);
+        int start = 0;
+        for (int end = line.indexOf(SEPARATOR); end >= 0; end = line.indexOf(SEPARATOR, start)) {
+            parts.add(line.substring(start, end));
+            start = end + SEPARATOR.length();
+        }
+        parts.add(line.substring(start));
+        return parts.toArray(new String[0]);
+    }
+
+    private static int countFixedFields(String[] parts) {
+        int fixedFields = switch (parts[0]) {
+        case "T" -> 3;
+        case "D" -> 4;
+        case "E" -> 5;
+        default -> throw new IllegalArgumentException("Invalid task type: " + parts[0]);
+        };
+        if (parts.length < fixedFields) {
+            throw new IllegalArgumentException("Missing fields: " + String.join(SEPARATOR, parts));
+        }
+        return fixedFields;
+    }
+
+    private static String[] valuesOf(String line, boolean isDeleted) {
+        String[] values = new String[Field.values().length];
+        Arrays.fill(values, "");
+        String[] parts = split(line);
+        values[Field.DONE.ordinal()] = parts[1];
+        for (int i = countFixedFields(parts); i < parts.length; i++) {
+            int eq = parts[i].indexOf('=');
+            String name = eq < 0 ? "" : parts[i].substring(0, eq);
+            String value = parts[i].substring(eq + 1);
+            switch (name) {
+            case "every" -> values[Field.EVERY.ordinal()] = value;
+            case "except" -> values[Field.EXCEPT.ordinal()] = value;
+            case "tags" -> values[Field.TAGS.ordinal()] = value;
+            default -> throw new IllegalArgumentException("Unexpected field: " + parts[i]);
+            }
+        }
+        values[Field.DELETED.ordinal()] = isDeleted ? "1" : "0";
+        return values;
+    }
+
+    /**
+     * Writes the storage line of a task from its key and field values, as the task itself would write it.
+     *
+     * @return the line, or null if the values do not make a valid task
+     */
+    private static String buildLine(String key, String[] values) {
+        int afterType = key.indexOf(SEPARATOR);
+        StringBuilder sb = new StringBuilder(key.substring(0, afterType))
+                .append(SEPARATOR).append(values[Field.DONE.ordinal()])
+                .append(key.substring(afterType));
+        appendField(sb, "every", values[Field.EVERY.ordinal()]);
+        appendField(sb, "except", values[Field.EXCEPT.ordinal()]);
+        appendField(sb, "tags", values[Field.TAGS.ordinal()]);
+        try {
+            return Storage.readLine(sb.toString()).toStorageString();
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            return null;
+        }
+    }
+
+    private static void appendField(StringBuilder sb, String name, String value) {
+        if (!value.isEmpty()) {
+            sb.append(SEPARATOR).append(name).append('=').append(value);
+        }
+    }
+
+    private static long max(long[] stamps) {
+        return Arrays.stream(stamps).max().orElse(0);
+    }
+
+    /**
+     * Returns a hash of the key, version and deletion of this record, which two stores agree on exactly when
+     * they hold the same version of the task.
+     *
+     * @return a 64-bit FNV-1a hash
+     */
+    public long digest() {
+        long hash = FNV_OFFSET;
+        String text = key + "\n" + version + (isDeleted ? "\n1" : "\n0");
+        for (int i = 0; i < text.length(); i++) {
+            hash = (hash ^ text.charAt(i)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * Parses a record written by {@link #toString()}.
+     *
+     * @param text the record
+     * @return the record
+     * @throws IllegalArgumentException if the text is not a record
+     */
+    public static SyncRecord parse(String text) {
+        int split = text.indexOf(SEPARATOR);
+        String[] header = text.substring(0, Math.max(split, 0)).split(" ");
+        if (split < 0 || header.length != 3 || !header[0].startsWith("v=") || !header[1].startsWith("s=")
+                || !header[2].startsWith("d=")) {
+            throw new IllegalArgumentException("Invalid sync record: " + text);
+        }
+        String line = text.substring(split + SEPARATOR.length());
+        String[] stampTexts = header[1].substring(2).split(",");
+        if (stampTexts.length != Field.values().length) {
+            throw new IllegalArgumentException("Invalid sync record: " + text);
+        }
+        long[] stamps = new long[stampTexts.length];
+        for (int i = 0; i < stamps.length; i++) {
+            stamps[i] = Long.parseLong(stampTexts[i]);
+        }
+        return new SyncRecord(keyOf(line), VersionVector.parse(header[0].substring(2)), stamps, line,
+                header[2].equals("d=1"));
+    }
+
+    /**
+     * Returns the record as one line of a sync file, such as
+     * {@code v=1a2b3c4d:2 s=1700000000000,... d=0 | T | 1 | read book}.
+     *
+     * @return the record as text
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("v=").append(version).append(" s=");
+        for (int i = 0; i < stamps.length; i++) {
+            sb.append(i == 0 ? "" : ",").append(stamps[i]);
+        }
+        return sb.append(isDeleted ? " d=1" : " d=0").append(SEPARATOR).append(line).toString();
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public VersionVector getVersion() {
+        return version;
+    }
+
+    public String getLine() {
+        return line;
+    }
+
+    public boolean isDeleted() {
+        return isDeleted;
+    }
+}
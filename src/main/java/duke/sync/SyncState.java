@@ -0,0 +1,185 @@
+package duke.sync;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import duke.helper.Storage;
+import duke.list.TaskList;
+import duke.storage.StorageChange;
+import duke.task.Task;
+
+/**
+ * The sync records of one store, kept in a file next to its storage file, such as {@code sai.txt.sync}.
+ * <p>
+ * The file starts with a {@code # node=ID} line naming the store, followed by one {@link SyncRecord} per task
+ * the store has had, including the tasks it deleted, so a deletion can be told apart from a task the store
+ * has never seen.
+ */
+public class SyncState {
+    private static final String NODE_HEADER = "# node=";
+    private static final String EXTENSION = ".sync";
+
+    private final Path path;
+    private final String node;
+    private final Map<String, SyncRecord> records;
+    private final Map<String, Integer> positions = new HashMap<>();
+    private TaskList taskList;
+    private boolean isChanged;
+
+    private SyncState(Path path, String node, Map<String, SyncRecord> records) {
+        this.path = path;
+        this.node = node;
+        this.records = records;
+    }
+
+    /**
+     * Reads the sync records of a store, or starts with none if the store has never been synced.
+     *
+     * @param storagePath the storage file of the store
+     * @return the records
+     * @throws IOException if the sync file cannot be read or is not valid
+     */
+    public static SyncState read(Path storagePath) throws IOException {
+        Path path = storagePath.resolveSibling(storagePath.getFileName() + EXTENSION);
+        Map<String, SyncRecord> records = new LinkedHashMap<>();
+        if (!Files.exists(path)) {
+            return new SyncState(path, UUID.randomUUID().toString().substring(0, 8), records);
+        }
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String header = reader.readLine();
+            if (header == null || !header.startsWith(NODE_HEADER)) {
+                throw new IOException(path + " is not a sync file");
+            }
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                SyncRecord record = SyncRecord.parse(line);
+                records.put(record.getKey(), record);
+            }
+            return new SyncState(path, header.substring(NODE_HEADER.length()), records);
+        } catch (IllegalArgumentException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Writes the sync records if they changed since they were read, replacing the sync file in one step.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    public void write() throws IOException {
+        if (!isChanged && Files.exists(path)) {
+            return;
+        }
+        Path temp = Files.createTempFile(path.toAbsolutePath().getParent(), "sai", ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            writer.write(NODE_HEADER + node);
+            writer.newLine();
+            for (SyncRecord record : records.values()) {
+                writer.write(record.toString());
+                writer.newLine();
+            }
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        isChanged = false;
+    }
+
+    /**
+     * Brings the records up to date with the store's task list, counting a change by this store for every
+     * task that was added, changed or deleted since the last sync.
+     * <p>
+     * Only the first of several equal tasks is synced.
+     *
+     * @param list the store's task list
+     * @param now  the time, in milliseconds, to stamp changed fields with
+     * @return the number of records that changed
+     */
+    public int refresh(TaskList list, long now) {
+        taskList = list;
+        positions.clear();
+        int changed = 0;
+        for (int i = 0; i < list.size(); i++) {
+            String line = list.getTask(i).toStorageString();
+            String key = SyncRecord.keyOf(line);
+            if (positions.putIfAbsent(key, i) != null) {
+                continue;
+            }
+            SyncRecord old = records.get(key);
+            SyncRecord record = old == null
+                    ? SyncRecord.create(line, node, now)
+                    : old.withChange(line, false, node, now);
+            if (record != old) {
+                records.put(key, record);
+                changed++;
+            }
+        }
+        for (Map.Entry<String, SyncRecord> entry : records.entrySet()) {
+            SyncRecord record = entry.getValue();
+            if (!record.isDeleted() && !positions.containsKey(entry.getKey())) {
+                entry.setValue(record.withChange(record.getLine(), true, node, now));
+                changed++;
+            }
+        }
+        isChanged |= changed > 0;
+        return changed;
+    }
+
+    /**
+     * Takes in records from another store and works out the changes they make to the task list given to the
+     * last {@link #refresh(TaskList, long)}, without making them.
+     *
+     * @param incoming the records to take, at most one per task
+     * @return the changes to make to the task list, in list order, with new tasks appended at the end
+     */
+    public List<StorageChange> adopt(List<SyncRecord> incoming) {
+        TreeMap<Integer, StorageChange> changes = new TreeMap<>();
+        List<Task> appended = new ArrayList<>();
+        isChanged |= !incoming.isEmpty();
+        for (SyncRecord record : incoming) {
+            records.put(record.getKey(), record);
+            Integer position = positions.get(record.getKey());
+            if (position == null) {
+                if (!record.isDeleted()) {
+                    appended.add(Storage.readLine(record.getLine()));
+                }
+                continue;
+            }
+            Task current = taskList.getTask(position);
+            if (record.isDeleted()) {
+                changes.put(position, new StorageChange(position, List.of(current), List.of(), 0));
+            } else if (!record.getLine().equals(current.toStorageString())) {
+                Task updated = Storage.readLine(record.getLine());
+                changes.put(position, new StorageChange(position, List.of(current), List.of(updated), 0));
+            }
+        }
+        List<StorageChange> ordered = new ArrayList<>(changes.values());
+        if (!appended.isEmpty()) {
+            ordered.add(new StorageChange(taskList.size(), List.of(), appended, 0));
+        }
+        return ordered;
+    }
+
+    /**
+     * Returns every record of the store, including deleted tasks.
+     *
+     * @return the records
+     */
+    public Collection<SyncRecord> getRecords() {
+        return records.values();
+    }
+
+    public String getNode() {
+        return node;
+    }
+}
@@ -0,0 +1,134 @@
+package duke.sync;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import duke.list.TaskList;
+import duke.storage.StorageChange;
+
+/**
+ * Reconciles two stores of the same tasks, exchanging only the records they disagree on.
+ * <p>
+ * The stores find the buckets of records that differ with a {@link BucketTree}, then compare the versions of
+ * the records in those buckets. A record that is newer on one side replaces the other; records changed on
+ * both sides since they last met are merged field by field, the latest change to each field winning, and
+ * reported as conflicts if the two sides disagreed.
+ */
+public class TaskSync {
+    private TaskSync() {
+    }
+
+    /**
+     * Works out which records each store needs from the other.
+     * <p>
+     * Both states must have been brought up to date with {@link SyncState#refresh(TaskList, long)}.
+     *
+     * @param mine   the records of this store
+     * @param theirs the records of the other store
+     * @return the records to send each way
+     */
+    public static Result sync(SyncState mine, SyncState theirs) {
+        BucketTree myTree = new BucketTree(mine.getRecords());
+        BucketTree theirTree = new BucketTree(theirs.getRecords());
+        List<Integer> buckets = myTree.diff(theirTree);
+        Result result = new Result(buckets.size(), myTree.getHashesCompared());
+
+        for (int bucket : buckets) {
+            Map<String, SyncRecord> others = new HashMap<>();
+            for (SyncRecord record : theirTree.getRecords(bucket)) {
+                others.put(record.getKey(), record);
+            }
+            for (SyncRecord record : myTree.getRecords(bucket)) {
+                result.resolve(record, others.remove(record.getKey()));
+            }
+            for (SyncRecord record : others.values()) {
+                result.resolve(null, record);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Makes changes worked out by {@link SyncState#adopt(List)} to a task list, from the last one back, so the
+     * positions of the earlier changes stay valid.
+     *
+     * @param list    the task list
+     * @param changes the changes, in list order
+     */
+    public static void apply(TaskList list, List<StorageChange> changes) {
+        for (int i = changes.size() - 1; i >= 0; i--) {
+            StorageChange change = changes.get(i);
+            list.replaceRange(change.getFrom(), change.getFrom() + change.getRemoved().size(), change.getAdded());
+        }
+    }
+
+    /**
+     * The records each store needs from the other, and how much work it took to find them.
+     */
+    public static class Result {
+        private final List<SyncRecord> toMine = new ArrayList<>();
+        private final List<SyncRecord> toTheirs = new ArrayList<>();
+        private final List<SyncRecord> conflicts = new ArrayList<>();
+        private final int bucketsDiffering;
+        private final int hashesCompared;
+        private int recordsCompared;
+
+        private Result(int bucketsDiffering, int hashesCompared) {
+            this.bucketsDiffering = bucketsDiffering;
+            this.hashesCompared = hashesCompared;
+        }
+
+        private void resolve(SyncRecord mine, SyncRecord theirs) {
+            recordsCompared++;
+            if (mine == null) {
+                toMine.add(theirs);
+                return;
+            }
+            if (theirs == null) {
+                toTheirs.add(mine);
+                return;
+            }
+            switch (mine.getVersion().compareTo(theirs.getVersion())) {
+            case AFTER -> toTheirs.add(mine);
+            case BEFORE -> toMine.add(theirs);
+            case CONCURRENT -> {
+                SyncRecord merged = SyncRecord.merge(mine, theirs);
+                if (mine.differsFrom(theirs)) {
+                    conflicts.add(merged);
+                }
+                toMine.add(merged);
+                toTheirs.add(merged);
+            }
+            default -> {
+                // Both stores already hold this version
+            }
+            }
+        }
+
+        public List<SyncRecord> getToMine() {
+            return toMine;
+        }
+
+        public List<SyncRecord> getToTheirs() {
+            return toTheirs;
+        }
+
+        public List<SyncRecord> getConflicts() {
+            return conflicts;
+        }
+
+        public int getBucketsDiffering() {
+            return bucketsDiffering;
+        }
+
+        public int getHashesCompared() {
+            return hashesCompared;
+        }
+
+        public int getRecordsCompared() {
+            return recordsCompared;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package duke.sync;
+
+import java.util.Arrays;
+import java.util.StringJoiner;
+
+/**
+ * Counts the changes each store has made to a task, so two copies of the task can be ordered.
+ * <p>
+ * A copy whose counters are all at least those of another has seen every change the other has, and so
+ * replaces it. When each copy has a change the other has not seen, the copies were changed concurrently
+ * and have to be merged.
+ */
+public class VersionVector {
+    /**
+     * How one version relates to another.
+     */
+    public enum Order {
+        EQUAL, BEFORE, AFTER, CONCURRENT
+    }
+
+    private static final VersionVector EMPTY = new VersionVector(new String[0], new int[0]);
+
+    // Sorted by node, so versions compare and print in one pass; most tasks are only changed by a store or two
+    private final String[] nodes;
+    private final int[] counters;
+
+    private VersionVector(String[] nodes, int[] counters) {
+        this.nodes = nodes;
+        this.counters = counters;
+    }
+
+    /**
+     * Returns the version that no store has changed.
+     *
+     * @return the empty version
+     */
+    public static VersionVector empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Parses a version written by {@link #toString()}.
+     *
+     * @param text the version, such as {@code 1a2b3c4d:3,9f8e7d6c:1}
+     * @return the version
+     * @throws IllegalArgumentException if the text is not a version
+     */
+    public static VersionVector parse(String text) {
+        if (text.isEmpty()) {
+            return EMPTY;
+        }
+        String[] parts = text.split(",");
+        String[] nodes = new String[parts.length];
+        int[] counters = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            int colon = parts[i].indexOf(':');
+            if (colon <= 0 || i > 0 && parts[i].substring(0, colon).compareTo(nodes[i - 1]) <= 0) {
+                throw new IllegalArgumentException("Invalid version: " + text);
+            }
+            // Every record names the same few stores, so they share one copy of each name
+            nodes[i] = parts[i].substring(0, colon).intern();
+            counters[i] = Integer.parseInt(parts[i].substring(colon + 1));
+        }
+        return new VersionVector(nodes, counters);
+    }
+
+    /**
+     * Returns the version after one more change by a store.
+     *
+     * @param node the store making the change
+     * @return a new version
+     */
+    public VersionVector increment(String node) {
+        int index = Arrays.binarySearch(nodes, node);
+        if (index >= 0) {
+            int[] next = counters.clone();
+            next[index]++;
+            return new VersionVector(nodes, next);
+        }
+        int at = -index - 1;
+        String[] nextNodes = new String[nodes.length + 1];
+        int[] next = new int[nodes.length + 1];
+        System.arraycopy(nodes, 0, nextNodes, 0, at);
+        System.arraycopy(counters, 0, next, 0, at);
+        nextNodes[at] = node;
+        next[at] = 1;
+        System.arraycopy(nodes, at, nextNodes, at + 1, nodes.length - at);
+        System.arraycopy(counters, at, next, at + 1, nodes.length - at);
+        return new VersionVector(nextNodes, next);
+    }
+
+    /**
+     * Returns the version that has seen every change either version has.
+     *
+     * @param other the other version
+     * @return a new version with the larger of each counter
+     */
+    public VersionVector merge(VersionVector other) {
+        String[] mergedNodes = new String[nodes.length + other.nodes.length];
+        int[] merged = new int[mergedNodes.length];
+        int size = 0;
+        int i = 0;
+        int j = 0;
+        while (i < nodes.length || j < other.nodes.length) {
+            int order = i == nodes.length ? 1 : j == other.nodes.length ? -1 : nodes[i].compareTo(other.nodes[j]);
+            if (order < 0) {
+                mergedNodes[size] = nodes[i];
+                merged[size++] = counters[i++];
+            } else if (order > 0) {
+                mergedNodes[size] = other.nodes[j];
+                merged[size++] = other.counters[j++];
+            } else {
+                mergedNodes[size] = nodes[i];
+                merged[size++] = Math.max(counters[i++], other.counters[j++]);
+            }
+        }
+        return new VersionVector(Arrays.copyOf(mergedNodes, size), Arrays.copyOf(merged, size));
+    }
+
+    /**
+     * Works out whether this version comes before, after or alongside another.
+     *
+     * @param other the other version
+     * @return {@link Order#BEFORE} if the other version has seen every change this one has and more
+     */
+    public Order compareTo(VersionVector other) {
+        boolean isBehind = false;
+        boolean isAhead = false;
+        int i = 0;
+        int j = 0;
+        while (i < nodes.length || j < other.nodes.length) {
+            int order = i == nodes.length ? 1 : j == other.nodes.length ? -1 : nodes[i].compareTo(other.nodes[j]);
+            if (order < 0) {
+                isAhead |= counters[i++] > 0;
+            } else if (order > 0) {
+                isBehind |= other.counters[j++] > 0;
+            } else {
+                isAhead |= counters[i] > other.counters[j];
+                isBehind |= counters[i++] < other.counters[j++];
+            }
+        }
+        if (isAhead && isBehind) {
+            return Order.CONCURRENT;
+        }
+        return isAhead ? Order.AFTER : isBehind ? Order.BEFORE : Order.EQUAL;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof VersionVector && Arrays.equals(((VersionVector) o).nodes, nodes)
+                && Arrays.equals(((VersionVector) o).counters, counters);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(nodes) + Arrays.hashCode(counters);
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner joiner = new StringJoiner(",");
+        for (int i = 0; i < nodes.length; i++) {
+            joiner.add(nodes[i] + ":" + counters[i]);
+        }
+        return joiner.toString();
+    }
+}
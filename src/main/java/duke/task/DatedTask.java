@@ -0,0 +1,258 @@
+package duke.task;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.SortedMap;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+
+/**
+ * Represents a task anchored to a date/time, which may repeat according to a {@link Recurrence}.
+ * <p>
+ * A recurring task is stored once, as its rule. Individual occurrences are generated lazily,
+ * and only occurrences whose completion status differs from the task's own status are stored,
+ * in a sparse exception map.
+ */
+public abstract class DatedTask extends Task {
+    private Recurrence recurrence;
+    private final TreeMap<Integer, Boolean> exceptions = new TreeMap<>();
+
+    /**
+     * Creates a new DatedTask with the given description.
+     *
+     * @param description Description of the task
+     */
+    public DatedTask(String description) {
+        super(description);
+    }
+
+    /**
+     * Returns the date/time this task is anchored to, i.e. its first occurrence.
+     *
+     * @return the date/time of the task
+     */
+    public abstract LocalDateTime getDate();
+
+    /**
+     * Returns the recurrence rule of this task.
+     *
+     * @return the rule, or null if the task does not repeat
+     */
+    public Recurrence getRecurrence() {
+        return recurrence;
+    }
+
+    /**
+     * Sets the recurrence rule of this task.
+     *
+     * @param recurrence the rule, or null to make the task a one-off
+     */
+    public void setRecurrence(Recurrence recurrence) {
+        this.recurrence = recurrence;
+    }
+
+    /**
+     * Returns whether this task repeats.
+     *
+     * @return true if the task has a recurrence rule
+     */
+    public boolean isRecurring() {
+        return recurrence != null;
+    }
+
+    /**
+     * Returns a lazy iterator over the occurrences of this task starting on or after the given time.
+     * <p>
+     * A one-off task has a single occurrence. Open-ended rules produce an infinite iterator,
+     * so callers must stop iterating once they are past the range they are interested in.
+     *
+     * @param from the earliest start time to include
+     * @return an iterator over the matching occurrences, in chronological order
+     */
+    public Iterator<Occurrence> occurrencesFrom(LocalDateTime from) {
+        LocalDateTime first = getDate();
+        int startIndex = recurrence == null
+                ? (first.isBefore(from) ? 1 : 0)
+                : recurrence.firstIndexOnOrAfter(first, from);
+
+        return new Iterator<>() {
+            private int next = startIndex;
+
+            @Override
+            public boolean hasNext() {
+                if (recurrence == null) {
+                    return next == 0;
+                }
+                return recurrence.includes(next, recurrence.occurrenceAt(first, next));
+            }
+
+            @Override
+            public Occurrence next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                LocalDateTime start = recurrence == null ? first : recurrence.occurrenceAt(first, next);
+                return new Occurrence(DatedTask.this, next++, start);
+            }
+        };
+    }
+
+    /**
+     * Returns the occurrence starting on the given day, if any.
+     *
+     * @param date the day to look up
+     * @return the occurrence on that day, or null if there is none
+     */
+    public Occurrence findOccurrenceOn(LocalDate date) {
+        Iterator<Occurrence> it = occurrencesFrom(date.atStartOfDay());
+        if (it.hasNext()) {
+            Occurrence occurrence = it.next();
+            if (occurrence.getStart().toLocalDate().equals(date)) {
+                return occurrence;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the next occurrence that is not done and starts on or after the given time.
+     *
+     * @param from the time to search from
+     * @return the next pending occurrence, or null if there is none
+     */
+    public Occurrence nextPendingOccurrence(LocalDateTime from) {
+        if (isDone()) {
+            // Only occurrences recorded as exceptions can still be pending
+            for (Map.Entry<Integer, Boolean> entry : exceptions.entrySet()) {
+                LocalDateTime start = recurrence == null
+                        ? getDate()
+                        : recurrence.occurrenceAt(getDate(), entry.getKey());
+                if (!entry.getValue() && !start.isBefore(from)) {
+                    return new Occurrence(this, entry.getKey(), start);
+                }
+            }
+            return null;
+        }
+        Iterator<Occurrence> it = occurrencesFrom(from);
+        // Done occurrences are recorded sparsely, so only a bounded number of them can be skipped over
+        for (int skipped = 0; it.hasNext() && skipped <= exceptions.size(); skipped++) {
+            Occurrence occurrence = it.next();
+            if (!occurrence.isDone()) {
+                return occurrence;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns whether occurrence {@code n} is done.
+     *
+     * @param n the occurrence number
+     * @return true if the occurrence is done
+     */
+    public boolean isOccurrenceDone(int n) {
+        return exceptions.getOrDefault(n, isDone());
+    }
+
+    /**
+     * Sets the completion status of occurrence {@code n}.
+     *
+     * @param n      the occurrence number
+     * @param isDone the new status of the occurrence
+     */
+    public void setOccurrenceDone(int n, boolean isDone) {
+        if (isDone == isDone()) {
+            exceptions.remove(n);
+        } else {
+            exceptions.put(n, isDone);
+        }
+    }
+
+    /**
+     * Returns the occurrences whose completion status differs from the status of the task itself.
+     *
+     * @return a read-only map from occurrence number to completion status, in occurrence order
+     */
+    public SortedMap<Integer, Boolean> getOccurrenceExceptions() {
+        return Collections.unmodifiableSortedMap(exceptions);
+    }
+
+    @Override
+    public void mark() {
+        super.mark();
+        exceptions.clear();
+    }
+
+    @Override
+    public void unmark() {
+        super.unmark();
+        exceptions.clear();
+    }
+
+    /**
+     * Returns the optional storage fields describing the recurrence of this task.
+     * <p>
+     * Each field is written as {@code  | key=value}, so they can follow the fixed fields of the task:
+     * <pre>
+     *     every=WEEKLY;COUNT=10 | except=3:1,5:1
+     * </pre>
+     *
+     * @return the storage fields, or an empty string for a one-off task
+     */
+    protected String recurrenceStorageFields() {
+        if (recurrence == null) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder(" | every=").append(recurrence.toStorageString());
+        if (!exceptions.isEmpty()) {
+            StringJoiner joiner = new StringJoiner(",");
+            for (Map.Entry<Integer, Boolean> entry : exceptions.entrySet()) {
+                joiner.add(entry.getKey() + ":" + (entry.getValue() ? "1" : "0"));
+            }
+            sb.append(" | except=").append(joiner);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Restores an optional storage field written by {@link #recurrenceStorageFields()} or
+     * {@link #tagStorageField()}.
+     *
+     * @param key   the field name
+     * @param value the field value
+     * @throws IllegalArgumentException if the field is not recognised
+     */
+    @Override
+    public void applyStorageField(String key, String value) {
+        switch (key) {
+        case "every" -> recurrence = Recurrence.fromStorageString(value);
+        case "except" -> {
+            for (String entry : value.split(",")) {
+                String[] pair = entry.split(":");
+                exceptions.put(Integer.parseInt(pair[0]), pair[1].equals("1"));
+            }
+        }
+        default -> super.applyStorageField(key, value);
+        }
+    }
+
+    /**
+     * Returns a description of the recurrence to append to {@link #toString()}.
+     *
+     * @return the description, or an empty string for a one-off task
+     */
+    protected String recurrenceSuffix() {
+        if (recurrence == null) {
+            return "";
+        }
+        Occurrence next = nextPendingOccurrence(LocalDateTime.now());
+        return " (" + recurrence + (next == null
+                ? ""
+                : "; next: " + next.getStart().format(DateTimeFormatter.ofPattern("MMM d yyyy, h:mma"))) + ")";
+    }
+}
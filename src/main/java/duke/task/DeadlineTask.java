@@ -2,6 +2,7 @@ package duke.task;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Objects;
 
 import duke.exceptions.InvalidTaskFormatException;
 import duke.helper.Parser;
@@ -10,7 +11,7 @@ import duke.helper.Parser;
  * Represents a deadline task, which has a specific due date/time.
  * Inherits from {@link Task} and adds a "by" deadline.
  */
-public class DeadlineTask extends Task {
+public class DeadlineTask extends DatedTask {
     private LocalDateTime by;
 
     /**
@@ -24,6 +25,17 @@ public class DeadlineTask extends Task {
         this.by = Parser.parseDateTime(by);
     }
 
+    /**
+     * Creates a new DeadlineTask with an already parsed deadline.
+     *
+     * @param description Description of the deadline task
+     * @param by          Deadline date/time
+     */
+    public DeadlineTask(String description, LocalDateTime by) {
+        super(description);
+        this.by = by;
+    }
+
     /**
      * Returns the deadline of this task.
      *
@@ -33,6 +45,11 @@ public class DeadlineTask extends Task {
         return by;
     }
 
+    @Override
+    public LocalDateTime getDate() {
+        return by;
+    }
+
     /**
      * Converts this {@link DeadlineTask} into a string suitable for storage.
      * <p>
@@ -42,6 +59,7 @@ public class DeadlineTask extends Task {
      * </pre>
      * where "D" indicates a DeadlineTask, "0" or "1" represents whether the task is done,
      * followed by the task description and the deadline date/time.
+     * A recurring deadline is followed by its recurrence fields, and a tagged one by its tags field.
      *
      * @return a formatted string representing this DeadlineTask for storage
      */
@@ -50,7 +68,9 @@ public class DeadlineTask extends Task {
         return "D | "
                 + (this.isDone() ? "1" : "0")
                 + " | " + this.getDescription()
-                + " | " + this.getBy();
+                + " | " + this.getBy()
+                + this.recurrenceStorageFields()
+                + this.tagStorageField();
     }
 
     /**
@@ -61,7 +81,8 @@ public class DeadlineTask extends Task {
      */
     @Override
     public String toString() {
-        return "[D]" + super.toString() + " (by: " + by.format(DateTimeFormatter.ofPattern("MMM d yyyy, h:mma")) + ")";
+        return "[D]" + super.toString() + " (by: " + by.format(DateTimeFormatter.ofPattern("MMM d yyyy, h:mma")) + ")"
+                + this.recurrenceSuffix();
     }
 
     @Override
@@ -72,4 +93,9 @@ public class DeadlineTask extends Task {
         }
         return false;
     }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.getDescription(), this.getBy());
+    }
 }
@@ -2,6 +2,7 @@ package duke.task;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Objects;
 
 import duke.exceptions.InvalidTaskFormatException;
 import duke.helper.Parser;
@@ -10,7 +11,7 @@ import duke.helper.Parser;
  * Represents an event task with a start and end date/time.
  * Inherits from {@link Task} and extends it by adding scheduling details.
  */
-public class EventTask extends Task {
+public class EventTask extends DatedTask {
     private LocalDateTime start;
     private LocalDateTime end;
 
@@ -27,6 +28,19 @@ public class EventTask extends Task {
         this.end = Parser.parseDateTime(end);
     }
 
+    /**
+     * Creates a new EventTask with already parsed start and end date/times.
+     *
+     * @param description Description of the event
+     * @param start       Start date/time
+     * @param end         End date/time
+     */
+    public EventTask(String description, LocalDateTime start, LocalDateTime end) {
+        super(description);
+        this.start = start;
+        this.end = end;
+    }
+
     /**
      * Returns the start date/time of the event.
      *
@@ -45,6 +59,11 @@ public class EventTask extends Task {
         return end;
     }
 
+    @Override
+    public LocalDateTime getDate() {
+        return start;
+    }
+
     /**
      * Converts this {@link EventTask} into a string suitable for storage.
      * <p>
@@ -54,6 +73,7 @@ public class EventTask extends Task {
      * </pre>
      * where "E" indicates an EventTask, "0" or "1" represents whether the task is done,
      * followed by the task description, start time, and end time.
+     * A recurring event is followed by its recurrence fields, and a tagged one by its tags field.
      *
      * @return a formatted string representing this EventTask for storage
      */
@@ -63,7 +83,9 @@ public class EventTask extends Task {
                 + (this.isDone() ? "1" : "0")
                 + " | " + this.getDescription()
                 + " | " + this.getStart()
-                + " | " + this.getEnd();
+                + " | " + this.getEnd()
+                + this.recurrenceStorageFields()
+                + this.tagStorageField();
     }
 
     /**
@@ -76,7 +98,8 @@ public class EventTask extends Task {
     public String toString() {
         return "[E]" + super.toString()
                 + " (from: " + start.format(DateTimeFormatter.ofPattern("MMM d yyyy, h:mma"))
-                + " to: " + end.format(DateTimeFormatter.ofPattern("MMM d yyyy, h:mma")) + ")";
+                + " to: " + end.format(DateTimeFormatter.ofPattern("MMM d yyyy, h:mma")) + ")"
+                + this.recurrenceSuffix();
     }
 
     @Override
@@ -88,4 +111,9 @@ public class EventTask extends Task {
         }
         return false;
     }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.getDescription(), this.getStart(), this.getEnd());
+    }
 }
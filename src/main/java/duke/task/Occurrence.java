@@ -0,0 +1,58 @@
+package duke.task;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Represents one occurrence of a recurring {@link DatedTask}.
+ * <p>
+ * Occurrences are not stored; they are generated on demand by {@link DatedTask#occurrencesFrom(LocalDateTime)}.
+ */
+public class Occurrence {
+    private final DatedTask task;
+    private final int index;
+    private final LocalDateTime start;
+
+    /**
+     * Creates an occurrence.
+     *
+     * @param task  the recurring task this occurrence belongs to
+     * @param index the number of this occurrence, counting from 0
+     * @param start the date/time of this occurrence
+     */
+    public Occurrence(DatedTask task, int index, LocalDateTime start) {
+        this.task = task;
+        this.index = index;
+        this.start = start;
+    }
+
+    /** Returns the task this occurrence belongs to. */
+    public DatedTask getTask() {
+        return task;
+    }
+
+    /** Returns the number of this occurrence, counting from 0. */
+    public int getIndex() {
+        return index;
+    }
+
+    /** Returns the date/time of this occurrence. */
+    public LocalDateTime getStart() {
+        return start;
+    }
+
+    /**
+     * Returns whether this occurrence is done.
+     *
+     * @return true if the occurrence is done
+     */
+    public boolean isDone() {
+        return task.isOccurrenceDone(index);
+    }
+
+    @Override
+    public String toString() {
+        return "[" + (isDone() ? "X" : " ") + "] " + task.getDescription()
+                + " (" + start.format(DateTimeFormatter.ofPattern("MMM d yyyy, h:mma")) + ")";
+    }
+}
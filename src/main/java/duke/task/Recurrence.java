@@ -0,0 +1,159 @@
+package duke.task;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Represents a rule describing how a dated task repeats.
+ * <p>
+ * A rule repeats daily, weekly or monthly, and ends either after a number of occurrences,
+ * on a given date, or never. Occurrence {@code n} is always computed from the first occurrence,
+ * so monthly rules starting on the 31st do not drift towards the 28th.
+ */
+public class Recurrence {
+
+    /**
+     * The supported repetition frequencies.
+     */
+    public enum Frequency {
+        DAILY(ChronoUnit.DAYS, "day"),
+        WEEKLY(ChronoUnit.WEEKS, "week"),
+        MONTHLY(ChronoUnit.MONTHS, "month");
+
+        private final ChronoUnit unit;
+        private final String noun;
+
+        Frequency(ChronoUnit unit, String noun) {
+            this.unit = unit;
+            this.noun = noun;
+        }
+    }
+
+    private final Frequency frequency;
+    private final int count;
+    private final LocalDateTime until;
+
+    /**
+     * Creates a recurrence rule.
+     *
+     * @param frequency how often the task repeats
+     * @param count     the number of occurrences, or 0 if not limited by count
+     * @param until     the last date an occurrence may start on, or null if not limited by date
+     */
+    public Recurrence(Frequency frequency, int count, LocalDateTime until) {
+        assert count >= 0 : "Occurrence count must not be negative";
+        this.frequency = frequency;
+        this.count = count;
+        this.until = until;
+    }
+
+    /** Returns how often the task repeats. */
+    public Frequency getFrequency() {
+        return frequency;
+    }
+
+    /** Returns the number of occurrences, or 0 if the rule is not limited by count. */
+    public int getCount() {
+        return count;
+    }
+
+    /** Returns the last date an occurrence may start on, or null if the rule is not limited by date. */
+    public LocalDateTime getUntil() {
+        return until;
+    }
+
+    /**
+     * Returns the start of occurrence {@code n}, counting from 0.
+     *
+     * @param first the start of the first occurrence
+     * @param n     the occurrence number
+     * @return the start of that occurrence
+     */
+    public LocalDateTime occurrenceAt(LocalDateTime first, int n) {
+        return first.plus(n, frequency.unit);
+    }
+
+    /**
+     * Returns whether occurrence {@code n}, starting at the given time, is still part of the series.
+     *
+     * @param n     the occurrence number
+     * @param start the start of that occurrence
+     * @return true if the rule has not ended by then
+     */
+    public boolean includes(int n, LocalDateTime start) {
+        return n >= 0 && (count == 0 || n < count) && (until == null || !start.isAfter(until));
+    }
+
+    /**
+     * Returns the number of the first occurrence starting on or after the given time.
+     * <p>
+     * The number is computed arithmetically rather than by stepping through earlier occurrences.
+     *
+     * @param first the start of the first occurrence
+     * @param from  the time to search from
+     * @return the occurrence number, which may lie beyond the end of the series
+     */
+    public int firstIndexOnOrAfter(LocalDateTime first, LocalDateTime from) {
+        if (!from.isAfter(first)) {
+            return 0;
+        }
+        long n = Math.max(0, frequency.unit.between(first, from));
+        while (occurrenceAt(first, (int) n).isBefore(from)) {
+            n++;
+        }
+        return (int) Math.min(n, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Converts this rule into a string suitable for storage, e.g. {@code WEEKLY;COUNT=10}.
+     *
+     * @return the storage representation of this rule
+     */
+    public String toStorageString() {
+        StringBuilder sb = new StringBuilder(frequency.name());
+        if (count > 0) {
+            sb.append(";COUNT=").append(count);
+        }
+        if (until != null) {
+            sb.append(";UNTIL=").append(until);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Parses a rule written by {@link #toStorageString()}.
+     *
+     * @param value the stored rule
+     * @return the parsed rule
+     * @throws IllegalArgumentException if the value is not a valid rule
+     */
+    public static Recurrence fromStorageString(String value) {
+        String[] parts = value.split(";");
+        Frequency frequency = Frequency.valueOf(parts[0]);
+        int count = 0;
+        LocalDateTime until = null;
+        for (int i = 1; i < parts.length; i++) {
+            if (parts[i].startsWith("COUNT=")) {
+                count = Integer.parseInt(parts[i].substring("COUNT=".length()));
+            } else if (parts[i].startsWith("UNTIL=")) {
+                until = LocalDateTime.parse(parts[i].substring("UNTIL=".length()));
+            } else {
+                throw new IllegalArgumentException("Invalid recurrence: " + value);
+            }
+        }
+        return new Recurrence(frequency, count, until);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("every ").append(frequency.noun);
+        if (count > 0) {
+            sb.append(", ").append(count).append(" times");
+        }
+        if (until != null) {
+            sb.append(" until ").append(until.format(DateTimeFormatter.ofPattern("MMM d yyyy")));
+        }
+        return sb.toString();
+    }
+}
@@ -1,5 +1,7 @@
 package duke.task;
 
+import java.util.List;
+
 /**
  * Represents a task with a description and completion status.
  * A Task can be marked as done or not done.
@@ -7,6 +9,8 @@ package duke.task;
 public abstract class Task {
     private final String description;
     private boolean isDone;
+    private int id = -1;
+    private List<String> tags = List.of();
 
     /**
      * Creates a new Task with the given description.
@@ -54,6 +58,72 @@ public abstract class Task {
         return description;
     }
 
+    /**
+     * Returns the identifier assigned to this task by the {@link duke.list.TaskList} holding it.
+     * <p>
+     * Identifiers increase in the order tasks are added, so sorting by identifier
+     * preserves list order. A task that has not been added to a list has an identifier of -1.
+     *
+     * @return identifier of the task
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Sets the identifier of this task.
+     *
+     * @param id identifier assigned by the owning task list
+     */
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    /**
+     * Returns the tags of this task.
+     *
+     * @return the tags, sorted and without duplicates; empty if the task has none
+     */
+    public List<String> getTags() {
+        return tags;
+    }
+
+    /**
+     * Sets the tags of this task.
+     * <p>
+     * Tags are indexed when a task is added to a {@link duke.list.TaskList}, so they must be set before then.
+     *
+     * @param tags the tags, without their leading {@code #}
+     */
+    public void setTags(List<String> tags) {
+        this.tags = List.copyOf(tags.stream().distinct().sorted().toList());
+    }
+
+    /**
+     * Returns the optional storage field holding the tags of this task.
+     * <p>
+     * The field is written as {@code  | tags=a,b}, so it can follow the fixed fields of the task.
+     *
+     * @return the storage field, or an empty string if the task has no tags
+     */
+    protected String tagStorageField() {
+        return tags.isEmpty() ? "" : " | tags=" + String.join(",", tags);
+    }
+
+    /**
+     * Restores an optional storage field written after the fixed fields of this task.
+     *
+     * @param key   the field name
+     * @param value the field value
+     * @throws IllegalArgumentException if the field is not recognised
+     */
+    public void applyStorageField(String key, String value) {
+        if (!key.equals("tags")) {
+            throw new IllegalArgumentException("Unknown field: " + key);
+        }
+        this.setTags(List.of(value.split(",")));
+    }
+
     /**
      * Returns the status icon representing whether the task is done.
      * "X" indicates done, " " indicates not done.
@@ -72,7 +142,11 @@ public abstract class Task {
      */
     @Override
     public String toString() {
-        return String.format("[%s] %s", this.getStatusIcon(), this.description);
+        StringBuilder sb = new StringBuilder("[").append(this.getStatusIcon()).append("] ").append(description);
+        for (String tag : tags) {
+            sb.append(" #").append(tag);
+        }
+        return sb.toString();
     }
 
     /**
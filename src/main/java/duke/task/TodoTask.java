@@ -24,6 +24,7 @@ public class TodoTask extends Task {
      * </pre>
      * where "T" indicates a TodoTask, "0" or "1" represents whether the task is done,
      * followed by the task description.
+     * A tagged todo is followed by its tags field.
      *
      * @return a formatted string representing this TodoTask for storage
      */
@@ -31,7 +32,8 @@ public class TodoTask extends Task {
     public String toStorageString() {
         return "T | "
                 + (this.isDone() ? "1" : "0")
-                + " | " + this.getDescription();
+                + " | " + this.getDescription()
+                + this.tagStorageField();
     }
 
     /**
@@ -52,4 +54,9 @@ public class TodoTask extends Task {
         }
         return false;
     }
+
+    @Override
+    public int hashCode() {
+        return this.getDescription().hashCode();
+    }
 }
@@ -0,0 +1,176 @@
+package duke.workspace;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import duke.archive.TaskArchive;
+import duke.helper.Storage;
+import duke.history.EditHistory;
+import duke.list.TaskList;
+
+/**
+ * A named task list with its own storage file, archive and undo history.
+ * <p>
+ * The default workspace keeps its tasks in the main storage file. Every other workspace keeps them in
+ * {@code workspaces/<name>.txt} next to it, and its archive next to that, so workspaces share nothing.
+ */
+public class Workspace {
+    /** The name of the workspace kept in the main storage file. */
+    public static final String DEFAULT_NAME = "default";
+
+    private static final String DIRECTORY = "workspaces";
+    private static final String EXTENSION = ".txt";
+    private static final Pattern NAME = Pattern.compile("[a-z0-9][a-z0-9_-]{0,31}");
+
+    private final String name;
+    private final Storage storage;
+    private final TaskArchive archive;
+    private final TaskList taskList;
+    private final EditHistory history;
+    private final FileTime lastModified;
+
+    /**
+     * Creates a workspace from its parts.
+     *
+     * @param name         the name of the workspace
+     * @param storage      the storage its tasks are kept in
+     * @param archive      the archive its done tasks are moved to
+     * @param taskList     its tasks
+     * @param history      its undo history
+     * @param lastModified when the storage file was last changed as far as this workspace knows, or null
+     */
+    public Workspace(String name, Storage storage, TaskArchive archive, TaskList taskList, EditHistory history,
+            FileTime lastModified) {
+        this.name = name;
+        this.storage = storage;
+        this.archive = archive;
+        this.taskList = taskList;
+        this.history = history;
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * Reads a workspace from its storage file, or starts an empty one if the file does not exist yet.
+     *
+     * @param name        the name of the workspace
+     * @param defaultPath the main storage file
+     * @return the workspace
+     */
+    public static Workspace load(String name, Path defaultPath) {
+        Storage storage = new Storage(pathOf(name, defaultPath));
+        TaskList taskList = storage.load();
+        return new Workspace(name, storage, TaskArchive.forStorage(storage.getPath()), taskList, new EditHistory(),
+                lastModifiedOf(storage.getPath()));
+    }
+
+    /**
+     * Returns whether a name can be used for a workspace: 1 to 32 lower-case letters, digits, {@code -} or
+     * {@code _}, starting with a letter or digit.
+     *
+     * @param name the name
+     * @return true if it is valid
+     */
+    public static boolean isValidName(String name) {
+        return NAME.matcher(name).matches();
+    }
+
+    /**
+     * Returns the storage file of a workspace.
+     *
+     * @param name        the name of the workspace
+     * @param defaultPath the main storage file
+     * @return the main storage file for the default workspace, or a file in the workspaces folder next to it
+     */
+    public static Path pathOf(String name, Path defaultPath) {
+        if (name.equals(DEFAULT_NAME)) {
+            return defaultPath;
+        }
+        return defaultPath.resolveSibling(DIRECTORY).resolve(name + EXTENSION);
+    }
+
+    /**
+     * Returns the names of the workspaces that have a storage file, besides the default one.
+     *
+     * @param defaultPath the main storage file
+     * @return the names, in no particular order; empty if there are none or the folder cannot be read
+     */
+    public static List<String> listSaved(Path defaultPath) {
+        List<String> names = new ArrayList<>();
+        Path directory = defaultPath.resolveSibling(DIRECTORY);
+        if (!Files.isDirectory(directory)) {
+            return names;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + EXTENSION)) {
+            for (Path file : files) {
+                String fileName = file.getFileName().toString();
+                String name = fileName.substring(0, fileName.length() - EXTENSION.length());
+                if (isValidName(name)) {
+                    names.add(name);
+                }
+            }
+        } catch (IOException e) {
+            // Saved workspaces are only listed for information
+        }
+        return names;
+    }
+
+    /**
+     * Returns when a file was last changed.
+     *
+     * @param path the file
+     * @return the time, or null if the file does not exist or cannot be read
+     */
+    public static FileTime lastModifiedOf(Path path) {
+        try {
+            return Files.getLastModifiedTime(path);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns whether the storage file was changed since this workspace last saw it, for example by another
+     * program while the workspace was not in use.
+     *
+     * @return true if the file has a different modification time than when the workspace was set aside
+     */
+    public boolean isFileChanged() {
+        FileTime now = lastModifiedOf(storage.getPath());
+        return now != null && !now.equals(lastModified);
+    }
+
+    /**
+     * Returns a rough estimate of the memory held by this workspace's tasks and their indexes.
+     *
+     * @return the estimated size in bytes
+     */
+    public long estimateBytes() {
+        return WorkspaceCache.estimateBytes(taskList.size());
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Storage getStorage() {
+        return storage;
+    }
+
+    public TaskArchive getArchive() {
+        return archive;
+    }
+
+    public TaskList getTaskList() {
+        return taskList;
+    }
+
+    public EditHistory getHistory() {
+        return history;
+    }
+}
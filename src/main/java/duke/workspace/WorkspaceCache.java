@@ -0,0 +1,111 @@
+package duke.workspace;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * Keeps the workspaces that are not in use loaded, so switching back to one takes no reading or parsing.
+ * <p>
+ * Workspaces are kept in the order they were last left. When the loaded workspaces, together with the one
+ * in use, are estimated to take more memory than the budget, the ones left longest ago are evicted. An evicted
+ * workspace is read from its file again the next time it is used.
+ */
+public class WorkspaceCache {
+    /** The memory the loaded workspaces may take by default. */
+    public static final long DEFAULT_BUDGET = 64L * 1024 * 1024;
+    /** A measured estimate of the memory one loaded task takes, with its share of every index. */
+    private static final long BYTES_PER_TASK = 800;
+
+    private final LinkedHashMap<String, Workspace> workspaces = new LinkedHashMap<>();
+    private final long budget;
+
+    /**
+     * Creates an empty cache with the default budget.
+     */
+    public WorkspaceCache() {
+        this(DEFAULT_BUDGET);
+    }
+
+    /**
+     * Creates an empty cache.
+     *
+     * @param budget the memory the loaded workspaces, including the one in use, may take, in bytes
+     */
+    public WorkspaceCache(long budget) {
+        this.budget = budget;
+    }
+
+    /**
+     * Returns the estimated memory taken by a number of loaded tasks.
+     *
+     * @param tasks the number of tasks
+     * @return the estimate in bytes
+     */
+    public static long estimateBytes(int tasks) {
+        return tasks * BYTES_PER_TASK;
+    }
+
+    /**
+     * Keeps a workspace that is no longer in use, as the most recently used.
+     *
+     * @param workspace the workspace
+     */
+    public void put(Workspace workspace) {
+        workspaces.remove(workspace.getName());
+        workspaces.put(workspace.getName(), workspace);
+    }
+
+    /**
+     * Takes a workspace out of the cache to be used.
+     *
+     * @param name the name of the workspace
+     * @return the workspace, or null if it is not loaded
+     */
+    public Workspace take(String name) {
+        return workspaces.remove(name);
+    }
+
+    /**
+     * Returns whether a workspace is loaded and not in use.
+     *
+     * @param name the name of the workspace
+     * @return true if it is in the cache
+     */
+    public boolean contains(String name) {
+        return workspaces.containsKey(name);
+    }
+
+    /**
+     * Evicts the least recently used workspaces until the rest fit in the budget next to the one in use.
+     *
+     * @param inUse the estimated memory taken by the workspace in use, in bytes
+     * @return the evicted workspaces, least recently used first
+     */
+    public List<Workspace> evict(long inUse) {
+        long total = inUse;
+        for (Workspace workspace : workspaces.values()) {
+            total += workspace.estimateBytes();
+        }
+        List<Workspace> evicted = new ArrayList<>();
+        Iterator<Workspace> it = workspaces.values().iterator();
+        while (total > budget && it.hasNext()) {
+            Workspace workspace = it.next();
+            total -= workspace.estimateBytes();
+            evicted.add(workspace);
+            it.remove();
+        }
+        return evicted;
+    }
+
+    /**
+     * Returns the loaded workspaces that are not in use.
+     *
+     * @return the workspaces, least recently used first
+     */
+    public Collection<Workspace> getLoaded() {
+        return workspaces.values();
+    }
+}
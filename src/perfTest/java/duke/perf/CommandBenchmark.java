@@ -0,0 +1,143 @@
+package duke.perf;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+import duke.Sai;
+
+/**
+ * Runs commands through {@link Sai#getResponse(String)} and measures what each run costs.
+ * <p>
+ * Allocation is read from {@link com.sun.management.ThreadMXBean#getThreadAllocatedBytes(long)} for the
+ * calling thread, which counts every byte the command allocated, whether or not it was collected since. Wall
+ * time is taken as the median of the runs, so a collection pause in one run does not decide the result.
+ * <p>
+ * Commands may contain {@code {last}}, replaced by the number of the last task in the list, and
+ * {@code {middle}}, replaced by the number of the task halfway down it, when they are run.
+ */
+class CommandBenchmark {
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final Sai sai;
+    private final int warmups;
+    private final int runs;
+
+    CommandBenchmark(Sai sai, int warmups, int runs) {
+        this.sai = sai;
+        this.warmups = warmups;
+        this.runs = runs;
+    }
+
+    /**
+     * Writes a storage file of generated tasks and loads it into a new {@code Sai}, with saving deferred so
+     * that commands are measured without writing the file.
+     * <p>
+     * Every tenth task is an event and every third a deadline, spread over the weeks around late October
+     * 2025; half carry the tag {@code work} and a quarter are done. The first task is a weekly event.
+     *
+     * @param path the storage file to write
+     * @param size the number of tasks
+     * @return the loaded {@code Sai}
+     * @throws IOException if the file cannot be written
+     */
+    static Sai seed(Path path, int size) throws IOException {
+        LocalDateTime base = LocalDateTime.of(2025, 10, 1, 9, 0);
+        try (BufferedWriter writer = Files.newBufferedWriter(path)) {
+            writer.write("# version=1\n");
+            writer.write("E | 0 | standup | 2025-10-06T09:00 | 2025-10-06T09:15 | every=WEEKLY\n");
+            for (int i = 1; i < size; i++) {
+                String done = i % 4 == 0 ? "1" : "0";
+                String tags = i % 2 == 0 ? " | tags=work" : "";
+                LocalDateTime at = base.plusHours(i % (24 * 60));
+                if (i % 10 == 0) {
+                    writer.write("E | " + done + " | meeting " + i + " | " + at + " | " + at.plusHours(1) + tags);
+                } else if (i % 3 == 1) {
+                    writer.write("D | " + done + " | report " + i + " | " + at + tags);
+                } else {
+                    writer.write("T | " + done + " | read chapter " + i + tags);
+                }
+                writer.write('\n');
+            }
+        }
+        Sai sai = new Sai(path);
+        sai.loadTasks();
+        sai.setAutoSave(false);
+        return sai;
+    }
+
+    /**
+     * Measures a command, running a setup command before and an undo command after each run, unmeasured,
+     * so that every run starts from the same list.
+     *
+     * @param setup    the command run before each measured run, or null
+     * @param command  the command measured
+     * @param undo     the command run after each measured run, or null
+     * @param expected text the response of the measured command must contain
+     * @return the cost of the command
+     * @throws AssertionError if a response does not contain the expected text
+     */
+    Measurement measure(String setup, String command, String undo, String expected) {
+        long threadId = Thread.currentThread().getId();
+        long[] nanos = new long[runs];
+        long bytes = 0;
+        for (int i = -warmups; i < runs; i++) {
+            this.run(setup);
+            String input = this.expand(command);
+            long bytesBefore = THREADS.getThreadAllocatedBytes(threadId);
+            long start = System.nanoTime();
+            String response = sai.getResponse(input);
+            long elapsed = System.nanoTime() - start;
+            long allocated = THREADS.getThreadAllocatedBytes(threadId) - bytesBefore;
+            if (!response.contains(expected)) {
+                throw new AssertionError("\"" + input + "\" did not respond with \"" + expected + "\":\n" + response);
+            }
+            this.run(undo);
+            if (i >= 0) {
+                nanos[i] = elapsed;
+                bytes += allocated;
+            }
+        }
+        Arrays.sort(nanos);
+        return new Measurement(bytes / runs, nanos[runs / 2] / 1000);
+    }
+
+    private void run(String command) {
+        if (command != null) {
+            sai.getResponse(this.expand(command));
+        }
+    }
+
+    private String expand(String command) {
+        return command.replace("{last}", String.valueOf(sai.getTaskCount()))
+                .replace("{middle}", String.valueOf(sai.getTaskCount() / 2));
+    }
+
+    /**
+     * The cost of one run of a command.
+     */
+    static class Measurement {
+        private final long bytes;
+        private final long micros;
+
+        Measurement(long bytes, long micros) {
+            this.bytes = bytes;
+            this.micros = micros;
+        }
+
+        /** Returns the mean number of bytes allocated per run. */
+        long getBytes() {
+            return bytes;
+        }
+
+        /** Returns the median wall time per run, in microseconds. */
+        long getMicros() {
+            return micros;
+        }
+    }
+}
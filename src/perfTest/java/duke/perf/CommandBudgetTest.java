@@ -0,0 +1,106 @@
+package duke.perf;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import org.junit.jupiter.api.Test;
+
+import duke.Sai;
+
+/**
+ * Checks the allocation and latency of each command against the budgets in {@code budgets.properties}, on
+ * lists of 10,000 and 100,000 tasks.
+ * <p>
+ * Each run writes a report of what was measured to {@code build/reports/perf}. Commands that change the list
+ * are undone after each run, unmeasured, so every command sees the list it was seeded with. The list is not
+ * saved while commands are measured.
+ */
+public class CommandBudgetTest {
+    private static final int WARMUPS = 30;
+    private static final int RUNS = 30;
+
+    /** The commands measured: name, setup, command, undo and a piece of the expected response. */
+    private static final String[][] COMMANDS = {
+        {"list", null, "list", null, "\n2. "},
+        {"list-page", null, "list page 2", null, "21. "},
+        {"todo", null, "todo perf probe #perf", "delete {last}", "Got it"},
+        {"deadline", null, "deadline perf probe /by 2025-10-22 1800", "delete {last}", "Got it"},
+        {"event", null, "event perf probe /from 2025-10-20 0900 /to 2025-10-20 1000", "delete {last}", "clashes"},
+        {"mark", null, "mark {middle}", "unmark {middle}", "[X]"},
+        {"unmark", "mark {middle}", "unmark {middle}", null, "[ ]"},
+        {"delete", "todo perf probe", "delete {last}", null, "perf probe"},
+        {"undo", "delete {middle}", "undo", null, "Undone: delete"},
+        {"find", null, "find report 12", null, "report 12"},
+        {"find-none", null, "find no such task", null, "No"},
+        {"query", null, "query /type deadline /undone /before 2025-10-24", null, "report"},
+        {"tag", null, "tag work & !done & deadline", null, "#work"},
+        {"occurrences", null, "occurrences 1", null, "standup"},
+        {"summary", null, "summary", null, "deadline"},
+        {"free", null, "free 2025-10-20 /to 2025-10-27 /min 1h", null, "free slots"},
+    };
+
+    @Test
+    public void commands_withinBudgets_10k() throws IOException {
+        this.checkBudgets(10_000);
+    }
+
+    @Test
+    public void commands_withinBudgets_100k() throws IOException {
+        this.checkBudgets(100_000);
+    }
+
+    private void checkBudgets(int size) throws IOException {
+        Properties budgets = new Properties();
+        try (InputStream in = CommandBudgetTest.class.getResourceAsStream("budgets.properties")) {
+            budgets.load(in);
+        }
+        Path dir = Files.createTempDirectory("sai-perf");
+        Path path = dir.resolve("sai.txt");
+        try {
+            CommandBenchmark benchmark = new CommandBenchmark(CommandBenchmark.seed(path, size), WARMUPS, RUNS);
+            StringBuilder report = new StringBuilder("command,bytes,bytes budget,micros,micros budget,result\n");
+            List<String> failures = new ArrayList<>();
+            for (String[] command : COMMANDS) {
+                CommandBenchmark.Measurement cost = benchmark.measure(command[1], command[2], command[3],
+                        command[4]);
+                long bytesBudget = budget(budgets, command[0] + "." + size + ".bytes");
+                long microsBudget = budget(budgets, command[0] + "." + size + ".micros");
+                boolean isWithin = cost.getBytes() <= bytesBudget && cost.getMicros() <= microsBudget;
+                report.append(command[0]).append(',').append(cost.getBytes()).append(',').append(bytesBudget)
+                        .append(',').append(cost.getMicros()).append(',').append(microsBudget)
+                        .append(',').append(isWithin ? "ok" : "OVER").append('\n');
+                if (!isWithin) {
+                    failures.add(String.format("%s: %,d bytes (budget %,d), %,d us (budget %,d)", command[0],
+                            cost.getBytes(), bytesBudget, cost.getMicros(), microsBudget));
+                }
+            }
+            Path reportDir = Paths.get(System.getProperty("sai.perf.reportDir", "build/reports/perf"));
+            Files.createDirectories(reportDir);
+            Files.writeString(reportDir.resolve("commands-" + size + ".csv"), report);
+            System.out.print("Commands on " + size + " tasks:\n" + report);
+
+            assertTrue(failures.isEmpty(), "Over budget on " + size + " tasks:\n" + String.join("\n", failures));
+        } finally {
+            Files.deleteIfExists(path);
+            Files.deleteIfExists(dir.resolve("sai.txt.lock"));
+            Files.deleteIfExists(dir.resolve("sai-archive"));
+            Files.deleteIfExists(dir);
+        }
+    }
+
+    private static long budget(Properties budgets, String key) {
+        String value = budgets.getProperty(key);
+        if (value == null) {
+            throw new AssertionError("No budget for " + key + " in budgets.properties");
+        }
+        return Long.parseLong(value.trim().replace("_", ""));
+    }
+}
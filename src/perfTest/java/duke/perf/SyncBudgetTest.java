@@ -0,0 +1,78 @@
+package duke.perf;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.Properties;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+import duke.Sai;
+
+/**
+ * Checks that syncing two stores of 100,000 tasks that differ in a handful of tasks exchanges only those tasks,
+ * within the time budget in {@code budgets.properties}.
+ * <p>
+ * The first sync between the stores meets every task once, and the second exchanges nothing; neither is
+ * measured.
+ */
+public class SyncBudgetTest {
+    private static final int SIZE = 100_000;
+
+    @Test
+    public void sync_exchangesOnlyChangedTasks_100k() throws IOException {
+        Properties budgets = new Properties();
+        try (InputStream in = SyncBudgetTest.class.getResourceAsStream("budgets.properties")) {
+            budgets.load(in);
+        }
+        Path dirA = Files.createTempDirectory("sai-perf-a");
+        Path dirB = Files.createTempDirectory("sai-perf-b");
+        try {
+            Sai sai = CommandBenchmark.seed(dirA.resolve("sai.txt"), SIZE);
+            Files.copy(dirA.resolve("sai.txt"), dirB.resolve("sai.txt"));
+            sai.getResponse("sync " + dirB);
+            // A sync with nothing to exchange warms up the code that reads and compares the sync records
+            sai.getResponse("sync " + dirB);
+
+            sai.getResponse("mark 10");
+            sai.getResponse("delete 20");
+            sai.getResponse("todo only in a");
+            Sai other = new Sai(dirB.resolve("sai.txt"));
+            other.loadTasks();
+            other.getResponse("unmark 41");
+            other.getResponse("todo only in b");
+
+            long start = System.nanoTime();
+            String response = sai.getResponse("sync " + dirB);
+            long micros = (System.nanoTime() - start) / 1000;
+
+            long budget = Long.parseLong(budgets.getProperty("sync." + SIZE + ".micros").trim().replace("_", ""));
+            String report = "command,micros,micros budget,result\nsync," + micros + "," + budget + ","
+                    + (micros <= budget ? "ok" : "OVER") + "\n";
+            Path reportDir = Paths.get(System.getProperty("sai.perf.reportDir", "build/reports/perf"));
+            Files.createDirectories(reportDir);
+            Files.writeString(reportDir.resolve("sync-" + SIZE + ".csv"), report);
+            System.out.print("Sync of " + SIZE + " tasks:\n" + report + response + "\n");
+
+            assertTrue(response.contains("Received 2 and sent 3 task records"), response);
+            assertTrue(micros <= budget, String.format("sync: %,d us (budget %,d)", micros, budget));
+        } finally {
+            delete(dirA);
+            delete(dirB);
+        }
+    }
+
+    private static void delete(Path dir) throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package duke.archive;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+import duke.task.DeadlineTask;
+import duke.task.EventTask;
+import duke.task.Recurrence;
+import duke.task.Task;
+import duke.task.TodoTask;
+
+public class TaskArchiveTest {
+
+    @Test
+    public void isArchivable_onlyTakesDoneTasksFinishedBeforeTheCutoff() {
+        LocalDateTime cutoff = LocalDateTime.of(2025, 10, 1, 0, 0);
+        DeadlineTask old = done(new DeadlineTask("old report", cutoff.minusDays(1)));
+        DeadlineTask recent = done(new DeadlineTask("new report", cutoff.plusDays(1)));
+        EventTask endsAfter = done(new EventTask("trip", cutoff.minusDays(2), cutoff.plusDays(2)));
+        DeadlineTask series = new DeadlineTask("rent", cutoff.minusMonths(6));
+        series.setRecurrence(new Recurrence(Recurrence.Frequency.MONTHLY, 3, null));
+        done(series);
+
+        assertTrue(TaskArchive.isArchivable(old, cutoff));
+        assertTrue(TaskArchive.isArchivable(done(new TodoTask("read")), cutoff));
+        assertFalse(TaskArchive.isArchivable(new TodoTask("write"), cutoff));
+        assertFalse(TaskArchive.isArchivable(recent, cutoff));
+        assertFalse(TaskArchive.isArchivable(endsAfter, cutoff));
+        assertFalse(TaskArchive.isArchivable(series, cutoff));
+    }
+
+    @Test
+    public void find_readsOnlySegmentsWhoseSummaryMatches() throws IOException {
+        Path dir = Files.createTempDirectory("sai-archive");
+        try {
+            List<Task> tasks = new ArrayList<>();
+            for (int month = 1; month <= 12; month++) {
+                for (int i = 0; i < 50; i++) {
+                    tasks.add(done(new DeadlineTask("chore " + month + "-" + i,
+                            LocalDateTime.of(2024, month, 10, 9, 0))));
+                }
+            }
+            tasks.add(done(new DeadlineTask("file quarterly taxes", LocalDateTime.of(2024, 4, 15, 9, 0))));
+            tasks.add(done(new TodoTask("read taxes guide")));
+
+            TaskArchive archive = new TaskArchive(dir);
+            assertEquals(13, archive.append(tasks, YearMonth.of(2025, 1)));
+            archive.append(List.of(done(new TodoTask("renew passport"))), YearMonth.of(2025, 1));
+
+            // A fresh archive reads the summaries back from disk
+            TaskArchive.Search search = new TaskArchive(dir).find("taxes");
+            assertEquals(2, search.getTasks().size());
+            assertEquals("read taxes guide", search.getTasks().get(0).getDescription());
+            assertEquals(13, search.getSegmentCount());
+            assertTrue(search.getSegmentsRead() <= 3);
+
+            assertEquals(1, archive.find("passport").getTasks().size());
+            // Keywords too short to summarise read every segment
+            TaskArchive.Search shortSearch = archive.find("4-");
+            assertEquals(50, shortSearch.getTasks().size());
+            assertEquals(13, shortSearch.getSegmentsRead());
+        } finally {
+            try (Stream<Path> paths = Files.walk(dir)) {
+                paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+
+    private static <T extends Task> T done(T task) {
+        task.mark();
+        return task;
+    }
+}
@@ -0,0 +1,53 @@
+package duke.cli;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import duke.Sai;
+
+public class CommandPipelineTest {
+
+    @Test
+    public void run_savesInBatchesAndStopsAfterBye() throws IOException {
+        Path dir = Files.createTempDirectory("sai-cli");
+        Path path = dir.resolve("sai.txt");
+        try {
+            StringBuilder script = new StringBuilder("# a comment\n\n");
+            for (int i = 0; i < 1000; i++) {
+                script.append("todo task ").append(i).append('\n');
+            }
+            script.append("mark 1000\nbye\ntodo never run\n");
+            Sai sai = new Sai(path);
+            sai.loadTasks();
+            StringWriter output = new StringWriter();
+
+            CommandPipeline.Report report = new CommandPipeline(sai, 400).run(new StringReader(script.toString()),
+                    output);
+
+            assertEquals(1002, report.getCommands());
+            assertEquals(3, report.getSaves());
+            assertEquals(1000, sai.getTaskCount());
+            assertTrue(output.toString().startsWith("-".repeat(49) + System.lineSeparator() + "Hello!"));
+            assertTrue(output.toString().contains("Bye. Hope to see you again soon!"));
+            assertFalse(output.toString().contains("never run"));
+
+            List<String> lines = Files.readAllLines(path);
+            assertEquals(1001, lines.size());
+            assertEquals("T | 1 | task 999", lines.get(1000));
+        } finally {
+            Files.deleteIfExists(path);
+            Files.deleteIfExists(dir.resolve("sai.txt.lock"));
+            Files.deleteIfExists(dir);
+        }
+    }
+}
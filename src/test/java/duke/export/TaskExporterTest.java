@@ -0,0 +1,71 @@
+package duke.export;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import duke.exceptions.InvalidTaskFormatException;
+import duke.task.DeadlineTask;
+import duke.task.EventTask;
+import duke.task.Task;
+import duke.task.TodoTask;
+
+public class TaskExporterTest {
+
+    private List<Task> createTasks() {
+        TodoTask todo = new TodoTask("say \"héllo\", world");
+        todo.mark();
+        return List.of(
+                todo,
+                new DeadlineTask("return book", LocalDateTime.of(2025, 12, 2, 18, 0)),
+                new EventTask("meeting", LocalDateTime.of(2025, 12, 3, 10, 0), LocalDateTime.of(2025, 12, 3, 12, 0)));
+    }
+
+    private String export(String format) throws IOException, InvalidTaskFormatException {
+        Path path = Files.createTempFile("sai-export", "." + format);
+        try {
+            TaskExporter.export(format, path, createTasks());
+            return Files.readString(path, StandardCharsets.UTF_8);
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    public void export_csv() throws Exception {
+        assertEquals("type,done,description,start,end,recurrence\r\n"
+                + "todo,1,\"say \"\"héllo\"\", world\",,,\r\n"
+                + "deadline,0,\"return book\",2025-12-02T18:00,,\r\n"
+                + "event,0,\"meeting\",2025-12-03T10:00,2025-12-03T12:00,\r\n", export("csv"));
+    }
+
+    @Test
+    public void export_json() throws Exception {
+        assertEquals("[\n"
+                + "  {\"type\":\"todo\",\"done\":true,\"description\":\"say \\\"héllo\\\", world\"},\n"
+                + "  {\"type\":\"deadline\",\"done\":false,\"description\":\"return book\","
+                + "\"by\":\"2025-12-02T18:00\"},\n"
+                + "  {\"type\":\"event\",\"done\":false,\"description\":\"meeting\","
+                + "\"start\":\"2025-12-03T10:00\",\"end\":\"2025-12-03T12:00\"}\n"
+                + "]\n", export("json"));
+    }
+
+    @Test
+    public void export_ics_mapsDeadlinesToTodosAndEventsToEvents() throws Exception {
+        String ics = export("ics");
+        assertTrue(ics.startsWith("BEGIN:VCALENDAR\r\n"));
+        assertTrue(ics.contains("SUMMARY:say \"héllo\"\\, world\r\n"));
+        assertTrue(ics.contains("SUMMARY:return book\r\nDUE:20251202T180000\r\n"
+                + "STATUS:NEEDS-ACTION\r\nEND:VTODO"));
+        assertTrue(ics.contains("DTSTART:20251203T100000\r\nDTEND:20251203T120000\r\nEND:VEVENT"));
+        assertTrue(ics.endsWith("END:VCALENDAR\r\n"));
+    }
+}
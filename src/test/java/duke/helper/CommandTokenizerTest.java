@@ -0,0 +1,78 @@
+package duke.helper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+
+import org.junit.jupiter.api.Test;
+
+public class CommandTokenizerTest {
+
+    @Test
+    public void reset_recordsWordsWithoutCopying() {
+        CommandTokenizer tokens = new CommandTokenizer().reset("  Deadline Return  Book /BY 2025-12-02 1800 ");
+
+        assertEquals(6, tokens.size());
+        assertTrue(tokens.isWord(0, "deadline"));
+        assertFalse(tokens.isWord(0, "dead"));
+        assertTrue(tokens.startsWith(0, "dead"));
+        assertFalse(tokens.isWord(6, "deadline"));
+        assertEquals(3, tokens.indexOf("/by", 1));
+        assertEquals(-1, tokens.indexOf("/from", 1));
+        assertEquals("return  book", tokens.lowerText(1, 3));
+        assertEquals("2025-12-02 1800", tokens.text(4, 6));
+        assertEquals("", tokens.text(2, 2));
+        assertEquals(1800, tokens.parseInt(5));
+        assertThrows(NumberFormatException.class, () -> tokens.parseInt(4));
+
+        tokens.reset("list 3-12");
+        int dash = tokens.indexOf(1, '-');
+        assertEquals(3, tokens.parseIntBetween(tokens.start(1), dash));
+        assertEquals(12, tokens.parseIntBetween(dash + 1, tokens.end(1)));
+        assertEquals(0, tokens.reset("   ").size());
+    }
+
+    @Test
+    public void reset_growsForLongCommands() {
+        StringBuilder command = new StringBuilder("todo");
+        for (int i = 0; i < 100; i++) {
+            command.append(" word").append(i);
+        }
+        CommandTokenizer tokens = new CommandTokenizer().reset(command);
+
+        assertEquals(101, tokens.size());
+        assertTrue(tokens.isWord(100, "WORD99"));
+    }
+
+    @Test
+    public void reset_reusedTokenizerDoesNotAllocate() {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        CommandTokenizer tokens = new CommandTokenizer();
+        String[] commands = {"mark 12", "UNMARK 3", "delete 40", "list page 2"};
+        long checksum = 0;
+        for (int i = 0; i < 20000; i++) {
+            checksum += this.handle(tokens, commands[i % commands.length]);
+        }
+
+        long before = threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+        for (int i = 0; i < 100000; i++) {
+            checksum += this.handle(tokens, commands[i % commands.length]);
+        }
+        long allocated = threads.getThreadAllocatedBytes(Thread.currentThread().getId()) - before;
+
+        assertTrue(checksum > 0);
+        assertTrue(allocated < 100000, "allocated " + allocated + " bytes for 100000 commands");
+    }
+
+    private int handle(CommandTokenizer tokens, String command) {
+        tokens.reset(command);
+        if (tokens.isWord(0, "mark") || tokens.isWord(0, "unmark") || tokens.isWord(0, "delete")) {
+            return tokens.parseInt(1);
+        }
+        return tokens.isWord(1, "page") ? tokens.parseInt(2) : 0;
+    }
+}
@@ -8,12 +8,20 @@ package duke.helper;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.time.Month;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
 
 import org.junit.jupiter.api.Test;
 
 import duke.exceptions.InvalidTaskFormatException;
+import duke.task.Recurrence;
+import duke.task.Task;
 
 public class ParserTest {
 
@@ -76,12 +84,52 @@ public class ParserTest {
         } catch (InvalidTaskFormatException e) {
             assertEquals(
                     "Unrecognised date format: invalid date string\n"
-                            + "I only recognise yyyy-MM-dd HHmm OR yyyy-MM-dd OR d/M/yyyy HHmm OR d/M/yyyy",
+                            + "I recognise yyyy-MM-dd HHmm OR yyyy-MM-dd OR d/M/yyyy HHmm OR d/M/yyyy, "
+                            + "or words such as tomorrow 6pm, next fri, in 3 days or oct 20 9:30am",
                     e.getMessage()
             );
         }
     }
 
+    @Test
+    public void testParseDateTime_words() throws InvalidTaskFormatException {
+        LocalDate today = LocalDate.now();
+        LocalDate friday = today.with(TemporalAdjusters.nextOrSame(DayOfWeek.FRIDAY));
+        LocalDate october20 = LocalDate.of(today.getYear(), 10, 20);
+        if (october20.isBefore(today)) {
+            october20 = october20.plusYears(1);
+        }
+
+        assertEquals(today.atTime(23, 59), Parser.parseDateTime("today"));
+        assertEquals(today.plusDays(1).atTime(18, 0), Parser.parseDateTime("tomorrow 6pm"));
+        assertEquals(today.plusDays(1).atTime(12, 0), Parser.parseDateTime("Noon Tmr"));
+        assertEquals(friday.atTime(23, 59), Parser.parseDateTime("fri"));
+        assertEquals(today.with(TemporalAdjusters.next(DayOfWeek.FRIDAY)).atTime(9, 30),
+                Parser.parseDateTime("next friday at 9:30am"));
+        assertEquals(today.plusDays(3).atTime(23, 59), Parser.parseDateTime("in 3 days"));
+        assertEquals(today.plusWeeks(2).atTime(7, 15), Parser.parseDateTime("in 2 weeks 07.15"));
+        assertEquals(today.atTime(18, 30), Parser.parseDateTime("6:30pm"));
+        assertEquals(today.plusDays(1).atTime(18, 30), Parser.parseDateTime("tomorrow 18:30"));
+        assertEquals(today.atTime(0, 0), Parser.parseDateTime("12am today"));
+        assertEquals(october20.atTime(23, 59), Parser.parseDateTime("oct 20"));
+        assertEquals(october20.atTime(9, 30), Parser.parseDateTime("20th October 9:30am"));
+        assertEquals(LocalDateTime.of(2030, 10, 20, 18, 0), Parser.parseDateTime("oct 20, 2030 1800"));
+
+        // A time only given for the default keeps the time that was typed
+        assertEquals(today.plusDays(1).atTime(18, 0), Parser.parseDateTime("tomorrow 6pm", LocalTime.MIDNIGHT));
+        assertEquals(today.plusDays(1).atStartOfDay(), Parser.parseDateTime("tomorrow", LocalTime.MIDNIGHT));
+
+        for (String input : List.of("tomorrow 13pm", "6", "in days", "feb 30", "next 3 days", "today today",
+                "25:00", "fri 6:61", "in 12345 days", "tomorrow at")) {
+            try {
+                Parser.parseDateTime(input);
+                fail(input);
+            } catch (InvalidTaskFormatException e) {
+                // expected
+            }
+        }
+    }
+
     @Test
     public void testExtractPhrases_todo() throws InvalidTaskFormatException {
         String[] result = Parser.extractPhrases("todo read book");
@@ -125,5 +173,69 @@ public class ParserTest {
             assertEquals("Event Task cannot be empty", e.getMessage());
         }
     }
-}
 
+    @Test
+    public void testExtractPhrases_ignoresRecurrence() throws InvalidTaskFormatException {
+        String[] result = Parser.extractPhrases("deadline pay rent /by 2025-11-01 /every monthly /count 12");
+        assertEquals("pay rent", result[1]);
+        assertEquals("2025-11-01", result[2]);
+    }
+
+    @Test
+    public void testParseRecurrence() throws InvalidTaskFormatException {
+        Recurrence recurrence = Parser.parseRecurrence("event standup /from 2025-10-20 0900 /to 2025-10-20 0915"
+                + " /every weekly /until 2025-12-31");
+        assertEquals("WEEKLY;UNTIL=2025-12-31T23:59", recurrence.toStorageString());
+        assertEquals(null, Parser.parseRecurrence("todo read book"));
+    }
+
+    @Test
+    public void testParseTask_ignoresCaseAndSpacing() throws InvalidTaskFormatException {
+        String[] result = Parser.extractPhrases("  DeadLine Pay  Rent /BY 2025-11-01   /every MONTHLY /count 12");
+        assertEquals("deadline", result[0]);
+        assertEquals("pay  rent", result[1]);
+        assertEquals("2025-11-01", result[2]);
+        Recurrence recurrence = Parser.parseRecurrence("deadline pay rent /by 2025-11-01 /every Monthly /count 12");
+        assertEquals("MONTHLY;COUNT=12", recurrence.toStorageString());
+
+        try {
+            Parser.extractPhrases("deadline pay rent /by");
+            fail();
+        } catch (InvalidTaskFormatException e) {
+            assertEquals("Deadline Task needs a /by statement", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testParseTask_extractsTags() throws InvalidTaskFormatException {
+        Task task = Parser.parseTask("deadline #Work submit  report #urgent #work /by 2025-11-01");
+        assertEquals("submit  report", task.getDescription());
+        assertEquals(List.of("urgent", "work"), task.getTags());
+        assertEquals("D | 0 | submit  report | 2025-11-01T23:59 | tags=urgent,work", task.toStorageString());
+        assertEquals(List.of("home"), Parser.parseTags("todo fix sink #home"));
+        assertEquals(List.of(), Parser.parseTags("todo email bob re: issue # and #a!b"));
+
+        try {
+            Parser.parseTask("todo #home");
+            fail();
+        } catch (InvalidTaskFormatException e) {
+            assertEquals("Task description cannot be empty", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testParseDuration() throws InvalidTaskFormatException {
+        assertEquals(Duration.ofMinutes(90), Parser.parseDuration("1h30m"));
+        assertEquals(Duration.ofHours(2), Parser.parseDuration("2H"));
+        assertEquals(Duration.ofMinutes(45), Parser.parseDuration("45"));
+
+        for (String input : new String[] {"0m", "an hour", ""}) {
+            try {
+                Parser.parseDuration(input);
+                fail();
+            } catch (InvalidTaskFormatException e) {
+                // expected
+            }
+        }
+    }
+}
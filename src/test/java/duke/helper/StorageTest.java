@@ -0,0 +1,221 @@
+package duke.helper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import duke.list.TaskList;
+import duke.storage.StorageChange;
+import duke.task.Task;
+import duke.task.TodoTask;
+
+public class StorageTest {
+
+    private static List<String> todoLines(int count) {
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            lines.add("T | 0 | task " + i);
+        }
+        return lines;
+    }
+
+    private static void apply(TaskList taskList, List<StorageChange> changes) {
+        for (int i = changes.size() - 1; i >= 0; i--) {
+            StorageChange change = changes.get(i);
+            taskList.replaceRange(change.getFrom(), change.getFrom() + change.getRemoved().size(), change.getAdded());
+        }
+    }
+
+    @Test
+    public void readChanges_replacesOnlyEditedLines() throws IOException {
+        Path dir = Files.createTempDirectory("sai-storage");
+        Path path = dir.resolve("sai.txt");
+        try {
+            List<String> lines = todoLines(10);
+            Files.write(path, lines);
+            Storage storage = new Storage(path);
+            TaskList taskList = storage.load();
+            Task untouched = taskList.getTask(9);
+            assertTrue(storage.readChanges(taskList).isEmpty());
+
+            lines.set(4, "T | 1 | task four");
+            lines.add("T | 0 | appended");
+            Files.write(path, lines);
+            List<StorageChange> changes = storage.readChanges(taskList);
+
+            assertEquals(2, changes.size());
+            assertEquals(4, changes.get(0).getFrom());
+            assertEquals(List.of(new TodoTask("task 4")), changes.get(0).getRemoved());
+            assertEquals("task four", changes.get(0).getAdded().get(0).getDescription());
+            assertEquals(10, changes.get(1).getFrom());
+            assertTrue(changes.get(1).getRemoved().isEmpty());
+            assertEquals(List.of(new TodoTask("appended")), changes.get(1).getAdded());
+
+            apply(taskList, changes);
+            assertEquals(11, taskList.size());
+            assertEquals("task four", taskList.getTask(4).getDescription());
+            assertSame(untouched, taskList.getTask(9));
+            for (int i = 0; i < taskList.size(); i++) {
+                assertEquals(i, taskList.positionOf(taskList.getTask(i)));
+            }
+            assertTrue(storage.readChanges(taskList).isEmpty());
+        } finally {
+            Files.deleteIfExists(path);
+            Files.deleteIfExists(dir);
+        }
+    }
+
+    @Test
+    public void readChanges_ignoresOwnSavesAndHandlesDeletes() throws IOException {
+        Path dir = Files.createTempDirectory("sai-storage");
+        Path path = dir.resolve("sai.txt");
+        try {
+            Files.write(path, todoLines(5));
+            Storage storage = new Storage(path);
+            TaskList taskList = storage.load();
+            taskList.addTask(new TodoTask("added in app"));
+            storage.save(taskList);
+            assertTrue(storage.readChanges(taskList).isEmpty());
+
+            List<String> lines = todoLines(5);
+            lines.remove(2);
+            lines.add(1, "not a task");
+            lines.add("T | 0 | added in app");
+            Files.write(path, lines);
+            List<StorageChange> changes = storage.readChanges(taskList);
+            apply(taskList, changes);
+
+            assertEquals(1, changes.stream().mapToInt(StorageChange::getUnreadableLines).sum());
+            assertEquals(5, taskList.size());
+            assertEquals("task 3", taskList.getTask(2).getDescription());
+            for (int i = 0; i < taskList.size(); i++) {
+                assertEquals(i, taskList.positionOf(taskList.getTask(i)));
+            }
+        } finally {
+            Files.deleteIfExists(path);
+            Files.deleteIfExists(dir.resolve("sai.txt.lock"));
+            Files.deleteIfExists(dir);
+        }
+    }
+
+    @Test
+    public void save_mergesChangesSavedByAnotherProcess() throws IOException {
+        Path dir = Files.createTempDirectory("sai-storage");
+        Path path = dir.resolve("sai.txt");
+        try {
+            Files.write(path, todoLines(5));
+            Storage first = new Storage(path);
+            Storage second = new Storage(path);
+            TaskList firstList = first.load();
+            TaskList secondList = second.load();
+
+            firstList.getTask(3).mark();
+            firstList.deleteTask(1);
+            firstList.addTask(new TodoTask("from first"));
+            first.save(firstList);
+
+            secondList.getTask(0).mark();
+            secondList.deleteTask(3);
+            List<StorageChange> merged = second.save(secondList);
+
+            // Both changed task 3, so the first save's version is kept as a conflict instead of being deleted
+            assertEquals(3, merged.size());
+            assertEquals(1, merged.stream().filter(StorageChange::isConflict).count());
+            assertEquals(List.of("task 0", "task 2", "task 3", "task 4", "from first"),
+                    secondList.getTasks().stream().map(Task::getDescription).toList());
+            assertTrue(secondList.getTask(0).isDone());
+            assertTrue(secondList.getTask(2).isDone());
+            for (int i = 0; i < secondList.size(); i++) {
+                assertEquals(i, secondList.positionOf(secondList.getTask(i)));
+            }
+
+            List<String> lines = Files.readAllLines(path);
+            assertEquals("# version=2", lines.get(0));
+            assertEquals(6, lines.size());
+            assertEquals(secondList.getTasks(), new Storage(path).load().getTasks());
+
+            apply(firstList, first.readChanges(firstList));
+            assertEquals(secondList.getTasks(), firstList.getTasks());
+        } finally {
+            Files.deleteIfExists(path);
+            Files.deleteIfExists(dir.resolve("sai.txt.lock"));
+            Files.deleteIfExists(dir);
+        }
+    }
+
+    @Test
+    public void save_keepsBothVersionsOfTaskChangedByBothProcesses() throws IOException {
+        Path dir = Files.createTempDirectory("sai-storage");
+        Path path = dir.resolve("sai.txt");
+        try {
+            Files.write(path, todoLines(4));
+            Storage first = new Storage(path);
+            Storage second = new Storage(path);
+            TaskList firstList = first.load();
+            TaskList secondList = second.load();
+
+            firstList.getTask(2).mark();
+            first.save(firstList);
+
+            secondList.replaceRange(2, 3, List.of(new TodoTask("task 2 renamed")));
+            List<StorageChange> merged = second.save(secondList);
+
+            assertEquals(1, merged.size());
+            StorageChange conflict = merged.get(0);
+            assertTrue(conflict.isConflict());
+            assertEquals(3, conflict.getFrom());
+            assertEquals(List.of(), conflict.getRemoved());
+            assertEquals(List.of("task 2 renamed", "task 2", "task 3"),
+                    secondList.getTasks().subList(2, 5).stream().map(Task::getDescription).toList());
+            assertTrue(secondList.getTask(3).isDone());
+            assertEquals(secondList.getTasks(), new Storage(path).load().getTasks());
+
+            // The next save by the first process keeps both versions too
+            apply(firstList, first.readChanges(firstList));
+            assertEquals(secondList.getTasks(), firstList.getTasks());
+        } finally {
+            Files.deleteIfExists(path);
+            Files.deleteIfExists(dir.resolve("sai.txt.lock"));
+            Files.deleteIfExists(dir);
+        }
+    }
+
+    @Test
+    public void load_handsOverTasksInBatches() throws IOException {
+        Path dir = Files.createTempDirectory("sai-storage");
+        Path path = dir.resolve("sai.txt");
+        try {
+            List<String> lines = todoLines(7);
+            lines.add(3, "not a task");
+            lines.add(0, "# version=4");
+            Files.write(path, lines);
+            Storage storage = new Storage(path);
+            List<Integer> sizes = new ArrayList<>();
+            TaskList taskList = new TaskList();
+
+            int loaded = storage.load(3, batch -> {
+                sizes.add(batch.size());
+                taskList.addAll(batch);
+            });
+
+            assertEquals(7, loaded);
+            assertEquals(List.of(3, 3, 1), sizes);
+            assertEquals("task 6", taskList.getTask(6).getDescription());
+            assertTrue(storage.readChanges(taskList).isEmpty());
+            storage.save(taskList);
+            assertEquals("# version=5", Files.readAllLines(path).get(0));
+        } finally {
+            Files.deleteIfExists(path);
+            Files.deleteIfExists(dir.resolve("sai.txt.lock"));
+            Files.deleteIfExists(dir);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package duke.history;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+import duke.Sai;
+import duke.task.TodoTask;
+
+public class EditHistoryTest {
+
+    private static Edit add(int position) {
+        return Edit.ofAdd(new int[] {position}, List.of(new TodoTask("task " + position)));
+    }
+
+    @Test
+    public void undoAndRedo_moveEditsBetweenStacks() {
+        EditHistory history = new EditHistory();
+        Edit first = add(0);
+        Edit second = add(1);
+        history.record(first);
+        history.record(second);
+
+        assertSame(second, history.undo());
+        assertSame(first, history.undo());
+        assertNull(history.undo());
+        assertSame(first, history.redo());
+        assertEquals(1, history.countUndoable());
+        assertEquals(1, history.countRedoable());
+
+        // A new edit forgets what was undone
+        history.record(add(1));
+        assertNull(history.redo());
+        assertEquals(2, history.countUndoable());
+    }
+
+    @Test
+    public void record_forgetsOldestEditPastLimit() {
+        EditHistory history = new EditHistory(3);
+        Edit[] edits = new Edit[5];
+        for (int i = 0; i < edits.length; i++) {
+            edits[i] = add(i);
+            history.record(edits[i]);
+        }
+
+        assertEquals(3, history.countUndoable());
+        assertSame(edits[4], history.undo());
+        assertSame(edits[3], history.undo());
+        assertSame(edits[2], history.undo());
+        assertNull(history.undo());
+
+        history.clear();
+        assertNull(history.redo());
+    }
+
+    @Test
+    public void undo_skipsMarkThatChangedNothing() throws IOException {
+        Path dir = Files.createTempDirectory("sai-history");
+        Path path = dir.resolve("sai.txt");
+        try {
+            Sai sai = new Sai(path);
+            sai.loadTasks();
+            sai.getResponse("todo read book");
+            sai.getResponse("mark 1");
+            sai.getResponse("mark 1");
+            sai.getResponse("unmark 1");
+            sai.getResponse("unmark 1");
+
+            // Only the add, the first mark and the first unmark are undone
+            assertTrue(sai.getResponse("undo").contains("[T][X] read book"));
+            assertTrue(sai.getResponse("undo").contains("[T][ ] read book"));
+            sai.getResponse("undo");
+            assertEquals(0, sai.getTaskCount());
+            assertTrue(sai.getResponse("undo").contains("Nothing to undo."));
+        } finally {
+            try (Stream<Path> files = Files.walk(dir)) {
+                for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void undo_putsBackOccurrencesClearedByMark() throws IOException {
+        Path dir = Files.createTempDirectory("sai-history");
+        Path path = dir.resolve("sai.txt");
+        try {
+            Sai sai = new Sai(path);
+            sai.loadTasks();
+            sai.getResponse("deadline report /by 2030-01-06 /every weekly /count 5");
+            sai.getResponse("mark 1 /on 2030-01-13");
+            String marked = Files.readAllLines(path).get(1);
+            assertTrue(marked.endsWith(" | except=1:1"));
+
+            sai.getResponse("mark 1");
+            assertTrue(sai.getTaskLine(0).contains("[X]"));
+            sai.getResponse("undo");
+            assertEquals(marked, Files.readAllLines(path).get(1));
+
+            // Marking an occurrence that is already done changes nothing, so the file is not written again
+            List<String> lines = Files.readAllLines(path);
+            assertTrue(sai.getResponse("mark 1 /on 2030-01-13").contains("2030"));
+            assertEquals(lines, Files.readAllLines(path));
+            sai.getResponse("undo");
+            assertTrue(sai.getTaskLine(0).contains("[D][ ] report"));
+            assertEquals("D | 0 | report | 2030-01-06T23:59 | every=WEEKLY;COUNT=5", Files.readAllLines(path).get(1));
+        } finally {
+            try (Stream<Path> files = Files.walk(dir)) {
+                for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package duke.importer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import duke.export.TaskExporter;
+import duke.task.DatedTask;
+import duke.task.DeadlineTask;
+import duke.task.EventTask;
+import duke.task.Recurrence;
+import duke.task.Task;
+import duke.task.TodoTask;
+
+public class TaskImporterTest {
+
+    private ImportResult importText(String suffix, String content) throws IOException {
+        Path path = Files.createTempFile("sai-import", suffix);
+        try {
+            Files.writeString(path, content, StandardCharsets.UTF_8);
+            return TaskImporter.read(path, progress -> { });
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    public void read_commands_reportsBadLinesWithoutAborting() throws Exception {
+        ImportResult result = importText(".txt", "todo Read Book\n\n"
+                + "deadline return book /by 2025-12-02 1800\n"
+                + "deadline no date\n"
+                + "event meeting /from 2025-12-03 1000 /to 2025-12-03 1200 /every weekly /count 3\n");
+
+        assertEquals(ImportFormat.COMMANDS, result.getFormat());
+        assertEquals(List.of(new TodoTask("read book"),
+                new DeadlineTask("return book", LocalDateTime.of(2025, 12, 2, 18, 0)),
+                new EventTask("meeting", LocalDateTime.of(2025, 12, 3, 10, 0), LocalDateTime.of(2025, 12, 3, 12, 0))),
+                result.getTasks());
+        assertTrue(((DatedTask) result.getTasks().get(2)).isRecurring());
+        assertEquals(1, result.getErrorCount());
+        assertTrue(result.getErrors().get(0).startsWith("Line 4: "));
+    }
+
+    @Test
+    public void read_storageFormat() throws Exception {
+        ImportResult result = importText(".txt", "T | 1 | read book\nD | 0 | return book | 2025-12-02T18:00\n");
+
+        assertEquals(ImportFormat.STORAGE, result.getFormat());
+        assertEquals(2, result.getTasks().size());
+        assertTrue(result.getTasks().get(0).isDone());
+        assertEquals(0, result.getErrorCount());
+    }
+
+    @Test
+    public void read_ics_unfoldsLinesAndSkipsNestedComponents() throws Exception {
+        ImportResult result = importText(".ics", "BEGIN:VCALENDAR\r\n"
+                + "BEGIN:VEVENT\r\nSUMMARY:long\r\n  meeting\\, room 2\r\nDTSTART:20251203T100000\r\n"
+                + "DTEND:20251203T120000\r\nRRULE:FREQ=WEEKLY;COUNT=4\r\n"
+                + "BEGIN:VALARM\r\nSUMMARY:alarm\r\nEND:VALARM\r\nEND:VEVENT\r\n"
+                + "BEGIN:VTODO\r\nSUMMARY:pay bills\r\nDUE;VALUE=DATE:20251202\r\nSTATUS:COMPLETED\r\nEND:VTODO\r\n"
+                + "BEGIN:VTODO\r\nSUMMARY:bad\r\nDUE:tomorrow\r\nEND:VTODO\r\n"
+                + "END:VCALENDAR\r\n");
+
+        EventTask event = (EventTask) result.getTasks().get(0);
+        assertEquals("long meeting, room 2", event.getDescription());
+        assertEquals(4, event.getRecurrence().getCount());
+        DeadlineTask deadline = (DeadlineTask) result.getTasks().get(1);
+        assertEquals(LocalDateTime.of(2025, 12, 2, 23, 59), deadline.getBy());
+        assertTrue(deadline.isDone());
+        assertEquals(List.of("Line 17: Unrecognised calendar date: tomorrow"), result.getErrors());
+    }
+
+    @Test
+    public void read_exportedFiles_roundTrip() throws Exception {
+        DeadlineTask rent = new DeadlineTask("pay \"rent\", now", LocalDateTime.of(2025, 11, 1, 9, 0));
+        rent.setRecurrence(new Recurrence(Recurrence.Frequency.MONTHLY, 12, null));
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            tasks.add(new TodoTask("task " + i));
+        }
+        tasks.add(rent);
+
+        for (String format : List.of("csv", "ics")) {
+            Path path = Files.createTempFile("sai-roundtrip", "." + format);
+            try {
+                TaskExporter.export(format, path, tasks);
+                List<Double> progress = new ArrayList<>();
+                ImportResult result = TaskImporter.read(path, progress::add);
+
+                assertEquals(tasks, result.getTasks());
+                assertEquals(12, ((DatedTask) result.getTasks().get(2500)).getRecurrence().getCount());
+                assertEquals(0, result.getErrorCount());
+                assertEquals(1.0, progress.get(progress.size() - 1));
+            } finally {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package duke.list;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import duke.task.EventTask;
+import duke.task.Occurrence;
+import duke.task.Recurrence;
+import duke.task.TodoTask;
+
+public class EventTimelineTest {
+    private static final LocalDateTime DAY = LocalDateTime.of(2025, 10, 20, 0, 0);
+
+    private static LocalDateTime at(int hour, int minute) {
+        return DAY.withHour(hour).withMinute(minute);
+    }
+
+    @Test
+    public void findFree_sweepsOverlappingAndRecurringEvents() {
+        TaskList taskList = new TaskList();
+        EventTimeline timeline = taskList.getEventTimeline();
+        taskList.addTask(new EventTask("workshop", at(9, 0), at(11, 0)));
+        taskList.addTask(new TodoTask("read book"));
+        taskList.addTask(new EventTask("call", at(10, 30), at(12, 0)));
+        taskList.addTask(new EventTask("lunch", at(12, 0), at(12, 45)));
+        taskList.addTask(new EventTask("review", at(14, 0), at(14, 20)));
+        // Starts the day before and runs into the morning
+        taskList.addTask(new EventTask("flight", DAY.minusHours(3), at(1, 0)));
+        EventTask standup = new EventTask("standup", at(8, 30), at(8, 45));
+        standup.setRecurrence(new Recurrence(Recurrence.Frequency.DAILY, 0, null));
+        taskList.addTask(standup);
+
+        List<TimeSlot> free = timeline.findFree(DAY, DAY.plusDays(1), Duration.ofMinutes(30));
+        assertEquals(List.of(new TimeSlot(at(1, 0), at(8, 30)), new TimeSlot(at(12, 45), at(14, 0)),
+                new TimeSlot(at(14, 20), DAY.plusDays(1).withHour(8).withMinute(30))),
+                timeline.findFree(DAY, DAY.plusDays(1).withHour(9), Duration.ofMinutes(30)));
+        assertEquals(3, free.size());
+        assertEquals(new TimeSlot(at(14, 20), DAY.plusDays(1)), free.get(2));
+        assertEquals(List.of(new TimeSlot(at(1, 0), at(8, 30)), new TimeSlot(at(14, 20), DAY.plusDays(1))),
+                timeline.findFree(DAY, DAY.plusDays(1), Duration.ofHours(2)));
+
+        taskList.deleteTask(0);
+        assertEquals(List.of(new TimeSlot(at(8, 0), at(8, 30)), new TimeSlot(at(8, 45), at(10, 30))),
+                timeline.findFree(at(8, 0), at(12, 0), Duration.ofMinutes(30)));
+    }
+
+    @Test
+    public void findOverlaps_ignoresEventsThatOnlyTouch() {
+        TaskList taskList = new TaskList();
+        EventTimeline timeline = taskList.getEventTimeline();
+        taskList.addTask(new EventTask("workshop", at(9, 0), at(11, 0)));
+        taskList.addTask(new EventTask("lunch", at(12, 0), at(13, 0)));
+        EventTask standup = new EventTask("standup", at(8, 30), at(8, 45));
+        standup.setRecurrence(new Recurrence(Recurrence.Frequency.DAILY, 0, null));
+        taskList.addTask(standup);
+
+        List<Occurrence> overlaps = timeline.findOverlaps(at(8, 40), at(12, 0));
+        assertEquals(2, overlaps.size());
+        assertEquals("standup", overlaps.get(0).getTask().getDescription());
+        assertEquals("workshop", overlaps.get(1).getTask().getDescription());
+        assertEquals(List.of(), timeline.findOverlaps(at(11, 0), at(12, 0)));
+
+        taskList.replaceRange(0, 1, List.of(new TodoTask("read book")));
+        assertEquals(1, timeline.findOverlaps(at(8, 40), at(12, 0)).size());
+    }
+}
@@ -0,0 +1,74 @@
+package duke.list;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class RoaringBitmapTest {
+
+    @Test
+    public void setOperations_matchBitSetAcrossSparseAndDenseChunks() {
+        Random random = new Random(42);
+        RoaringBitmap a = new RoaringBitmap();
+        RoaringBitmap b = new RoaringBitmap();
+        BitSet expectedA = new BitSet();
+        BitSet expectedB = new BitSet();
+        // Chunk 0 is dense in both, chunk 1 dense in one and sparse in the other, chunk 3 only in one
+        for (int i = 0; i < 20000; i++) {
+            int value = random.nextInt(65536);
+            a.add(value);
+            expectedA.set(value);
+            value = random.nextInt(65536);
+            b.add(value);
+            expectedB.set(value);
+            value = 65536 + random.nextInt(65536);
+            a.add(value);
+            expectedA.set(value);
+        }
+        for (int i = 0; i < 100; i++) {
+            int value = 65536 + random.nextInt(65536);
+            b.add(value);
+            expectedB.set(value);
+            value = 3 * 65536 + random.nextInt(65536);
+            b.add(value);
+            expectedB.set(value);
+        }
+
+        assertEquals(expectedA.cardinality(), a.cardinality());
+        BitSet and = (BitSet) expectedA.clone();
+        and.and(expectedB);
+        assertArrayEquals(and.stream().toArray(), RoaringBitmap.and(a, b).toArray());
+        BitSet or = (BitSet) expectedA.clone();
+        or.or(expectedB);
+        assertArrayEquals(or.stream().toArray(), RoaringBitmap.or(a, b).toArray());
+        BitSet andNot = (BitSet) expectedA.clone();
+        andNot.andNot(expectedB);
+        assertArrayEquals(andNot.stream().toArray(), RoaringBitmap.andNot(a, b).toArray());
+    }
+
+    @Test
+    public void remove_shrinksDenseChunksBackToArrays() {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        for (int i = 0; i < 10000; i++) {
+            bitmap.add(i * 2);
+        }
+        for (int i = 0; i < 10000; i += 2) {
+            bitmap.remove(i * 2);
+        }
+        assertEquals(5000, bitmap.cardinality());
+        assertTrue(bitmap.contains(2));
+        assertFalse(bitmap.contains(0));
+
+        for (int i = 1; i < 10000; i += 2) {
+            bitmap.remove(i * 2);
+        }
+        assertTrue(bitmap.isEmpty());
+        assertFalse(bitmap.contains(2));
+    }
+}
@@ -0,0 +1,57 @@
+package duke.list;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import duke.task.DeadlineTask;
+import duke.task.EventTask;
+import duke.task.Recurrence;
+import duke.task.TodoTask;
+
+public class TaskCountersTest {
+
+    @Test
+    public void counters_followAddsDeletesAndStatusChanges() {
+        LocalDate today = LocalDate.of(2025, 10, 22);
+        TaskList taskList = new TaskList();
+        TaskCounters counters = taskList.getCounters();
+        taskList.addTask(new TodoTask("read book"));
+        taskList.addTask(new DeadlineTask("report", today.minusDays(3).atTime(18, 0)));
+        taskList.addTask(new DeadlineTask("essay", today.minusDays(1).atTime(9, 0)));
+        taskList.addTask(new DeadlineTask("slides", today.atTime(23, 59)));
+        taskList.addTask(new EventTask("meeting", today.plusDays(2).atTime(14, 0), today.plusDays(2).atTime(15, 0)));
+        EventTask standup = new EventTask("standup", LocalDateTime.of(2025, 1, 6, 9, 0),
+                LocalDateTime.of(2025, 1, 6, 9, 15));
+        standup.setRecurrence(new Recurrence(Recurrence.Frequency.WEEKLY, 0, null));
+        taskList.addTask(standup);
+
+        assertEquals(6, counters.total());
+        assertEquals(3, counters.count(TaskCounters.Kind.DEADLINE, false));
+        assertEquals(2, counters.countOverdue(today));
+        assertEquals(1, counters.countOn(today, TaskCounters.Kind.DEADLINE, false));
+        assertEquals(1, counters.countBetween(today.minusDays(2), today.plusDays(4), TaskCounters.Kind.EVENT));
+        assertEquals(1, counters.countRecurring());
+
+        taskList.markTask(1);
+        assertEquals(1, counters.countOverdue(today));
+        assertEquals(1, counters.count(TaskCounters.Kind.DEADLINE, true));
+
+        taskList.deleteTask(2);
+        assertEquals(0, counters.countOverdue(today));
+        // The day moves on, and today's deadline becomes overdue
+        assertEquals(1, counters.countOverdue(today.plusDays(1)));
+        taskList.unmarkTask(1);
+        assertEquals(2, counters.countOverdue(today.plusDays(1)));
+        assertEquals(1, counters.countOverdue(today));
+
+        taskList.replaceRange(0, taskList.size(), List.of(new TodoTask("only")));
+        assertEquals(1, counters.total());
+        assertEquals(0, counters.countOverdue(today.plusDays(1)));
+        assertEquals(0, counters.countRecurring());
+    }
+}
@@ -0,0 +1,118 @@
+package duke.list;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import duke.task.Task;
+import duke.task.TodoTask;
+
+public class TaskListTest {
+
+    @Test
+    public void descriptionIndex_tracksAddAndDelete() {
+        TaskList list = new TaskList();
+        Task report = new TodoTask("write report");
+        Task reply = new TodoTask("reply email");
+        list.addTask(report);
+        list.addTask(reply);
+
+        assertEquals(List.of("reply", "report"), list.getDescriptionIndex().completeWord("re", 10));
+        assertEquals(2, list.getDescriptionIndex().countByPrefix("re"));
+
+        list.deleteTask(0);
+        assertEquals(List.of("reply"), list.getDescriptionIndex().completeWord("re", 10));
+        assertEquals(List.of(reply), list.getDescriptionIndex().findByPrefix("rep", 10));
+        assertTrue(list.getDescriptionIndex().findByPrefix("write", 10).isEmpty());
+    }
+
+    @Test
+    public void positionOf_findsTasksAfterDeletes() {
+        TaskList list = new TaskList();
+        Task[] tasks = new Task[5];
+        for (int i = 0; i < tasks.length; i++) {
+            tasks[i] = new TodoTask("task " + i);
+            list.addTask(tasks[i]);
+        }
+        list.deleteTask(1);
+
+        assertEquals(0, list.positionOf(tasks[0]));
+        assertEquals(-1, list.positionOf(tasks[1]));
+        assertEquals(2, list.positionOf(tasks[3]));
+        assertEquals(3, list.positionOf(tasks[4]));
+    }
+
+    @Test
+    public void deleteTasks_removesSeveralPositionsAndUpdatesIndexes() {
+        TaskList list = new TaskList();
+        Task[] tasks = new Task[6];
+        for (int i = 0; i < tasks.length; i++) {
+            tasks[i] = new TodoTask("task " + i);
+            list.addTask(tasks[i]);
+        }
+
+        assertEquals(List.of(tasks[1], tasks[2], tasks[5]), list.deleteTasks(new int[] {1, 2, 5}));
+        assertEquals(3, list.size());
+        assertEquals(1, list.positionOf(tasks[3]));
+        assertEquals(-1, list.positionOf(tasks[2]));
+        assertEquals(3, list.getCounters().total());
+        assertEquals(3, list.getTagIndex().getAll().cardinality());
+    }
+
+    @Test
+    public void insertTasks_putsDeletedTasksBackWithTheirIdentifiers() {
+        TaskList list = new TaskList();
+        Task[] tasks = new Task[6];
+        for (int i = 0; i < tasks.length; i++) {
+            tasks[i] = new TodoTask("task " + i);
+            list.addTask(tasks[i]);
+        }
+        int[] positions = {0, 3, 5};
+        List<Task> removed = list.deleteTasks(positions);
+
+        list.insertTasks(positions, removed);
+        assertEquals(List.of(tasks), list.getTasks());
+        assertEquals(5, list.positionOf(tasks[5]));
+        assertEquals(6, list.getTagIndex().getAll().cardinality());
+        assertEquals(List.of(tasks[3]), list.getDescriptionIndex().findByPrefix("3", 10));
+    }
+
+    @Test
+    public void markTasks_skipsTasksWithTheStatusAndUpdatesIndexesInBulk() {
+        TaskList list = new TaskList();
+        Task[] tasks = new Task[5];
+        for (int i = 0; i < tasks.length; i++) {
+            tasks[i] = new TodoTask("task " + i);
+            tasks[i].setTags(List.of(i % 2 == 0 ? "even" : "odd"));
+            list.addTask(tasks[i]);
+        }
+        list.markTask(1);
+
+        assertEquals(List.of(tasks[0], tasks[3]), list.markTasks(new int[] {0, 1, 3}, true));
+        assertEquals(3, list.getTagIndex().getDone().cardinality());
+        assertEquals(3, list.getCounters().count(TaskCounters.Kind.TODO, true));
+        assertEquals(3, list.getStatusIndex().count(true));
+
+        list.deleteTasks(new int[] {1, 3});
+        assertEquals(1, list.getTagIndex().getDone().cardinality());
+        assertArrayEquals(new int[] {tasks[0].getId(), tasks[2].getId(), tasks[4].getId()},
+                list.getTagIndex().getTag("even").toArray());
+        assertEquals("{even=3}", list.getTagIndex().countTags().toString());
+    }
+
+    @Test
+    public void listTasks_range_formatsOnlyRequestedSlice() {
+        TaskList list = new TaskList();
+        for (int i = 0; i < 50; i++) {
+            list.addTask(new TodoTask("task " + i));
+        }
+
+        assertEquals("21. [T][ ] task 20\n22. [T][ ] task 21", list.listTasks(20, 22));
+        assertEquals("50. [T][ ] task 49", list.listTasks(49, 60));
+        assertEquals("", list.listTasks(60, 80));
+    }
+}
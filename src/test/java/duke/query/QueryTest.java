@@ -0,0 +1,102 @@
+package duke.query;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import duke.exceptions.InvalidTaskFormatException;
+import duke.helper.CommandTokenizer;
+import duke.list.TaskList;
+import duke.task.DeadlineTask;
+import duke.task.EventTask;
+import duke.task.Task;
+import duke.task.TodoTask;
+
+public class QueryTest {
+
+    private TaskList createList() throws InvalidTaskFormatException {
+        TaskList list = new TaskList();
+        list.addTask(new TodoTask("write report"));
+        list.addTask(new DeadlineTask("submit report", "2025-10-20 1800"));
+        list.addTask(new DeadlineTask("submit draft", "2025-10-22 1800"));
+        list.addTask(new DeadlineTask("final report", "2025-10-30 1800"));
+        list.addTask(new EventTask("report review", "2025-10-21 1000", "2025-10-21 1100"));
+        list.markTask(1);
+        return list;
+    }
+
+    @Test
+    public void query_combinesClauses() throws InvalidTaskFormatException {
+        TaskList list = createList();
+        Query query = QueryParser.parse("query /type deadline /undone /before 2025-10-24 /text rep");
+        List<Task> found = QueryPlanner.plan(query, list).execute(list);
+
+        assertEquals(0, found.size());
+
+        query = QueryParser.parse("query /type deadline /undone /before 2025-10-31 /text rep");
+        found = QueryPlanner.plan(query, list).execute(list);
+        assertEquals(List.of(list.getTask(3)), found);
+    }
+
+    @Test
+    public void query_between_returnsTasksInListOrder() throws InvalidTaskFormatException {
+        TaskList list = createList();
+        Query query = QueryParser.parse("query /between 2025-10-20 0000 /and 2025-10-22 2359");
+        QueryPlan plan = QueryPlanner.plan(query, list);
+
+        assertEquals(QueryPlan.Access.DATE_INDEX, plan.getAccess());
+        assertEquals(List.of(list.getTask(1), list.getTask(2), list.getTask(4)), plan.execute(list));
+    }
+
+    @Test
+    public void planner_picksMostSelectiveIndex() throws InvalidTaskFormatException {
+        TaskList list = createList();
+
+        Query byStatus = QueryParser.parse("query /done /text rep");
+        assertEquals(QueryPlan.Access.STATUS_INDEX, QueryPlanner.plan(byStatus, list).getAccess());
+
+        Query byText = QueryParser.parse("query /undone /text draft");
+        assertEquals(QueryPlan.Access.TEXT_INDEX, QueryPlanner.plan(byText, list).getAccess());
+
+        Query byType = QueryParser.parse("query /type todo");
+        assertEquals(QueryPlan.Access.FULL_SCAN, QueryPlanner.plan(byType, list).getAccess());
+    }
+
+    @Test
+    public void parse_unknownClause_throws() {
+        try {
+            QueryParser.parse("query /colour red");
+            fail();
+        } catch (InvalidTaskFormatException e) {
+            assertEquals(true, e.getMessage().startsWith("Unknown query clause: /colour"));
+        }
+    }
+
+    @Test
+    public void parseWhere_joinsConditionsAndFindTakesTheRest() throws InvalidTaskFormatException {
+        TaskList list = createList();
+        CommandTokenizer tokens = new CommandTokenizer().reset("delete where undone and before 2025-10-25 and find Ep");
+        Query query = QueryParser.parseWhere(tokens, 2);
+        // Todos have no date, so only the review is before the date
+        assertEquals(List.of(list.getTask(4)), QueryPlanner.plan(query, list).execute(list));
+
+        query = QueryParser.parseWhere(new CommandTokenizer().reset("delete where undone and find ep"), 2);
+        assertEquals(List.of(list.getTask(0), list.getTask(3), list.getTask(4)),
+                QueryPlanner.plan(query, list).execute(list));
+
+        query = QueryParser.parseWhere(new CommandTokenizer().reset("mark where find report and draft"), 2);
+        assertEquals(List.of(), QueryPlanner.plan(query, list).execute(list));
+
+        for (String input : new String[] {"delete where", "delete where done and", "delete where soon"}) {
+            try {
+                QueryParser.parseWhere(new CommandTokenizer().reset(input), 2);
+                fail();
+            } catch (InvalidTaskFormatException e) {
+                // expected
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package duke.query;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import duke.exceptions.InvalidTaskFormatException;
+import duke.list.TaskList;
+import duke.task.DeadlineTask;
+import duke.task.Task;
+import duke.task.TodoTask;
+
+public class TagExpressionTest {
+
+    @Test
+    public void evaluate_combinesTagsKindsAndStatus() throws InvalidTaskFormatException {
+        TaskList taskList = new TaskList();
+        taskList.addTask(tagged(new TodoTask("email team"), "work"));
+        taskList.addTask(tagged(new DeadlineTask("report", LocalDateTime.of(2025, 11, 1, 18, 0)), "work", "urgent"));
+        taskList.addTask(tagged(new DeadlineTask("slides", LocalDateTime.of(2025, 11, 2, 9, 0)), "work"));
+        taskList.addTask(tagged(new TodoTask("buy milk"), "home", "done"));
+        taskList.addTask(new TodoTask("untagged"));
+        taskList.markTask(2);
+
+        assertArrayEquals(new int[] {1}, evaluate("work & !done & deadline", taskList));
+        assertArrayEquals(new int[] {0, 1, 2, 3}, evaluate("#work | home", taskList));
+        assertArrayEquals(new int[] {0, 1}, evaluate("work undone", taskList));
+        assertArrayEquals(new int[] {3}, evaluate("#done", taskList));
+        assertArrayEquals(new int[] {0, 4}, evaluate("todo & !(home | urgent)", taskList));
+        assertArrayEquals(new int[] {}, evaluate("missing", taskList));
+
+        // Tasks replaced in the middle of the list keep the index in step with their new identifiers
+        taskList.replaceRange(0, 1, List.of(new TodoTask("first"), tagged(new TodoTask("second"), "work")));
+        assertArrayEquals(new int[] {1, 2, 3}, positions(evaluate("work", taskList), taskList));
+
+        assertThrows(InvalidTaskFormatException.class, () -> TagExpression.parse("(work | home"));
+        assertThrows(InvalidTaskFormatException.class, () -> TagExpression.parse("work &"));
+        assertThrows(InvalidTaskFormatException.class, () -> TagExpression.parse(" "));
+    }
+
+    private static Task tagged(Task task, String... tags) {
+        task.setTags(List.of(tags));
+        return task;
+    }
+
+    private static int[] evaluate(String expression, TaskList taskList) throws InvalidTaskFormatException {
+        return TagExpression.parse(expression).evaluate(taskList.getTagIndex()).toArray();
+    }
+
+    private static int[] positions(int[] ids, TaskList taskList) {
+        int[] positions = new int[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            positions[i] = taskList.positionOfId(ids[i]);
+        }
+        return positions;
+    }
+}
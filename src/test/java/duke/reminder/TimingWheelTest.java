@@ -0,0 +1,54 @@
+package duke.reminder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class TimingWheelTest {
+
+    private static List<String> payloads(List<TimingWheel.Timer<String>> timers) {
+        List<String> result = new ArrayList<>();
+        for (TimingWheel.Timer<String> timer : timers) {
+            result.add(timer.getPayload());
+        }
+        return result;
+    }
+
+    @Test
+    public void advanceTo_firesTimersAcrossLevelsInDeadlineOrder() {
+        TimingWheel<String> wheel = new TimingWheel<>(1_000);
+        wheel.schedule("hour", 1_000 + 3_600);
+        wheel.schedule("soon", 1_000 + 5);
+        wheel.schedule("day", 1_000 + 86_400);
+        wheel.schedule("minute", 1_000 + 64);
+
+        assertEquals(List.of("soon"), payloads(wheel.advanceTo(1_010)));
+        assertEquals(List.of("minute", "hour"), payloads(wheel.advanceTo(1_000 + 3_600)));
+        assertEquals(List.of(), payloads(wheel.advanceTo(1_000 + 86_399)));
+        assertEquals(List.of("day"), payloads(wheel.advanceTo(1_000 + 86_400)));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void cancel_removesPendingTimer() {
+        TimingWheel<String> wheel = new TimingWheel<>(0);
+        TimingWheel.Timer<String> first = wheel.schedule("first", 100);
+        wheel.schedule("second", 100);
+
+        assertTrue(wheel.cancel(first));
+        assertFalse(wheel.cancel(first));
+        assertEquals(List.of("second"), payloads(wheel.advanceTo(200)));
+    }
+
+    @Test
+    public void schedule_pastDeadlineFiresOnNextAdvance() {
+        TimingWheel<String> wheel = new TimingWheel<>(500);
+        wheel.schedule("late", 10);
+        assertEquals(List.of("late"), payloads(wheel.advanceTo(501)));
+    }
+}
@@ -0,0 +1,85 @@
+package duke.replication;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import duke.list.TaskList;
+import duke.task.Task;
+
+public class ReplicationTest {
+    private static final long TIMEOUT_MILLIS = 5000;
+
+    private static List<String> storageLines(TaskList taskList) {
+        List<String> lines = new ArrayList<>();
+        for (Task task : taskList.getTasks()) {
+            lines.add(task.toStorageString());
+        }
+        return lines;
+    }
+
+    /**
+     * Applies received entries until the replica has applied the primary's last entry.
+     */
+    private static void catchUp(ReplicationClient client, ReplicationLog log, TaskList replicaList)
+            throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (client.getAppliedSequence() != log.getLastSequence() && System.currentTimeMillis() < deadline) {
+            for (LogEntry entry : client.takeReceived()) {
+                entry.applyTo(replicaList);
+                client.markApplied(entry);
+            }
+            Thread.sleep(10);
+        }
+        assertEquals(log.getLastSequence(), client.getAppliedSequence());
+    }
+
+    @Test
+    public void replica_followsSnapshotAndLog() throws IOException, InterruptedException {
+        ReplicationLog log = new ReplicationLog(List.of("T | 0 | read book", "D | 0 | return book | 2025-12-02T18:00"));
+        log.append(LogEntry.Operation.ADD, 2, 0, List.of("T | 0 | before replica"));
+        ReplicationServer server = new ReplicationServer(log, 0);
+        server.start();
+        ReplicationClient client = new ReplicationClient(server.getPort(), () -> { });
+        TaskList replicaList = new TaskList();
+        try {
+            client.start();
+            catchUp(client, log, replicaList);
+            assertEquals(3, replicaList.size());
+
+            log.append(LogEntry.Operation.MARK, 0, 1, List.of("T | 1 | read book"));
+            log.append(LogEntry.Operation.DELETE, 1, 1, List.of());
+            log.append(LogEntry.Operation.ADD, 0, 0, List.of("E | 0 | meeting | 2025-12-02T10:00 | 2025-12-02T12:00"));
+            log.append(LogEntry.Operation.REPLACE, 2, 1, List.of("T | 1 | after", "T | 0 | replace"));
+            catchUp(client, log, replicaList);
+
+            assertEquals(log.snapshot().getLines(), storageLines(replicaList));
+            assertTrue(replicaList.getTask(1).isDone());
+            assertEquals(1, replicaList.positionOf(replicaList.getTask(1)));
+            assertEquals(5, log.getLastSequence());
+        } finally {
+            client.stop();
+            server.stop();
+        }
+    }
+
+    @Test
+    public void awaitEntriesAfter_needsSnapshotOnceEntriesAreDropped() throws InterruptedException {
+        ReplicationLog log = new ReplicationLog(List.of(), 2);
+        for (int i = 0; i < 5; i++) {
+            log.append(LogEntry.Operation.ADD, i, 0, List.of("T | 0 | task " + i));
+        }
+
+        assertNull(log.awaitEntriesAfter(2, 0));
+        List<LogEntry> entries = log.awaitEntriesAfter(3, 0);
+        assertEquals(List.of(4L, 5L), entries.stream().map(LogEntry::getSequence).toList());
+        assertTrue(log.awaitEntriesAfter(5, 0).isEmpty());
+        assertEquals(5, log.snapshot().getLines().size());
+    }
+}
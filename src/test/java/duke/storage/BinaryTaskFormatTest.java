@@ -0,0 +1,110 @@
+package duke.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import duke.task.DatedTask;
+import duke.task.DeadlineTask;
+import duke.task.EventTask;
+import duke.task.Recurrence;
+import duke.task.Task;
+import duke.task.TodoTask;
+
+public class BinaryTaskFormatTest {
+
+    private List<Task> createTasks(int count) {
+        List<Task> tasks = new ArrayList<>();
+        LocalDateTime base = LocalDateTime.of(2025, 12, 2, 18, 0);
+        for (int i = 0; i < count; i++) {
+            Task task = switch (i % 3) {
+            case 0 -> new TodoTask("read chapter " + (i % 50));
+            case 1 -> new DeadlineTask("submit report " + i, base.plusHours(i));
+            default -> new EventTask("meeting", base.plusDays(i), base.plusDays(i).plusMinutes(90));
+            };
+            if (i % 4 == 0) {
+                task.mark();
+            }
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    @Test
+    public void write_read_roundTripsAcrossBlocks() throws IOException {
+        List<Task> tasks = createTasks(2500);
+        EventTask standup = new EventTask("standup ☕", LocalDateTime.of(2025, 10, 20, 9, 0),
+                LocalDateTime.of(2025, 10, 20, 9, 15));
+        standup.setRecurrence(new Recurrence(Recurrence.Frequency.WEEKLY, 0, LocalDateTime.of(2025, 12, 31, 23, 59)));
+        standup.setOccurrenceDone(3, true);
+        standup.setOccurrenceDone(7, true);
+        standup.setTags(List.of("work", "team"));
+        tasks.add(standup);
+
+        Path path = Files.createTempFile("sai-binary", ".txt");
+        try {
+            BinaryTaskFormat.write(path, tasks);
+            assertTrue(BinaryTaskFormat.isBinary(path));
+
+            List<Task> read = BinaryTaskFormat.read(path);
+            assertEquals(tasks, read);
+            for (int i = 0; i < tasks.size(); i++) {
+                assertEquals(tasks.get(i).toStorageString(), read.get(i).toStorageString());
+            }
+            DatedTask readStandup = (DatedTask) read.get(2500);
+            assertTrue(readStandup.isOccurrenceDone(7));
+            assertFalse(readStandup.isOccurrenceDone(8));
+            assertEquals(List.of("team", "work"), readStandup.getTags());
+
+            assertEquals(tasks.subList(2048, 2501), BinaryTaskFormat.readBlock(path, 2));
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    public void write_isSmallerThanText() throws IOException {
+        List<Task> tasks = createTasks(5000);
+        StringBuilder text = new StringBuilder();
+        for (Task task : tasks) {
+            text.append(task.toStorageString()).append('\n');
+        }
+
+        Path path = Files.createTempFile("sai-binary", ".txt");
+        try {
+            BinaryTaskFormat.write(path, tasks);
+            assertTrue(Files.size(path) * 4 < text.toString().getBytes(StandardCharsets.UTF_8).length);
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    public void read_rejectsNewerVersionAndTextFiles() throws IOException {
+        Path path = Files.createTempFile("sai-binary", ".txt");
+        try {
+            Files.writeString(path, "T | 0 | read book\n");
+            assertFalse(BinaryTaskFormat.isBinary(path));
+
+            BinaryTaskFormat.write(path, createTasks(3));
+            byte[] bytes = Files.readAllBytes(path);
+            bytes[5] = (byte) (BinaryTaskFormat.VERSION + 1);
+            Files.write(path, bytes);
+            IOException e = assertThrows(IOException.class, () -> BinaryTaskFormat.read(path));
+            assertTrue(e.getMessage().contains("newer"));
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+}
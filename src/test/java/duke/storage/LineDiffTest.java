@@ -0,0 +1,56 @@
+package duke.storage;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class LineDiffTest {
+
+    private static long[] apply(long[] oldHashes, long[] newHashes, List<LineDiff.Hunk> hunks) {
+        List<Long> result = new ArrayList<>();
+        int line = 0;
+        for (LineDiff.Hunk hunk : hunks) {
+            while (line < hunk.getOldFrom()) {
+                result.add(oldHashes[line++]);
+            }
+            for (int i = hunk.getNewFrom(); i < hunk.getNewTo(); i++) {
+                result.add(newHashes[i]);
+            }
+            line = hunk.getOldTo();
+        }
+        while (line < oldHashes.length) {
+            result.add(oldHashes[line++]);
+        }
+        return result.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    @Test
+    public void diff_separatesEditsFarApart() {
+        long[] oldHashes = {1, 2, 3, 4, 5, 6, 7, 8};
+        long[] newHashes = {1, 9, 3, 4, 5, 6, 8, 10};
+        List<LineDiff.Hunk> hunks = LineDiff.diff(oldHashes, newHashes, 1000);
+
+        assertEquals(3, hunks.size());
+        assertEquals(1, hunks.get(0).getOldFrom());
+        assertEquals(6, hunks.get(1).getOldFrom());
+        assertEquals(7, hunks.get(1).getOldTo());
+        assertEquals(6, hunks.get(1).getNewTo());
+        assertArrayEquals(newHashes, apply(oldHashes, newHashes, hunks));
+    }
+
+    @Test
+    public void diff_randomEdits_reproduceNewFile() {
+        Random random = new Random(34);
+        for (int round = 0; round < 200; round++) {
+            long[] oldHashes = random.longs(random.nextInt(40), 0, 6).toArray();
+            long[] newHashes = random.longs(random.nextInt(40), 0, 6).toArray();
+            int maxEdits = round % 2 == 0 ? 1000 : 3;
+            assertArrayEquals(newHashes, apply(oldHashes, newHashes, LineDiff.diff(oldHashes, newHashes, maxEdits)));
+        }
+    }
+}
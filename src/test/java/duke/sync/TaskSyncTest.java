@@ -0,0 +1,125 @@
+package duke.sync;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+import duke.helper.Storage;
+import duke.list.TaskList;
+import duke.task.Task;
+
+public class TaskSyncTest {
+    private static final int SIZE = 10_000;
+
+    @Test
+    public void compareTo_ordersVersions() {
+        VersionVector base = VersionVector.empty().increment("a");
+        VersionVector ahead = base.increment("b");
+        VersionVector other = base.increment("a");
+
+        assertEquals(VersionVector.Order.EQUAL, base.compareTo(VersionVector.parse("a:1")));
+        assertEquals(VersionVector.Order.BEFORE, base.compareTo(ahead));
+        assertEquals(VersionVector.Order.AFTER, ahead.compareTo(base));
+        assertEquals(VersionVector.Order.CONCURRENT, ahead.compareTo(other));
+        assertEquals("a:2,b:1", ahead.merge(other).toString());
+    }
+
+    @Test
+    public void sync_exchangesOnlyChangedTasksBetweenStores() throws IOException {
+        Path dirA = Files.createTempDirectory("sai-sync-a");
+        Path dirB = Files.createTempDirectory("sai-sync-b");
+        Path a = dirA.resolve("sai.txt");
+        Path b = dirB.resolve("sai.txt");
+        try {
+            List<String> lines = new ArrayList<>();
+            for (int i = 0; i < SIZE; i++) {
+                lines.add(i % 2 == 0 ? "T | 0 | task " + i : "D | 0 | task " + i + " | 2025-10-20T18:00");
+            }
+            Files.write(a, lines);
+            Files.write(b, lines);
+
+            // The first sync meets every task once, but changes none
+            TaskSync.Result first = sync(a, b, 1000);
+            assertEquals(0, first.getConflicts().size());
+            assertEquals(lines, readLines(b));
+
+            Storage storageA = new Storage(a);
+            TaskList listA = storageA.load();
+            listA.replaceRange(5, 6, List.of(Storage.readLine("D | 1 | task 5 | 2025-10-20T18:00")));
+            listA.replaceRange(30, 31, List.of(Storage.readLine("T | 1 | task 30")));
+            listA.replaceRange(listA.size(), listA.size(), List.of(Storage.readLine("T | 0 | new in a")));
+            storageA.save(listA);
+            Storage storageB = new Storage(b);
+            TaskList listB = storageB.load();
+            listB.replaceRange(30, 31, List.of());
+            listB.replaceRange(20, 21, List.of(Storage.readLine("T | 1 | task 20 | tags=home")));
+            storageB.save(listB);
+
+            TaskSync.Result second = sync(a, b, 2000);
+
+            assertTrue(second.getRecordsCompared() < 100, "compared " + second.getRecordsCompared());
+            assertEquals(2, second.getToMine().size());
+            assertEquals(3, second.getToTheirs().size());
+            // Task 30 was marked in one store and deleted in the other
+            assertEquals(1, second.getConflicts().size());
+            assertTrue(second.getConflicts().get(0).isDeleted());
+            List<String> synced = readLines(a);
+            assertEquals(synced, readLines(b));
+            assertEquals(SIZE, synced.size());
+            assertEquals("D | 1 | task 5 | 2025-10-20T18:00", synced.get(5));
+            assertEquals("T | 1 | task 20 | tags=home", synced.get(20));
+            assertEquals("T | 0 | new in a", synced.get(SIZE - 1));
+
+            TaskSync.Result third = sync(a, b, 3000);
+            assertEquals(1, third.getHashesCompared());
+            assertEquals(0, third.getRecordsCompared());
+        } finally {
+            delete(dirA);
+            delete(dirB);
+        }
+    }
+
+    private static TaskSync.Result sync(Path a, Path b, long now) throws IOException {
+        Storage storageA = new Storage(a);
+        Storage storageB = new Storage(b);
+        TaskList listA = storageA.load();
+        TaskList listB = storageB.load();
+        SyncState stateA = SyncState.read(a);
+        SyncState stateB = SyncState.read(b);
+        stateA.refresh(listA, now);
+        stateB.refresh(listB, now);
+        TaskSync.Result result = TaskSync.sync(stateA, stateB);
+        TaskSync.apply(listA, stateA.adopt(result.getToMine()));
+        TaskSync.apply(listB, stateB.adopt(result.getToTheirs()));
+        storageA.save(listA);
+        storageB.save(listB);
+        stateA.write();
+        stateB.write();
+        return result;
+    }
+
+    private static List<String> readLines(Path path) {
+        List<String> lines = new ArrayList<>();
+        for (Task task : new Storage(path).load().getTasks()) {
+            lines.add(task.toStorageString());
+        }
+        return lines;
+    }
+
+    private static void delete(Path dir) throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+}
@@ -10,7 +10,9 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Iterator;
 
 import org.junit.jupiter.api.Test;
 
@@ -145,3 +147,33 @@ class EventTaskTest {
 }
 
 
+
+class RecurringTaskTest {
+
+    @Test
+    void occurrencesFrom_generatesSeriesLazily() {
+        DeadlineTask task = new DeadlineTask("Pay rent", LocalDateTime.of(2025, 1, 31, 18, 0));
+        task.setRecurrence(new Recurrence(Recurrence.Frequency.MONTHLY, 4, null));
+
+        Iterator<Occurrence> it = task.occurrencesFrom(LocalDateTime.of(2025, 2, 1, 0, 0));
+        assertEquals(LocalDateTime.of(2025, 2, 28, 18, 0), it.next().getStart());
+        assertEquals(LocalDateTime.of(2025, 3, 31, 18, 0), it.next().getStart());
+        assertEquals(LocalDateTime.of(2025, 4, 30, 18, 0), it.next().getStart());
+        assertFalse(it.hasNext());
+    }
+
+    @Test
+    void setOccurrenceDone_storesOnlyExceptions() {
+        EventTask task = new EventTask("Standup",
+                LocalDateTime.of(2025, 10, 20, 9, 0), LocalDateTime.of(2025, 10, 20, 9, 15));
+        task.setRecurrence(new Recurrence(Recurrence.Frequency.WEEKLY, 0, LocalDateTime.of(2025, 12, 31, 23, 59)));
+
+        Occurrence second = task.findOccurrenceOn(LocalDate.of(2025, 10, 27));
+        task.setOccurrenceDone(second.getIndex(), true);
+
+        assertTrue(task.isOccurrenceDone(1));
+        assertFalse(task.isOccurrenceDone(2));
+        assertEquals("E | 0 | Standup | 2025-10-20T09:00 | 2025-10-20T09:15"
+                + " | every=WEEKLY;UNTIL=2025-12-31T23:59 | except=1:1", task.toStorageString());
+    }
+}
@@ -0,0 +1,89 @@
+package duke.workspace;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+import duke.Sai;
+import duke.history.EditHistory;
+import duke.list.TaskList;
+import duke.task.Task;
+import duke.task.TodoTask;
+
+public class WorkspaceCacheTest {
+
+    private static Workspace workspace(String name, int size) {
+        ArrayList<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            tasks.add(new TodoTask(name + " " + i));
+        }
+        return new Workspace(name, null, null, new TaskList(tasks), new EditHistory(), null);
+    }
+
+    @Test
+    public void evict_unloadsLeastRecentlyLeftFirst() {
+        WorkspaceCache cache = new WorkspaceCache(WorkspaceCache.estimateBytes(10));
+        Workspace home = workspace("home", 3);
+        Workspace work = workspace("work", 3);
+        Workspace school = workspace("school", 3);
+        cache.put(home);
+        cache.put(work);
+        cache.put(school);
+        // Leaving home again makes it the most recently used
+        cache.put(cache.take("home"));
+
+        assertEquals(List.of(), cache.evict(WorkspaceCache.estimateBytes(1)));
+        List<Workspace> evicted = cache.evict(WorkspaceCache.estimateBytes(5));
+
+        assertEquals(List.of(work, school), evicted);
+        assertTrue(cache.contains("home"));
+        assertFalse(cache.contains("work"));
+        assertNull(cache.take("school"));
+        assertSame(home, cache.take("home"));
+    }
+
+    @Test
+    public void workspace_keepsTasksApartAndSwitchesBackWithoutReading() throws IOException {
+        Path dir = Files.createTempDirectory("sai-workspace");
+        Path path = dir.resolve("sai.txt");
+        try {
+            Sai sai = new Sai(path);
+            sai.loadTasks();
+            sai.getResponse("todo read book");
+
+            assertTrue(sai.getResponse("workspace work").contains("loaded from file"));
+            assertEquals(0, sai.getTaskCount());
+            sai.getResponse("todo write report");
+            sai.getResponse("todo send email");
+
+            assertTrue(sai.getResponse("workspace default").contains("already loaded"));
+            assertEquals(1, sai.getTaskCount());
+            sai.getResponse("undo");
+            assertEquals(0, sai.getTaskCount());
+
+            assertTrue(sai.getResponse("workspace work").contains("(2 tasks, already loaded)"));
+            assertEquals(List.of("# version=2", "T | 0 | write report", "T | 0 | send email"),
+                    Files.readAllLines(dir.resolve("workspaces").resolve("work.txt")));
+            assertTrue(sai.getResponse("workspace").contains("Loaded: default (0 tasks)"));
+            assertTrue(sai.getResponse("workspace Bad/Name").contains("workspace name"));
+        } finally {
+            try (Stream<Path> files = Files.walk(dir)) {
+                for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+}
@@ -6,21 +6,22 @@ then
     mkdir ../bin
 fi
 
-# delete output from previous run
+# delete output and saved tasks from previous run
 if [ -e "./ACTUAL.TXT" ]
 then
     rm ACTUAL.TXT
 fi
+rm -rf ./data
 
-# compile the code into the bin folder, terminates if error occurred
-if ! javac -cp ../src/main/java -Xlint:none -d ../bin ../src/main/java/*.java
+# compile the console entry point and the classes it uses into the bin folder, terminates if error occurred
+if ! javac -encoding UTF-8 -sourcepath ../src/main/java -Xlint:none -d ../bin ../src/main/java/duke/cli/SaiCli.java
 then
     echo "********** BUILD FAILURE **********"
     exit 1
 fi
 
 # run the program, feed commands from input.txt file and redirect the output to the ACTUAL.TXT
-java -classpath ../bin Sai < input.txt > ACTUAL.TXT
+java -classpath ../bin duke.cli.SaiCli < input.txt > ACTUAL.TXT
 
 # convert to UNIX format
 cp EXPECTED.TXT EXPECTED-UNIX.TXT